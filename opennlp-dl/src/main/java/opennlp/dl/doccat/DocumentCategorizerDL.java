@@ -44,6 +44,7 @@ import opennlp.dl.doccat.scoring.ClassificationScoringStrategy;
 import opennlp.tools.doccat.DocumentCategorizer;
 import opennlp.tools.tokenize.Tokenizer;
 import opennlp.tools.tokenize.WordpieceTokenizer;
+import opennlp.tools.util.metrics.Metrics;
 
 /**
  * An implementation of {@link DocumentCategorizer} that performs document classification
@@ -55,6 +56,8 @@ public class DocumentCategorizerDL implements DocumentCategorizer {
   public static final String ATTENTION_MASK = "attention_mask";
   public static final String TOKEN_TYPE_IDS = "token_type_ids";
 
+  private static final String INFERENCE_METRIC = "DocumentCategorizerDL.inference";
+
   private final Tokenizer tokenizer;
   private final Map<String, Integer> vocabulary;
   private final Map<Integer, String> categories;
@@ -121,7 +124,7 @@ public class DocumentCategorizerDL implements DocumentCategorizer {
         }
 
         // The outputs from the model.
-        final float[][] v = (float[][]) session.run(inputs).get(0).getValue();
+        final float[][] v = (float[][]) run(inputs).get(0).getValue();
 
         // Keep track of all scores.
         final double[] categoryScoresForTokens = softmax(v[0]);
@@ -139,6 +142,15 @@ public class DocumentCategorizerDL implements DocumentCategorizer {
 
   }
 
+  private OrtSession.Result run(Map<String, OnnxTensor> inputs) throws OrtException {
+    long start = Metrics.startTimer();
+    try {
+      return session.run(inputs);
+    } finally {
+      Metrics.stopTimer(INFERENCE_METRIC, start);
+    }
+  }
+
   @Override
   public double[] categorize(String[] strings, Map<String, Object> map) {
     return categorize(strings);
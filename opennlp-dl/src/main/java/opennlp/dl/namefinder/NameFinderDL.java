@@ -42,6 +42,7 @@ import opennlp.tools.namefind.TokenNameFinder;
 import opennlp.tools.tokenize.Tokenizer;
 import opennlp.tools.tokenize.WordpieceTokenizer;
 import opennlp.tools.util.Span;
+import opennlp.tools.util.metrics.Metrics;
 
 /**
  * An implementation of {@link TokenNameFinder} that uses ONNX models.
@@ -55,6 +56,8 @@ public class NameFinderDL implements TokenNameFinder {
   public static final String I_PER = "I-PER";
   public static final String B_PER = "B-PER";
 
+  private static final String INFERENCE_METRIC = "NameFinderDL.inference";
+
   protected final OrtSession session;
 
   private final Map<Integer, String> ids2Labels;
@@ -125,7 +128,7 @@ public class NameFinderDL implements TokenNameFinder {
         }
 
         // The outputs from the model.
-        final float[][][] v = (float[][][]) session.run(inputs).get(0).getValue();
+        final float[][][] v = (float[][][]) run(inputs).get(0).getValue();
 
         // Find consecutive B-PER and I-PER labels and combine the spans where necessary.
         // There are also B-LOC and I-LOC tags for locations that might be useful at some point.
@@ -231,6 +234,15 @@ public class NameFinderDL implements TokenNameFinder {
 
   }
 
+  private OrtSession.Result run(Map<String, OnnxTensor> inputs) throws OrtException {
+    long start = Metrics.startTimer();
+    try {
+      return session.run(inputs);
+    } finally {
+      Metrics.stopTimer(INFERENCE_METRIC, start);
+    }
+  }
+
   @Override
   public void clearAdaptiveData() {
     // No use in this implementation.
@@ -32,11 +32,13 @@ import opennlp.tools.ml.model.MaxentModel;
 import opennlp.tools.ml.model.SequenceClassificationModel;
 import opennlp.tools.util.DownloadUtil;
 import opennlp.tools.util.ObjectStream;
+import opennlp.tools.util.ParallelEventStream;
 import opennlp.tools.util.Sequence;
 import opennlp.tools.util.SequenceValidator;
 import opennlp.tools.util.Span;
 import opennlp.tools.util.TokenTag;
 import opennlp.tools.util.TrainingParameters;
+import opennlp.tools.util.metrics.Metrics;
 
 /**
  * The class represents a maximum-entropy-based chunker.  Such a chunker can be used to
@@ -44,6 +46,8 @@ import opennlp.tools.util.TrainingParameters;
  */
 public class ChunkerME implements Chunker {
 
+  private static final String CHUNK_METRIC = "ChunkerME.chunk";
+
   public static final int DEFAULT_BEAM_SIZE = 10;
 
   private Sequence bestSequence;
@@ -129,10 +133,15 @@ public class ChunkerME implements Chunker {
   }
 
   public String[] chunk(String[] toks, String[] tags) {
-    TokenTag[] tuples = TokenTag.create(toks, tags);
-    bestSequence = model.bestSequence(tuples, new Object[] {}, contextGenerator, sequenceValidator);
-    List<String> c = bestSequence.getOutcomes();
-    return c.toArray(new String[c.size()]);
+    long start = Metrics.startTimer();
+    try {
+      TokenTag[] tuples = TokenTag.create(toks, tags);
+      bestSequence = model.bestSequence(tuples, new Object[] {}, contextGenerator, sequenceValidator);
+      List<String> c = bestSequence.getOutcomes();
+      return c.toArray(new String[c.size()]);
+    } finally {
+      Metrics.stopTimer(CHUNK_METRIC, start);
+    }
   }
 
   public Span[] chunkAsSpans(String[] toks, String[] tags) {
@@ -189,7 +198,16 @@ public class ChunkerME implements Chunker {
     SequenceClassificationModel<String> seqChunkerModel = null;
 
     if (TrainerType.EVENT_MODEL_TRAINER.equals(trainerType)) {
-      ObjectStream<Event> es = new ChunkerEventStream(in, factory.getContextGenerator());
+      int eventThreads = mlParams.getIntParameter(ParallelEventStream.THREADS_PARAM,
+          ParallelEventStream.THREADS_DEFAULT);
+
+      ObjectStream<Event> es;
+      if (eventThreads > 1) {
+        es = new ParallelEventStream<>(in, eventThreads,
+            () -> new ChunkerEventStream(null, factory.getContextGenerator()));
+      } else {
+        es = new ChunkerEventStream(in, factory.getContextGenerator());
+      }
       EventTrainer trainer = TrainerFactory.getEventTrainer(mlParams,
           manifestInfoEntries);
       chunkerModel = trainer.train(es);
@@ -153,4 +153,14 @@ public class ChunkerModel extends BaseModel {
   public ChunkerFactory getFactory() {
     return (ChunkerFactory) this.toolFactory;
   }
+
+  /**
+   * Creates a new {@link ChunkerME} for this model. A chunker is cheap to create
+   * but is not thread safe, every thread should use its own chunker.
+   *
+   * @return a new chunker
+   */
+  public ChunkerME newEngine() {
+    return new ChunkerME(this);
+  }
 }
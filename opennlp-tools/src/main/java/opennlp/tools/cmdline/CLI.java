@@ -46,6 +46,7 @@ import opennlp.tools.cmdline.languagemodel.NGramLanguageModelTool;
 import opennlp.tools.cmdline.lemmatizer.LemmatizerEvaluatorTool;
 import opennlp.tools.cmdline.lemmatizer.LemmatizerMETool;
 import opennlp.tools.cmdline.lemmatizer.LemmatizerTrainerTool;
+import opennlp.tools.cmdline.model.ModelCompressorTool;
 import opennlp.tools.cmdline.namefind.CensusDictionaryCreatorTool;
 import opennlp.tools.cmdline.namefind.TokenNameFinderConverterTool;
 import opennlp.tools.cmdline.namefind.TokenNameFinderCrossValidatorTool;
@@ -164,6 +165,9 @@ public final class CLI {
     // Language Model
     tools.add(new NGramLanguageModelTool());
 
+    // Model compression
+    tools.add(new ModelCompressorTool());
+
     for (CmdLineTool tool : tools) {
       toolLookupMap.put(tool.getName(), tool);
     }
@@ -0,0 +1,428 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package opennlp.tools.cmdline;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import opennlp.tools.util.ObjectStream;
+
+/**
+ * Processes the input of a command line tool, e.g. the lines read from stdin, on a
+ * number of worker threads and writes the output in the order of the input.
+ * <p>
+ * The input is read in chunks of consecutive inputs, a chunk is processed by one
+ * {@link Processor} instance. A chunk only starts at an input for which the chunk boundary
+ * {@link Predicate} returns {@code true}, tools which keep adaptive data per document use
+ * it to keep all inputs of a document in one chunk.
+ * <p>
+ * A chunk is also ended when it reaches the maximum chunk size, e.g. if the input has no
+ * document boundaries at all. The next chunk then continues the open document, it is
+ * processed after the previous chunk by the same {@link Processor}, so the output is the
+ * same as the sequential output, but the chunks of a long document are not processed
+ * in parallel.
+ * <p>
+ * The {@link PerformanceMonitor} counts the units returned by the processors and
+ * reports the time spent reading, processing and writing.
+ * <p>
+ * <b>Note:</b>
+ * Do not use this class, internal use only!
+ *
+ * @param <T> the type of the input
+ */
+public class ParallelTextProcessor<T> {
+
+  /**
+   * The command line parameter which defines the number of worker threads.
+   */
+  public static final String THREADS_PARAM = "-threads";
+
+  public static final int CHUNK_SIZE_DEFAULT = 256;
+
+  public static final int MAX_CHUNK_SIZE_DEFAULT = 4096;
+
+  /**
+   * Processes one input of a command line tool. An instance is only used by one thread
+   * at a time.
+   *
+   * @param <T> the type of the input
+   */
+  @FunctionalInterface
+  public interface Processor<T> {
+
+    /**
+     * Processes the input and appends the output to the given builder.
+     *
+     * @param input the input
+     * @param output the output of the tool
+     * @return the number of processed units, e.g. sentences, for the {@link PerformanceMonitor}
+     */
+    int process(T input, StringBuilder output);
+  }
+
+  private static class ChunkResult<T> {
+    private final Processor<T> processor;
+    private final String output;
+    private final int count;
+    private final long nanos;
+
+    ChunkResult(Processor<T> processor, String output, int count, long nanos) {
+      this.processor = processor;
+      this.output = output;
+      this.count = count;
+      this.nanos = nanos;
+    }
+  }
+
+  private final int threads;
+  private final int chunkSize;
+  private final int maxChunkSize;
+  private final Supplier<? extends Processor<T>> processorFactory;
+  private final Predicate<T> chunkBoundary;
+
+  /**
+   * Initializes the current instance.
+   *
+   * @param threads the number of worker threads, with one thread everything
+   *     is processed on the calling thread
+   * @param chunkSize the minimum number of inputs in a chunk
+   * @param processorFactory creates the processors
+   * @param chunkBoundary returns {@code true} if a new chunk may start at an input
+   */
+  public ParallelTextProcessor(int threads, int chunkSize,
+      Supplier<? extends Processor<T>> processorFactory, Predicate<T> chunkBoundary) {
+    this(threads, chunkSize, Math.max(chunkSize, MAX_CHUNK_SIZE_DEFAULT), processorFactory,
+        chunkBoundary);
+  }
+
+  /**
+   * Initializes the current instance.
+   *
+   * @param threads the number of worker threads, with one thread everything
+   *     is processed on the calling thread
+   * @param chunkSize the minimum number of inputs in a chunk
+   * @param maxChunkSize the number of inputs after which a chunk is ended even
+   *     without a chunk boundary, the next chunk then continues the open document
+   * @param processorFactory creates the processors
+   * @param chunkBoundary returns {@code true} if a new chunk may start at an input
+   */
+  public ParallelTextProcessor(int threads, int chunkSize, int maxChunkSize,
+      Supplier<? extends Processor<T>> processorFactory, Predicate<T> chunkBoundary) {
+    if (threads < 1) {
+      throw new IllegalArgumentException("threads must be at least 1, but was " + threads);
+    }
+    if (chunkSize < 1) {
+      throw new IllegalArgumentException("chunkSize must be at least 1, but was " + chunkSize);
+    }
+    if (maxChunkSize < chunkSize) {
+      throw new IllegalArgumentException("maxChunkSize must be at least chunkSize, but was "
+          + maxChunkSize);
+    }
+
+    this.threads = threads;
+    this.chunkSize = chunkSize;
+    this.maxChunkSize = maxChunkSize;
+    this.processorFactory = Objects.requireNonNull(processorFactory,
+        "processorFactory must not be null");
+    this.chunkBoundary = Objects.requireNonNull(chunkBoundary, "chunkBoundary must not be null");
+  }
+
+  /**
+   * Initializes the current instance with the default chunk size and a chunk
+   * boundary at every input.
+   */
+  public ParallelTextProcessor(int threads, Supplier<? extends Processor<T>> processorFactory) {
+    this(threads, CHUNK_SIZE_DEFAULT, processorFactory, input -> true);
+  }
+
+  /**
+   * Processes all inputs and writes the output in the order of the inputs.
+   *
+   * @param input the inputs
+   * @param out the stream the output is written to
+   * @param perfMon a started performance monitor
+   *
+   * @throws IOException if reading the input fails
+   */
+  public void process(ObjectStream<T> input, PrintStream out, PerformanceMonitor perfMon)
+      throws IOException {
+    if (threads == 1) {
+      processSequential(input, out, perfMon);
+    }
+    else {
+      processParallel(input, out, perfMon);
+    }
+  }
+
+  private void processSequential(ObjectStream<T> input, PrintStream out,
+      PerformanceMonitor perfMon) throws IOException {
+
+    Processor<T> processor = processorFactory.get();
+    StringBuilder output = new StringBuilder();
+
+    long readNanos = 0;
+    long processNanos = 0;
+    long writeNanos = 0;
+
+    try {
+      while (true) {
+        long time = System.nanoTime();
+        T next = input.read();
+        readNanos += System.nanoTime() - time;
+
+        if (next == null) {
+          break;
+        }
+
+        time = System.nanoTime();
+        output.setLength(0);
+        int count = processor.process(next, output);
+        processNanos += System.nanoTime() - time;
+
+        time = System.nanoTime();
+        out.print(output);
+        writeNanos += System.nanoTime() - time;
+
+        perfMon.incrementCounter(count);
+      }
+    }
+    finally {
+      addStageTimes(perfMon, readNanos, processNanos, writeNanos);
+    }
+  }
+
+  private void processParallel(ObjectStream<T> input, PrintStream out,
+      PerformanceMonitor perfMon) throws IOException {
+
+    // a processor is idle when the document of its last chunk is complete
+    Queue<Processor<T>> idleProcessors = new ConcurrentLinkedQueue<>();
+
+    ExecutorService executor = Executors.newFixedThreadPool(threads, runnable -> {
+      Thread thread = new Thread(runnable, "opennlp-text-processor");
+      thread.setDaemon(true);
+      return thread;
+    });
+
+    Deque<CompletableFuture<ChunkResult<T>>> pending = new ArrayDeque<>();
+    CompletableFuture<ChunkResult<T>> last = null;
+    ChunkReader reader = new ChunkReader(input);
+
+    long processNanos = 0;
+    long writeNanos = 0;
+
+    try {
+      while (true) {
+        List<T> chunk;
+        while (pending.size() < threads * 2 && (chunk = reader.read()) != null) {
+          List<T> work = chunk;
+          CompletableFuture<ChunkResult<T>> future;
+          if (last != null && reader.continuesDocument) {
+            // the chunk must see the adaptive data of the previous chunk
+            future = last.thenApplyAsync(previous -> processChunk(previous.processor, work), executor);
+          }
+          else {
+            if (last != null) {
+              last.thenAccept(previous -> idleProcessors.add(previous.processor));
+            }
+            future = CompletableFuture.supplyAsync(() -> {
+              Processor<T> processor = idleProcessors.poll();
+              return processChunk(processor != null ? processor : processorFactory.get(), work);
+            }, executor);
+          }
+          pending.add(future);
+          last = future;
+        }
+
+        CompletableFuture<ChunkResult<T>> next = pending.poll();
+        if (next == null) {
+          break;
+        }
+
+        ChunkResult<T> result;
+        try {
+          result = next.get();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          throw new IOException("Interrupted while processing input", e);
+        } catch (ExecutionException e) {
+          if (e.getCause() instanceof RuntimeException) {
+            throw (RuntimeException) e.getCause();
+          }
+          throw new RuntimeException("Exception during processing: " + e.getMessage(), e.getCause());
+        }
+
+        processNanos += result.nanos;
+
+        long time = System.nanoTime();
+        out.print(result.output);
+        writeNanos += System.nanoTime() - time;
+
+        perfMon.incrementCounter(result.count);
+      }
+    }
+    finally {
+      executor.shutdownNow();
+      addStageTimes(perfMon, reader.nanos, processNanos, writeNanos);
+    }
+  }
+
+  private ChunkResult<T> processChunk(Processor<T> processor, List<T> chunk) {
+    long time = System.nanoTime();
+
+    StringBuilder output = new StringBuilder();
+    int count = 0;
+    for (T next : chunk) {
+      count += processor.process(next, output);
+    }
+
+    return new ChunkResult<>(processor, output.toString(), count, System.nanoTime() - time);
+  }
+
+  private static void addStageTimes(PerformanceMonitor perfMon, long readNanos,
+      long processNanos, long writeNanos) {
+    perfMon.addStageTime("read", readNanos);
+    perfMon.addStageTime("process", processNanos);
+    perfMon.addStageTime("write", writeNanos);
+  }
+
+  /**
+   * Reads the input in chunks which start at a chunk boundary, or continue
+   * the document of the previous chunk if it reached the maximum chunk size.
+   */
+  private class ChunkReader {
+
+    private final ObjectStream<T> input;
+    private T nextInput;
+    private boolean exhausted;
+    private long nanos;
+
+    /**
+     * Indicates whether the last read chunk continues the document of the previous chunk.
+     */
+    private boolean continuesDocument;
+    private boolean splitDocument;
+    private boolean warned;
+
+    ChunkReader(ObjectStream<T> input) {
+      this.input = input;
+    }
+
+    /**
+     * Reads the next chunk.
+     *
+     * @return the chunk or {@code null} if all inputs were read
+     */
+    List<T> read() throws IOException {
+      if (exhausted) {
+        return null;
+      }
+
+      long time = System.nanoTime();
+
+      List<T> chunk = new ArrayList<>(chunkSize);
+
+      continuesDocument = splitDocument;
+      splitDocument = false;
+
+      if (nextInput == null) {
+        nextInput = input.read();
+      }
+
+      while (nextInput != null) {
+        chunk.add(nextInput);
+        nextInput = input.read();
+
+        if (chunk.size() >= chunkSize && nextInput != null && chunkBoundary.test(nextInput)) {
+          break;
+        }
+
+        if (chunk.size() >= maxChunkSize && nextInput != null) {
+          splitDocument = true;
+          if (!warned) {
+            warned = true;
+            System.err.println("Warning: No document boundary within " + maxChunkSize
+                + " inputs, the chunks of a document are processed one after another.");
+          }
+          break;
+        }
+      }
+
+      if (nextInput == null) {
+        exhausted = true;
+      }
+
+      nanos += System.nanoTime() - time;
+
+      return chunk.isEmpty() ? null : chunk;
+    }
+  }
+
+  /**
+   * Retrieves the number of worker threads from the {@link #THREADS_PARAM} argument.
+   *
+   * @param args the arguments of the tool
+   * @return the number of threads, 1 if the argument is not present
+   */
+  public static int getThreads(String[] args) {
+    if (CmdLineUtil.getParameterIndex(THREADS_PARAM, args) == -1) {
+      return 1;
+    }
+
+    Integer threads = CmdLineUtil.getIntParameter(THREADS_PARAM, args);
+    if (threads == null || threads < 1) {
+      throw new TerminateToolException(1, "The " + THREADS_PARAM
+          + " argument must be a positive number!");
+    }
+
+    return threads;
+  }
+
+  /**
+   * Removes the {@link #THREADS_PARAM} argument and its value from the arguments.
+   *
+   * @param args the arguments of the tool
+   * @return the remaining arguments
+   */
+  public static String[] removeThreadsParameter(String[] args) {
+    int index = CmdLineUtil.getParameterIndex(THREADS_PARAM, args);
+    if (index == -1) {
+      return args;
+    }
+
+    List<String> remaining = new ArrayList<>(args.length);
+    for (int i = 0; i < args.length; i++) {
+      if (i != index && i != index + 1) {
+        remaining.add(args[i]);
+      }
+    }
+    return remaining.toArray(new String[remaining.size()]);
+  }
+}
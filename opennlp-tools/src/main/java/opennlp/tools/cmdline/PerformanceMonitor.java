@@ -19,6 +19,8 @@
 package opennlp.tools.cmdline;
 
 import java.io.PrintStream;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
@@ -30,6 +32,10 @@ import java.util.concurrent.TimeUnit;
  * per second. After the computation is done it prints a final performance
  * report.
  * <p>
+ * Optionally the time spent in the stages of the computation, e.g. reading,
+ * processing and writing, can be reported, then the final report also contains
+ * the throughput of every stage.
+ * <p>
  * <b>Note:</b>
  * This class is not thread safe. <br>
  * Do not use this class, internal use only!
@@ -53,6 +59,8 @@ public class PerformanceMonitor {
 
   private final PrintStream out;
 
+  private final Map<String, Long> stageTimes = new LinkedHashMap<>();
+
   public PerformanceMonitor(PrintStream out, String unit) {
     this.out = out;
     this.unit = unit;
@@ -81,6 +89,21 @@ public class PerformanceMonitor {
     incrementCounter(1);
   }
 
+  /**
+   * Adds time spent in a stage of the computation. The time of a stage which runs
+   * on multiple threads is the sum of the time spent on all threads.
+   *
+   * @param stage the name of the stage
+   * @param nanos the time in nano seconds
+   */
+  public void addStageTime(String stage, long nanos) {
+
+    if (nanos < 0)
+      throw new IllegalArgumentException("nanos must be zero or positive but was " + nanos + "!");
+
+    stageTimes.merge(stage, nanos, Long::sum);
+  }
+
   public void start() {
 
     if (isStarted())
@@ -164,5 +187,11 @@ public class PerformanceMonitor {
     out.printf("Average: %.1f " + unit + "/s %n", average);
     out.println("Total: " + counter + " " + unit);
     out.println("Runtime: " + timePassed / 1000d + "s");
+
+    for (Map.Entry<String, Long> stage : stageTimes.entrySet()) {
+      double stageSeconds = stage.getValue() / 1_000_000_000d;
+      out.printf("Stage %s: %.3fs, %.1f " + unit + "/s %n", stage.getKey(), stageSeconds,
+          stageSeconds > 0 ? counter / stageSeconds : 0);
+    }
   }
 }
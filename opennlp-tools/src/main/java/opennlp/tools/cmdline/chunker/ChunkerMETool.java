@@ -26,6 +26,7 @@ import opennlp.tools.chunker.ChunkerModel;
 import opennlp.tools.cmdline.BasicCmdLineTool;
 import opennlp.tools.cmdline.CLI;
 import opennlp.tools.cmdline.CmdLineUtil;
+import opennlp.tools.cmdline.ParallelTextProcessor;
 import opennlp.tools.cmdline.PerformanceMonitor;
 import opennlp.tools.cmdline.SystemInputStreamFactory;
 import opennlp.tools.postag.POSSample;
@@ -40,44 +41,50 @@ public class ChunkerMETool extends BasicCmdLineTool {
   }
 
   public String getHelp() {
-    return "Usage: " + CLI.CMD + " " + getName() + " model < sentences";
+    return "Usage: " + CLI.CMD + " " + getName() + " [" + ParallelTextProcessor.THREADS_PARAM
+        + " n] model < sentences";
   }
 
   public void run(String[] args) {
+    int threads = ParallelTextProcessor.getThreads(args);
+    args = ParallelTextProcessor.removeThreadsParameter(args);
+
     if (args.length != 1) {
       System.out.println(getHelp());
     } else {
       ChunkerModel model = new ChunkerModelLoader().load(new File(args[0]));
 
-      ChunkerME chunker = new ChunkerME(model);
-
-      ObjectStream<String> lineStream;
-      PerformanceMonitor perfMon = null;
-
-      try {
-        lineStream = new PlainTextByLineStream(new SystemInputStreamFactory(),
-            SystemInputStreamFactory.encoding());
-        perfMon = new PerformanceMonitor(System.err, "sent");
-        perfMon.start();
-        String line;
-        while ((line = lineStream.read()) != null) {
+      ParallelTextProcessor<String> processor = new ParallelTextProcessor<>(threads, () -> {
+        ChunkerME chunker = new ChunkerME(model);
 
+        return (line, output) -> {
           POSSample posSample;
           try {
             posSample = POSSample.parse(line);
           } catch (InvalidFormatException e) {
             System.err.println("Invalid format:");
             System.err.println(line);
-            continue;
+            return 0;
           }
 
           String[] chunks = chunker.chunk(posSample.getSentence(), posSample.getTags());
 
-          System.out.println(new ChunkSample(posSample.getSentence(),
-              posSample.getTags(), chunks).nicePrint());
+          output.append(new ChunkSample(posSample.getSentence(),
+              posSample.getTags(), chunks).nicePrint()).append(System.lineSeparator());
 
-          perfMon.incrementCounter();
-        }
+          return 1;
+        };
+      });
+
+      ObjectStream<String> lineStream;
+      PerformanceMonitor perfMon = null;
+
+      try {
+        lineStream = new PlainTextByLineStream(new SystemInputStreamFactory(),
+            SystemInputStreamFactory.encoding());
+        perfMon = new PerformanceMonitor(System.err, "sent");
+        perfMon.start();
+        processor.process(lineStream, System.out, perfMon);
       } catch (IOException e) {
         CmdLineUtil.handleStdinIoError(e);
       }
@@ -23,6 +23,7 @@ import java.io.IOException;
 import opennlp.tools.cmdline.BasicCmdLineTool;
 import opennlp.tools.cmdline.CLI;
 import opennlp.tools.cmdline.CmdLineUtil;
+import opennlp.tools.cmdline.ParallelTextProcessor;
 import opennlp.tools.cmdline.PerformanceMonitor;
 import opennlp.tools.cmdline.SystemInputStreamFactory;
 import opennlp.tools.doccat.DoccatModel;
@@ -42,19 +43,37 @@ public class DoccatTool extends BasicCmdLineTool {
 
   @Override
   public String getHelp() {
-    return "Usage: " + CLI.CMD + " " + getName() + " model < documents";
+    return "Usage: " + CLI.CMD + " " + getName() + " [" + ParallelTextProcessor.THREADS_PARAM
+        + " n] model < documents";
   }
 
   @Override
   public void run(String[] args) {
 
+    int threads = ParallelTextProcessor.getThreads(args);
+    args = ParallelTextProcessor.removeThreadsParameter(args);
+
     if (0 == args.length) {
       System.out.println(getHelp());
     } else {
 
       DoccatModel model = new DoccatModelLoader().load(new File(args[0]));
 
-      DocumentCategorizerME documentCategorizerME = new DocumentCategorizerME(model);
+      ParallelTextProcessor<String> processor = new ParallelTextProcessor<>(threads, () -> {
+        DocumentCategorizerME documentCategorizerME = new DocumentCategorizerME(model);
+
+        return (document, output) -> {
+          String[] tokens = WhitespaceTokenizer.INSTANCE.tokenize(document);
+
+          double[] prob = documentCategorizerME.categorize(tokens);
+          String category = documentCategorizerME.getBestCategory(prob);
+
+          DocumentSample sample = new DocumentSample(category, tokens);
+          output.append(sample).append(System.lineSeparator());
+
+          return 1;
+        };
+      });
 
       /*
        * moved initialization to the try block to catch new IOException
@@ -67,18 +86,7 @@ public class DoccatTool extends BasicCmdLineTool {
       try {
         documentStream = new ParagraphStream(new PlainTextByLineStream(
             new SystemInputStreamFactory(), SystemInputStreamFactory.encoding()));
-        String document;
-        while ((document = documentStream.read()) != null) {
-          String[] tokens = WhitespaceTokenizer.INSTANCE.tokenize(document);
-
-          double[] prob = documentCategorizerME.categorize(tokens);
-          String category = documentCategorizerME.getBestCategory(prob);
-
-          DocumentSample sample = new DocumentSample(category, tokens);
-          System.out.println(sample);
-
-          perfMon.incrementCounter();
-        }
+        processor.process(documentStream, System.out, perfMon);
       } catch (IOException e) {
         CmdLineUtil.handleStdinIoError(e);
       }
@@ -23,6 +23,7 @@ import java.io.IOException;
 import opennlp.tools.cmdline.BasicCmdLineTool;
 import opennlp.tools.cmdline.CLI;
 import opennlp.tools.cmdline.CmdLineUtil;
+import opennlp.tools.cmdline.ParallelTextProcessor;
 import opennlp.tools.cmdline.PerformanceMonitor;
 import opennlp.tools.cmdline.SystemInputStreamFactory;
 import opennlp.tools.langdetect.Language;
@@ -43,19 +44,34 @@ public class LanguageDetectorTool extends BasicCmdLineTool {
 
   @Override
   public String getHelp() {
-    return "Usage: " + CLI.CMD + " " + getName() + " model < documents";
+    return "Usage: " + CLI.CMD + " " + getName() + " [" + ParallelTextProcessor.THREADS_PARAM
+        + " n] model < documents";
   }
 
   @Override
   public void run(String[] args) {
 
+    int threads = ParallelTextProcessor.getThreads(args);
+    args = ParallelTextProcessor.removeThreadsParameter(args);
+
     if (0 == args.length) {
       System.out.println(getHelp());
     } else {
 
       LanguageDetectorModel model = new LanguageDetectorModelLoader().load(new File(args[0]));
 
-      LanguageDetector langDetectME = new LanguageDetectorME(model);
+      ParallelTextProcessor<String> processor = new ParallelTextProcessor<>(threads, () -> {
+        LanguageDetector langDetectME = new LanguageDetectorME(model);
+
+        return (document, output) -> {
+          Language lang = langDetectME.predictLanguage(document);
+
+          LanguageSample sample = new LanguageSample(lang, document);
+          output.append(sample).append(System.lineSeparator());
+
+          return 1;
+        };
+      });
 
       /*
        * moved initialization to the try block to catch new IOException
@@ -68,16 +84,7 @@ public class LanguageDetectorTool extends BasicCmdLineTool {
       try {
         documentStream = new ParagraphStream(new PlainTextByLineStream(
             new SystemInputStreamFactory(), SystemInputStreamFactory.encoding()));
-        String document;
-        while ((document = documentStream.read()) != null) {
-
-          Language lang = langDetectME.predictLanguage(document);
-
-          LanguageSample sample = new LanguageSample(lang, document);
-          System.out.println(sample);
-
-          perfMon.incrementCounter();
-        }
+        processor.process(documentStream, System.out, perfMon);
       } catch (IOException e) {
         CmdLineUtil.handleStdinIoError(e);
       }
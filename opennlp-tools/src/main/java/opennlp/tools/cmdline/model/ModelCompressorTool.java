@@ -0,0 +1,245 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package opennlp.tools.cmdline.model;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
+
+import opennlp.tools.cmdline.ArgumentParser.OptionalParameter;
+import opennlp.tools.cmdline.ArgumentParser.ParameterDescription;
+import opennlp.tools.cmdline.BasicCmdLineTool;
+import opennlp.tools.cmdline.CmdLineUtil;
+import opennlp.tools.cmdline.TerminateToolException;
+import opennlp.tools.ml.model.AbstractModel;
+import opennlp.tools.ml.model.BinaryFileDataReader;
+import opennlp.tools.ml.model.Event;
+import opennlp.tools.ml.model.FileEventStream;
+import opennlp.tools.ml.model.GenericModelReader;
+import opennlp.tools.ml.model.ModelCompressor;
+import opennlp.tools.util.ObjectStreamUtils;
+import opennlp.tools.util.model.ModelUtil;
+
+/**
+ * Rewrites a model package with compressed maxent and perceptron models.
+ * <p>
+ * All other artifacts are copied unchanged, model packages which are contained
+ * in the package, like the tagger and chunker models of a parser, are rewritten as well.
+ */
+public final class ModelCompressorTool extends BasicCmdLineTool {
+
+  private static final byte[] ZIP_SIGNATURE = {'P', 'K', 3, 4};
+
+  interface Params {
+
+    @ParameterDescription(valueName = "modelIn", description = "the model package to compress.")
+    File getModel();
+
+    @ParameterDescription(valueName = "modelOut", description = "the compressed model package.")
+    File getOutput();
+
+    @ParameterDescription(valueName = "none|magnitude|l1",
+        description = "the method to prune weights with.")
+    @OptionalParameter(defaultValue = "none")
+    String getPruning();
+
+    @ParameterDescription(valueName = "num", description = "the pruning threshold.")
+    @OptionalParameter(defaultValue = "0")
+    String getThreshold();
+
+    @ParameterDescription(valueName = "none|float|levels_255",
+        description = "rounds the weights to deflate better in the package, "
+            + "they are still stored as doubles.")
+    @OptionalParameter(defaultValue = "none")
+    String getPackageRounding();
+
+    @ParameterDescription(valueName = "eventsFile",
+        description = "held-out events, one per line, to compare the accuracy of the model with; "
+            + "only supported for packages with a single model.")
+    @OptionalParameter
+    File getEvents();
+  }
+
+  @Override
+  public String getShortDescription() {
+    return "prunes the maxent and perceptron models of a model package";
+  }
+
+  @Override
+  public String getHelp() {
+    return getBasicHelp(Params.class);
+  }
+
+  @Override
+  public void run(String[] args) {
+    Params params = validateAndParseParams(args, Params.class);
+
+    File modelIn = params.getModel();
+    File modelOut = params.getOutput();
+    CmdLineUtil.checkInputFile("model package", modelIn);
+    CmdLineUtil.checkOutputFile("compressed model package", modelOut);
+
+    ModelCompressor compressor;
+    try {
+      compressor = new ModelCompressor(
+          ModelCompressor.Pruning.valueOf(params.getPruning().toUpperCase(Locale.ROOT)),
+          Double.parseDouble(params.getThreshold()),
+          ModelCompressor.PackageRounding.valueOf(
+              params.getPackageRounding().toUpperCase(Locale.ROOT)));
+    } catch (IllegalArgumentException e) {
+      throw new TerminateToolException(1, e.getMessage() + "\n" + getHelp());
+    }
+
+    List<Event> heldOutEvents = new ArrayList<>();
+    if (params.getEvents() != null) {
+      CmdLineUtil.checkInputFile("events", params.getEvents());
+
+      // the events belong to one model, the models of a package have different outcomes
+      int modelCount;
+      try (InputStream in = new BufferedInputStream(new FileInputStream(modelIn))) {
+        modelCount = countModels(in);
+      } catch (IOException e) {
+        throw new TerminateToolException(-1, "IO error while reading the model package: "
+            + e.getMessage(), e);
+      }
+      if (modelCount != 1) {
+        throw new TerminateToolException(1, "Held-out events are only supported for "
+            + "packages with a single model, the package contains " + modelCount + " models");
+      }
+
+      try (FileEventStream events = new FileEventStream(params.getEvents())) {
+        Event event;
+        while ((event = events.read()) != null) {
+          heldOutEvents.add(event);
+        }
+      } catch (IOException e) {
+        throw new TerminateToolException(-1, "IO error while reading the events: "
+            + e.getMessage(), e);
+      }
+    }
+
+    try (InputStream in = new BufferedInputStream(new FileInputStream(modelIn));
+         OutputStream out = new BufferedOutputStream(new FileOutputStream(modelOut))) {
+      compressPackage(compressor, heldOutEvents, "", in, out);
+    } catch (IOException e) {
+      throw new TerminateToolException(-1, "IO error while compressing the model package: "
+          + e.getMessage(), e);
+    }
+
+    System.out.println("Wrote compressed model package to");
+    System.out.println("path: " + modelOut.getAbsolutePath());
+  }
+
+  private static void compressPackage(ModelCompressor compressor, List<Event> heldOutEvents,
+      String path, InputStream in, OutputStream out) throws IOException {
+    ZipInputStream zipIn = new ZipInputStream(in);
+    ZipOutputStream zipOut = new ZipOutputStream(out);
+
+    ZipEntry entry;
+    while ((entry = zipIn.getNextEntry()) != null) {
+      byte[] artifact = ModelUtil.read(zipIn);
+      zipIn.closeEntry();
+
+      zipOut.putNextEntry(new ZipEntry(entry.getName()));
+
+      if (entry.getName().endsWith(".model")) {
+        compressModel(compressor, heldOutEvents, path + entry.getName(), artifact, zipOut);
+      }
+      else if (isPackage(artifact)) {
+        compressPackage(compressor, heldOutEvents, path + entry.getName() + "/",
+            new ByteArrayInputStream(artifact), zipOut);
+      }
+      else {
+        zipOut.write(artifact);
+      }
+
+      zipOut.closeEntry();
+    }
+
+    zipOut.finish();
+  }
+
+  private static void compressModel(ModelCompressor compressor, List<Event> heldOutEvents,
+      String name, byte[] artifact, OutputStream out) throws IOException {
+    AbstractModel model = new GenericModelReader(
+        new BinaryFileDataReader(new ByteArrayInputStream(artifact))).getModel();
+
+    if (model.getModelType() == AbstractModel.ModelType.NaiveBayes) {
+      System.out.println(name + ": naive bayes model is copied unchanged");
+      out.write(artifact);
+      return;
+    }
+
+    AbstractModel compressed = compressor.compress(model);
+
+    ByteArrayOutputStream compressedArtifact = new ByteArrayOutputStream();
+    ModelUtil.writeModel(compressed, compressedArtifact);
+    out.write(compressedArtifact.toByteArray());
+
+    System.out.println(name + ":");
+    System.out.println(ModelCompressor.evaluate(model, compressed,
+        ObjectStreamUtils.createObjectStream(heldOutEvents)));
+  }
+
+  private static int countModels(InputStream in) throws IOException {
+    ZipInputStream zipIn = new ZipInputStream(in);
+
+    int count = 0;
+    ZipEntry entry;
+    while ((entry = zipIn.getNextEntry()) != null) {
+      byte[] artifact = ModelUtil.read(zipIn);
+      zipIn.closeEntry();
+
+      if (entry.getName().endsWith(".model")) {
+        count++;
+      }
+      else if (isPackage(artifact)) {
+        count += countModels(new ByteArrayInputStream(artifact));
+      }
+    }
+
+    return count;
+  }
+
+  private static boolean isPackage(byte[] artifact) {
+    if (artifact.length < ZIP_SIGNATURE.length) {
+      return false;
+    }
+
+    for (int i = 0; i < ZIP_SIGNATURE.length; i++) {
+      if (artifact[i] != ZIP_SIGNATURE[i]) {
+        return false;
+      }
+    }
+
+    return true;
+  }
+}
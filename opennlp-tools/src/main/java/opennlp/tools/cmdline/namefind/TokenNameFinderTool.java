@@ -26,6 +26,7 @@ import java.util.List;
 import opennlp.tools.cmdline.BasicCmdLineTool;
 import opennlp.tools.cmdline.CLI;
 import opennlp.tools.cmdline.CmdLineUtil;
+import opennlp.tools.cmdline.ParallelTextProcessor;
 import opennlp.tools.cmdline.PerformanceMonitor;
 import opennlp.tools.cmdline.SystemInputStreamFactory;
 import opennlp.tools.namefind.NameFinderME;
@@ -44,21 +45,24 @@ public final class TokenNameFinderTool extends BasicCmdLineTool {
   }
 
   public String getHelp() {
-    return "Usage: " + CLI.CMD + " " + getName() + " model1 model2 ... modelN < sentences";
+    return "Usage: " + CLI.CMD + " " + getName() + " [" + ParallelTextProcessor.THREADS_PARAM
+        + " n] model1 model2 ... modelN < sentences";
   }
 
   @Override
   public void run(String[] args) {
 
+    int threads = ParallelTextProcessor.getThreads(args);
+    args = ParallelTextProcessor.removeThreadsParameter(args);
+
     if (args.length == 0) {
       System.out.println(getHelp());
     } else {
 
-      NameFinderME[] nameFinders = new NameFinderME[args.length];
+      TokenNameFinderModel[] models = new TokenNameFinderModel[args.length];
 
-      for (int i = 0; i < nameFinders.length; i++) {
-        TokenNameFinderModel model = new TokenNameFinderModelLoader().load(new File(args[i]));
-        nameFinders[i] = new NameFinderME(model);
+      for (int i = 0; i < models.length; i++) {
+        models[i] = new TokenNameFinderModelLoader().load(new File(args[i]));
       }
 
       // ObjectStream<String> untokenizedLineStream =
@@ -67,45 +71,64 @@ public final class TokenNameFinderTool extends BasicCmdLineTool {
       PerformanceMonitor perfMon = new PerformanceMonitor(System.err, "sent");
       perfMon.start();
 
+      // A new line indicates a new document, a chunk must start
+      // at a new document to clear the adaptive data correctly.
+      // Without empty lines the input is one document and its
+      // chunks are processed one after another.
+      ParallelTextProcessor<String> processor = new ParallelTextProcessor<>(threads,
+          ParallelTextProcessor.CHUNK_SIZE_DEFAULT, () -> createProcessor(models),
+          line -> WhitespaceTokenizer.INSTANCE.tokenize(line).length == 0);
+
       try {
         untokenizedLineStream = new PlainTextByLineStream(
                 new SystemInputStreamFactory(), SystemInputStreamFactory.encoding());
-        String line;
-        while ((line = untokenizedLineStream.read()) != null) {
-          String[] whitespaceTokenizerLine = WhitespaceTokenizer.INSTANCE.tokenize(line);
-
-          // A new line indicates a new document,
-          // adaptive data must be cleared for a new document
+        processor.process(untokenizedLineStream, System.out, perfMon);
+      } catch (IOException e) {
+        CmdLineUtil.handleStdinIoError(e);
+      }
 
-          if (whitespaceTokenizerLine.length == 0) {
-            for (NameFinderME nameFinder : nameFinders) {
-              nameFinder.clearAdaptiveData();
-            }
-          }
+      perfMon.stopAndPrintFinalResult();
+    }
+  }
 
-          List<Span> names = new ArrayList<>();
+  private static ParallelTextProcessor.Processor<String> createProcessor(
+      TokenNameFinderModel[] models) {
 
-          for (TokenNameFinder nameFinder : nameFinders) {
-            Collections.addAll(names, nameFinder.find(whitespaceTokenizerLine));
-          }
+    NameFinderME[] nameFinders = new NameFinderME[models.length];
 
-          // Simple way to drop intersecting spans, otherwise the
-          // NameSample is invalid
-          Span[] reducedNames = NameFinderME.dropOverlappingSpans(
-                  names.toArray(new Span[names.size()]));
+    for (int i = 0; i < nameFinders.length; i++) {
+      nameFinders[i] = new NameFinderME(models[i]);
+    }
 
-          NameSample nameSample = new NameSample(whitespaceTokenizerLine,
-                  reducedNames, false);
+    return (line, output) -> {
+      String[] whitespaceTokenizerLine = WhitespaceTokenizer.INSTANCE.tokenize(line);
 
-          System.out.println(nameSample);
+      // A new line indicates a new document,
+      // adaptive data must be cleared for a new document
 
-          perfMon.incrementCounter();
+      if (whitespaceTokenizerLine.length == 0) {
+        for (NameFinderME nameFinder : nameFinders) {
+          nameFinder.clearAdaptiveData();
         }
-      } catch (IOException e) {
-        CmdLineUtil.handleStdinIoError(e);
       }
 
-      perfMon.stopAndPrintFinalResult();
-    }
+      List<Span> names = new ArrayList<>();
+
+      for (TokenNameFinder nameFinder : nameFinders) {
+        Collections.addAll(names, nameFinder.find(whitespaceTokenizerLine));
+      }
+
+      // Simple way to drop intersecting spans, otherwise the
+      // NameSample is invalid
+      Span[] reducedNames = NameFinderME.dropOverlappingSpans(
+              names.toArray(new Span[names.size()]));
+
+      NameSample nameSample = new NameSample(whitespaceTokenizerLine,
+              reducedNames, false);
+
+      output.append(nameSample).append(System.lineSeparator());
+
+      return 1;
+    };
   }
 }
@@ -27,6 +27,7 @@ import java.util.regex.Pattern;
 import opennlp.tools.cmdline.BasicCmdLineTool;
 import opennlp.tools.cmdline.CLI;
 import opennlp.tools.cmdline.CmdLineUtil;
+import opennlp.tools.cmdline.ParallelTextProcessor;
 import opennlp.tools.cmdline.PerformanceMonitor;
 import opennlp.tools.cmdline.SystemInputStreamFactory;
 import opennlp.tools.cmdline.tokenizer.TokenizerModelLoader;
@@ -50,12 +51,14 @@ public final class ParserTool extends BasicCmdLineTool {
   }
 
   public String getHelp() {
-    return "Usage: " + CLI.CMD + " " + getName() + " [-bs n -ap n -k n -tk tok_model] model < sentences \n"
+    return "Usage: " + CLI.CMD + " " + getName() + " [-bs n -ap n -k n -tk tok_model "
+            + ParallelTextProcessor.THREADS_PARAM + " n] model < sentences \n"
             + "-bs n: Use a beam size of n.\n"
             + "-ap f: Advance outcomes in with at least f% of the probability mass.\n"
             + "-k n: Show the top n parses.  This will also display their log-probablities.\n"
             + "-tk tok_model: Use the specified tokenizer model to tokenize the sentences. "
-            + "Defaults to a WhitespaceTokenizer.";
+            + "Defaults to a WhitespaceTokenizer.\n"
+            + ParallelTextProcessor.THREADS_PARAM + " n: Parse the sentences with n threads.";
   }
 
   private static Pattern untokenizedParenPattern1 = Pattern.compile("([^ ])([({)}])");
@@ -99,34 +102,27 @@ public final class ParserTool extends BasicCmdLineTool {
 
       ParserModel model = new ParserModelLoader().load(new File(args[args.length - 1]));
 
-      Integer beamSize = CmdLineUtil.getIntParameter("-bs", args);
-      if (beamSize == null) {
-        beamSize = AbstractBottomUpParser.defaultBeamSize;
-      }
+      Integer beamSizeParameter = CmdLineUtil.getIntParameter("-bs", args);
+      int beamSize = beamSizeParameter != null
+          ? beamSizeParameter : AbstractBottomUpParser.defaultBeamSize;
 
-      Integer numParses = CmdLineUtil.getIntParameter("-k", args);
-      boolean showTopK;
-      if (numParses == null) {
-        numParses = 1;
-        showTopK = false;
-      } else {
-        showTopK = true;
-      }
+      Integer numParsesParameter = CmdLineUtil.getIntParameter("-k", args);
+      boolean showTopK = numParsesParameter != null;
+      int numParses = showTopK ? numParsesParameter : 1;
 
-      Double advancePercentage = CmdLineUtil.getDoubleParameter("-ap", args);
+      Double advancePercentageParameter = CmdLineUtil.getDoubleParameter("-ap", args);
+      double advancePercentage = advancePercentageParameter != null
+          ? advancePercentageParameter : AbstractBottomUpParser.defaultAdvancePercentage;
 
-      if (advancePercentage == null) {
-        advancePercentage = AbstractBottomUpParser.defaultAdvancePercentage;
-      }
-
-      Tokenizer tokenizer = WhitespaceTokenizer.INSTANCE;
       String tokenizerModelName = CmdLineUtil.getParameter( "-tk", args );
-      if (tokenizerModelName != null ) {
-        TokenizerModel tokenizerModel = new TokenizerModelLoader().load(new File(tokenizerModelName));
-        tokenizer = new TokenizerME( tokenizerModel );
-      }
+      TokenizerModel tokenizerModel = tokenizerModelName != null
+          ? new TokenizerModelLoader().load(new File(tokenizerModelName)) : null;
 
-      Parser parser = ParserFactory.create(model, beamSize, advancePercentage);
+      int threads = ParallelTextProcessor.getThreads(args);
+
+      ParallelTextProcessor<String> processor = new ParallelTextProcessor<>(threads,
+          () -> createProcessor(model, beamSize, advancePercentage, tokenizerModel,
+              numParses, showTopK));
 
       ObjectStream<String> lineStream = null;
       PerformanceMonitor perfMon = null;
@@ -135,24 +131,7 @@ public final class ParserTool extends BasicCmdLineTool {
             SystemInputStreamFactory.encoding());
         perfMon = new PerformanceMonitor(System.err, "sent");
         perfMon.start();
-        String line;
-        while ((line = lineStream.read()) != null) {
-          if (line.trim().length() == 0) {
-            System.out.println();
-          } else {
-            Parse[] parses = parseLine(line, parser, tokenizer, numParses);
-
-            for (int pi = 0, pn = parses.length; pi < pn; pi++) {
-              if (showTopK) {
-                System.out.print(pi + " " + parses[pi].getProb() + " ");
-              }
-
-              parses[pi].show();
-
-              perfMon.incrementCounter();
-            }
-          }
-        }
+        processor.process(lineStream, System.out, perfMon);
       } catch (IOException e) {
         CmdLineUtil.handleStdinIoError(e);
       }
@@ -160,4 +139,35 @@ public final class ParserTool extends BasicCmdLineTool {
       perfMon.stopAndPrintFinalResult();
     }
   }
+
+  private static ParallelTextProcessor.Processor<String> createProcessor(ParserModel model,
+      int beamSize, double advancePercentage, TokenizerModel tokenizerModel, int numParses,
+      boolean showTopK) {
+
+    Tokenizer tokenizer = tokenizerModel != null
+        ? new TokenizerME(tokenizerModel) : WhitespaceTokenizer.INSTANCE;
+
+    Parser parser = ParserFactory.create(model, beamSize, advancePercentage);
+
+    return (line, output) -> {
+      if (line.trim().length() == 0) {
+        output.append(System.lineSeparator());
+        return 0;
+      }
+
+      Parse[] parses = parseLine(line, parser, tokenizer, numParses);
+
+      for (int pi = 0, pn = parses.length; pi < pn; pi++) {
+        if (showTopK) {
+          output.append(pi).append(" ").append(parses[pi].getProb()).append(" ");
+        }
+
+        StringBuffer sb = new StringBuffer();
+        parses[pi].show(sb);
+        output.append(sb).append(System.lineSeparator());
+      }
+
+      return parses.length;
+    };
+  }
 }
@@ -23,6 +23,7 @@ import java.io.IOException;
 import opennlp.tools.cmdline.BasicCmdLineTool;
 import opennlp.tools.cmdline.CLI;
 import opennlp.tools.cmdline.CmdLineUtil;
+import opennlp.tools.cmdline.ParallelTextProcessor;
 import opennlp.tools.cmdline.PerformanceMonitor;
 import opennlp.tools.cmdline.SystemInputStreamFactory;
 import opennlp.tools.postag.POSModel;
@@ -39,18 +40,34 @@ public final class POSTaggerTool extends BasicCmdLineTool {
   }
 
   public String getHelp() {
-    return "Usage: " + CLI.CMD + " " + getName() + " model < sentences";
+    return "Usage: " + CLI.CMD + " " + getName() + " [" + ParallelTextProcessor.THREADS_PARAM
+        + " n] model < sentences";
   }
 
   public void run(String[] args) {
 
+    int threads = ParallelTextProcessor.getThreads(args);
+    args = ParallelTextProcessor.removeThreadsParameter(args);
+
     if (args.length != 1) {
       System.out.println(getHelp());
     } else {
 
       POSModel model = new POSModelLoader().load(new File(args[0]));
 
-      POSTaggerME tagger = new POSTaggerME(model);
+      ParallelTextProcessor<String> processor = new ParallelTextProcessor<>(threads, () -> {
+        POSTaggerME tagger = new POSTaggerME(model);
+
+        return (line, output) -> {
+          String[] whitespaceTokenizerLine = WhitespaceTokenizer.INSTANCE.tokenize(line);
+          String[] tags = tagger.tag(whitespaceTokenizerLine);
+
+          POSSample sample = new POSSample(whitespaceTokenizerLine, tags);
+          output.append(sample).append(System.lineSeparator());
+
+          return 1;
+        };
+      });
 
       ObjectStream<String> lineStream;
       PerformanceMonitor perfMon = null;
@@ -60,17 +77,7 @@ public final class POSTaggerTool extends BasicCmdLineTool {
             new PlainTextByLineStream(new SystemInputStreamFactory(), SystemInputStreamFactory.encoding());
         perfMon = new PerformanceMonitor(System.err, "sent");
         perfMon.start();
-        String line;
-        while ((line = lineStream.read()) != null) {
-
-          String[] whitespaceTokenizerLine = WhitespaceTokenizer.INSTANCE.tokenize(line);
-          String[] tags = tagger.tag(whitespaceTokenizerLine);
-
-          POSSample sample = new POSSample(whitespaceTokenizerLine, tags);
-          System.out.println(sample);
-
-          perfMon.incrementCounter();
-        }
+        processor.process(lineStream, System.out, perfMon);
       } catch (IOException e) {
         CmdLineUtil.handleStdinIoError(e);
       }
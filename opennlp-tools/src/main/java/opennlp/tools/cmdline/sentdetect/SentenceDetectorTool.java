@@ -23,6 +23,7 @@ import java.io.IOException;
 import opennlp.tools.cmdline.BasicCmdLineTool;
 import opennlp.tools.cmdline.CLI;
 import opennlp.tools.cmdline.CmdLineUtil;
+import opennlp.tools.cmdline.ParallelTextProcessor;
 import opennlp.tools.cmdline.PerformanceMonitor;
 import opennlp.tools.cmdline.SystemInputStreamFactory;
 import opennlp.tools.sentdetect.SentenceDetectorME;
@@ -41,7 +42,8 @@ public final class SentenceDetectorTool extends BasicCmdLineTool {
   }
 
   public String getHelp() {
-    return "Usage: " + CLI.CMD + " " + getName() + " model < sentences";
+    return "Usage: " + CLI.CMD + " " + getName() + " [" + ParallelTextProcessor.THREADS_PARAM
+        + " n] model < sentences";
   }
 
   /**
@@ -51,32 +53,36 @@ public final class SentenceDetectorTool extends BasicCmdLineTool {
    */
   public void run(String[] args) {
 
+    int threads = ParallelTextProcessor.getThreads(args);
+    args = ParallelTextProcessor.removeThreadsParameter(args);
+
     if (args.length != 1) {
       System.out.println(getHelp());
     } else {
 
       SentenceModel model = new SentenceModelLoader().load(new File(args[0]));
 
-      SentenceDetectorME sdetector = new SentenceDetectorME(model);
-
-      PerformanceMonitor perfMon = new PerformanceMonitor(System.err, "sent");
-      perfMon.start();
-
-      try (ObjectStream<String> paraStream = new ParagraphStream(new PlainTextByLineStream(
-            new SystemInputStreamFactory(), SystemInputStreamFactory.encoding()))) {
-
-        String para;
-        while ((para = paraStream.read()) != null) {
+      ParallelTextProcessor<String> processor = new ParallelTextProcessor<>(threads, () -> {
+        SentenceDetectorME sdetector = new SentenceDetectorME(model);
 
+        return (para, output) -> {
           String[] sents = sdetector.sentDetect(para);
           for (String sentence : sents) {
-            System.out.println(sentence);
+            output.append(sentence).append(System.lineSeparator());
           }
 
-          perfMon.incrementCounter(sents.length);
+          output.append(System.lineSeparator());
+
+          return sents.length;
+        };
+      });
 
-          System.out.println();
-        }
+      PerformanceMonitor perfMon = new PerformanceMonitor(System.err, "sent");
+      perfMon.start();
+
+      try (ObjectStream<String> paraStream = new ParagraphStream(new PlainTextByLineStream(
+            new SystemInputStreamFactory(), SystemInputStreamFactory.encoding()))) {
+        processor.process(paraStream, System.out, perfMon);
       }
       catch (IOException e) {
         CmdLineUtil.handleStdinIoError(e);
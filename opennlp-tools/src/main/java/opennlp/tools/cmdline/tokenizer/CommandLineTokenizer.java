@@ -18,45 +18,61 @@
 package opennlp.tools.cmdline.tokenizer;
 
 import java.io.IOException;
+import java.util.function.Supplier;
 
 import opennlp.tools.cmdline.CmdLineUtil;
+import opennlp.tools.cmdline.ParallelTextProcessor;
 import opennlp.tools.cmdline.PerformanceMonitor;
 import opennlp.tools.cmdline.SystemInputStreamFactory;
 import opennlp.tools.tokenize.Tokenizer;
-import opennlp.tools.tokenize.TokenizerStream;
-import opennlp.tools.tokenize.WhitespaceTokenStream;
 import opennlp.tools.util.ObjectStream;
 import opennlp.tools.util.PlainTextByLineStream;
+import opennlp.tools.util.Span;
 
 final class CommandLineTokenizer {
 
-  private final Tokenizer tokenizer;
+  private final Supplier<? extends Tokenizer> tokenizerFactory;
+
+  private final int threads;
 
   CommandLineTokenizer(Tokenizer tokenizer) {
-    this.tokenizer = tokenizer;
+    this(() -> tokenizer, 1);
+  }
+
+  /**
+   * Initializes the current instance.
+   *
+   * @param tokenizerFactory creates one tokenizer per thread
+   * @param threads the number of threads
+   */
+  CommandLineTokenizer(Supplier<? extends Tokenizer> tokenizerFactory, int threads) {
+    this.tokenizerFactory = tokenizerFactory;
+    this.threads = threads;
   }
 
   void process() {
     ObjectStream<String> untokenizedLineStream;
 
-    ObjectStream<String> tokenizedLineStream;
+    ParallelTextProcessor<String> processor = new ParallelTextProcessor<>(threads, () -> {
+      Tokenizer tokenizer = tokenizerFactory.get();
+
+      return (line, output) -> {
+        String[] tokens = Span.spansToStrings(tokenizer.tokenizePos(line), line);
+        output.append(String.join(" ", tokens)).append(System.lineSeparator());
+
+        return 1;
+      };
+    });
+
     PerformanceMonitor perfMon = null;
     try {
       untokenizedLineStream =
               new PlainTextByLineStream(new SystemInputStreamFactory(), SystemInputStreamFactory.encoding());
 
-      tokenizedLineStream = new WhitespaceTokenStream(
-              new TokenizerStream(tokenizer, untokenizedLineStream));
-
       perfMon = new PerformanceMonitor(System.err, "sent");
       perfMon.start();
 
-
-      String tokenizedLine;
-      while ((tokenizedLine = tokenizedLineStream.read()) != null) {
-        System.out.println(tokenizedLine);
-        perfMon.incrementCounter();
-      }
+      processor.process(untokenizedLineStream, System.out, perfMon);
     } catch (IOException e) {
       CmdLineUtil.handleStdinIoError(e);
     }
@@ -21,6 +21,7 @@ import java.io.File;
 
 import opennlp.tools.cmdline.BasicCmdLineTool;
 import opennlp.tools.cmdline.CLI;
+import opennlp.tools.cmdline.ParallelTextProcessor;
 import opennlp.tools.tokenize.TokenizerModel;
 
 public final class TokenizerMETool extends BasicCmdLineTool {
@@ -30,18 +31,22 @@ public final class TokenizerMETool extends BasicCmdLineTool {
   }
 
   public String getHelp() {
-    return "Usage: " + CLI.CMD + " " + getName() + " model < sentences";
+    return "Usage: " + CLI.CMD + " " + getName() + " [" + ParallelTextProcessor.THREADS_PARAM
+        + " n] model < sentences";
   }
 
   public void run(String[] args) {
+    int threads = ParallelTextProcessor.getThreads(args);
+    args = ParallelTextProcessor.removeThreadsParameter(args);
+
     if (args.length != 1) {
       System.out.println(getHelp());
     } else {
 
       TokenizerModel model = new TokenizerModelLoader().load(new File(args[0]));
 
-      CommandLineTokenizer tokenizer =
-          new CommandLineTokenizer(new opennlp.tools.tokenize.TokenizerME(model));
+      CommandLineTokenizer tokenizer = new CommandLineTokenizer(
+          () -> new opennlp.tools.tokenize.TokenizerME(model), threads);
 
       tokenizer.process();
     }
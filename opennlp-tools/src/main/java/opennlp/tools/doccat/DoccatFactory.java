@@ -126,6 +126,30 @@ public class DoccatFactory extends BaseToolFactory {
     return featureGenerators;
   }
 
+  /**
+   * Creates new instances of the feature generators, e.g. for another thread. The feature
+   * generators of this package are thread safe and are shared. Other feature generators
+   * are instantiated again from their class, like when a model is loaded, therefore
+   * they need a public no-argument constructor.
+   *
+   * @return the new feature generators or null if a feature generator can not
+   *     be instantiated from its class
+   */
+  public FeatureGenerator[] createFeatureGenerators() {
+    FeatureGenerator[] fgs = getFeatureGenerators().clone();
+    for (int i = 0; i < fgs.length; i++) {
+      if (fgs[i].getClass() != BagOfWordsFeatureGenerator.class
+          && fgs[i].getClass() != NGramFeatureGenerator.class) {
+        try {
+          fgs[i] = fgs[i].getClass().getConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+          return null;
+        }
+      }
+    }
+    return fgs;
+  }
+
   public void setFeatureGenerators(FeatureGenerator[] featureGenerators) {
     this.featureGenerators = featureGenerators;
   }
@@ -28,6 +28,7 @@ import opennlp.tools.ml.model.AbstractModel;
 import opennlp.tools.ml.model.MaxentModel;
 import opennlp.tools.util.BaseToolFactory;
 import opennlp.tools.util.InvalidFormatException;
+import opennlp.tools.util.metrics.FeatureGenerationProfile;
 import opennlp.tools.util.model.BaseModel;
 
 /**
@@ -75,6 +76,37 @@ public class DoccatModel extends BaseModel {
     return (DoccatFactory) this.toolFactory;
   }
 
+  /**
+   * Creates a new {@link DocumentCategorizerME} for this model. A categorizer is cheap
+   * to create but is not thread safe, every thread should use its own categorizer.
+   *
+   * @return a new categorizer
+   */
+  public DocumentCategorizerME newEngine() {
+    return new DocumentCategorizerME(this);
+  }
+
+  /**
+   * Creates a new {@link DocumentCategorizerME} for this model which records the metrics of
+   * its feature generators in a profile, see {@link #newEngine()}. The feature generators are
+   * named after their position and class, e.g. {@code 0:BagOfWordsFeatureGenerator}.
+   *
+   * @param profile the profile, categorizers created with the same profile
+   *     aggregate their metrics
+   * @return a new categorizer
+   */
+  public DocumentCategorizerME newEngine(FeatureGenerationProfile profile) {
+    FeatureGenerator[] featureGenerators = getFactory().getFeatureGenerators();
+
+    FeatureGenerator[] profiledGenerators = new FeatureGenerator[featureGenerators.length];
+    for (int i = 0; i < featureGenerators.length; i++) {
+      profiledGenerators[i] = new ProfilingDoccatFeatureGenerator(featureGenerators[i],
+          profile.getMetrics(i + ":" + featureGenerators[i].getClass().getSimpleName()));
+    }
+
+    return new DocumentCategorizerME(this, profiledGenerators);
+  }
+
   @Override
   protected Class<? extends BaseToolFactory> getDefaultFactory() {
     return DoccatFactory.class;
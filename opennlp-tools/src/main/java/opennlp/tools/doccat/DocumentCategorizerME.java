@@ -25,18 +25,26 @@ import java.util.Map;
 import java.util.Set;
 import java.util.SortedMap;
 import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicReference;
 
 import opennlp.tools.ml.EventTrainer;
+import opennlp.tools.ml.IncrementalEventTrainer;
 import opennlp.tools.ml.TrainerFactory;
+import opennlp.tools.ml.model.Event;
 import opennlp.tools.ml.model.MaxentModel;
 import opennlp.tools.util.ObjectStream;
+import opennlp.tools.util.ParallelEventStream;
 import opennlp.tools.util.TrainingParameters;
+import opennlp.tools.util.metrics.FeatureGenerationProfile;
+import opennlp.tools.util.metrics.Metrics;
 
 /**
  * Maxent implementation of {@link DocumentCategorizer}.
  */
 public class DocumentCategorizerME implements DocumentCategorizer {
 
+  private static final String CATEGORIZE_METRIC = "DocumentCategorizerME.categorize";
+
   /**
    * Shared default thread safe feature generator.
    */
@@ -52,9 +60,16 @@ public class DocumentCategorizerME implements DocumentCategorizer {
    * @param model the doccat model
    */
   public DocumentCategorizerME(DoccatModel model) {
+    this(model, model.getFactory().getFeatureGenerators());
+  }
+
+  /**
+   * Initializes the current instance with feature generators of the model,
+   * e.g. profiled ones, see {@link DoccatModel#newEngine(FeatureGenerationProfile)}.
+   */
+  DocumentCategorizerME(DoccatModel model, FeatureGenerator[] featureGenerators) {
     this.model = model;
-    this.mContextGenerator = new DocumentCategorizerContextGenerator(this.model
-        .getFactory().getFeatureGenerators());
+    this.mContextGenerator = new DocumentCategorizerContextGenerator(featureGenerators);
   }
 
   /**
@@ -66,8 +81,13 @@ public class DocumentCategorizerME implements DocumentCategorizer {
    */
   @Override
   public double[] categorize(String[] text, Map<String, Object> extraInformation) {
-    return model.getMaxentModel().eval(
-        mContextGenerator.getContext(text, extraInformation));
+    long start = Metrics.startTimer();
+    try {
+      return model.getMaxentModel().eval(
+          mContextGenerator.getContext(text, extraInformation));
+    } finally {
+      Metrics.stopTimer(CATEGORIZE_METRIC, start);
+    }
   }
 
   /**
@@ -155,9 +175,58 @@ public class DocumentCategorizerME implements DocumentCategorizer {
     EventTrainer trainer = TrainerFactory.getEventTrainer(
         mlParams, manifestInfoEntries);
 
-    MaxentModel model = trainer.train(
-        new DocumentCategorizerEventStream(samples, factory.getFeatureGenerators()));
+    MaxentModel model = trainer.train(createEventStream(samples, mlParams, factory));
 
     return new DoccatModel(languageCode, model, manifestInfoEntries, factory);
   }
+
+  /**
+   * Updates a naive bayes or perceptron doccat model with new samples, without the
+   * samples it was trained on. New categories and features are added to the model.
+   * The features are generated with the factory of the model.
+   *
+   * @param model the doccat model to update, it is not modified
+   * @param samples the new samples
+   * @param mlParams the training parameters, the cutoff is applied to the new samples
+   * @return the updated doccat model
+   * @throws IOException if reading the samples fails
+   * @throws IllegalArgumentException if the model does not support incremental training
+   */
+  public static DoccatModel update(DoccatModel model, ObjectStream<DocumentSample> samples,
+      TrainingParameters mlParams) throws IOException {
+
+    Map<String, String> manifestInfoEntries = new HashMap<>();
+
+    IncrementalEventTrainer trainer = TrainerFactory.getIncrementalEventTrainer(
+        model.getMaxentModel(), mlParams, manifestInfoEntries);
+
+    MaxentModel updatedModel = trainer.update(model.getMaxentModel(),
+        createEventStream(samples, mlParams, model.getFactory()));
+
+    return new DoccatModel(model.getLanguage(), updatedModel, manifestInfoEntries,
+        model.getFactory());
+  }
+
+  private static ObjectStream<Event> createEventStream(ObjectStream<DocumentSample> samples,
+      TrainingParameters mlParams, DoccatFactory factory) {
+
+    int eventThreads = mlParams.getIntParameter(ParallelEventStream.THREADS_PARAM,
+        ParallelEventStream.THREADS_DEFAULT);
+
+    if (eventThreads > 1) {
+      // every event stream of the worker threads gets its own feature generators,
+      // the first event stream uses the instances created here
+      AtomicReference<FeatureGenerator[]> featureGenerators =
+          new AtomicReference<>(factory.createFeatureGenerators());
+
+      if (featureGenerators.get() != null) {
+        return new ParallelEventStream<>(samples, eventThreads, () -> {
+          FeatureGenerator[] generators = featureGenerators.getAndSet(null);
+          return new DocumentCategorizerEventStream(null,
+              generators != null ? generators : factory.createFeatureGenerators());
+        });
+      }
+    }
+    return new DocumentCategorizerEventStream(samples, factory.getFeatureGenerators());
+  }
 }
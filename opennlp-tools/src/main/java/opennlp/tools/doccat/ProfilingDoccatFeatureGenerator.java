@@ -0,0 +1,48 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package opennlp.tools.doccat;
+
+import java.util.Collection;
+import java.util.Map;
+
+import opennlp.tools.util.metrics.FeatureMetrics;
+
+/**
+ * Records the calls, the features, the time and the estimated allocations
+ * of a wrapped {@link FeatureGenerator}.
+ */
+class ProfilingDoccatFeatureGenerator implements FeatureGenerator {
+
+  private final FeatureGenerator featureGenerator;
+  private final FeatureMetrics metrics;
+
+  ProfilingDoccatFeatureGenerator(FeatureGenerator featureGenerator, FeatureMetrics metrics) {
+    this.featureGenerator = featureGenerator;
+    this.metrics = metrics;
+  }
+
+  @Override
+  public Collection<String> extractFeatures(String[] text, Map<String, Object> extraInformation) {
+    long startTime = System.nanoTime();
+    Collection<String> features = featureGenerator.extractFeatures(text, extraInformation);
+    long nanos = System.nanoTime() - startTime;
+
+    metrics.record(nanos, features.size(), FeatureMetrics.estimateAllocatedBytes(features));
+    return features;
+  }
+}
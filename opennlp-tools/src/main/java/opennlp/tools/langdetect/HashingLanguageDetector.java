@@ -0,0 +1,349 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package opennlp.tools.langdetect;
+
+import java.util.Arrays;
+import java.util.Map;
+
+import opennlp.tools.ml.model.AbstractModel;
+import opennlp.tools.ml.model.Context;
+import opennlp.tools.ml.model.MaxentModel;
+import opennlp.tools.ml.naivebayes.NaiveBayesScorer;
+import opennlp.tools.util.normalizer.CharSequenceNormalizer;
+
+/**
+ * A language detector which produces the same predictions as the
+ * {@link LanguageDetectorME#predictLanguages(CharSequence)} method for models which use
+ * the {@link DefaultLanguageDetectorContextGenerator}, without creating a string for
+ * every char ngram.
+ * <p>
+ * The ngrams of the lower cased, normalized text are identified by a key which is
+ * extended char by char, the keys of ngrams with up to three chars are exact, longer
+ * ngrams are identified by a 60 bit hash. The keys are looked up in a hashed table of
+ * the predicates of the model and the counts are aggregated per predicate in
+ * primitive arrays, ngrams which are unknown to the model are dropped immediately.
+ * The outcome sums of naive bayes, maxent and perceptron models are accumulated
+ * directly from the {@link Context} of each predicate, other models are evaluated
+ * with the predicate strings.
+ * <p>
+ * By default every distinct ngram is evaluated once, like in the {@link LanguageDetectorME}.
+ * In the count weighted mode every ngram is weighted by the number of times it occurs
+ * in the text.
+ * <p>
+ * <b>Note:</b>
+ * An instance is not thread safe, use one instance per thread.
+ */
+public class HashingLanguageDetector implements LanguageDetector {
+
+  private static final long EMPTY = -1L;
+
+  private final MaxentModel model;
+  private final CharSequenceNormalizer normalizer;
+  private final int minLength;
+  private final int maxLength;
+  private final boolean countWeighted;
+
+  /**
+   * The type of the model if its outcome sums are accumulated from the contexts,
+   * otherwise {@code null}.
+   */
+  private final AbstractModel.ModelType modelType;
+
+  private final String[] predicates;
+  private final Context[] contexts;
+
+  private final NaiveBayesScorer naiveBayesScorer;
+
+  private final long[] tableKeys;
+  private final int[] tablePredicates;
+  private final int tableMask;
+
+  private final int[] predicateCounts;
+  private int[] seenPredicates = new int[64];
+  private char[] chars = new char[256];
+
+  /**
+   * Initializes the current instance with a language detector model which uses
+   * the {@link DefaultLanguageDetectorContextGenerator}.
+   *
+   * @param model the language detector model
+   * @param countWeighted {@code true} to weight every ngram with its count
+   */
+  public HashingLanguageDetector(LanguageDetectorModel model, boolean countWeighted) {
+    LanguageDetectorContextGenerator contextGenerator = model.getFactory().getContextGenerator();
+
+    if (contextGenerator.getClass() != DefaultLanguageDetectorContextGenerator.class) {
+      throw new IllegalArgumentException("The model must use the "
+          + DefaultLanguageDetectorContextGenerator.class.getSimpleName() + ", but uses "
+          + contextGenerator.getClass().getName());
+    }
+
+    if (!(model.getMaxentModel() instanceof AbstractModel)) {
+      throw new IllegalArgumentException("The model type is not supported: "
+          + model.getMaxentModel().getClass().getName());
+    }
+
+    DefaultLanguageDetectorContextGenerator generator =
+        (DefaultLanguageDetectorContextGenerator) contextGenerator;
+
+    this.model = model.getMaxentModel();
+    this.normalizer = generator.normalizer;
+    this.minLength = generator.minLength;
+    this.maxLength = generator.maxLength;
+    this.countWeighted = countWeighted;
+
+    AbstractModel.ModelType type = ((AbstractModel) this.model).getModelType();
+    this.modelType = type == AbstractModel.ModelType.NaiveBayes
+        || type == AbstractModel.ModelType.Maxent
+        || type == AbstractModel.ModelType.Perceptron ? type : null;
+
+    Object[] data = ((AbstractModel) this.model).getDataStructures();
+
+    @SuppressWarnings("unchecked")
+    Map<String, Context> pmap = (Map<String, Context>) data[1];
+
+    naiveBayesScorer = modelType == AbstractModel.ModelType.NaiveBayes
+        ? new NaiveBayesScorer((Context[]) data[0], this.model.getNumOutcomes()) : null;
+
+    int tableSize = Integer.highestOneBit(Math.max(pmap.size(), 1) * 2 - 1) * 2;
+    tableKeys = new long[tableSize];
+    Arrays.fill(tableKeys, EMPTY);
+    tablePredicates = new int[tableSize];
+    tableMask = tableSize - 1;
+
+    predicates = new String[pmap.size()];
+    contexts = new Context[pmap.size()];
+    predicateCounts = new int[pmap.size()];
+
+    int index = 0;
+    for (Map.Entry<String, Context> entry : pmap.entrySet()) {
+      String predicate = entry.getKey();
+      predicates[index] = predicate;
+      contexts[index] = entry.getValue();
+
+      if (predicate.length() >= minLength && predicate.length() <= maxLength) {
+        char[] predicateChars = predicate.toCharArray();
+        long key = 0;
+        long hash = 0;
+        for (int length = 1; length <= predicateChars.length; length++) {
+          key = extendKey(key, predicateChars[length - 1], length);
+          hash = extendHash(hash, predicateChars[length - 1]);
+        }
+        put(finishKey(key, hash, predicateChars.length), index);
+      }
+      index++;
+    }
+  }
+
+  /**
+   * Initializes the current instance with a language detector model which uses
+   * the {@link DefaultLanguageDetectorContextGenerator}, every distinct ngram is
+   * evaluated once.
+   *
+   * @param model the language detector model
+   */
+  public HashingLanguageDetector(LanguageDetectorModel model) {
+    this(model, false);
+  }
+
+  private static long extendKey(long key, char c, int length) {
+    return length <= 3 ? (key << 16) | c : key;
+  }
+
+  private static long extendHash(long hash, char c) {
+    return (hash + c) * 0x9E3779B97F4A7C15L;
+  }
+
+  /**
+   * Combines the length with the exact key of short ngrams or the hash of longer ngrams.
+   */
+  private static long finishKey(long key, long hash, int length) {
+    if (length <= 3) {
+      return ((long) length << 60) | key;
+    }
+
+    hash ^= hash >>> 33;
+    hash *= 0xff51afd7ed558ccdL;
+    hash ^= hash >>> 33;
+
+    return ((long) (length & 0xf) << 60) | (hash >>> 4);
+  }
+
+  private static int slot(long key) {
+    long h = key * 0xc4ceb9fe1a85ec53L;
+    return (int) (h ^ (h >>> 32));
+  }
+
+  private void put(long key, int predicate) {
+    int i = slot(key) & tableMask;
+    while (tableKeys[i] != EMPTY && tableKeys[i] != key) {
+      i = (i + 1) & tableMask;
+    }
+    tableKeys[i] = key;
+    tablePredicates[i] = predicate;
+  }
+
+  private int get(long key) {
+    int i = slot(key) & tableMask;
+    while (tableKeys[i] != EMPTY) {
+      if (tableKeys[i] == key) {
+        return tablePredicates[i];
+      }
+      i = (i + 1) & tableMask;
+    }
+    return -1;
+  }
+
+  /**
+   * Writes the lower cased, normalized content into the char buffer.
+   *
+   * @return the number of chars
+   */
+  private int lowerCaseChars(CharSequence content) {
+    CharSequence text = normalizer.normalize(content);
+    int length = text.length();
+
+    if (chars.length < length) {
+      chars = new char[length];
+    }
+
+    int i = 0;
+    while (i < length) {
+      int cp = Character.codePointAt(text, i);
+      i += Character.toChars(Character.toLowerCase(cp), chars, i);
+    }
+
+    return length;
+  }
+
+  @Override
+  public Language[] predictLanguages(CharSequence content) {
+    int length = lowerCaseChars(content);
+
+    int numSeen = 0;
+
+    for (int start = 0; start < length; start++) {
+      long key = 0;
+      long hash = 0;
+      for (int ngramLength = 1; ngramLength <= maxLength && start + ngramLength <= length;
+           ngramLength++) {
+        char c = chars[start + ngramLength - 1];
+        key = extendKey(key, c, ngramLength);
+        hash = extendHash(hash, c);
+
+        if (ngramLength >= minLength) {
+          int predicate = get(finishKey(key, hash, ngramLength));
+          if (predicate != -1) {
+            if (predicateCounts[predicate]++ == 0) {
+              if (numSeen == seenPredicates.length) {
+                seenPredicates = Arrays.copyOf(seenPredicates, numSeen * 2);
+              }
+              seenPredicates[numSeen++] = predicate;
+            }
+          }
+        }
+      }
+    }
+
+    double[] eval = modelType != null ? score(numSeen) : evalPredicates(numSeen);
+
+    for (int i = 0; i < numSeen; i++) {
+      predicateCounts[seenPredicates[i]] = 0;
+    }
+
+    Language[] languages = new Language[eval.length];
+    for (int j = 0; j < eval.length; j++) {
+      languages[j] = new Language(model.getOutcome(j), eval[j]);
+    }
+
+    Arrays.sort(languages, (o1, o2) -> Double.compare(o2.getConfidence(), o1.getConfidence()));
+    return languages;
+  }
+
+  /**
+   * Sums the parameters of the seen predicates per outcome, weighted by their counts
+   * in the count weighted mode, and normalizes the sums like the model does.
+   */
+  private double[] score(int numSeen) {
+    double[] scores = new double[model.getNumOutcomes()];
+
+    for (int i = 0; i < numSeen; i++) {
+      int predicate = seenPredicates[i];
+      int weight = countWeighted ? predicateCounts[predicate] : 1;
+
+      if (naiveBayesScorer != null) {
+        naiveBayesScorer.addIn(scores, contexts[predicate], weight);
+      }
+      else {
+        int[] outcomes = contexts[predicate].getOutcomes();
+        double[] parameters = contexts[predicate].getParameters();
+        for (int ai = 0; ai < outcomes.length; ai++) {
+          scores[outcomes[ai]] += weight * parameters[ai];
+        }
+      }
+    }
+
+    if (naiveBayesScorer != null) {
+      return naiveBayesScorer.normalize(scores);
+    }
+
+    double scale = 1;
+    if (modelType == AbstractModel.ModelType.Perceptron) {
+      for (double score : scores) {
+        scale = Math.max(scale, StrictMath.abs(score));
+      }
+    }
+
+    double normal = 0;
+    for (int oi = 0; oi < scores.length; oi++) {
+      scores[oi] = StrictMath.exp(scores[oi] / scale);
+      normal += scores[oi];
+    }
+    for (int oi = 0; oi < scores.length; oi++) {
+      scores[oi] /= normal;
+    }
+
+    return scores;
+  }
+
+  private double[] evalPredicates(int numSeen) {
+    String[] context = new String[numSeen];
+    float[] values = new float[numSeen];
+    for (int i = 0; i < numSeen; i++) {
+      int predicate = seenPredicates[i];
+      context[i] = predicates[predicate];
+      values[i] = countWeighted ? predicateCounts[predicate] : 1;
+    }
+
+    return model.eval(context, values);
+  }
+
+  @Override
+  public Language predictLanguage(CharSequence content) {
+    return predictLanguages(content)[0];
+  }
+
+  @Override
+  public String[] getSupportedLanguages() {
+    String[] languages = new String[model.getNumOutcomes()];
+    for (int i = 0; i < languages.length; i++) {
+      languages[i] = model.getOutcome(i);
+    }
+    return languages;
+  }
+}
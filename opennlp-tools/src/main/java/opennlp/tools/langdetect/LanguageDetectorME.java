@@ -26,11 +26,14 @@ import java.util.Map;
 
 import opennlp.tools.ml.AbstractEventTrainer;
 import opennlp.tools.ml.EventTrainer;
+import opennlp.tools.ml.IncrementalEventTrainer;
 import opennlp.tools.ml.TrainerFactory;
 import opennlp.tools.ml.model.MaxentModel;
 import opennlp.tools.util.MutableInt;
 import opennlp.tools.util.ObjectStream;
 import opennlp.tools.util.TrainingParameters;
+import opennlp.tools.util.metrics.FeatureGenerationProfile;
+import opennlp.tools.util.metrics.Metrics;
 
 /**
  * Implements learnable Language Detector
@@ -51,7 +54,8 @@ import opennlp.tools.util.TrainingParameters;
  * in confidence between the highest confidence language
  * and the second highest confidence language is greater than
  * {@link LanguageDetectorConfig#getMinDiff()}, the language detector will
- * stop and report the results.
+ * stop and report the results. The scores are updated with the new ngrams
+ * of every chunk, the text before the chunk is not evaluated again.
  * </p>
  * <p>
  * The authors wish to thank Ken Krugler and
@@ -62,6 +66,8 @@ import opennlp.tools.util.TrainingParameters;
  */
 public class LanguageDetectorME implements LanguageDetector {
 
+  private static final String PREDICT_LANGUAGES_METRIC = "LanguageDetectorME.predictLanguages";
+
   protected LanguageDetectorModel model;
   private LanguageDetectorContextGenerator mContextGenerator;
 
@@ -72,8 +78,16 @@ public class LanguageDetectorME implements LanguageDetector {
    * @param model the language detector model
    */
   public LanguageDetectorME(LanguageDetectorModel model) {
+    this(model, model.getFactory().getContextGenerator());
+  }
+
+  /**
+   * Initializes the current instance with a context generator of the model,
+   * e.g. a profiled one, see {@link LanguageDetectorModel#newEngine(FeatureGenerationProfile)}.
+   */
+  LanguageDetectorME(LanguageDetectorModel model, LanguageDetectorContextGenerator contextGenerator) {
     this.model = model;
-    this.mContextGenerator = model.getFactory().getContextGenerator();
+    this.mContextGenerator = contextGenerator;
   }
 
   /**
@@ -84,8 +98,12 @@ public class LanguageDetectorME implements LanguageDetector {
    */
   @Override
   public Language[] predictLanguages(CharSequence content) {
-    return predict(arrayToCounts(
-            mContextGenerator.getContext(content)));
+    long start = Metrics.startTimer();
+    try {
+      return predict(arrayToCounts(mContextGenerator.getContext(content)));
+    } finally {
+      Metrics.stopTimer(PREDICT_LANGUAGES_METRIC, start);
+    }
   }
 
   /**
@@ -135,28 +153,30 @@ public class LanguageDetectorME implements LanguageDetector {
                                                                 LanguageDetectorConfig config) {
     //list of the languages that received the highest
     //confidence over the last n chunk detections
-    List<Language[]> predictions = new LinkedList();
+    List<Language[]> predictions = new LinkedList<>();
     int start = 0;//where to start the next chunk in codepoints
+    int charStart = 0;//where to start the next chunk in chars
     Language[] currPredictions = null;
-    //cache ngram counts across chunks
-    Map<String, MutableInt> ngramCounts = new HashMap<>();
+    //the scores of the distinct ngrams are updated with every chunk
+    ProbingLanguageScorer scorer = new ProbingLanguageScorer(model.getMaxentModel());
     while (true) {
       int actualChunkSize =
               (start + config.getChunkSize() > config.getMaxLength()) ?
                       config.getMaxLength() - start : config.getChunkSize();
-      StringCPLengthPair chunk = chunk(content, start, actualChunkSize);
+      int charEnd = chunkEnd(content, charStart, actualChunkSize);
 
-      if (chunk.length() == 0) {
+      if (charEnd == charStart) {
         if (currPredictions == null) {
-          return new ProbingLanguageDetectionResult(predict(ngramCounts), start);
+          return new ProbingLanguageDetectionResult(scorer.predict(), start);
         } else {
           return new ProbingLanguageDetectionResult(currPredictions, start);
         }
       }
-      start += chunk.length();
-      updateCounts(mContextGenerator.getContext(chunk.getString()), ngramCounts);
-      currPredictions = predict(ngramCounts);
-      if (seenEnough(predictions, currPredictions, ngramCounts, config)) {
+      start += Character.codePointCount(content, charStart, charEnd);
+      scorer.add(mContextGenerator.getContext(content.subSequence(charStart, charEnd).toString()));
+      charStart = charEnd;
+      currPredictions = scorer.predict();
+      if (seenEnough(predictions, currPredictions, config)) {
         return new ProbingLanguageDetectionResult(currPredictions, start);
       }
     }
@@ -207,11 +227,10 @@ public class LanguageDetectorME implements LanguageDetector {
    *
    * @param predictionsQueue queue of earlier predictions
    * @param newPredictions most recent predictions
-   * @param ngramCounts -- not currently used, but might be useful
    * @return whether or not enough text has been processed to make a determination
    */
   boolean seenEnough(List<Language[]> predictionsQueue, Language[] newPredictions,
-                     Map<String, MutableInt> ngramCounts, LanguageDetectorConfig config) {
+                     LanguageDetectorConfig config) {
 
     if (predictionsQueue.size() < config.getMinConsecImprovements()) {
       predictionsQueue.add(newPredictions);
@@ -251,18 +270,17 @@ public class LanguageDetectorME implements LanguageDetector {
     return true;
   }
 
-  private StringCPLengthPair chunk(CharSequence content, int start, int chunkSize) {
-    if (start == 0 && chunkSize > content.length()) {
-      String s = content.toString();
-      int codePointLength = s.codePointCount(0, s.length());
-      return
-              new StringCPLengthPair(s, codePointLength);
+  /**
+   * Computes the end of a chunk without copying the content.
+   *
+   * @return the char index after the chunk of at most chunkSize codepoints
+   */
+  private static int chunkEnd(CharSequence content, int charStart, int chunkSize) {
+    int end = charStart;
+    for (int i = 0; i < chunkSize && end < content.length(); i++) {
+      end += Character.charCount(Character.codePointAt(content, end));
     }
-    int[] codepoints = content.codePoints().skip(start).limit(chunkSize).toArray();
-    return
-            new StringCPLengthPair(
-                    new String(codepoints, 0, codepoints.length),
-                    codepoints.length);
+    return end;
   }
 
   public static LanguageDetectorModel train(ObjectStream<LanguageSample> samples,
@@ -272,6 +290,8 @@ public class LanguageDetectorME implements LanguageDetector {
 
     Map<String, String> manifestInfoEntries = new HashMap<>();
 
+    // the default indexer is set on a copy, the parameters of the caller are not modified
+    mlParams = new TrainingParameters(mlParams);
     mlParams.putIfAbsent(AbstractEventTrainer.DATA_INDEXER_PARAM,
         AbstractEventTrainer.DATA_INDEXER_ONE_PASS_VALUE);
 
@@ -284,21 +304,36 @@ public class LanguageDetectorME implements LanguageDetector {
     return new LanguageDetectorModel(model, manifestInfoEntries, factory);
   }
 
-  private static class StringCPLengthPair {
-    private final String s;
-    private final int length;
+  /**
+   * Updates a naive bayes or perceptron language detector model with new samples,
+   * without the samples it was trained on. New languages and features are added
+   * to the model. The features are generated with the factory of the model.
+   *
+   * @param model the language detector model to update, it is not modified
+   * @param samples the new samples
+   * @param mlParams the training parameters, the cutoff is applied to the new samples
+   * @return the updated language detector model
+   * @throws IOException if reading the samples fails
+   * @throws IllegalArgumentException if the model does not support incremental training
+   */
+  public static LanguageDetectorModel update(LanguageDetectorModel model,
+                                             ObjectStream<LanguageSample> samples,
+                                             TrainingParameters mlParams)
+      throws IOException {
 
-    StringCPLengthPair(String s, int length) {
-      this.s = s;
-      this.length = length;
-    }
+    Map<String, String> manifestInfoEntries = new HashMap<>();
 
-    int length() {
-      return length;
-    }
+    // the default indexer is set on a copy, the parameters of the caller are not modified
+    mlParams = new TrainingParameters(mlParams);
+    mlParams.putIfAbsent(AbstractEventTrainer.DATA_INDEXER_PARAM,
+        AbstractEventTrainer.DATA_INDEXER_ONE_PASS_VALUE);
 
-    String getString() {
-      return s;
-    }
+    IncrementalEventTrainer trainer = TrainerFactory.getIncrementalEventTrainer(
+        model.getMaxentModel(), mlParams, manifestInfoEntries);
+
+    MaxentModel updatedModel = trainer.update(model.getMaxentModel(),
+        new LanguageDetectorEventStream(samples, model.getFactory().getContextGenerator()));
+
+    return new LanguageDetectorModel(updatedModel, manifestInfoEntries, model.getFactory());
   }
 }
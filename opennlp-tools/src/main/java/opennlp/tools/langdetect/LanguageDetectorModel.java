@@ -27,6 +27,7 @@ import opennlp.tools.ml.model.AbstractModel;
 import opennlp.tools.ml.model.MaxentModel;
 import opennlp.tools.util.BaseToolFactory;
 import opennlp.tools.util.InvalidFormatException;
+import opennlp.tools.util.metrics.FeatureGenerationProfile;
 import opennlp.tools.util.model.BaseModel;
 
 /**
@@ -71,6 +72,30 @@ public class LanguageDetectorModel extends BaseModel {
     return (LanguageDetectorFactory) this.toolFactory;
   }
 
+  /**
+   * Creates a new {@link LanguageDetectorME} for this model. A language detector is cheap
+   * to create but is not thread safe, every thread should use its own language detector.
+   *
+   * @return a new language detector
+   */
+  public LanguageDetectorME newEngine() {
+    return new LanguageDetectorME(this);
+  }
+
+  /**
+   * Creates a new {@link LanguageDetectorME} for this model which records the metrics of its
+   * context generator in a profile, see {@link #newEngine()}.
+   *
+   * @param profile the profile, language detectors created with the same profile
+   *     aggregate their metrics
+   * @return a new language detector
+   */
+  public LanguageDetectorME newEngine(FeatureGenerationProfile profile) {
+    LanguageDetectorContextGenerator contextGenerator = getFactory().getContextGenerator();
+    return new LanguageDetectorME(this, new ProfilingLanguageDetectorContextGenerator(
+        contextGenerator, profile.getMetrics(contextGenerator.getClass().getSimpleName())));
+  }
+
   @Override
   protected Class<? extends BaseToolFactory> getDefaultFactory() {
     return LanguageDetectorFactory.class;
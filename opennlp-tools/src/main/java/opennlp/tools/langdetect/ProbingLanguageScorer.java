@@ -0,0 +1,151 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package opennlp.tools.langdetect;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import opennlp.tools.ml.model.AbstractModel;
+import opennlp.tools.ml.model.Context;
+import opennlp.tools.ml.model.MaxentModel;
+import opennlp.tools.ml.naivebayes.NaiveBayesScorer;
+
+/**
+ * Scores the distinct ngrams of a text which is read in chunks. The scores of the
+ * naive bayes, maxent and perceptron models are sums over the predicates, these are
+ * kept per outcome and only updated with the ngrams which were not seen before,
+ * evaluating the current predictions only normalizes the sums.
+ * <p>
+ * Other models are evaluated with all distinct ngrams for every prediction.
+ */
+class ProbingLanguageScorer {
+
+  private final MaxentModel model;
+  private final AbstractModel.ModelType modelType;
+  private final Map<String, Context> pmap;
+
+  private final double[] scores;
+
+  private final NaiveBayesScorer naiveBayesScorer;
+
+  private final Set<String> seen = new HashSet<>();
+  private final List<String> distinct = new ArrayList<>();
+
+  @SuppressWarnings("unchecked")
+  ProbingLanguageScorer(MaxentModel model) {
+    this.model = model;
+    this.scores = new double[model.getNumOutcomes()];
+
+    if (model instanceof AbstractModel && ((AbstractModel) model).getModelType() != null
+        && ((AbstractModel) model).getModelType() != AbstractModel.ModelType.MaxentQn) {
+      AbstractModel abstractModel = (AbstractModel) model;
+      modelType = abstractModel.getModelType();
+      Object[] data = abstractModel.getDataStructures();
+      pmap = (Map<String, Context>) data[1];
+
+      naiveBayesScorer = modelType == AbstractModel.ModelType.NaiveBayes
+          ? new NaiveBayesScorer((Context[]) data[0], scores.length) : null;
+    }
+    else {
+      modelType = null;
+      pmap = null;
+      naiveBayesScorer = null;
+    }
+  }
+
+  /**
+   * Adds the ngrams of the next chunk, ngrams which were already added are ignored.
+   *
+   * @param ngrams the ngrams of the chunk
+   */
+  void add(String[] ngrams) {
+    for (String ngram : ngrams) {
+      if (seen.add(ngram)) {
+        if (modelType == null) {
+          distinct.add(ngram);
+        }
+        else {
+          Context context = pmap.get(ngram);
+          if (context != null) {
+            addIn(context);
+          }
+        }
+      }
+    }
+  }
+
+  private void addIn(Context context) {
+    if (naiveBayesScorer != null) {
+      naiveBayesScorer.addIn(scores, context, 1);
+    }
+    else {
+      int[] outcomes = context.getOutcomes();
+      double[] parameters = context.getParameters();
+      for (int ai = 0; ai < outcomes.length; ai++) {
+        scores[outcomes[ai]] += parameters[ai];
+      }
+    }
+  }
+
+  /**
+   * Evaluates the added ngrams.
+   *
+   * @return the languages sorted by their confidence
+   */
+  Language[] predict() {
+    double[] probs;
+
+    if (modelType == null) {
+      probs = model.eval(distinct.toArray(new String[distinct.size()]));
+    }
+    else if (naiveBayesScorer != null) {
+      probs = naiveBayesScorer.normalize(Arrays.copyOf(scores, scores.length));
+    }
+    else {
+      probs = Arrays.copyOf(scores, scores.length);
+
+      double scale = 1;
+      if (modelType == AbstractModel.ModelType.Perceptron) {
+        for (double prob : probs) {
+          scale = Math.max(scale, StrictMath.abs(prob));
+        }
+      }
+
+      double normal = 0;
+      for (int i = 0; i < probs.length; i++) {
+        probs[i] = StrictMath.exp(probs[i] / scale);
+        normal += probs[i];
+      }
+      for (int i = 0; i < probs.length; i++) {
+        probs[i] /= normal;
+      }
+    }
+
+    Language[] languages = new Language[probs.length];
+    for (int i = 0; i < probs.length; i++) {
+      languages[i] = new Language(model.getOutcome(i), probs[i]);
+    }
+
+    Arrays.sort(languages, (o1, o2) -> Double.compare(o2.getConfidence(), o1.getConfidence()));
+    return languages;
+  }
+}
@@ -0,0 +1,563 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package opennlp.tools.languagemodel;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import opennlp.tools.ngram.NGramModel;
+import opennlp.tools.util.InvalidFormatException;
+import opennlp.tools.util.StringList;
+
+/**
+ * An immutable, compiled form of a {@link NGramLanguageModel}.
+ * <p>
+ * The ngrams are stored in a trie over integer token ids which is flattened into
+ * arrays. The children of a trie node are sorted by token id for lookups and
+ * additionally ranked by count, so the children of a context node are the candidate
+ * next tokens of that context. The probabilities are calculated with the same
+ * Stupid Backoff as the {@link NGramLanguageModel} and are identical to it.
+ * <p>
+ * Instances are thread safe and can be written to and read from a compact binary format.
+ */
+public class CompiledNGramLanguageModel implements LanguageModel {
+
+  private static final int MAGIC_NUMBER = 0x4f4e4c4d; // ONLM
+  private static final int VERSION = 1;
+
+  private static final double BACKOFF_FACTOR = 0.4;
+
+  private final int n;
+
+  /** The number of ngrams in the source model. */
+  private final int size;
+
+  private final String[] tokens;
+  private final Map<String, Integer> tokenIds;
+
+  /** The token of the edge leading to a node. */
+  private final int[] nodeToken;
+  /** The count of the ngram which ends at a node. */
+  private final int[] nodeCount;
+  /** The children of node i are the nodes firstChild[i] to firstChild[i + 1] - 1. */
+  private final int[] firstChild;
+  /** The children of every node, in the same ranges as firstChild, sorted by descending count. */
+  private final int[] childrenByCount;
+  /** The length of the longest ngram in the trie. */
+  private final int maxLength;
+
+  /**
+   * Compiles the given ngrams.
+   *
+   * @param ngrams the ngrams and their counts
+   * @param n the maximal length of the ngrams used for scoring
+   */
+  public CompiledNGramLanguageModel(NGramModel ngrams, int n) {
+    if (n < 1) {
+      throw new IllegalArgumentException("n must be at least 1, but was " + n);
+    }
+
+    this.n = n;
+    this.size = ngrams.size();
+
+    // assign the token ids in lexicographic order
+    TreeMap<String, Integer> sortedTokens = new TreeMap<>();
+    for (StringList ngram : ngrams) {
+      for (String token : ngram) {
+        sortedTokens.put(token, 0);
+      }
+    }
+
+    tokens = sortedTokens.keySet().toArray(new String[0]);
+    tokenIds = new HashMap<>();
+    for (int i = 0; i < tokens.length; i++) {
+      tokenIds.put(tokens[i], i);
+    }
+
+    // build a pointer based trie first, and then flatten it in breadth first order
+    BuildNode root = new BuildNode(-1);
+    for (StringList ngram : ngrams) {
+      BuildNode node = root;
+      for (String token : ngram) {
+        node = node.children.computeIfAbsent(tokenIds.get(token), BuildNode::new);
+      }
+      node.count = ngrams.getCount(ngram);
+    }
+
+    List<BuildNode> nodes = new ArrayList<>();
+    Deque<BuildNode> queue = new ArrayDeque<>();
+    queue.add(root);
+    while (!queue.isEmpty()) {
+      BuildNode node = queue.poll();
+      nodes.add(node);
+      queue.addAll(node.children.values());
+    }
+
+    nodeToken = new int[nodes.size()];
+    nodeCount = new int[nodes.size()];
+    firstChild = new int[nodes.size() + 1];
+
+    int nextChild = 1;
+    for (int i = 0; i < nodes.size(); i++) {
+      BuildNode node = nodes.get(i);
+      nodeToken[i] = node.token;
+      nodeCount[i] = node.count;
+      firstChild[i] = nextChild;
+      nextChild += node.children.size();
+    }
+    firstChild[nodes.size()] = nextChild;
+
+    childrenByCount = rankChildren();
+    maxLength = maxLength();
+  }
+
+  private CompiledNGramLanguageModel(int n, int size, String[] tokens, int[] nodeToken,
+      int[] nodeCount, int[] firstChild) {
+    this.n = n;
+    this.size = size;
+    this.tokens = tokens;
+    this.nodeToken = nodeToken;
+    this.nodeCount = nodeCount;
+    this.firstChild = firstChild;
+
+    tokenIds = new HashMap<>();
+    for (int i = 0; i < tokens.length; i++) {
+      tokenIds.put(tokens[i], i);
+    }
+
+    childrenByCount = rankChildren();
+    maxLength = maxLength();
+  }
+
+  private int[] rankChildren() {
+    Integer[] ranked = new Integer[nodeToken.length];
+    for (int i = 0; i < ranked.length; i++) {
+      ranked[i] = i;
+    }
+
+    Comparator<Integer> byCount = Comparator.comparingInt((Integer node) -> nodeCount[node]).reversed();
+    for (int node = 0; node < nodeToken.length; node++) {
+      Arrays.sort(ranked, firstChild[node], firstChild[node + 1], byCount);
+    }
+
+    int[] result = new int[ranked.length];
+    for (int i = 0; i < result.length; i++) {
+      result[i] = ranked[i];
+    }
+    return result;
+  }
+
+  private int maxLength() {
+    // the nodes are in breadth first order, so a parent always precedes its children
+    int[] depth = new int[nodeToken.length];
+    int max = 0;
+    for (int node = 0; node < nodeToken.length; node++) {
+      for (int child = firstChild[node]; child < firstChild[node + 1]; child++) {
+        depth[child] = depth[node] + 1;
+        max = Math.max(max, depth[child]);
+      }
+    }
+    return max;
+  }
+
+  /**
+   * Reads a model which was written with {@link #serialize(OutputStream)}.
+   *
+   * @param in the stream to read the model from, it is not closed
+   * @return the model
+   * @throws IOException if reading the model fails
+   */
+  public static CompiledNGramLanguageModel create(InputStream in) throws IOException {
+    DataInputStream input = new DataInputStream(new BufferedInputStream(in));
+
+    if (input.readInt() != MAGIC_NUMBER) {
+      throw new InvalidFormatException("The stream does not contain a compiled language model!");
+    }
+
+    int version = input.readInt();
+    if (version != VERSION) {
+      throw new InvalidFormatException("Unsupported compiled language model version: " + version);
+    }
+
+    int n = input.readInt();
+    int size = input.readInt();
+
+    String[] tokens = new String[input.readInt()];
+    for (int i = 0; i < tokens.length; i++) {
+      tokens[i] = input.readUTF();
+    }
+
+    int numNodes = input.readInt();
+    int[] nodeToken = new int[numNodes];
+    int[] nodeCount = new int[numNodes];
+    int[] firstChild = new int[numNodes + 1];
+
+    int nextChild = 1;
+    for (int i = 0; i < numNodes; i++) {
+      nodeToken[i] = input.readInt();
+      nodeCount[i] = input.readInt();
+      firstChild[i] = nextChild;
+      nextChild += input.readInt();
+    }
+    firstChild[numNodes] = nextChild;
+
+    if (nextChild != numNodes) {
+      throw new InvalidFormatException("The trie of the compiled language model is corrupt!");
+    }
+
+    return new CompiledNGramLanguageModel(n, size, tokens, nodeToken, nodeCount, firstChild);
+  }
+
+  /**
+   * Writes the model in a compact binary format.
+   *
+   * @param out the stream to write the model to, it is flushed but not closed
+   * @throws IOException if writing the model fails
+   */
+  public void serialize(OutputStream out) throws IOException {
+    DataOutputStream output = new DataOutputStream(new BufferedOutputStream(out));
+
+    output.writeInt(MAGIC_NUMBER);
+    output.writeInt(VERSION);
+    output.writeInt(n);
+    output.writeInt(size);
+
+    output.writeInt(tokens.length);
+    for (String token : tokens) {
+      output.writeUTF(token);
+    }
+
+    // the nodes are in breadth first order, the child ranges follow from the child counts
+    output.writeInt(nodeToken.length);
+    for (int i = 0; i < nodeToken.length; i++) {
+      output.writeInt(nodeToken[i]);
+      output.writeInt(nodeCount[i]);
+      output.writeInt(firstChild[i + 1] - firstChild[i]);
+    }
+
+    output.flush();
+  }
+
+  /**
+   * Retrieves the child of a node for the given token.
+   *
+   * @return the child node or -1 if there is no such child
+   */
+  private int child(int node, int token) {
+    int low = firstChild[node];
+    int high = firstChild[node + 1] - 1;
+
+    while (low <= high) {
+      int mid = (low + high) >>> 1;
+      int midToken = nodeToken[mid];
+      if (midToken < token) {
+        low = mid + 1;
+      } else if (midToken > token) {
+        high = mid - 1;
+      } else {
+        return mid;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Retrieves the node of the ngram ids[from] to ids[to - 1].
+   *
+   * @return the node or -1 if the ngram is not in the trie
+   */
+  private int node(int[] ids, int from, int to) {
+    int node = 0;
+    for (int i = from; i < to && node != -1; i++) {
+      node = ids[i] != -1 ? child(node, ids[i]) : -1;
+    }
+    return node;
+  }
+
+  private int count(int[] ids, int from, int to) {
+    int node = node(ids, from, to);
+    return node != -1 ? nodeCount[node] : 0;
+  }
+
+  private double stupidBackoff(int[] ids, int from, int to) {
+    int count = count(ids, from, to);
+    if (to - from <= 1) {
+      return (double) count / (double) size;
+    } else if (count > 0) {
+      double countM1 = count(ids, from, to - 1);
+      if (countM1 == 0d) {
+        countM1 = size; // to avoid Infinite if n-1grams do not exist
+      }
+      return (double) count / countM1;
+    } else {
+      return BACKOFF_FACTOR * stupidBackoff(ids, from + 1, to);
+    }
+  }
+
+  private int[] toIds(String[] tokens) {
+    int[] ids = new int[tokens.length];
+    for (int i = 0; i < tokens.length; i++) {
+      Integer id = tokenIds.get(tokens[i]);
+      ids[i] = id != null ? id : -1;
+    }
+    return ids;
+  }
+
+  /**
+   * Calculates the natural logarithm of the probability of the given tokens.
+   *
+   * @param tokens the tokens of a sentence
+   * @return the log probability, or negative infinity if the probability is zero
+   */
+  public double logProbability(String... tokens) {
+    return logProbability(toIds(tokens), tokens.length);
+  }
+
+  private double logProbability(int[] ids, int length) {
+    if (size == 0) {
+      return Double.NEGATIVE_INFINITY;
+    }
+
+    double probability = 0d;
+    if (n >= length) {
+      probability = StrictMath.log(stupidBackoff(ids, 0, length));
+    } else {
+      for (int i = 0; i + n <= length; i++) {
+        probability += StrictMath.log(stupidBackoff(ids, i, i + n));
+      }
+    }
+    return probability;
+  }
+
+  private double probability(int[] ids, int length) {
+    double probability = 0d;
+    if (size > 0) {
+      probability = logProbability(ids, length);
+      probability = Double.isNaN(probability) ? 0d : StrictMath.exp(probability);
+    }
+    return probability;
+  }
+
+  @Override
+  public double calculateProbability(String... tokens) {
+    return probability(toIds(tokens), tokens.length);
+  }
+
+  @Override
+  @Deprecated
+  public double calculateProbability(StringList tokens) {
+    return calculateProbability(toArray(tokens));
+  }
+
+  /**
+   * Retrieves the <code>k</code> most probable next tokens after the given context. The
+   * candidates are the children of the context nodes of every backoff level. A token is
+   * scored by the longest context it was seen after, and within a level the children are
+   * already ranked by count, so only the first <code>k</code> tokens of every level which
+   * were not seen after a longer context need to be scored.
+   *
+   * @param k the maximal number of tokens to return
+   * @param context the preceding tokens, only the last n - 1 tokens are used
+   * @return the next tokens, the most probable token first
+   */
+  public String[] topNextTokens(int k, String... context) {
+    if (k < 1) {
+      throw new IllegalArgumentException("k must be at least 1, but was " + k);
+    }
+
+    int from = Math.max(0, context.length - (n - 1));
+    int[] ids = toIds(Arrays.copyOfRange(context, from, context.length));
+
+    int[] contextNodes = new int[ids.length + 1];
+    for (int start = 0; start <= ids.length; start++) {
+      contextNodes[start] = node(ids, start, ids.length);
+    }
+
+    // every backoff level contributes at most k candidates
+    int[] candidateTokens = new int[k * (ids.length + 1)];
+    double[] candidateScores = new double[candidateTokens.length];
+    int candidates = 0;
+
+    // the context followed by the candidate token, scored like calculateProbability
+    int[] ngram = Arrays.copyOf(ids, ids.length + 1);
+
+    for (int start = 0; start <= ids.length; start++) {
+      int contextNode = contextNodes[start];
+
+      if (contextNode != -1) {
+        int added = 0;
+        for (int i = firstChild[contextNode]; i < firstChild[contextNode + 1] && added < k; i++) {
+          int child = childrenByCount[i];
+          if (nodeCount[child] > 0 && !seenAfterLongerContext(contextNodes, start, nodeToken[child])) {
+            ngram[ids.length] = nodeToken[child];
+            candidateTokens[candidates] = nodeToken[child];
+            candidateScores[candidates] = stupidBackoff(ngram, 0, ngram.length);
+            candidates++;
+            added++;
+          }
+        }
+      }
+    }
+
+    // sort the candidates by token, every token is a candidate of one level only
+    long[] byToken = new long[candidates];
+    for (int i = 0; i < candidates; i++) {
+      byToken[i] = ((long) candidateTokens[i] << 32) | i;
+    }
+    Arrays.sort(byToken);
+
+    int[] topTokens = new int[k];
+    double[] topScores = new double[k];
+    int top = 0;
+
+    for (int i = 0; i < candidates; i++) {
+      int candidate = (int) byToken[i];
+      int token = candidateTokens[candidate];
+
+      // insert into the bounded top k, ordered by descending score and ascending token id,
+      // since the tokens arrive in ascending order ties stay behind the earlier tokens
+      double score = candidateScores[candidate];
+      int pos = top;
+      while (pos > 0 && topScores[pos - 1] < score) {
+        pos--;
+      }
+      if (pos < k) {
+        int end = Math.min(top, k - 1);
+        System.arraycopy(topTokens, pos, topTokens, pos + 1, end - pos);
+        System.arraycopy(topScores, pos, topScores, pos + 1, end - pos);
+        topTokens[pos] = token;
+        topScores[pos] = score;
+        top = end + 1;
+      }
+    }
+
+    String[] result = new String[top];
+    for (int i = 0; i < top; i++) {
+      result[i] = tokens[topTokens[i]];
+    }
+    return result;
+  }
+
+  /**
+   * Checks if the token was seen after one of the contexts which are longer than
+   * the context at <code>start</code>.
+   */
+  private boolean seenAfterLongerContext(int[] contextNodes, int start, int token) {
+    for (int longer = 0; longer < start; longer++) {
+      if (contextNodes[longer] != -1) {
+        int child = child(contextNodes[longer], token);
+        if (child != -1 && nodeCount[child] > 0) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Predicts the most probable next token sequence. Like
+   * {@link NGramLanguageModel#predictNextTokens(String...)} every ngram of the model
+   * is appended to the given tokens and the ngram which results in the most probable
+   * sequence is returned. Use {@link #topNextTokens(int, String...)} to
+   * predict single tokens without scoring every ngram.
+   *
+   * @param tokens the preceding tokens
+   * @return the most probable next ngram or null if the model is empty
+   */
+  @Override
+  public String[] predictNextTokens(String... tokens) {
+    int[] ids = Arrays.copyOf(toIds(tokens), tokens.length + maxLength);
+    Prediction prediction = new Prediction();
+    predict(0, ids, tokens.length, tokens.length, prediction);
+
+    if (prediction.ngram == null) {
+      return null;
+    }
+
+    String[] next = new String[prediction.ngram.length];
+    for (int i = 0; i < next.length; i++) {
+      next[i] = this.tokens[prediction.ngram[i]];
+    }
+    return next;
+  }
+
+  /**
+   * Scores the ngrams of all children of the given node, the tokens of the node
+   * are ids[from] to ids[length - 1].
+   */
+  private void predict(int node, int[] ids, int from, int length, Prediction prediction) {
+    for (int child = firstChild[node]; child < firstChild[node + 1]; child++) {
+      ids[length] = nodeToken[child];
+
+      if (nodeCount[child] > 0) {
+        double probability = probability(ids, length + 1);
+        if (probability > prediction.probability) {
+          prediction.probability = probability;
+          prediction.ngram = Arrays.copyOfRange(ids, from, length + 1);
+        }
+      }
+
+      predict(child, ids, from, length + 1, prediction);
+    }
+  }
+
+  @Override
+  @Deprecated
+  public StringList predictNextTokens(StringList tokens) {
+    String[] next = predictNextTokens(toArray(tokens));
+    return next != null ? new StringList(next) : null;
+  }
+
+  private static String[] toArray(StringList tokens) {
+    String[] array = new String[tokens.size()];
+    for (int i = 0; i < array.length; i++) {
+      array[i] = tokens.getToken(i);
+    }
+    return array;
+  }
+
+  private static class Prediction {
+    private double probability = Double.NEGATIVE_INFINITY;
+    private int[] ngram;
+  }
+
+  private static class BuildNode {
+
+    private final int token;
+    private int count;
+    private final Map<Integer, BuildNode> children = new TreeMap<>();
+
+    BuildNode(int token) {
+      this.token = token;
+    }
+  }
+}
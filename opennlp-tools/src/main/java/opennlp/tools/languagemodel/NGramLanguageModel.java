@@ -20,6 +20,7 @@ package opennlp.tools.languagemodel;
 import java.io.IOException;
 import java.io.InputStream;
 
+import opennlp.tools.ngram.NGramCounter;
 import opennlp.tools.ngram.NGramModel;
 import opennlp.tools.ngram.NGramUtils;
 import opennlp.tools.util.StringList;
@@ -52,6 +53,19 @@ public class NGramLanguageModel extends NGramModel implements LanguageModel {
     this.n = n;
   }
 
+  /**
+   * Initializes a language model with the ngrams of a {@link NGramCounter}.
+   * The counter should count the ngrams of length 1 to <code>n</code>, the same
+   * ngrams {@link #add(String...)} would add for every sentence.
+   *
+   * @param counter the counter which counted the training sentences
+   * @param n the maximal ngram length of the model
+   */
+  public NGramLanguageModel(NGramCounter counter, int n) {
+    this(n);
+    counter.addTo(this, 1, Integer.MAX_VALUE);
+  }
+
   public void add(String... tokens) {
     add(new StringList(tokens), 1, n);
   }
@@ -140,6 +154,16 @@ public class NGramLanguageModel extends NGramModel implements LanguageModel {
     return token;
   }
 
+  /**
+   * Compiles the current state of the model into an immutable
+   * {@link CompiledNGramLanguageModel} for fast scoring and prediction.
+   *
+   * @return the compiled model
+   */
+  public CompiledNGramLanguageModel compile() {
+    return new CompiledNGramLanguageModel(this, n);
+  }
+
   private double stupidBackoff(StringList ngram) {
     int count = getCount(ngram);
     StringList nMinusOneToken = NGramUtils.getNMinusOneTokenFirst(ngram);
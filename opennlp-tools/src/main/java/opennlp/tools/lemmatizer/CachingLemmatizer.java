@@ -0,0 +1,210 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package opennlp.tools.lemmatizer;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * A thread safe {@link Lemmatizer} which memoizes the lemmas of (token, pos tag) pairs,
+ * e.g. in front of a {@link LemmatizerME} or a {@link DictionaryLemmatizer}. The lemmas
+ * which are not memoized are computed by one lemmatizer instance per thread.
+ * <p>
+ * A lemma is looked up in the precompiled {@link LemmaTable} first, if there is one,
+ * and then in the cache which is shared by all threads. The cache is filled until it
+ * reaches its capacity and is not evicted afterwards. The delegate lemmatizer is only
+ * skipped if all tokens of a sentence are found, otherwise it lemmatizes the whole
+ * sentence, so the lemmas of the missing tokens are predicted in their full context.
+ * <p>
+ * The {@link LemmatizerME} uses the previous lemma class as feature, a memoized
+ * lemma is the lemma which was predicted in the context of the first lookup of the pair.
+ * The results can therefore slightly differ from the uncached lemmatizer.
+ */
+public class CachingLemmatizer implements Lemmatizer {
+
+  private static class Key {
+    private final String token;
+    private final String tag;
+
+    Key(String token, String tag) {
+      this.token = token;
+      this.tag = tag;
+    }
+
+    @Override
+    public int hashCode() {
+      return token.hashCode() * 31 + tag.hashCode();
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (obj instanceof Key) {
+        Key other = (Key) obj;
+        return token.equals(other.token) && tag.equals(other.tag);
+      }
+      return false;
+    }
+  }
+
+  private final ThreadLocal<Lemmatizer> lemmatizers;
+
+  private final LemmaTable lemmaTable;
+
+  private final Map<Key, String> cache;
+  private final int cacheCapacity;
+
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+
+  /**
+   * Initializes the current instance.
+   *
+   * @param lemmatizerFactory creates the lemmatizer of a thread
+   * @param lemmaTable the precompiled lemmas or null
+   * @param cacheCapacity the maximum number of memoized lemmas, 0 to disable memoization
+   */
+  public CachingLemmatizer(Supplier<? extends Lemmatizer> lemmatizerFactory,
+      LemmaTable lemmaTable, int cacheCapacity) {
+    Objects.requireNonNull(lemmatizerFactory, "lemmatizerFactory must not be null");
+
+    if (cacheCapacity < 0) {
+      throw new IllegalArgumentException("cacheCapacity must not be negative, but was "
+          + cacheCapacity);
+    }
+
+    this.lemmatizers = ThreadLocal.withInitial(lemmatizerFactory);
+    this.lemmaTable = lemmaTable;
+    this.cacheCapacity = cacheCapacity;
+    this.cache = cacheCapacity > 0 ? new ConcurrentHashMap<>() : null;
+  }
+
+  /**
+   * Initializes the current instance without a precompiled {@link LemmaTable}.
+   *
+   * @param lemmatizerFactory creates the lemmatizer of a thread
+   * @param cacheCapacity the maximum number of memoized lemmas, 0 to disable memoization
+   */
+  public CachingLemmatizer(Supplier<? extends Lemmatizer> lemmatizerFactory, int cacheCapacity) {
+    this(lemmatizerFactory, null, cacheCapacity);
+  }
+
+  /**
+   * Initializes the current instance with {@link LemmatizerME} instances and the
+   * {@link LemmaTable} of the model.
+   *
+   * @param model the lemmatizer model
+   * @param cacheCapacity the maximum number of memoized lemmas, 0 to disable memoization
+   */
+  public CachingLemmatizer(LemmatizerModel model, int cacheCapacity) {
+    this(() -> new LemmatizerME(model), model.getLemmaTable(), cacheCapacity);
+  }
+
+  private String lookup(String token, String tag) {
+    String lemma = null;
+    if (lemmaTable != null) {
+      lemma = lemmaTable.lookup(token, tag);
+    }
+    if (lemma == null && cache != null) {
+      lemma = cache.get(new Key(token, tag));
+    }
+    return lemma;
+  }
+
+  @Override
+  public String[] lemmatize(String[] toks, String[] tags) {
+    String[] lemmas = new String[toks.length];
+
+    int missingCount = 0;
+    for (int i = 0; i < toks.length; i++) {
+      lemmas[i] = lookup(toks[i], tags[i]);
+      if (lemmas[i] == null) {
+        missingCount++;
+      }
+    }
+
+    hits.add(toks.length - missingCount);
+    misses.add(missingCount);
+
+    if (missingCount > 0) {
+      // the lemmatizer may use the neighbour tokens as context, a sentence which
+      // lacks the found tokens could change the lemmas of the missing tokens
+      String[] predicted = lemmatizers.get().lemmatize(toks, tags);
+      for (int i = 0; i < toks.length; i++) {
+        if (lemmas[i] == null) {
+          lemmas[i] = predicted[i];
+          memoize(toks[i], tags[i], predicted[i]);
+        }
+      }
+    }
+
+    return lemmas;
+  }
+
+  private void memoize(String token, String tag, String lemma) {
+    if (cache != null && cache.size() < cacheCapacity) {
+      cache.putIfAbsent(new Key(token, tag), lemma);
+    }
+  }
+
+  /**
+   * Retrieves all lemmas of the tokens from the delegate lemmatizer,
+   * these are not memoized.
+   */
+  @Override
+  public List<List<String>> lemmatize(List<String> toks, List<String> tags) {
+    return lemmatizers.get().lemmatize(toks, tags);
+  }
+
+  /**
+   * @return the number of tokens which were found in the table or in the cache
+   */
+  public long getHits() {
+    return hits.sum();
+  }
+
+  /**
+   * @return the number of tokens which were lemmatized by the delegate lemmatizer
+   */
+  public long getMisses() {
+    return misses.sum();
+  }
+
+  /**
+   * @return the ratio of the hits to all lemmatized tokens, 0 if no token was lemmatized
+   */
+  public double getHitRate() {
+    long hitCount = hits.sum();
+    long total = hitCount + misses.sum();
+    return total == 0 ? 0 : (double) hitCount / total;
+  }
+
+  /**
+   * Removes all memoized lemmas and resets the hit and miss counts.
+   */
+  public void clearCache() {
+    if (cache != null) {
+      cache.clear();
+    }
+    hits.reset();
+    misses.reset();
+  }
+}
@@ -105,17 +105,16 @@ public class DictionaryLemmatizer implements Lemmatizer {
    * @return returns the dictionary keys
    */
   private List<String> getDictKeys(final String word, final String postag) {
-    final List<String> keys = new ArrayList<>(Arrays.asList(word.toLowerCase(), postag));
-    return keys;
+    return Arrays.asList(word.toLowerCase(), postag);
   }
 
 
   public String[] lemmatize(final String[] tokens, final String[] postags) {
-    List<String> lemmas = new ArrayList<>();
+    String[] lemmas = new String[tokens.length];
     for (int i = 0; i < tokens.length; i++) {
-      lemmas.add(this.lemmatize(tokens[i], postags[i]));
+      lemmas[i] = this.lemmatize(tokens[i], postags[i]);
     }
-    return lemmas.toArray(new String[lemmas.size()]);
+    return lemmas;
   }
 
   public List<List<String>> lemmatize(final List<String> tokens, final List<String> posTags) {
@@ -0,0 +1,247 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package opennlp.tools.lemmatizer;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import opennlp.tools.util.InvalidFormatException;
+import opennlp.tools.util.ObjectStream;
+import opennlp.tools.util.model.ArtifactSerializer;
+import opennlp.tools.util.model.SerializableArtifact;
+
+/**
+ * A precompiled, read only table which maps frequent (token, pos tag) pairs to their lemma.
+ * <p>
+ * The pairs are stored in parallel arrays which are addressed by open addressing,
+ * a lookup does not allocate a key object. The table can be shipped inside a
+ * {@link LemmatizerModel} and is used by the {@link CachingLemmatizer}.
+ * It is serialized with one word\tabpostag\tablemma line per entry, the format of the
+ * {@link DictionaryLemmatizer}.
+ */
+public class LemmaTable implements SerializableArtifact {
+
+  /**
+   * The training parameter which sets the maximum number of entries of the table
+   * which {@link LemmatizerME#train} precompiles from the training data, the
+   * default is 0 which does not create a table.
+   */
+  public static final String LEMMA_TABLE_SIZE_PARAM = "LemmaTableSize";
+
+  public static class LemmaTableSerializer implements ArtifactSerializer<LemmaTable> {
+
+    public LemmaTable create(InputStream in) throws IOException {
+      return new LemmaTable(in);
+    }
+
+    public void serialize(LemmaTable artifact, OutputStream out) throws IOException {
+      artifact.serialize(out);
+    }
+  }
+
+  private String[] tokens;
+  private String[] tags;
+  private String[] lemmas;
+
+  private int size;
+
+  /**
+   * Initializes the table with the provided entries.
+   *
+   * @param tokens the tokens
+   * @param tags the pos tags of the tokens
+   * @param lemmas the lemmas of the tokens
+   */
+  public LemmaTable(String[] tokens, String[] tags, String[] lemmas) {
+    if (tokens.length != tags.length || tokens.length != lemmas.length) {
+      throw new IllegalArgumentException("tokens, tags and lemmas must have the same length!");
+    }
+
+    init(tokens.length);
+    for (int i = 0; i < tokens.length; i++) {
+      put(tokens[i], tags[i], lemmas[i]);
+    }
+  }
+
+  /**
+   * Reads a table which was written by {@link #serialize(OutputStream)}.
+   *
+   * @param in the input stream, it is not closed
+   * @throws IOException if reading fails
+   * @throws InvalidFormatException if a line is not a word\tabpostag\tablemma triple
+   */
+  public LemmaTable(InputStream in) throws IOException {
+    BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+
+    List<String[]> entries = new ArrayList<>();
+    String line;
+    while ((line = reader.readLine()) != null) {
+      String[] elems = line.split("\t");
+      if (elems.length != 3) {
+        throw new InvalidFormatException("Expected word, postag and lemma in line: " + line);
+      }
+      entries.add(elems);
+    }
+
+    init(entries.size());
+    for (String[] entry : entries) {
+      put(entry[0], entry[1], entry[2]);
+    }
+  }
+
+  private void init(int capacity) {
+    int tableSize = Integer.highestOneBit(Math.max(2, capacity) * 2 - 1) << 1;
+    tokens = new String[tableSize];
+    tags = new String[tableSize];
+    lemmas = new String[tableSize];
+  }
+
+  private static int hash(String token, String tag) {
+    int h = token.hashCode() * 31 + tag.hashCode();
+    return h ^ (h >>> 16);
+  }
+
+  private int indexOf(String token, String tag) {
+    int mask = tokens.length - 1;
+    int i = hash(token, tag) & mask;
+    while (tokens[i] != null && !(tokens[i].equals(token) && tags[i].equals(tag))) {
+      i = (i + 1) & mask;
+    }
+    return i;
+  }
+
+  private void put(String token, String tag, String lemma) {
+    int i = indexOf(token, tag);
+    if (tokens[i] == null) {
+      tokens[i] = token;
+      tags[i] = tag;
+      size++;
+    }
+    lemmas[i] = lemma;
+  }
+
+  /**
+   * Retrieves the lemma of a token.
+   *
+   * @param token the token
+   * @param tag the pos tag of the token
+   * @return the lemma or null if the pair is not in the table
+   */
+  public String lookup(String token, String tag) {
+    return lemmas[indexOf(token, tag)];
+  }
+
+  /**
+   * @return the number of entries
+   */
+  public int size() {
+    return size;
+  }
+
+  public void serialize(OutputStream out) throws IOException {
+    Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+
+    for (int i = 0; i < tokens.length; i++) {
+      if (tokens[i] != null) {
+        writer.write(tokens[i] + "\t" + tags[i] + "\t" + lemmas[i] + "\n");
+      }
+    }
+
+    writer.flush();
+  }
+
+  public Class<?> getArtifactSerializerClass() {
+    return LemmaTableSerializer.class;
+  }
+
+  /**
+   * Precompiles the most frequent (token, pos tag) pairs of the samples into a table.
+   * Every pair is mapped to the lemma it was most often annotated with.
+   *
+   * @param samples the samples, the stream is read until its end
+   * @param maxSize the maximum number of entries
+   * @return the table
+   * @throws IOException if reading the samples fails
+   */
+  public static LemmaTable build(ObjectStream<LemmaSample> samples, int maxSize)
+      throws IOException {
+
+    if (maxSize < 0) {
+      throw new IllegalArgumentException("maxSize must not be negative, but was " + maxSize);
+    }
+
+    Map<List<String>, Map<String, Integer>> lemmaCounts = new HashMap<>();
+    Map<List<String>, Integer> pairCounts = new HashMap<>();
+
+    LemmaSample sample;
+    while ((sample = samples.read()) != null) {
+      for (int i = 0; i < sample.getTokens().length; i++) {
+        List<String> pair = Arrays.asList(sample.getTokens()[i], sample.getTags()[i]);
+        pairCounts.merge(pair, 1, Integer::sum);
+        lemmaCounts.computeIfAbsent(pair, k -> new HashMap<>())
+            .merge(sample.getLemmas()[i], 1, Integer::sum);
+      }
+    }
+
+    List<Map.Entry<List<String>, Integer>> pairs = new ArrayList<>(pairCounts.entrySet());
+    pairs.sort((e1, e2) -> {
+      int c = Integer.compare(e2.getValue(), e1.getValue());
+      if (c == 0) {
+        c = e1.getKey().get(0).compareTo(e2.getKey().get(0));
+      }
+      if (c == 0) {
+        c = e1.getKey().get(1).compareTo(e2.getKey().get(1));
+      }
+      return c;
+    });
+
+    int size = Math.min(maxSize, pairs.size());
+    String[] tokens = new String[size];
+    String[] tags = new String[size];
+    String[] lemmas = new String[size];
+
+    for (int i = 0; i < size; i++) {
+      List<String> pair = pairs.get(i).getKey();
+      tokens[i] = pair.get(0);
+      tags[i] = pair.get(1);
+
+      int bestCount = 0;
+      for (Map.Entry<String, Integer> lemma : lemmaCounts.get(pair).entrySet()) {
+        if (lemma.getValue() > bestCount
+            || lemma.getValue() == bestCount && lemma.getKey().compareTo(lemmas[i]) < 0) {
+          bestCount = lemma.getValue();
+          lemmas[i] = lemma.getKey();
+        }
+      }
+    }
+
+    return new LemmaTable(tokens, tags, lemmas);
+  }
+}
@@ -38,6 +38,7 @@ import opennlp.tools.util.Sequence;
 import opennlp.tools.util.SequenceValidator;
 import opennlp.tools.util.StringUtil;
 import opennlp.tools.util.TrainingParameters;
+import opennlp.tools.util.metrics.Metrics;
 
 /**
  * A probabilistic lemmatizer.  Tries to predict the induced permutation class
@@ -48,6 +49,8 @@ import opennlp.tools.util.TrainingParameters;
  */
 public class LemmatizerME implements Lemmatizer {
 
+  private static final String PREDICT_SES_METRIC = "LemmatizerME.predictSES";
+
   public static final int LEMMA_NUMBER = 29;
   public static final int DEFAULT_BEAM_SIZE = 3;
   protected int beamSize;
@@ -111,9 +114,14 @@ public class LemmatizerME implements Lemmatizer {
    * @return an array containing the lemma classes
    */
   public String[] predictSES(String[] toks, String[] tags) {
-    bestSequence = model.bestSequence(toks, new Object[] {tags}, contextGenerator, sequenceValidator);
-    List<String> ses = bestSequence.getOutcomes();
-    return ses.toArray(new String[ses.size()]);
+    long start = Metrics.startTimer();
+    try {
+      bestSequence = model.bestSequence(toks, new Object[] {tags}, contextGenerator, sequenceValidator);
+      List<String> ses = bestSequence.getOutcomes();
+      return ses.toArray(new String[ses.size()]);
+    } finally {
+      Metrics.stopTimer(PREDICT_SES_METRIC, start);
+    }
   }
 
   /**
@@ -142,15 +150,15 @@ public class LemmatizerME implements Lemmatizer {
    * @return the array of decoded lemmas
    */
   public static String[] decodeLemmas(String[] toks, String[] preds) {
-    List<String> lemmas = new ArrayList<>();
+    String[] lemmas = new String[toks.length];
     for (int i = 0; i < toks.length; i++) {
       String lemma = StringUtil.decodeShortestEditScript(toks[i].toLowerCase(), preds[i]);
       if (lemma.length() == 0) {
         lemma = "_";
       }
-      lemmas.add(lemma);
+      lemmas[i] = lemma;
     }
-    return lemmas.toArray(new String[lemmas.size()]);
+    return lemmas;
   }
 
   public static String[] encodeLemmas(String[] toks, String[] lemmas) {
@@ -238,11 +246,20 @@ public class LemmatizerME implements Lemmatizer {
       throw new IllegalArgumentException("Trainer type is not supported: " + trainerType);
     }
 
+    LemmaTable lemmaTable = null;
+    int lemmaTableSize = trainParams.getIntParameter(LemmaTable.LEMMA_TABLE_SIZE_PARAM, 0);
+    if (lemmaTableSize > 0) {
+      samples.reset();
+      lemmaTable = LemmaTable.build(samples, lemmaTableSize);
+    }
+
     if (lemmatizerModel != null) {
-      return new LemmatizerModel(languageCode, lemmatizerModel, beamSize, manifestInfoEntries, posFactory);
+      return new LemmatizerModel(languageCode, lemmatizerModel, beamSize, manifestInfoEntries,
+          posFactory, lemmaTable);
     }
     else {
-      return new LemmatizerModel(languageCode, seqLemmatizerModel, manifestInfoEntries, posFactory);
+      return new LemmatizerModel(languageCode, seqLemmatizerModel, manifestInfoEntries,
+          posFactory, lemmaTable);
     }
   }
 
@@ -31,6 +31,7 @@ import opennlp.tools.ml.model.MaxentModel;
 import opennlp.tools.ml.model.SequenceClassificationModel;
 import opennlp.tools.util.BaseToolFactory;
 import opennlp.tools.util.InvalidFormatException;
+import opennlp.tools.util.model.ArtifactSerializer;
 import opennlp.tools.util.model.BaseModel;
 
 /**
@@ -43,11 +44,25 @@ public class LemmatizerModel extends BaseModel {
 
   private static final String COMPONENT_NAME = "StatisticalLemmatizer";
   private static final String LEMMATIZER_MODEL_ENTRY_NAME = "lemmatizer.model";
+  private static final String LEMMA_TABLE_ENTRY_NAME = "lemmatizer.lemmatable";
 
   public LemmatizerModel(String languageCode, SequenceClassificationModel<String> lemmatizerModel,
       Map<String, String> manifestInfoEntries, LemmatizerFactory factory) {
+    this(languageCode, lemmatizerModel, manifestInfoEntries, factory, null);
+  }
+
+  /**
+   * Initializes the model with a precompiled {@link LemmaTable}.
+   *
+   * @param lemmaTable the precompiled lemmas or null
+   */
+  public LemmatizerModel(String languageCode, SequenceClassificationModel<String> lemmatizerModel,
+      Map<String, String> manifestInfoEntries, LemmatizerFactory factory, LemmaTable lemmaTable) {
     super(COMPONENT_NAME, languageCode, manifestInfoEntries, factory);
     artifactMap.put(LEMMATIZER_MODEL_ENTRY_NAME, lemmatizerModel);
+    if (lemmaTable != null) {
+      artifactMap.put(LEMMA_TABLE_ENTRY_NAME, lemmaTable);
+    }
     checkArtifactMap();
   }
 
@@ -58,8 +73,21 @@ public class LemmatizerModel extends BaseModel {
 
   public LemmatizerModel(String languageCode, MaxentModel lemmatizerModel, int beamSize,
       Map<String, String> manifestInfoEntries, LemmatizerFactory factory) {
+    this(languageCode, lemmatizerModel, beamSize, manifestInfoEntries, factory, null);
+  }
+
+  /**
+   * Initializes the model with a precompiled {@link LemmaTable}.
+   *
+   * @param lemmaTable the precompiled lemmas or null
+   */
+  public LemmatizerModel(String languageCode, MaxentModel lemmatizerModel, int beamSize,
+      Map<String, String> manifestInfoEntries, LemmatizerFactory factory, LemmaTable lemmaTable) {
     super(COMPONENT_NAME, languageCode, manifestInfoEntries, factory);
     artifactMap.put(LEMMATIZER_MODEL_ENTRY_NAME, lemmatizerModel);
+    if (lemmaTable != null) {
+      artifactMap.put(LEMMA_TABLE_ENTRY_NAME, lemmaTable);
+    }
 
     Properties manifest = (Properties) artifactMap.get(MANIFEST_ENTRY);
     manifest.put(BeamSearch.BEAM_SIZE_PARAMETER, Integer.toString(beamSize));
@@ -93,6 +121,27 @@ public class LemmatizerModel extends BaseModel {
     if (!(artifactMap.get(LEMMATIZER_MODEL_ENTRY_NAME) instanceof AbstractModel)) {
       throw new InvalidFormatException("Lemmatizer model is incomplete!");
     }
+
+    Object lemmaTable = artifactMap.get(LEMMA_TABLE_ENTRY_NAME);
+    if (lemmaTable != null && !(lemmaTable instanceof LemmaTable)) {
+      throw new InvalidFormatException("Lemma table has wrong type!");
+    }
+  }
+
+  /**
+   * Retrieves the precompiled lemmas of frequent (token, pos tag) pairs.
+   *
+   * @return the lemma table or null if the model has none
+   */
+  public LemmaTable getLemmaTable() {
+    return (LemmaTable) artifactMap.get(LEMMA_TABLE_ENTRY_NAME);
+  }
+
+  @Override
+  protected void createArtifactSerializers(Map<String, ArtifactSerializer> serializers) {
+    super.createArtifactSerializers(serializers);
+
+    serializers.put("lemmatable", new LemmaTable.LemmaTableSerializer());
   }
 
   public SequenceClassificationModel<String> getLemmatizerSequenceModel() {
@@ -126,4 +175,14 @@ public class LemmatizerModel extends BaseModel {
   public LemmatizerFactory getFactory() {
     return (LemmatizerFactory) this.toolFactory;
   }
+
+  /**
+   * Creates a new {@link LemmatizerME} for this model. A lemmatizer is cheap to create
+   * but is not thread safe, every thread should use its own lemmatizer.
+   *
+   * @return a new lemmatizer
+   */
+  public LemmatizerME newEngine() {
+    return new LemmatizerME(this);
+  }
 }
@@ -35,6 +35,7 @@ public abstract class AbstractEventTrainer extends AbstractTrainer implements Ev
   public static final String DATA_INDEXER_ONE_PASS_VALUE = "OnePass";
   public static final String DATA_INDEXER_TWO_PASS_VALUE = "TwoPass";
   public static final String DATA_INDEXER_ONE_PASS_REAL_VALUE = "OnePassRealValue";
+  public static final String DATA_INDEXER_SORT_MERGE_VALUE = "SortMerge";
 
   public AbstractEventTrainer() {
   }
@@ -86,10 +87,18 @@ public abstract class AbstractEventTrainer extends AbstractTrainer implements Ev
   public final MaxentModel train(ObjectStream<Event> events) throws IOException {
     validate();
 
-    HashSumEventStream hses = new HashSumEventStream(events);
+    String hashAlgorithm = trainingParameters.getStringParameter(
+        HashSumEventStream.HASH_PARAM, HashSumEventStream.HASH_DEFAULT);
+
+    if (HashSumEventStream.NONE.equals(hashAlgorithm)) {
+      return train(getDataIndexer(events));
+    }
+
+    HashSumEventStream hses = new HashSumEventStream(events, hashAlgorithm);
     DataIndexer indexer = getDataIndexer(hses);
 
     addToReport("Training-Eventhash", hses.calculateHashSum().toString(16));
+    display(String.format("Hashed events in %.2f s.\n", hses.getHashTime() / 1000000000d));
     return train(indexer);
   }
 }
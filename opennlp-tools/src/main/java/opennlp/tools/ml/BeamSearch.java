@@ -28,6 +28,7 @@ import opennlp.tools.util.BeamSearchContextGenerator;
 import opennlp.tools.util.Cache;
 import opennlp.tools.util.Sequence;
 import opennlp.tools.util.SequenceValidator;
+import opennlp.tools.util.metrics.Metrics;
 
 /**
  * Performs k-best search over sequence.  This is based on the description in
@@ -50,6 +51,12 @@ public class BeamSearch<T> implements SequenceClassificationModel<T> {
   private Cache<String[], double[]> contextsCache;
   private static final int zeroLog = -100000;
 
+  private static final String BEST_SEQUENCES_METRIC = "BeamSearch.bestSequences";
+  private static final String EVAL_METRIC = "BeamSearch.eval";
+  private static final String EXPANSIONS_METRIC = "BeamSearch.expansions";
+  private static final String CACHE_HITS_METRIC = "BeamSearch.cacheHits";
+  private static final String CACHE_MISSES_METRIC = "BeamSearch.cacheMisses";
+
   /**
    * Creates new search object.
    *
@@ -86,6 +93,19 @@ public class BeamSearch<T> implements SequenceClassificationModel<T> {
       Object[] additionalContext, double minSequenceScore,
       BeamSearchContextGenerator<T> cg, SequenceValidator<T> validator) {
 
+    long start = Metrics.startTimer();
+    try {
+      return bestSequences(numSequences, sequence, additionalContext, minSequenceScore, cg,
+          validator, start != Metrics.NOT_STARTED);
+    } finally {
+      Metrics.stopTimer(BEST_SEQUENCES_METRIC, start);
+    }
+  }
+
+  private Sequence[] bestSequences(int numSequences, T[] sequence,
+      Object[] additionalContext, double minSequenceScore,
+      BeamSearchContextGenerator<T> cg, SequenceValidator<T> validator, boolean instrumented) {
+
     Queue<Sequence> prev = new PriorityQueue<>(size);
     Queue<Sequence> next = new PriorityQueue<>(size);
     Queue<Sequence> tmp;
@@ -105,7 +125,22 @@ public class BeamSearch<T> implements SequenceClassificationModel<T> {
         String[] contexts = cg.getContext(i, sequence, outcomes, additionalContext);
         double[] scores;
         if (contextsCache != null) {
-          scores = contextsCache.computeIfAbsent(contexts, c -> model.eval(c, probs));
+          if (instrumented) {
+            scores = contextsCache.get(contexts);
+            if (scores == null) {
+              scores = eval(contexts);
+              contextsCache.put(contexts, scores);
+              Metrics.increment(CACHE_MISSES_METRIC);
+            }
+            else {
+              Metrics.increment(CACHE_HITS_METRIC);
+            }
+          }
+          else {
+            scores = contextsCache.computeIfAbsent(contexts, c -> model.eval(c, probs));
+          }
+        } else if (instrumented) {
+          scores = eval(contexts);
         } else {
           scores = model.eval(contexts, probs);
         }
@@ -121,7 +156,7 @@ public class BeamSearch<T> implements SequenceClassificationModel<T> {
           if (scores[p] >= min) {
             String out = model.getOutcome(p);
             if (validator.validSequence(i, sequence, outcomes, out)) {
-              Sequence ns = new Sequence(top, out, scores[p]);
+              Sequence ns = new Sequence(top, out, p, scores[p]);
               if (ns.getScore() > minSequenceScore) {
                 next.add(ns);
               }
@@ -133,7 +168,7 @@ public class BeamSearch<T> implements SequenceClassificationModel<T> {
           for (int p = 0; p < scores.length; p++) {
             String out = model.getOutcome(p);
             if (validator.validSequence(i, sequence, outcomes, out)) {
-              Sequence ns = new Sequence(top, out, scores[p]);
+              Sequence ns = new Sequence(top, out, p, scores[p]);
               if (ns.getScore() > minSequenceScore) {
                 next.add(ns);
               }
@@ -142,6 +177,10 @@ public class BeamSearch<T> implements SequenceClassificationModel<T> {
         }
       }
 
+      if (instrumented) {
+        Metrics.add(EXPANSIONS_METRIC, sz);
+      }
+
       //    make prev = next; and re-init next (we reuse existing prev set once we clear it)
       prev.clear();
       tmp = prev;
@@ -159,6 +198,15 @@ public class BeamSearch<T> implements SequenceClassificationModel<T> {
     return topSequences;
   }
 
+  private double[] eval(String[] contexts) {
+    long start = Metrics.startTimer();
+    try {
+      return model.eval(contexts, probs);
+    } finally {
+      Metrics.stopTimer(EVAL_METRIC, start);
+    }
+  }
+
   public Sequence[] bestSequences(int numSequences, T[] sequence,
       Object[] additionalContext, BeamSearchContextGenerator<T> cg, SequenceValidator<T> validator) {
     return bestSequences(numSequences, sequence, additionalContext, zeroLog, cg, validator);
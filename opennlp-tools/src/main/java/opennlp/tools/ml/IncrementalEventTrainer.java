@@ -0,0 +1,43 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package opennlp.tools.ml;
+
+import java.io.IOException;
+
+import opennlp.tools.ml.model.Event;
+import opennlp.tools.ml.model.MaxentModel;
+import opennlp.tools.util.ObjectStream;
+
+/**
+ * An {@link EventTrainer} which can update an existing model with new events,
+ * without the events the model was trained on.
+ */
+public interface IncrementalEventTrainer extends EventTrainer {
+
+  /**
+   * Updates a model with new events. The predicates and outcomes which only occur in
+   * the new events are added to the model. The cutoff is only applied to the new events.
+   *
+   * @param model the model to update, it is not modified
+   * @param events the new events
+   * @return the updated model
+   * @throws IOException if reading the events fails
+   * @throws IllegalArgumentException if the model was not trained by this kind of trainer
+   */
+  MaxentModel update(MaxentModel model, ObjectStream<Event> events) throws IOException;
+}
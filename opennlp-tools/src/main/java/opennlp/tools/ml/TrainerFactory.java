@@ -24,7 +24,10 @@ import java.util.Map;
 
 import opennlp.tools.ml.maxent.GISTrainer;
 import opennlp.tools.ml.maxent.quasinewton.QNTrainer;
+import opennlp.tools.ml.model.MaxentModel;
+import opennlp.tools.ml.naivebayes.NaiveBayesModel;
 import opennlp.tools.ml.naivebayes.NaiveBayesTrainer;
+import opennlp.tools.ml.perceptron.PerceptronModel;
 import opennlp.tools.ml.perceptron.PerceptronTrainer;
 import opennlp.tools.ml.perceptron.SimplePerceptronSequenceTrainer;
 import opennlp.tools.util.TrainingParameters;
@@ -177,6 +180,50 @@ public class TrainerFactory {
 
   }
 
+  /**
+   * Retrieves a trainer which can update the given model with new events.
+   * The algorithm of the model is used, unless a custom trainer class is set
+   * as algorithm in the training parameters. The given parameters are not modified.
+   *
+   * @param model the model which should be updated
+   * @param trainParams the training parameters
+   * @param reportMap the map which receives the training report
+   * @return the trainer
+   * @throws IllegalArgumentException if the model or the algorithm does not
+   *     support incremental training
+   */
+  public static IncrementalEventTrainer getIncrementalEventTrainer(MaxentModel model,
+      TrainingParameters trainParams, Map<String, String> reportMap) {
+
+    String modelAlgorithm;
+    if (model instanceof NaiveBayesModel) {
+      modelAlgorithm = NaiveBayesTrainer.NAIVE_BAYES_VALUE;
+    } else if (model instanceof PerceptronModel) {
+      modelAlgorithm = PerceptronTrainer.PERCEPTRON_VALUE;
+    } else {
+      throw new IllegalArgumentException("Only naive bayes and perceptron models can be updated!");
+    }
+
+    TrainingParameters params = new TrainingParameters(trainParams);
+
+    // a built-in algorithm, e.g. the MAXENT of the default parameters, can only update
+    // a model of its own type, a custom trainer is used as configured
+    String algorithm = params.getStringParameter(AbstractTrainer.ALGORITHM_PARAM, null);
+    if (algorithm == null || BUILTIN_TRAINERS.containsKey(algorithm)) {
+      params.put(AbstractTrainer.ALGORITHM_PARAM, modelAlgorithm);
+    }
+
+    EventTrainer trainer = getEventTrainer(params, reportMap);
+
+    if (!(trainer instanceof IncrementalEventTrainer)) {
+      throw new IllegalArgumentException("The algorithm "
+          + params.getStringParameter(AbstractTrainer.ALGORITHM_PARAM, null)
+          + " does not support incremental training!");
+    }
+
+    return (IncrementalEventTrainer) trainer;
+  }
+
   public static boolean isValid(TrainingParameters trainParams) {
 
     // TODO: Need to validate all parameters correctly ... error prone?!
@@ -223,6 +223,21 @@ public abstract class AbstractDataIndexer implements DataIndexer {
     }
   }
 
+  /**
+   * Retrieves the event stream which counts the predicates of the specified
+   * event stream while creating the events.
+   *
+   * @param eventStream the event stream read by the indexer
+   * @return the counting event stream or {@code null} if the predicates are not counted
+   */
+  protected static PredicateCountingEventStream getPredicateCounter(ObjectStream<Event> eventStream) {
+    while (eventStream instanceof HashSumEventStream) {
+      eventStream = ((HashSumEventStream) eventStream).getEventStream();
+    }
+    return eventStream instanceof PredicateCountingEventStream
+        ? (PredicateCountingEventStream) eventStream : null;
+  }
+
   /**
    * Utility method for creating a String[] array from a map whose
    * keys are labels (Strings) to be stored in the array and whose
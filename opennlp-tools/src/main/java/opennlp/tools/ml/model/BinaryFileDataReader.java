@@ -59,4 +59,11 @@ public class BinaryFileDataReader implements DataReader {
     return ModelParameterChunker.readUTF(input);
   }
 
+  /**
+   * @return the stream the data is read from, used to read data in blocks
+   */
+  DataInputStream getInput() {
+    return input;
+  }
+
 }
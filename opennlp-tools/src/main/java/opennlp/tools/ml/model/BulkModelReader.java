@@ -0,0 +1,240 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package opennlp.tools.ml.model;
+
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import opennlp.tools.ml.maxent.GISModel;
+import opennlp.tools.ml.maxent.quasinewton.QNModel;
+import opennlp.tools.ml.naivebayes.NaiveBayesModel;
+import opennlp.tools.ml.perceptron.PerceptronModel;
+
+/**
+ * Reads a model which was written by {@link BulkModelWriter}.
+ * <p>
+ * The ints and doubles of a predicate are read as blocks. A {@link FileChannel} is read
+ * ahead into the buffer, any other channel is read with exactly the missing bytes, because
+ * it might be followed by other data which must not be consumed, therefore such a channel
+ * should be buffered. The models of a model package are read from a buffered stream.
+ * Predicates with the same outcomes share one outcome array, like in the other model formats.
+ */
+public class BulkModelReader {
+
+  private static final int BUFFER_SIZE = 64 * 1024;
+
+  private final ReadableByteChannel channel;
+  private final boolean readAhead;
+  private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+
+  /**
+   * Initializes the reader, a {@link FileChannel} is read ahead.
+   *
+   * @param channel the channel the model is read from, it is not closed
+   */
+  public BulkModelReader(ReadableByteChannel channel) {
+    this(channel, channel instanceof FileChannel);
+  }
+
+  /**
+   * Initializes the reader.
+   *
+   * @param channel the channel the model is read from, it is not closed
+   * @param readAhead true if the reader may read beyond the end of the model
+   */
+  public BulkModelReader(ReadableByteChannel channel, boolean readAhead) {
+    this.channel = channel;
+    this.readAhead = readAhead;
+    buffer.limit(0);
+  }
+
+  /**
+   * Reads the model from a file.
+   *
+   * @param file the file which contains the model
+   * @return the model
+   * @throws IOException if the file cannot be read or does not contain a bulk model
+   */
+  public static AbstractModel read(File file) throws IOException {
+    try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+      return new BulkModelReader(channel, true).getModel();
+    }
+  }
+
+  /**
+   * Reads the model.
+   *
+   * @return the model
+   * @throws IOException if the channel cannot be read or does not contain a bulk model
+   */
+  public AbstractModel getModel() throws IOException {
+    fill(Short.BYTES);
+    byte[] modelType = readBytes(buffer.getShort() & 0xFFFF);
+    if (!BulkModelWriter.MODEL_TYPE.equals(new String(modelType, StandardCharsets.UTF_8))) {
+      throw new IOException("Not a bulk model: " + new String(modelType, StandardCharsets.UTF_8));
+    }
+
+    return constructModel();
+  }
+
+  /**
+   * Reads the model after its model type identifier.
+   */
+  AbstractModel constructModel() throws IOException {
+    int version = readInt();
+    if (version != BulkModelWriter.VERSION) {
+      throw new IOException("Unsupported bulk model version: " + version);
+    }
+
+    AbstractModel.ModelType modelType;
+    try {
+      modelType = AbstractModel.ModelType.valueOf(readUTF());
+    } catch (IllegalArgumentException e) {
+      throw new IOException("Unknown model type: " + e.getMessage(), e);
+    }
+
+    String[] outcomeLabels = new String[readInt()];
+    for (int oi = 0; oi < outcomeLabels.length; oi++) {
+      outcomeLabels[oi] = readUTF();
+    }
+
+    Map<OutcomePattern, int[]> outcomePatterns = new HashMap<>();
+
+    String[] predLabels = new String[readInt()];
+    Context[] params = new Context[predLabels.length];
+    for (int pi = 0; pi < predLabels.length; pi++) {
+      predLabels[pi] = readUTF();
+
+      int numActive = readInt();
+      int[] outcomes = outcomePatterns.computeIfAbsent(
+          new OutcomePattern(readInts(numActive)), pattern -> pattern.outcomes);
+      params[pi] = new Context(outcomes, readDoubles(numActive));
+    }
+
+    switch (modelType) {
+      case Maxent:
+        return new GISModel(params, predLabels, outcomeLabels);
+      case MaxentQn:
+        return new QNModel(params, predLabels, outcomeLabels);
+      case Perceptron:
+        return new PerceptronModel(params, predLabels, outcomeLabels);
+      case NaiveBayes:
+        return new NaiveBayesModel(params, predLabels, outcomeLabels);
+      default:
+        throw new IOException("Unknown model type: " + modelType);
+    }
+  }
+
+  /**
+   * Makes sure that the buffer contains at least the given number of bytes. Without
+   * read ahead only the missing bytes are read from the channel, otherwise the buffer
+   * is filled as far as the channel allows.
+   */
+  private void fill(int bytes) throws IOException {
+    if (buffer.remaining() >= bytes) {
+      return;
+    }
+
+    buffer.compact();
+    buffer.limit(readAhead ? buffer.capacity() : bytes);
+    while (buffer.position() < bytes) {
+      if (channel.read(buffer) < 0) {
+        throw new EOFException("Unexpected end of the bulk model");
+      }
+    }
+    buffer.flip();
+  }
+
+  private int readInt() throws IOException {
+    fill(Integer.BYTES);
+    return buffer.getInt();
+  }
+
+  private String readUTF() throws IOException {
+    return new String(readBytes(readInt()), StandardCharsets.UTF_8);
+  }
+
+  private byte[] readBytes(int length) throws IOException {
+    byte[] bytes = new byte[length];
+    int offset = 0;
+    while (offset < length) {
+      int chunk = Math.min(length - offset, BUFFER_SIZE);
+      fill(chunk);
+      buffer.get(bytes, offset, chunk);
+      offset += chunk;
+    }
+    return bytes;
+  }
+
+  private int[] readInts(int length) throws IOException {
+    int[] values = new int[length];
+    int offset = 0;
+    while (offset < length) {
+      int chunk = Math.min(length - offset, BUFFER_SIZE / Integer.BYTES);
+      fill(chunk * Integer.BYTES);
+      buffer.asIntBuffer().get(values, offset, chunk);
+      buffer.position(buffer.position() + chunk * Integer.BYTES);
+      offset += chunk;
+    }
+    return values;
+  }
+
+  private double[] readDoubles(int length) throws IOException {
+    double[] values = new double[length];
+    int offset = 0;
+    while (offset < length) {
+      int chunk = Math.min(length - offset, BUFFER_SIZE / Double.BYTES);
+      fill(chunk * Double.BYTES);
+      buffer.asDoubleBuffer().get(values, offset, chunk);
+      buffer.position(buffer.position() + chunk * Double.BYTES);
+      offset += chunk;
+    }
+    return values;
+  }
+
+  private static final class OutcomePattern {
+
+    private final int[] outcomes;
+    private final int hash;
+
+    OutcomePattern(int[] outcomes) {
+      this.outcomes = outcomes;
+      this.hash = Arrays.hashCode(outcomes);
+    }
+
+    @Override
+    public int hashCode() {
+      return hash;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      return obj instanceof OutcomePattern
+          && Arrays.equals(outcomes, ((OutcomePattern) obj).outcomes);
+    }
+  }
+}
@@ -0,0 +1,185 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package opennlp.tools.ml.model;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+
+/**
+ * Writes a model in the bulk format, which stores the parameters of every predicate
+ * as blocks of ints and doubles instead of single values.
+ * <p>
+ * The model is streamed from its parameter arrays through a fixed size buffer into
+ * a channel, the predicates are neither sorted nor grouped by outcome pattern
+ * and strings are stored with an int length, therefore they do not need to be chunked.
+ * The format is read by {@link BulkModelReader} and by {@link GenericModelReader}.
+ * <p>
+ * The format, all numbers are big endian:
+ * <pre>
+ * "Bulk" (model type identifier, like {@link java.io.DataOutput#writeUTF(String)})
+ * version (int)
+ * model type (string)
+ * # of outcomes (int), outcome names (string)
+ * # of predicates (int)
+ * per predicate: name (string), # of active outcomes n (int), outcomes (n ints),
+ *     parameters (n doubles)
+ * </pre>
+ * A string is written as its length in UTF-8 bytes (int) followed by the bytes.
+ */
+public class BulkModelWriter extends AbstractModelWriter {
+
+  static final String MODEL_TYPE = "Bulk";
+  static final int VERSION = 1;
+
+  private static final int BUFFER_SIZE = 64 * 1024;
+
+  private final AbstractModel model;
+  private final WritableByteChannel channel;
+  private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+
+  /**
+   * Initializes the writer.
+   *
+   * @param model the model to write
+   * @param channel the channel the model is written to, it is closed by {@link #persist()}
+   */
+  public BulkModelWriter(AbstractModel model, WritableByteChannel channel) {
+    this.model = model;
+    this.channel = channel;
+  }
+
+  /**
+   * Initializes the writer with a file, an existing file is replaced.
+   *
+   * @param model the model to write
+   * @param file the file the model is written to
+   * @throws IOException if the file cannot be opened
+   */
+  public BulkModelWriter(AbstractModel model, File file) throws IOException {
+    this(model, FileChannel.open(file.toPath(), StandardOpenOption.CREATE,
+        StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE));
+  }
+
+  @Override
+  public void persist() throws IOException {
+    Object[] data = model.getDataStructures();
+    @SuppressWarnings("unchecked")
+    Map<String, Context> pmap = (Map<String, Context>) data[1];
+    String[] outcomeLabels = (String[]) data[2];
+
+    byte[] modelType = MODEL_TYPE.getBytes(StandardCharsets.UTF_8);
+    ensureCapacity(Short.BYTES + modelType.length);
+    buffer.putShort((short) modelType.length);
+    buffer.put(modelType);
+
+    writeInt(VERSION);
+    writeUTF(model.getModelType().name());
+
+    writeInt(outcomeLabels.length);
+    for (String outcomeLabel : outcomeLabels) {
+      writeUTF(outcomeLabel);
+    }
+
+    writeInt(pmap.size());
+    for (Map.Entry<String, Context> predicate : pmap.entrySet()) {
+      writeUTF(predicate.getKey());
+      writeInt(predicate.getValue().getOutcomes().length);
+      writeInts(predicate.getValue().getOutcomes());
+      writeDoubles(predicate.getValue().getParameters());
+    }
+
+    close();
+  }
+
+  private void ensureCapacity(int bytes) throws IOException {
+    if (buffer.remaining() < bytes) {
+      flush();
+    }
+  }
+
+  private void flush() throws IOException {
+    buffer.flip();
+    while (buffer.hasRemaining()) {
+      channel.write(buffer);
+    }
+    buffer.clear();
+  }
+
+  private void writeInts(int[] values) throws IOException {
+    int offset = 0;
+    while (offset < values.length) {
+      ensureCapacity(Integer.BYTES);
+      int length = Math.min(values.length - offset, buffer.remaining() / Integer.BYTES);
+      buffer.asIntBuffer().put(values, offset, length);
+      buffer.position(buffer.position() + length * Integer.BYTES);
+      offset += length;
+    }
+  }
+
+  private void writeDoubles(double[] values) throws IOException {
+    int offset = 0;
+    while (offset < values.length) {
+      ensureCapacity(Double.BYTES);
+      int length = Math.min(values.length - offset, buffer.remaining() / Double.BYTES);
+      buffer.asDoubleBuffer().put(values, offset, length);
+      buffer.position(buffer.position() + length * Double.BYTES);
+      offset += length;
+    }
+  }
+
+  /**
+   * Writes a string as its length in UTF-8 bytes followed by the bytes.
+   */
+  @Override
+  public void writeUTF(String s) throws IOException {
+    byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+    writeInt(bytes.length);
+
+    int offset = 0;
+    while (offset < bytes.length) {
+      ensureCapacity(1);
+      int length = Math.min(bytes.length - offset, buffer.remaining());
+      buffer.put(bytes, offset, length);
+      offset += length;
+    }
+  }
+
+  @Override
+  public void writeInt(int i) throws IOException {
+    ensureCapacity(Integer.BYTES);
+    buffer.putInt(i);
+  }
+
+  @Override
+  public void writeDouble(double d) throws IOException {
+    ensureCapacity(Double.BYTES);
+    buffer.putDouble(d);
+  }
+
+  @Override
+  public void close() throws IOException {
+    flush();
+    channel.close();
+  }
+}
@@ -19,6 +19,7 @@ package opennlp.tools.ml.model;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.channels.Channels;
 
 import opennlp.tools.ml.maxent.io.GISModelReader;
 import opennlp.tools.ml.maxent.io.QNModelReader;
@@ -28,6 +29,7 @@ import opennlp.tools.ml.perceptron.PerceptronModelReader;
 public class GenericModelReader extends AbstractModelReader {
 
   private AbstractModelReader delegateModelReader;
+  private BulkModelReader bulkModelReader;
 
   public GenericModelReader(File f) throws IOException {
     super(f);
@@ -52,6 +54,13 @@ public class GenericModelReader extends AbstractModelReader {
       case "NaiveBayes":
         delegateModelReader = new NaiveBayesModelReader(this.dataReader);
         break;
+      case BulkModelWriter.MODEL_TYPE:
+        if (!(this.dataReader instanceof BinaryFileDataReader)) {
+          throw new IOException("Bulk models can only be read from binary data");
+        }
+        bulkModelReader = new BulkModelReader(
+            Channels.newChannel(((BinaryFileDataReader) this.dataReader).getInput()));
+        break;
       default:
         throw new IOException("Unknown model format: " + modelType);
     }
@@ -59,6 +68,9 @@ public class GenericModelReader extends AbstractModelReader {
 
 
   public AbstractModel constructModel() throws IOException {
+    if (bulkModelReader != null) {
+      return bulkModelReader.constructModel();
+    }
     return delegateModelReader.constructModel();
   }
 }
@@ -19,6 +19,7 @@ package opennlp.tools.ml.model;
 
 import java.io.IOException;
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
@@ -26,19 +27,68 @@ import java.security.NoSuchAlgorithmException;
 import opennlp.tools.util.AbstractObjectStream;
 import opennlp.tools.util.ObjectStream;
 
+/**
+ * An event stream which calculates a hash sum over all events read through it.
+ * <p>
+ * Two algorithms are supported, {@link #MD5} digests the string representation
+ * of every event, {@link #MURMUR3} streams the outcome, context and values of an event
+ * directly into a 128 bit MurmurHash3 without building a string first.
+ */
 public class HashSumEventStream extends AbstractObjectStream<Event> {
 
+  /**
+   * The training parameter which selects the hash algorithm, one of {@link #MD5},
+   * {@link #MURMUR3} or {@link #NONE}.
+   */
+  public static final String HASH_PARAM = "EventHash";
+
+  public static final String MD5 = "MD5";
+  public static final String MURMUR3 = "Murmur3";
+  public static final String NONE = "None";
+  public static final String HASH_DEFAULT = MD5;
+
   private MessageDigest digest;
+  private Murmur3 murmur3;
+
+  private final ObjectStream<Event> eventStream;
+
+  private long hashTime;
 
   public HashSumEventStream(ObjectStream<Event> eventStream) {
+    this(eventStream, MD5);
+  }
+
+  /**
+   * Initializes the current instance.
+   *
+   * @param eventStream the events to hash
+   * @param algorithm either {@link #MD5} or {@link #MURMUR3}
+   */
+  public HashSumEventStream(ObjectStream<Event> eventStream, String algorithm) {
     super(eventStream);
+    this.eventStream = eventStream;
 
-    try {
-      digest = MessageDigest.getInstance("MD5");
-    } catch (NoSuchAlgorithmException e) {
-      // should never happen, does all java runtimes have md5 ?!
-      throw new IllegalStateException(e);
+    if (MD5.equals(algorithm)) {
+      try {
+        digest = MessageDigest.getInstance("MD5");
+      } catch (NoSuchAlgorithmException e) {
+        // should never happen, does all java runtimes have md5 ?!
+        throw new IllegalStateException(e);
+      }
     }
+    else if (MURMUR3.equals(algorithm)) {
+      murmur3 = new Murmur3();
+    }
+    else {
+      throw new IllegalArgumentException("Unknown hash algorithm: " + algorithm);
+    }
+  }
+
+  /**
+   * @return the event stream which is hashed
+   */
+  ObjectStream<Event> getEventStream() {
+    return eventStream;
   }
 
   @Override
@@ -46,7 +96,14 @@ public class HashSumEventStream extends AbstractObjectStream<Event> {
     Event event = super.read();
 
     if (event != null) {
-      digest.update(event.toString().getBytes(StandardCharsets.UTF_8));
+      long start = System.nanoTime();
+      if (digest != null) {
+        digest.update(event.toString().getBytes(StandardCharsets.UTF_8));
+      }
+      else {
+        murmur3.update(event);
+      }
+      hashTime += System.nanoTime() - start;
     }
 
     return event;
@@ -61,9 +118,150 @@ public class HashSumEventStream extends AbstractObjectStream<Event> {
    *     completely means that hasNext() returns false
    */
   public BigInteger calculateHashSum() {
-    return new BigInteger(1, digest.digest());
+    if (digest != null) {
+      return new BigInteger(1, digest.digest());
+    }
+    return murmur3.digest();
+  }
+
+  /**
+   * Retrieves the time which was spent on hashing the events.
+   *
+   * @return the time in nanoseconds
+   */
+  public long getHashTime() {
+    return hashTime;
   }
 
   public void remove() {
   }
+
+  /**
+   * A streaming implementation of the 128 bit x64 variant of MurmurHash3. The hashed
+   * data is the sequence of UTF-16LE code units passed to the update methods.
+   */
+  private static class Murmur3 {
+
+    private static final long C1 = 0x87c37b91114253d5L;
+    private static final long C2 = 0x4cf5ad432745937fL;
+
+    private long h1;
+    private long h2;
+
+    private long k1;
+    private long k2;
+    private int charsInBlock;
+
+    private long length;
+
+    void update(Event event) {
+      update(event.getOutcome());
+
+      String[] context = event.getContext();
+      updateInt(context.length);
+      for (String predicate : context) {
+        update(predicate);
+      }
+
+      float[] values = event.getValues();
+      if (values != null) {
+        updateInt(values.length);
+        for (float value : values) {
+          updateInt(Float.floatToIntBits(value));
+        }
+      }
+      else {
+        updateInt(-1);
+      }
+    }
+
+    private void update(String s) {
+      updateInt(s.length());
+      for (int i = 0; i < s.length(); i++) {
+        update(s.charAt(i));
+      }
+    }
+
+    private void updateInt(int value) {
+      update((char) value);
+      update((char) (value >>> 16));
+    }
+
+    private void update(char c) {
+      long v = c;
+      if (charsInBlock < 4) {
+        k1 |= v << (16 * charsInBlock);
+      }
+      else {
+        k2 |= v << (16 * (charsInBlock - 4));
+      }
+
+      length += 2;
+
+      if (++charsInBlock == 8) {
+        h1 ^= mixK1(k1);
+        h1 = Long.rotateLeft(h1, 27);
+        h1 += h2;
+        h1 = h1 * 5 + 0x52dce729;
+
+        h2 ^= mixK2(k2);
+        h2 = Long.rotateLeft(h2, 31);
+        h2 += h1;
+        h2 = h2 * 5 + 0x38495ab5;
+
+        k1 = 0;
+        k2 = 0;
+        charsInBlock = 0;
+      }
+    }
+
+    BigInteger digest() {
+      long r1 = h1;
+      long r2 = h2;
+
+      if (charsInBlock > 4) {
+        r2 ^= mixK2(k2);
+      }
+      if (charsInBlock > 0) {
+        r1 ^= mixK1(k1);
+      }
+
+      r1 ^= length;
+      r2 ^= length;
+
+      r1 += r2;
+      r2 += r1;
+
+      r1 = fmix64(r1);
+      r2 = fmix64(r2);
+
+      r1 += r2;
+      r2 += r1;
+
+      return new BigInteger(1, ByteBuffer.allocate(16).putLong(r1).putLong(r2).array());
+    }
+
+    private static long mixK1(long k) {
+      k *= C1;
+      k = Long.rotateLeft(k, 31);
+      k *= C2;
+      return k;
+    }
+
+    private static long mixK2(long k) {
+      k *= C2;
+      k = Long.rotateLeft(k, 33);
+      k *= C1;
+      return k;
+    }
+
+    private static long fmix64(long k) {
+      k ^= k >>> 33;
+      k *= 0xff51afd7ed558ccdL;
+      k ^= k >>> 33;
+      k *= 0xc4ceb9fe1a85ec53L;
+      k ^= k >>> 33;
+      return k;
+    }
+  }
 }
@@ -0,0 +1,163 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package opennlp.tools.ml.model;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Combines the parameters of an existing model with newly indexed events, this is
+ * used by trainers which can update a model without the events it was trained on.
+ * <p>
+ * The predicates and outcomes of the model keep their order, the ones which
+ * only occur in the new events are appended. The parameters of the model are
+ * copied into dense {@link MutableContext}s over all outcomes, the parameters of
+ * new predicates and outcomes are zero. The contexts and outcomes of the new
+ * events are remapped to the combined predicate and outcome indexes.
+ */
+public class IncrementalTrainingData {
+
+  private final String[] predLabels;
+  private final String[] outcomeLabels;
+  private final MutableContext[] parameters;
+  private final int[][] contexts;
+  private final int[] outcomeList;
+
+  /**
+   * Initializes the combined training data.
+   *
+   * @param model the model which should be updated
+   * @param indexer the indexer which contains the new events
+   */
+  public IncrementalTrainingData(AbstractModel model, DataIndexer indexer) {
+    Object[] data = model.getDataStructures();
+    @SuppressWarnings("unchecked")
+    Map<String, Context> pmap = (Map<String, Context>) data[1];
+    String[] modelOutcomes = (String[]) data[2];
+
+    Map<String, Integer> outcomeIndex = new HashMap<>();
+    List<String> outcomes = new ArrayList<>();
+    for (String outcome : modelOutcomes) {
+      outcomeIndex.put(outcome, outcomes.size());
+      outcomes.add(outcome);
+    }
+
+    String[] indexerOutcomes = indexer.getOutcomeLabels();
+    int[] outcomeMapping = new int[indexerOutcomes.length];
+    for (int i = 0; i < indexerOutcomes.length; i++) {
+      Integer oi = outcomeIndex.get(indexerOutcomes[i]);
+      if (oi == null) {
+        oi = outcomes.size();
+        outcomeIndex.put(indexerOutcomes[i], oi);
+        outcomes.add(indexerOutcomes[i]);
+      }
+      outcomeMapping[i] = oi;
+    }
+    outcomeLabels = outcomes.toArray(new String[0]);
+
+    Map<String, Integer> predIndex = new HashMap<>();
+    List<String> preds = new ArrayList<>(pmap.keySet());
+    for (int i = 0; i < preds.size(); i++) {
+      predIndex.put(preds.get(i), i);
+    }
+
+    String[] indexerPreds = indexer.getPredLabels();
+    int[] predMapping = new int[indexerPreds.length];
+    for (int i = 0; i < indexerPreds.length; i++) {
+      Integer pi = predIndex.get(indexerPreds[i]);
+      if (pi == null) {
+        pi = preds.size();
+        predIndex.put(indexerPreds[i], pi);
+        preds.add(indexerPreds[i]);
+      }
+      predMapping[i] = pi;
+    }
+    predLabels = preds.toArray(new String[0]);
+
+    int[] allOutcomesPattern = new int[outcomeLabels.length];
+    for (int oi = 0; oi < outcomeLabels.length; oi++) {
+      allOutcomesPattern[oi] = oi;
+    }
+
+    parameters = new MutableContext[predLabels.length];
+    for (int pi = 0; pi < predLabels.length; pi++) {
+      parameters[pi] = new MutableContext(allOutcomesPattern, new double[outcomeLabels.length]);
+
+      Context context = pmap.get(predLabels[pi]);
+      if (context != null) {
+        int[] activeOutcomes = context.getOutcomes();
+        double[] activeParameters = context.getParameters();
+        for (int ai = 0; ai < activeOutcomes.length; ai++) {
+          parameters[pi].setParameter(activeOutcomes[ai], activeParameters[ai]);
+        }
+      }
+    }
+
+    int[][] indexerContexts = indexer.getContexts();
+    contexts = new int[indexerContexts.length][];
+    for (int ei = 0; ei < indexerContexts.length; ei++) {
+      contexts[ei] = new int[indexerContexts[ei].length];
+      for (int ci = 0; ci < indexerContexts[ei].length; ci++) {
+        contexts[ei][ci] = predMapping[indexerContexts[ei][ci]];
+      }
+    }
+
+    int[] indexerOutcomeList = indexer.getOutcomeList();
+    outcomeList = new int[indexerOutcomeList.length];
+    for (int ei = 0; ei < indexerOutcomeList.length; ei++) {
+      outcomeList[ei] = outcomeMapping[indexerOutcomeList[ei]];
+    }
+  }
+
+  /**
+   * @return the predicates of the model followed by the new predicates
+   */
+  public String[] getPredLabels() {
+    return predLabels;
+  }
+
+  /**
+   * @return the outcomes of the model followed by the new outcomes
+   */
+  public String[] getOutcomeLabels() {
+    return outcomeLabels;
+  }
+
+  /**
+   * @return the parameters of all predicates, indexed like {@link #getPredLabels()}
+   */
+  public MutableContext[] getParameters() {
+    return parameters;
+  }
+
+  /**
+   * @return the contexts of the new events with the combined predicate indexes
+   */
+  public int[][] getContexts() {
+    return contexts;
+  }
+
+  /**
+   * @return the outcomes of the new events with the combined outcome indexes
+   */
+  public int[] getOutcomeList() {
+    return outcomeList;
+  }
+}
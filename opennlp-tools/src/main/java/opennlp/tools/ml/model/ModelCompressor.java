@@ -0,0 +1,364 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package opennlp.tools.ml.model;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import opennlp.tools.ml.maxent.GISModel;
+import opennlp.tools.ml.maxent.quasinewton.QNModel;
+import opennlp.tools.ml.perceptron.PerceptronModel;
+import opennlp.tools.util.ObjectStream;
+
+/**
+ * Compresses maxent and perceptron models by pruning their parameters.
+ * <p>
+ * The parameters of a predicate are pruned, weights which are pruned away are
+ * removed from the outcome pattern of the predicate, and predicates without any
+ * remaining weights are removed as well. Only pruning reduces the size of the
+ * loaded model and of the model file.
+ * <p>
+ * The remaining weights can additionally be rounded with a {@link PackageRounding}.
+ * This only helps the compression of the model package: the weights are still
+ * doubles in memory and in the model file, but they take only a few distinct
+ * values and therefore deflate better. Weights which are rounded to zero are removed.
+ * <p>
+ * The compressed model has the type of the original model and is written with
+ * the usual model writers.
+ * Naive bayes models store counts instead of weights and are not supported.
+ */
+public class ModelCompressor {
+
+  /**
+   * The methods to prune weights with.
+   */
+  public enum Pruning {
+    /** Only weights which are zero are removed. */
+    NONE,
+    /** Weights with an absolute value below the threshold are removed. */
+    MAGNITUDE,
+    /**
+     * The absolute value of every weight is reduced by the threshold, like a step
+     * of L1 regularization, weights which would change their sign are removed.
+     */
+    L1
+  }
+
+  /**
+   * The ways the weights can be rounded to deflate better in a model package,
+   * the rounded weights are still stored as doubles.
+   */
+  public enum PackageRounding {
+    /** The weights are not rounded. */
+    NONE,
+    /** The weights are rounded to the nearest float value. */
+    FLOAT,
+    /**
+     * The weights are rounded to 255 evenly spaced levels per outcome, the step size
+     * of an outcome maps its largest absolute weight to 127 steps.
+     */
+    LEVELS_255
+  }
+
+  private final Pruning pruning;
+  private final double threshold;
+  private final PackageRounding rounding;
+
+  /**
+   * Initializes the compressor.
+   *
+   * @param pruning the pruning method
+   * @param threshold the pruning threshold, must not be negative
+   * @param rounding the rounding of the remaining weights for the model package
+   */
+  public ModelCompressor(Pruning pruning, double threshold, PackageRounding rounding) {
+    this.pruning = Objects.requireNonNull(pruning, "pruning must not be null");
+    this.rounding = Objects.requireNonNull(rounding, "rounding must not be null");
+
+    if (!(threshold >= 0)) {
+      throw new IllegalArgumentException("threshold must not be negative: " + threshold);
+    }
+    this.threshold = threshold;
+  }
+
+  /**
+   * Compresses a model, the given model is not modified.
+   *
+   * @param model the maxent, quasi newton or perceptron model
+   * @return the compressed model, it has the type of the given model
+   * @throws IllegalArgumentException if the model type is not supported
+   */
+  public AbstractModel compress(AbstractModel model) {
+    if (model.getModelType() == AbstractModel.ModelType.NaiveBayes) {
+      throw new IllegalArgumentException("Naive bayes models cannot be compressed");
+    }
+
+    Object[] data = model.getDataStructures();
+    @SuppressWarnings("unchecked")
+    Map<String, Context> pmap = (Map<String, Context>) data[1];
+    String[] outcomeNames = (String[]) data[2];
+
+    List<String> predLabels = new ArrayList<>(pmap.size());
+    List<double[]> weights = new ArrayList<>(pmap.size());
+    List<int[]> outcomes = new ArrayList<>(pmap.size());
+
+    for (Map.Entry<String, Context> predicate : pmap.entrySet()) {
+      predLabels.add(predicate.getKey());
+      outcomes.add(predicate.getValue().getOutcomes());
+      weights.add(prune(predicate.getValue().getParameters()));
+    }
+
+    if (rounding == PackageRounding.LEVELS_255) {
+      double[] scales = new double[outcomeNames.length];
+      for (int pi = 0; pi < weights.size(); pi++) {
+        for (int ai = 0; ai < weights.get(pi).length; ai++) {
+          int oi = outcomes.get(pi)[ai];
+          scales[oi] = Math.max(scales[oi], Math.abs(weights.get(pi)[ai]));
+        }
+      }
+      for (int oi = 0; oi < scales.length; oi++) {
+        scales[oi] /= 127;
+      }
+
+      for (int pi = 0; pi < weights.size(); pi++) {
+        for (int ai = 0; ai < weights.get(pi).length; ai++) {
+          double scale = scales[outcomes.get(pi)[ai]];
+          if (scale > 0) {
+            weights.get(pi)[ai] = Math.round(weights.get(pi)[ai] / scale) * scale;
+          }
+        }
+      }
+    }
+    else if (rounding == PackageRounding.FLOAT) {
+      for (double[] predicateWeights : weights) {
+        for (int ai = 0; ai < predicateWeights.length; ai++) {
+          predicateWeights[ai] = (float) predicateWeights[ai];
+        }
+      }
+    }
+
+    List<String> compressedPredLabels = new ArrayList<>(predLabels.size());
+    List<Context> compressedParams = new ArrayList<>(predLabels.size());
+
+    for (int pi = 0; pi < predLabels.size(); pi++) {
+      Context context = removeZeroWeights(outcomes.get(pi), weights.get(pi));
+      if (context != null) {
+        compressedPredLabels.add(predLabels.get(pi));
+        compressedParams.add(context);
+      }
+    }
+
+    Context[] params = compressedParams.toArray(new Context[0]);
+    String[] preds = compressedPredLabels.toArray(new String[0]);
+
+    switch (model.getModelType()) {
+      case Maxent:
+        return new GISModel(params, preds, outcomeNames);
+      case MaxentQn:
+        return new QNModel(params, preds, outcomeNames);
+      case Perceptron:
+        return new PerceptronModel(params, preds, outcomeNames);
+      default:
+        throw new IllegalArgumentException("Unsupported model type: " + model.getModelType());
+    }
+  }
+
+  private double[] prune(double[] parameters) {
+    double[] pruned = new double[parameters.length];
+
+    for (int ai = 0; ai < parameters.length; ai++) {
+      double weight = parameters[ai];
+
+      switch (pruning) {
+        case MAGNITUDE:
+          pruned[ai] = Math.abs(weight) < threshold ? 0 : weight;
+          break;
+        case L1:
+          pruned[ai] = Math.signum(weight) * Math.max(Math.abs(weight) - threshold, 0);
+          break;
+        default:
+          pruned[ai] = weight;
+      }
+    }
+
+    return pruned;
+  }
+
+  private static Context removeZeroWeights(int[] outcomes, double[] weights) {
+    int numActive = 0;
+    for (double weight : weights) {
+      if (weight != 0) {
+        numActive++;
+      }
+    }
+
+    if (numActive == 0) {
+      return null;
+    }
+
+    int[] activeOutcomes = new int[numActive];
+    double[] activeWeights = new double[numActive];
+    int index = 0;
+    for (int ai = 0; ai < weights.length; ai++) {
+      if (weights[ai] != 0) {
+        activeOutcomes[index] = outcomes[ai];
+        activeWeights[index] = weights[ai];
+        index++;
+      }
+    }
+
+    return new Context(activeOutcomes, activeWeights);
+  }
+
+  /**
+   * Compares a model and its compressed version on held-out events.
+   *
+   * @param original the original model
+   * @param compressed the compressed model
+   * @param events the held-out events, the stream is read until its end but not closed
+   * @return the report of the comparison
+   * @throws IOException if reading the events fails
+   */
+  public static CompressionReport evaluate(AbstractModel original, AbstractModel compressed,
+      ObjectStream<Event> events) throws IOException {
+    int eventCount = 0;
+    int originalCorrect = 0;
+    int compressedCorrect = 0;
+
+    Event event;
+    while ((event = events.read()) != null) {
+      eventCount++;
+      if (isCorrect(original, event)) {
+        originalCorrect++;
+      }
+      if (isCorrect(compressed, event)) {
+        compressedCorrect++;
+      }
+    }
+
+    return new CompressionReport(original, compressed, eventCount, originalCorrect,
+        compressedCorrect);
+  }
+
+  private static boolean isCorrect(MaxentModel model, Event event) {
+    double[] probs = event.getValues() != null
+        ? model.eval(event.getContext(), event.getValues()) : model.eval(event.getContext());
+    return event.getOutcome().equals(model.getBestOutcome(probs));
+  }
+
+  /**
+   * The sizes of a model and its compressed version and their accuracies on held-out events.
+   */
+  public static class CompressionReport {
+
+    private final int originalPredicates;
+    private final int compressedPredicates;
+    private final int originalParameters;
+    private final int compressedParameters;
+    private final int eventCount;
+    private final int originalCorrect;
+    private final int compressedCorrect;
+
+    CompressionReport(AbstractModel original, AbstractModel compressed, int eventCount,
+        int originalCorrect, int compressedCorrect) {
+      originalPredicates = countPredicates(original);
+      compressedPredicates = countPredicates(compressed);
+      originalParameters = countParameters(original);
+      compressedParameters = countParameters(compressed);
+      this.eventCount = eventCount;
+      this.originalCorrect = originalCorrect;
+      this.compressedCorrect = compressedCorrect;
+    }
+
+    private static int countPredicates(AbstractModel model) {
+      return ((Map<?, ?>) model.getDataStructures()[1]).size();
+    }
+
+    private static int countParameters(AbstractModel model) {
+      int count = 0;
+      for (Object context : ((Map<?, ?>) model.getDataStructures()[1]).values()) {
+        count += ((Context) context).getParameters().length;
+      }
+      return count;
+    }
+
+    public int getOriginalPredicates() {
+      return originalPredicates;
+    }
+
+    public int getCompressedPredicates() {
+      return compressedPredicates;
+    }
+
+    public int getOriginalParameters() {
+      return originalParameters;
+    }
+
+    public int getCompressedParameters() {
+      return compressedParameters;
+    }
+
+    /**
+     * @return the number of held-out events
+     */
+    public int getEventCount() {
+      return eventCount;
+    }
+
+    /**
+     * @return the accuracy of the original model, or {@link Double#NaN} without events
+     */
+    public double getOriginalAccuracy() {
+      return (double) originalCorrect / eventCount;
+    }
+
+    /**
+     * @return the accuracy of the compressed model, or {@link Double#NaN} without events
+     */
+    public double getCompressedAccuracy() {
+      return (double) compressedCorrect / eventCount;
+    }
+
+    /**
+     * @return the accuracy of the compressed model minus the accuracy of the original model
+     */
+    public double getAccuracyDelta() {
+      return getCompressedAccuracy() - getOriginalAccuracy();
+    }
+
+    @Override
+    public String toString() {
+      StringBuilder report = new StringBuilder();
+      report.append("Predicates: ").append(originalPredicates).append(" -> ")
+          .append(compressedPredicates).append(System.lineSeparator());
+      report.append("Parameters: ").append(originalParameters).append(" -> ")
+          .append(compressedParameters);
+
+      if (eventCount > 0) {
+        report.append(System.lineSeparator());
+        report.append(String.format("Accuracy:   %.5f -> %.5f (%+.5f) on %d events",
+            getOriginalAccuracy(), getCompressedAccuracy(), getAccuracyDelta(), eventCount));
+      }
+
+      return report.toString();
+    }
+  }
+}
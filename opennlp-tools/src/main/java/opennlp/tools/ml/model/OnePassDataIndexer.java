@@ -77,12 +77,19 @@ public class OnePassDataIndexer extends AbstractDataIndexer {
   private List<Event> computeEventCounts(ObjectStream<Event> eventStream,
       Map<String, Integer> predicatesInOut, int cutoff) throws IOException {
 
+    PredicateCountingEventStream predicateCounter = getPredicateCounter(eventStream);
     Map<String, Integer> counter = new HashMap<>();
     List<Event> events = new LinkedList<>();
     Event ev;
     while ((ev = eventStream.read()) != null) {
       events.add(ev);
-      update(ev.getContext(), counter);
+      if (predicateCounter == null) {
+        update(ev.getContext(), counter);
+      }
+    }
+
+    if (predicateCounter != null) {
+      counter = predicateCounter.getPredicateCounts();
     }
 
     String[] predicateSet = counter.entrySet().stream()
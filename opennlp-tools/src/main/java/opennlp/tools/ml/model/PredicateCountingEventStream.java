@@ -0,0 +1,38 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package opennlp.tools.ml.model;
+
+import java.util.Map;
+
+import opennlp.tools.util.ObjectStream;
+
+/**
+ * An event stream which counts the predicates of its events while creating them, e.g.
+ * on multiple threads. The data indexers use these counts instead of counting the
+ * predicates of every event themselves.
+ */
+public interface PredicateCountingEventStream extends ObjectStream<Event> {
+
+  /**
+   * Retrieves the number of occurrences of every predicate in the events.
+   *
+   * @return the predicate counts
+   * @throws IllegalStateException if not all events were read yet
+   */
+  Map<String, Integer> getPredicateCounts();
+}
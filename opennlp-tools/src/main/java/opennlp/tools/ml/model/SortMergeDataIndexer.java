@@ -0,0 +1,570 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package opennlp.tools.ml.model;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+import opennlp.tools.util.InsufficientTrainingDataException;
+import opennlp.tools.util.ObjectStream;
+
+/**
+ * Collecting event and context counts and removing duplicate events with an
+ * external merge sort. Like the {@link TwoPassDataIndexer} the events are spilled to a
+ * temporary file in the first pass, but they are written as variable length encoded
+ * predicate ids instead of strings. The second pass sorts the events in runs of
+ * {@link #EVENT_BATCH_SIZE_PARAM} events, writes each run as a delta compressed file and
+ * merges the runs into a single file of unique events. Only the unique events are finally
+ * read back, through a memory mapped buffer, into the arrays returned by the
+ * {@link DataIndexer} interface.
+ * <p>
+ * Only the memory needed while sorting and removing the duplicates is bounded by
+ * {@link #EVENT_BATCH_SIZE_PARAM}. The trainers address the events randomly through the
+ * {@link DataIndexer} arrays, therefore the unique events are held in heap memory for the
+ * whole training and this indexer does not allow training on event sets which do not
+ * fit in heap. It saves memory compared to the {@link TwoPassDataIndexer} when many
+ * events are duplicates, e.g. for small context windows. When almost every event is
+ * unique, as for name finder events, the final arrays are as large as with the other
+ * indexers.
+ * <p>
+ * Events must have binary features, real valued events are rejected.
+ * The order of the predicates inside an event is not preserved.
+ */
+public class SortMergeDataIndexer extends AbstractDataIndexer {
+
+  public static final String EVENT_BATCH_SIZE_PARAM = "EventBatchSize";
+  public static final int EVENT_BATCH_SIZE_DEFAULT = 500000;
+
+  public static final String MERGE_FAN_IN_PARAM = "MergeFanIn";
+  public static final int MERGE_FAN_IN_DEFAULT = 64;
+
+  /** The size of the regions of the merged event file which are mapped at once. */
+  private static final long MAPPED_REGION_SIZE = 1L << 28;
+
+  private int numEvents;
+
+  public SortMergeDataIndexer() {}
+
+  @Override
+  public void index(ObjectStream<Event> eventStream) throws IOException {
+    int cutoff = trainingParameters.getIntParameter(CUTOFF_PARAM, CUTOFF_DEFAULT);
+    boolean sort = trainingParameters.getBooleanParameter(SORT_PARAM, SORT_DEFAULT);
+    int batchSize = trainingParameters.getIntParameter(EVENT_BATCH_SIZE_PARAM, EVENT_BATCH_SIZE_DEFAULT);
+    int fanIn = trainingParameters.getIntParameter(MERGE_FAN_IN_PARAM, MERGE_FAN_IN_DEFAULT);
+
+    if (batchSize < 1) {
+      throw new IllegalArgumentException(EVENT_BATCH_SIZE_PARAM + " must be at least 1");
+    }
+    if (fanIn < 2) {
+      throw new IllegalArgumentException(MERGE_FAN_IN_PARAM + " must be at least 2");
+    }
+
+    long start = System.currentTimeMillis();
+
+    display("Indexing events with ExternalSort using cutoff of " + cutoff + "\n\n");
+
+    display("\tComputing event counts...  ");
+
+    File spill = File.createTempFile("events", null);
+    spill.deleteOnExit();
+
+    Map<String, Integer> predicateIds = new HashMap<>();
+    Map<String, Integer> outcomeIds = new HashMap<>();
+    IntCounter counter = new IntCounter();
+    int eventCount;
+    try (OutputStream out = new BufferedOutputStream(new FileOutputStream(spill))) {
+      eventCount = computeEventCounts(eventStream, out, predicateIds, outcomeIds, counter);
+    }
+
+    display("done. " + eventCount + " events\n");
+
+    int[] predicateMap = applyCutoff(predicateIds, counter, cutoff);
+    outcomeLabels = toIndexedStringArray(outcomeIds);
+
+    display("\tIndexing...  ");
+
+    List<File> runs = new ArrayList<>();
+    try {
+      try (InputStream in = new BufferedInputStream(new FileInputStream(spill))) {
+        numEvents = writeRuns(in, predicateMap, batchSize, sort, runs);
+      }
+      spill.delete();
+
+      display("done.\n");
+
+      if (sort) {
+        display("Sorting and merging events... ");
+      }
+      else {
+        display("Collecting events... ");
+      }
+
+      File merged = merge(runs, fanIn, sort);
+      runs.add(merged);
+
+      int numUniqueEvents = readUniqueEvents(merged);
+
+      if (numUniqueEvents == 0) {
+        throw new InsufficientTrainingDataException("Insufficient training data to create model.");
+      }
+
+      if (sort) display("done. Reduced " + numEvents + " events to " + numUniqueEvents + ".\n");
+    }
+    finally {
+      spill.delete();
+      for (File run : runs) {
+        run.delete();
+      }
+    }
+
+    display(String.format("Done indexing in %.2f s.\n", (System.currentTimeMillis() - start) / 1000d));
+  }
+
+  @Override
+  public int getNumEvents() {
+    return numEvents;
+  }
+
+  /**
+   * Reads the events, assigns a provisional id to every predicate and outcome and writes
+   * the events in the following format to the spill file:
+   *
+   * Protocol:
+   *  1 - (varint) - Event outcome id
+   *  2 - (varint) - Event context array length
+   *  3+ - (varint) - Provisional predicate id
+   */
+  private int computeEventCounts(ObjectStream<Event> eventStream, OutputStream eventStore,
+      Map<String, Integer> predicateIds, Map<String, Integer> outcomeIds, IntCounter counter)
+      throws IOException {
+    int eventCount = 0;
+
+    Event ev;
+    while ((ev = eventStream.read()) != null) {
+      eventCount++;
+
+      if (ev.getValues() != null) {
+        throw new IllegalArgumentException("Real valued events are not supported by the "
+            + "SortMergeDataIndexer, use the OnePassRealValueDataIndexer instead");
+      }
+
+      Integer outcomeId = outcomeIds.putIfAbsent(ev.getOutcome(), outcomeIds.size());
+      writeVarInt(eventStore, outcomeId != null ? outcomeId : outcomeIds.size() - 1);
+
+      String[] ec = ev.getContext();
+      writeVarInt(eventStore, ec.length);
+      for (String ctxString : ec) {
+        Integer id = predicateIds.putIfAbsent(ctxString, predicateIds.size());
+        int pid = id != null ? id : predicateIds.size() - 1;
+        counter.increment(pid);
+        writeVarInt(eventStore, pid);
+      }
+    }
+
+    return eventCount;
+  }
+
+  /**
+   * Selects the predicates which occur at least <tt>cutoff</tt> times and assigns them
+   * their final, sorted index.
+   *
+   * @return a map from provisional predicate id to final predicate id or -1
+   *     if the predicate was cut off
+   */
+  private int[] applyCutoff(Map<String, Integer> predicateIds, IntCounter counter, int cutoff) {
+    String[] predicateSet = predicateIds.entrySet().stream()
+        .filter(entry -> counter.get(entry.getValue()) >= cutoff)
+        .map(Map.Entry::getKey).sorted()
+        .toArray(String[]::new);
+
+    int[] predicateMap = new int[predicateIds.size()];
+    Arrays.fill(predicateMap, -1);
+
+    predCounts = new int[predicateSet.length];
+    for (int i = 0; i < predicateSet.length; i++) {
+      int provisionalId = predicateIds.get(predicateSet[i]);
+      predCounts[i] = counter.get(provisionalId);
+      predicateMap[provisionalId] = i;
+    }
+
+    predLabels = predicateSet;
+    return predicateMap;
+  }
+
+  /**
+   * Translates the spilled events to the final predicate ids and writes them in
+   * sorted runs of at most <tt>batchSize</tt> events.
+   *
+   * @return the number of events with at least one active predicate
+   */
+  private int writeRuns(InputStream in, int[] predicateMap, int batchSize, boolean sort,
+      List<File> runs) throws IOException {
+
+    List<ComparableEvent> batch = new ArrayList<>();
+    int eventCount = 0;
+
+    int outcome;
+    while ((outcome = readVarIntOrEOF(in)) != -1) {
+      int length = readVarInt(in);
+      int[] preds = new int[length];
+      int activeLength = 0;
+      for (int i = 0; i < length; i++) {
+        int pid = predicateMap[readVarInt(in)];
+        if (pid != -1) {
+          preds[activeLength++] = pid;
+        }
+      }
+
+      // drop events with no active features
+      if (activeLength > 0) {
+        preds = Arrays.copyOf(preds, activeLength);
+        Arrays.sort(preds);
+        batch.add(new ComparableEvent(outcome, preds));
+        eventCount++;
+
+        if (batch.size() >= batchSize) {
+          runs.add(writeRun(batch, sort));
+          batch.clear();
+        }
+      }
+      else {
+        display("Dropped event " + outcomeLabels[outcome] + "\n");
+      }
+    }
+
+    if (!batch.isEmpty() || runs.isEmpty()) {
+      runs.add(writeRun(batch, sort));
+    }
+
+    return eventCount;
+  }
+
+  /**
+   * Sorts, dedupes and writes a run of events.
+   *
+   * Protocol:
+   *  1 - (varint) - Event outcome id
+   *  2 - (varint) - Number of times the event was seen
+   *  3 - (varint) - Event context array length
+   *  4+ - (varint) - Delta to the previous predicate id
+   */
+  private File writeRun(List<ComparableEvent> batch, boolean sort) throws IOException {
+    if (sort) {
+      batch.sort(null);
+    }
+
+    File run = File.createTempFile("events-run", null);
+    run.deleteOnExit();
+
+    try (OutputStream out = new BufferedOutputStream(new FileOutputStream(run))) {
+      ComparableEvent current = null;
+      for (ComparableEvent ev : batch) {
+        if (sort && current != null && current.compareTo(ev) == 0) {
+          current.seen++;
+        }
+        else {
+          if (current != null) {
+            writeEvent(out, current);
+          }
+          current = ev;
+        }
+      }
+      if (current != null) {
+        writeEvent(out, current);
+      }
+    }
+
+    return run;
+  }
+
+  /**
+   * Merges the sorted runs into a single file, in multiple rounds when there are more
+   * than <tt>fanIn</tt> runs. The merged runs are deleted.
+   */
+  private File merge(List<File> runs, int fanIn, boolean sort) throws IOException {
+    List<File> pending = new ArrayList<>(runs);
+    runs.clear();
+
+    while (pending.size() > 1) {
+      List<File> next = new ArrayList<>();
+      for (int i = 0; i < pending.size(); i += fanIn) {
+        List<File> group = pending.subList(i, Math.min(i + fanIn, pending.size()));
+        File merged = File.createTempFile("events-merged", null);
+        merged.deleteOnExit();
+        runs.add(merged);
+        mergeRuns(group, merged, sort);
+        for (File run : group) {
+          run.delete();
+        }
+        next.add(merged);
+      }
+      pending = next;
+    }
+
+    runs.clear();
+    return pending.get(0);
+  }
+
+  private void mergeRuns(List<File> group, File merged, boolean sort) throws IOException {
+    // ties are broken by run index to keep the merge stable
+    PriorityQueue<RunReader> queue = new PriorityQueue<>((r1, r2) -> {
+      int compare = sort ? r1.current.compareTo(r2.current) : 0;
+      return compare != 0 ? compare : Integer.compare(r1.index, r2.index);
+    });
+
+    List<RunReader> readers = new ArrayList<>();
+    try (OutputStream out = new BufferedOutputStream(new FileOutputStream(merged))) {
+      for (File run : group) {
+        RunReader reader = new RunReader(run, readers.size());
+        readers.add(reader);
+        if (reader.advance()) {
+          queue.add(reader);
+        }
+      }
+
+      ComparableEvent current = null;
+      while (!queue.isEmpty()) {
+        RunReader reader = queue.poll();
+        ComparableEvent ev = reader.current;
+
+        if (sort && current != null && current.compareTo(ev) == 0) {
+          current.seen += ev.seen;
+        }
+        else {
+          if (current != null) {
+            writeEvent(out, current);
+          }
+          current = ev;
+        }
+
+        if (reader.advance()) {
+          queue.add(reader);
+        }
+      }
+      if (current != null) {
+        writeEvent(out, current);
+      }
+    }
+    finally {
+      for (RunReader reader : readers) {
+        reader.close();
+      }
+    }
+  }
+
+  /**
+   * Reads the merged unique events through a memory mapped buffer. The file is read twice,
+   * first to count the events and then to fill the arrays, to avoid holding the events
+   * twice in memory.
+   *
+   * @return the number of unique events
+   */
+  private int readUniqueEvents(File merged) throws IOException {
+    int numUniqueEvents = 0;
+    try (MappedEventReader reader = new MappedEventReader(merged)) {
+      while (reader.readEvent() != null) {
+        numUniqueEvents++;
+      }
+    }
+
+    contexts = new int[numUniqueEvents][];
+    outcomeList = new int[numUniqueEvents];
+    numTimesEventsSeen = new int[numUniqueEvents];
+
+    try (MappedEventReader reader = new MappedEventReader(merged)) {
+      for (int i = 0; i < numUniqueEvents; i++) {
+        ComparableEvent ev = reader.readEvent();
+        contexts[i] = ev.predIndexes;
+        outcomeList[i] = ev.outcome;
+        numTimesEventsSeen[i] = ev.seen;
+      }
+    }
+
+    return numUniqueEvents;
+  }
+
+  private static void writeEvent(OutputStream out, ComparableEvent ev) throws IOException {
+    writeVarInt(out, ev.outcome);
+    writeVarInt(out, ev.seen);
+    writeVarInt(out, ev.predIndexes.length);
+    int previous = 0;
+    for (int pid : ev.predIndexes) {
+      writeVarInt(out, pid - previous);
+      previous = pid;
+    }
+  }
+
+  static void writeVarInt(OutputStream out, int value) throws IOException {
+    while ((value & ~0x7F) != 0) {
+      out.write((value & 0x7F) | 0x80);
+      value >>>= 7;
+    }
+    out.write(value);
+  }
+
+  /**
+   * Reads a varint and returns -1 if the end of the stream was reached
+   * before the first byte.
+   */
+  private static int readVarIntOrEOF(InputStream in) throws IOException {
+    int b = in.read();
+    if (b == -1) {
+      return -1;
+    }
+    return readVarInt(in, b);
+  }
+
+  static int readVarInt(InputStream in) throws IOException {
+    int b = in.read();
+    if (b == -1) {
+      throw new EOFException();
+    }
+    return readVarInt(in, b);
+  }
+
+  private static int readVarInt(InputStream in, int b) throws IOException {
+    int value = b & 0x7F;
+    int shift = 7;
+    while ((b & 0x80) != 0) {
+      b = in.read();
+      if (b == -1) {
+        throw new EOFException();
+      }
+      value |= (b & 0x7F) << shift;
+      shift += 7;
+    }
+    return value;
+  }
+
+  private static ComparableEvent readEvent(InputStream in) throws IOException {
+    int outcome = readVarIntOrEOF(in);
+    if (outcome == -1) {
+      return null;
+    }
+    int seen = readVarInt(in);
+    int[] preds = new int[readVarInt(in)];
+    int previous = 0;
+    for (int i = 0; i < preds.length; i++) {
+      previous += readVarInt(in);
+      preds[i] = previous;
+    }
+    ComparableEvent ev = new ComparableEvent(outcome, preds);
+    ev.seen = seen;
+    return ev;
+  }
+
+  /**
+   * A growable array of predicate counts indexed by provisional predicate id.
+   */
+  private static class IntCounter {
+
+    private int[] counts = new int[1024];
+
+    void increment(int id) {
+      if (id >= counts.length) {
+        counts = Arrays.copyOf(counts, Math.max(id + 1, counts.length * 2));
+      }
+      counts[id]++;
+    }
+
+    int get(int id) {
+      return id < counts.length ? counts[id] : 0;
+    }
+  }
+
+  private static class RunReader {
+
+    private final InputStream in;
+    private final int index;
+    private ComparableEvent current;
+
+    RunReader(File run, int index) throws IOException {
+      this.in = new BufferedInputStream(new FileInputStream(run));
+      this.index = index;
+    }
+
+    boolean advance() throws IOException {
+      current = readEvent(in);
+      return current != null;
+    }
+
+    void close() throws IOException {
+      in.close();
+    }
+  }
+
+  /**
+   * Reads the events of a run file through memory mapped regions of the file.
+   */
+  static class MappedEventReader extends InputStream {
+
+    private final FileChannel channel;
+    private final long size;
+    private long regionStart;
+    private MappedByteBuffer buffer;
+
+    MappedEventReader(File file) throws IOException {
+      channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+      size = channel.size();
+      mapRegion(0);
+    }
+
+    private void mapRegion(long start) throws IOException {
+      regionStart = start;
+      buffer = channel.map(FileChannel.MapMode.READ_ONLY, start,
+          Math.min(MAPPED_REGION_SIZE, size - start));
+    }
+
+    @Override
+    public int read() throws IOException {
+      if (!buffer.hasRemaining()) {
+        long next = regionStart + buffer.limit();
+        if (next >= size) {
+          return -1;
+        }
+        mapRegion(next);
+      }
+      return buffer.get() & 0xFF;
+    }
+
+    ComparableEvent readEvent() throws IOException {
+      return SortMergeDataIndexer.readEvent(this);
+    }
+
+    @Override
+    public void close() throws IOException {
+      channel.close();
+    }
+  }
+}
@@ -59,32 +59,49 @@ public class TwoPassDataIndexer extends AbstractDataIndexer {
 
     Map<String,Integer> predicateIndex = new HashMap<>();
 
+    String hashAlgorithm = trainingParameters.getStringParameter(
+        HashSumEventStream.HASH_PARAM, HashSumEventStream.HASH_DEFAULT);
+    boolean verify = !HashSumEventStream.NONE.equals(hashAlgorithm);
+
     File tmp = File.createTempFile("events", null);
     tmp.deleteOnExit();
     int numEvents;
-    BigInteger writeHash;
-    HashSumEventStream writeEventStream = new HashSumEventStream(eventStream);  // do not close.
+    HashSumEventStream writeEventStream = null;
+    if (verify) {
+      writeEventStream = new HashSumEventStream(eventStream, hashAlgorithm);  // do not close.
+    }
     try (DataOutputStream dos = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tmp)))) {
-      numEvents = computeEventCounts(writeEventStream, dos, predicateIndex, cutoff);
+      numEvents = computeEventCounts(verify ? writeEventStream : eventStream, dos, predicateIndex, cutoff);
     }
-    writeHash = writeEventStream.calculateHashSum();
 
     display("done. " + numEvents + " events\n");
 
     display("\tIndexing...  ");
 
     List<ComparableEvent> eventsToCompare;
-    BigInteger readHash = null;
-    try (HashSumEventStream readStream = new HashSumEventStream(new EventStream(tmp))) {
-      eventsToCompare = index(readStream, predicateIndex);
-      readHash = readStream.calculateHashSum();
-    }
-    tmp.delete();
+    if (verify) {
+      BigInteger readHash;
+      long hashTime;
+      try (HashSumEventStream readStream = new HashSumEventStream(new EventStream(tmp), hashAlgorithm)) {
+        eventsToCompare = index(readStream, predicateIndex);
+        readHash = readStream.calculateHashSum();
+        hashTime = readStream.getHashTime() + writeEventStream.getHashTime();
+      }
+      tmp.delete();
+
+      if (readHash.compareTo(writeEventStream.calculateHashSum()) != 0)
+        throw new IOException("Event hash for writing and reading events did not match.");
 
-    if (readHash.compareTo(writeHash) != 0)
-      throw new IOException("Event hash for writing and reading events did not match.");
+      display(String.format("done. Verified events in %.2f s.\n", hashTime / 1000000000d));
+    }
+    else {
+      try (ObjectStream<Event> readStream = new EventStream(tmp)) {
+        eventsToCompare = index(readStream, predicateIndex);
+      }
+      tmp.delete();
 
-    display("done.\n");
+      display("done.\n");
+    }
 
     if (sort) {
       display("Sorting and merging events... ");
@@ -116,6 +133,7 @@ public class TwoPassDataIndexer extends AbstractDataIndexer {
    */
   private int computeEventCounts(ObjectStream<Event> eventStream, DataOutputStream eventStore,
       Map<String,Integer> predicatesInOut, int cutoff) throws IOException {
+    PredicateCountingEventStream predicateCounter = getPredicateCounter(eventStream);
     Map<String,Integer> counter = new HashMap<>();
     int eventCount = 0;
 
@@ -127,7 +145,9 @@ public class TwoPassDataIndexer extends AbstractDataIndexer {
 
       eventStore.writeInt(ev.getContext().length);
       String[] ec = ev.getContext();
-      update(ec, counter);
+      if (predicateCounter == null) {
+        update(ec, counter);
+      }
       for (String ctxString : ec)
         eventStore.writeUTF(ctxString);
 
@@ -141,6 +161,10 @@ public class TwoPassDataIndexer extends AbstractDataIndexer {
       }
     }
 
+    if (predicateCounter != null) {
+      counter = predicateCounter.getPredicateCounts();
+    }
+
     String[] predicateSet = counter.entrySet().stream()
         .filter(entry -> entry.getValue() >= cutoff)
         .map(Map.Entry::getKey).sorted()
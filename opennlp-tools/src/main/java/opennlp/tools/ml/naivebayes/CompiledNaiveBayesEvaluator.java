@@ -0,0 +1,82 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package opennlp.tools.ml.naivebayes;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import opennlp.tools.ml.model.Context;
+
+/**
+ * Evaluates a {@link NaiveBayesModel} with log probabilities which are computed once
+ * when the model is evaluated the first time.
+ * <p>
+ * For every predicate the smoothed log probabilities of the outcomes are stored in
+ * a row, the rows are kept in an array indexed by the position of the predicate in
+ * the predicate map of the model. The evaluation of a context sums the rows of its
+ * predicates and normalizes the sums with the {@link NaiveBayesScorer}. The terms are
+ * summed in the order
+ * of {@link NaiveBayesModel#eval(Context[], float[], double[], opennlp.tools.ml.model.EvalParameters,
+ * boolean)} and normalized like {@link LogProbabilities}, therefore the results are
+ * identical to the results of the uncompiled evaluation.
+ * <p>
+ * Instances are immutable and thread safe.
+ */
+final class CompiledNaiveBayesEvaluator {
+
+  private final NaiveBayesScorer scorer;
+  private final Map<String, Integer> predicateIndex;
+  private final double[][] logProbabilities;
+
+  CompiledNaiveBayesEvaluator(Map<String, Context> pmap, NaiveBayesScorer scorer) {
+    this.scorer = scorer;
+
+    predicateIndex = new HashMap<>((int) (pmap.size() / 0.75f) + 1);
+    logProbabilities = new double[pmap.size()][];
+
+    int index = 0;
+    for (Map.Entry<String, Context> entry : pmap.entrySet()) {
+      predicateIndex.put(entry.getKey(), index);
+      logProbabilities[index++] = scorer.logProbabilities(entry.getValue());
+    }
+  }
+
+  /**
+   * Evaluates a context.
+   *
+   * @param context the predicates of the context, unknown predicates are ignored
+   * @param probs the array which receives the probabilities of the outcomes
+   * @return the probs array
+   */
+  double[] eval(String[] context, double[] probs) {
+    Arrays.fill(probs, 0);
+
+    for (String predicate : context) {
+      Integer index = predicateIndex.get(predicate);
+      if (index != null) {
+        double[] row = logProbabilities[index];
+        for (int i = 0; i < row.length; i++) {
+          probs[i] += row[i];
+        }
+      }
+    }
+
+    return scorer.normalize(probs);
+  }
+}
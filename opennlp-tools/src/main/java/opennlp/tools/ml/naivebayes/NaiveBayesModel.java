@@ -31,6 +31,11 @@ public class NaiveBayesModel extends AbstractModel {
   protected double[] outcomeTotals;
   protected long vocabulary;
 
+  /**
+   * Created on the first evaluation, the models created during training are not evaluated.
+   */
+  private volatile CompiledNaiveBayesEvaluator evaluator;
+
   NaiveBayesModel(Context[] params, String[] predLabels, Map<String, Context> pmap,
                          String[] outcomeNames) {
     super(params, predLabels, pmap, outcomeNames);
@@ -48,6 +53,17 @@ public class NaiveBayesModel extends AbstractModel {
     modelType = ModelType.NaiveBayes;
   }
 
+  private CompiledNaiveBayesEvaluator getEvaluator() {
+    CompiledNaiveBayesEvaluator compiled = evaluator;
+    if (compiled == null) {
+      // concurrent first evaluations may compile the model twice, the results are equal
+      compiled = new CompiledNaiveBayesEvaluator(pmap, new NaiveBayesScorer(outcomeTotals,
+          ((NaiveBayesEvalParameters) evalParams).getVocabulary()));
+      evaluator = compiled;
+    }
+    return compiled;
+  }
+
   protected double[] initOutcomeTotals(String[] outcomeNames, Context[] params) {
     double[] outcomeTotals = new double[outcomeNames.length];
     for (Context context : params) {
@@ -73,6 +89,10 @@ public class NaiveBayesModel extends AbstractModel {
   }
 
   public double[] eval(String[] context, float[] values, double[] outsums) {
+    if (values == null) {
+      return getEvaluator().eval(context, outsums);
+    }
+
     Context[] scontexts = new Context[context.length];
     java.util.Arrays.fill(outsums, 0);
     for (int i = 0; i < context.length; i++) {
@@ -139,16 +159,10 @@ public class NaiveBayesModel extends AbstractModel {
   private static double getProbability(double numerator, double denominator,
                                        double vocabulary, boolean isSmoothed) {
     if (isSmoothed)
-      return getSmoothedProbability(numerator, denominator, vocabulary);
+      return NaiveBayesScorer.getSmoothedProbability(numerator, denominator, vocabulary);
     else if (denominator == 0 || denominator < Double.MIN_VALUE)
       return 0;
     else
       return 1.0 * numerator / denominator;
   }
-
-  private static double getSmoothedProbability(double numerator, double denominator, double vocabulary) {
-    final double delta = 0.05; // Lidstone smoothing
-
-    return 1.0 * (numerator + delta) / (denominator + delta * vocabulary);
-  }
 }
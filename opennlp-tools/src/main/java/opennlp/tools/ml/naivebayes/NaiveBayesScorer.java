@@ -0,0 +1,159 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package opennlp.tools.ml.naivebayes;
+
+import java.util.Arrays;
+
+import opennlp.tools.ml.model.Context;
+
+/**
+ * Scores the outcomes of a {@link NaiveBayesModel} with the smoothed log probabilities
+ * of the predicates. The model evaluation and components which sum the scores of the
+ * predicates themselves, e.g. the language detectors, use the scorer so the smoothing,
+ * the terms which are summed and the normalization are identical.
+ * <p>
+ * Like the model evaluation, the outcomes after the last active outcome of a
+ * predicate do not contribute a term.
+ * <p>
+ * Instances are immutable and thread safe.
+ */
+public final class NaiveBayesScorer {
+
+  /**
+   * The Lidstone smoothing.
+   */
+  private static final double DELTA = 0.05;
+
+  private final double[] outcomeTotals;
+  private final double[] logPriors;
+  private final long vocabulary;
+
+  /**
+   * Initializes the current instance with the parameters of a model.
+   *
+   * @param params the contexts of the predicates of the model
+   * @param numOutcomes the number of outcomes of the model
+   */
+  public NaiveBayesScorer(Context[] params, int numOutcomes) {
+    this(outcomeTotals(params, numOutcomes), params.length);
+  }
+
+  NaiveBayesScorer(double[] outcomeTotals, long vocabulary) {
+    this.outcomeTotals = outcomeTotals;
+    this.vocabulary = vocabulary;
+
+    double total = 0;
+    for (double outcomeTotal : outcomeTotals) {
+      total += outcomeTotal;
+    }
+    logPriors = new double[outcomeTotals.length];
+    for (int i = 0; i < outcomeTotals.length; ++i) {
+      logPriors[i] = StrictMath.log(outcomeTotals[i] / total);
+    }
+  }
+
+  private static double[] outcomeTotals(Context[] params, int numOutcomes) {
+    double[] outcomeTotals = new double[numOutcomes];
+    for (Context context : params) {
+      for (int j = 0; j < context.getOutcomes().length; ++j) {
+        outcomeTotals[context.getOutcomes()[j]] += context.getParameters()[j];
+      }
+    }
+    return outcomeTotals;
+  }
+
+  static double getSmoothedProbability(double numerator, double denominator, double vocabulary) {
+    return 1.0 * (numerator + DELTA) / (denominator + DELTA * vocabulary);
+  }
+
+  /**
+   * Computes the log probabilities of the outcomes for a predicate.
+   *
+   * @param context the context of the predicate
+   * @return the log probabilities up to the last active outcome of the predicate
+   */
+  double[] logProbabilities(Context context) {
+    int[] activeOutcomes = context.getOutcomes();
+    double[] activeParameters = context.getParameters();
+
+    double[] row = new double[outcomeTotals.length];
+    int ai = 0;
+    int i = 0;
+    for (; i < outcomeTotals.length && ai < activeOutcomes.length; ++i) {
+      double numerator = activeOutcomes[ai] == i ? activeParameters[ai++] : 0;
+      row[i] = StrictMath.log(getSmoothedProbability(numerator, outcomeTotals[i], vocabulary));
+    }
+
+    return i == row.length ? row : Arrays.copyOf(row, i);
+  }
+
+  /**
+   * Adds the log probabilities of a predicate to the scores of the outcomes.
+   *
+   * @param scores the scores of the outcomes
+   * @param context the context of the predicate
+   * @param weight the factor of the log probabilities, e.g. the count of the predicate
+   */
+  public void addIn(double[] scores, Context context, double weight) {
+    int[] activeOutcomes = context.getOutcomes();
+    double[] activeParameters = context.getParameters();
+
+    int ai = 0;
+    for (int i = 0; i < outcomeTotals.length && ai < activeOutcomes.length; ++i) {
+      double numerator = activeOutcomes[ai] == i ? activeParameters[ai++] : 0;
+      scores[i] += weight
+          * StrictMath.log(getSmoothedProbability(numerator, outcomeTotals[i], vocabulary));
+    }
+  }
+
+  /**
+   * Adds the log priors to the summed scores and turns them into normalized probabilities.
+   *
+   * @param scores the summed log probabilities of the outcomes
+   * @return the scores array which contains the probabilities of the outcomes
+   */
+  public double[] normalize(double[] scores) {
+    double highestLogProbability = Double.NEGATIVE_INFINITY;
+    for (int i = 0; i < logPriors.length; i++) {
+      scores[i] += logPriors[i];
+      if (scores[i] > highestLogProbability) {
+        highestLogProbability = scores[i];
+      }
+    }
+
+    double sum = 0;
+    for (int i = 0; i < logPriors.length; i++) {
+      double p = StrictMath.exp(scores[i] - highestLogProbability);
+      if (!Double.isNaN(p)) {
+        sum += p;
+        scores[i] = p;
+      }
+      else {
+        scores[i] = 0;
+      }
+    }
+
+    if (sum > Double.MIN_VALUE) {
+      for (int i = 0; i < logPriors.length; i++) {
+        scores[i] /= sum;
+      }
+    }
+
+    return scores;
+  }
+}
@@ -21,10 +21,15 @@ import java.io.IOException;
 
 import opennlp.tools.ml.AbstractEventTrainer;
 import opennlp.tools.ml.ArrayMath;
+import opennlp.tools.ml.IncrementalEventTrainer;
 import opennlp.tools.ml.model.AbstractModel;
 import opennlp.tools.ml.model.DataIndexer;
 import opennlp.tools.ml.model.EvalParameters;
+import opennlp.tools.ml.model.Event;
+import opennlp.tools.ml.model.IncrementalTrainingData;
+import opennlp.tools.ml.model.MaxentModel;
 import opennlp.tools.ml.model.MutableContext;
+import opennlp.tools.util.ObjectStream;
 import opennlp.tools.util.TrainingParameters;
 
 /**
@@ -33,7 +38,7 @@ import opennlp.tools.util.TrainingParameters;
  * Text Classification from Labeled and Unlabeled Documents using EM
  * Nigam, McCallum, et al paper of 2000
  */
-public class NaiveBayesTrainer extends AbstractEventTrainer {
+public class NaiveBayesTrainer extends AbstractEventTrainer implements IncrementalEventTrainer {
 
   public static final String NAIVE_BAYES_VALUE = "NAIVEBAYES";
 
@@ -130,16 +135,6 @@ public class NaiveBayesTrainer extends AbstractEventTrainer {
 
     display("Computing model parameters...\n");
 
-    MutableContext[] finalParameters = findParameters();
-
-    display("...done.\n");
-
-    /* Create and return the model ****/
-    return new NaiveBayesModel(finalParameters, predLabels, outcomeLabels);
-  }
-
-  private MutableContext[] findParameters() {
-
     int[] allOutcomesPattern = new int[numOutcomes];
     for (int oi = 0; oi < numOutcomes; oi++)
       allOutcomesPattern[oi] = oi;
@@ -152,6 +147,69 @@ public class NaiveBayesTrainer extends AbstractEventTrainer {
         params[pi].setParameter(aoi, 0.0);
     }
 
+    MutableContext[] finalParameters = findParameters(params);
+
+    display("...done.\n");
+
+    /* Create and return the model ****/
+    return new NaiveBayesModel(finalParameters, predLabels, outcomeLabels);
+  }
+
+  /**
+   * Adds the counts of new events to the counts of a naive bayes model.
+   * The result is the model which would have been trained on the events of
+   * the model and the new events, except that the cutoff is only applied to
+   * the new events.
+   *
+   * @param model the naive bayes model to update
+   * @param events the new events
+   * @return the updated model
+   * @throws IOException if reading the events fails
+   */
+  @Override
+  public MaxentModel update(MaxentModel model, ObjectStream<Event> events) throws IOException {
+    if (!(model instanceof NaiveBayesModel)) {
+      throw new IllegalArgumentException("Only naive bayes models can be updated, but got "
+          + model.getClass().getName());
+    }
+
+    validate();
+
+    DataIndexer di = getDataIndexer(events);
+    IncrementalTrainingData data = new IncrementalTrainingData((AbstractModel) model, di);
+
+    display("Incorporating indexed data for training...  \n");
+    contexts = data.getContexts();
+    values = di.getValues();
+    numTimesEventsSeen = di.getNumTimesEventsSeen();
+    numEvents = di.getNumEvents();
+    numUniqueEvents = contexts.length;
+
+    outcomeLabels = data.getOutcomeLabels();
+    outcomeList = data.getOutcomeList();
+
+    predLabels = data.getPredLabels();
+    numPreds = predLabels.length;
+    numOutcomes = outcomeLabels.length;
+
+    display("done.\n");
+
+    display("\tNumber of Event Tokens: " + numUniqueEvents + "\n");
+    display("\t    Number of Outcomes: " + numOutcomes + "\n");
+    display("\t  Number of Predicates: " + numPreds + "\n");
+
+    display("Updating model parameters...\n");
+
+    MutableContext[] finalParameters = findParameters(data.getParameters());
+
+    display("...done.\n");
+
+    addToReport(TRAINER_TYPE_PARAM, EVENT_VALUE);
+    return new NaiveBayesModel(finalParameters, predLabels, outcomeLabels);
+  }
+
+  private MutableContext[] findParameters(MutableContext[] params) {
+
     EvalParameters evalParams = new EvalParameters(params, numOutcomes);
 
     double stepSize = 1;
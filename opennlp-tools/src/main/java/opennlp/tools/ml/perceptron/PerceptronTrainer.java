@@ -21,10 +21,15 @@ import java.io.IOException;
 
 import opennlp.tools.ml.AbstractEventTrainer;
 import opennlp.tools.ml.ArrayMath;
+import opennlp.tools.ml.IncrementalEventTrainer;
 import opennlp.tools.ml.model.AbstractModel;
 import opennlp.tools.ml.model.DataIndexer;
 import opennlp.tools.ml.model.EvalParameters;
+import opennlp.tools.ml.model.Event;
+import opennlp.tools.ml.model.IncrementalTrainingData;
+import opennlp.tools.ml.model.MaxentModel;
 import opennlp.tools.ml.model.MutableContext;
+import opennlp.tools.util.ObjectStream;
 import opennlp.tools.util.TrainingParameters;
 
 /**
@@ -35,7 +40,7 @@ import opennlp.tools.util.TrainingParameters;
  * with the Perceptron Algorithm. Michael Collins, EMNLP 2002.
  *
  */
-public class PerceptronTrainer extends AbstractEventTrainer {
+public class PerceptronTrainer extends AbstractEventTrainer implements IncrementalEventTrainer {
 
   public static final String PERCEPTRON_VALUE = "PERCEPTRON";
   public static final double TOLERANCE_DEFAULT = .00001;
@@ -122,8 +127,72 @@ public class PerceptronTrainer extends AbstractEventTrainer {
     int iterations = getIterations();
     int cutoff = getCutoff();
 
-    AbstractModel model;
+    boolean useAverage = configure();
 
+    return this.trainModel(iterations, indexer, cutoff, useAverage);
+  }
+
+  /**
+   * Updates a perceptron model with new events. The perceptron training starts
+   * with the weights of the model and iterates only over the new events, the
+   * averaging is done over the iterations of the update.
+   *
+   * @param model the perceptron model to update
+   * @param events the new events
+   * @return the updated model
+   * @throws IOException if reading the events fails
+   */
+  @Override
+  public MaxentModel update(MaxentModel model, ObjectStream<Event> events) throws IOException {
+    if (!(model instanceof PerceptronModel)) {
+      throw new IllegalArgumentException("Only perceptron models can be updated, but got "
+          + model.getClass().getName());
+    }
+
+    validate();
+
+    boolean useAverage = configure();
+
+    DataIndexer di = getDataIndexer(events);
+    IncrementalTrainingData data = new IncrementalTrainingData((AbstractModel) model, di);
+
+    display("Incorporating indexed data for training...  \n");
+    contexts = data.getContexts();
+    values = di.getValues();
+    numTimesEventsSeen = di.getNumTimesEventsSeen();
+    numEvents = di.getNumEvents();
+    numUniqueEvents = contexts.length;
+
+    outcomeLabels = data.getOutcomeLabels();
+    outcomeList = data.getOutcomeList();
+
+    predLabels = data.getPredLabels();
+    numPreds = predLabels.length;
+    numOutcomes = outcomeLabels.length;
+
+    display("done.\n");
+
+    display("\tNumber of Event Tokens: " + numUniqueEvents + "\n");
+    display("\t    Number of Outcomes: " + numOutcomes + "\n");
+    display("\t  Number of Predicates: " + numPreds + "\n");
+
+    display("Updating model parameters...\n");
+
+    MutableContext[] finalParameters =
+        findParameters(data.getParameters(), getIterations(), useAverage);
+
+    display("...done.\n");
+
+    addToReport(TRAINER_TYPE_PARAM, EVENT_VALUE);
+    return new PerceptronModel(finalParameters, predLabels, outcomeLabels);
+  }
+
+  /**
+   * Applies the training parameters to this trainer.
+   *
+   * @return true if the parameters should be averaged
+   */
+  private boolean configure() {
     boolean useAverage = trainingParameters.getBooleanParameter("UseAverage", true);
 
     boolean useSkippedAveraging = trainingParameters.getBooleanParameter("UseSkippedAveraging", false);
@@ -144,9 +213,7 @@ public class PerceptronTrainer extends AbstractEventTrainer {
 
     this.setTolerance(tolerance);
 
-    model = this.trainModel(iterations, indexer, cutoff, useAverage);
-
-    return model;
+    return useAverage;
   }
 
   // << members related to AbstractSequenceTrainer
@@ -229,7 +296,19 @@ public class PerceptronTrainer extends AbstractEventTrainer {
 
     display("Computing model parameters...\n");
 
-    MutableContext[] finalParameters = findParameters(iterations, useAverage);
+    int[] allOutcomesPattern = new int[numOutcomes];
+    for (int oi = 0; oi < numOutcomes; oi++)
+      allOutcomesPattern[oi] = oi;
+
+    /* Stores the estimated parameter value of each predicate during iteration. */
+    MutableContext[] params = new MutableContext[numPreds];
+    for (int pi = 0; pi < numPreds; pi++) {
+      params[pi] = new MutableContext(allOutcomesPattern,new double[numOutcomes]);
+      for (int aoi = 0; aoi < numOutcomes; aoi++)
+        params[pi].setParameter(aoi, 0.0);
+    }
+
+    MutableContext[] finalParameters = findParameters(params, iterations, useAverage);
 
     display("...done.\n");
 
@@ -237,7 +316,8 @@ public class PerceptronTrainer extends AbstractEventTrainer {
     return new PerceptronModel(finalParameters, predLabels, outcomeLabels);
   }
 
-  private MutableContext[] findParameters(int iterations, boolean useAverage) {
+  private MutableContext[] findParameters(MutableContext[] params, int iterations,
+      boolean useAverage) {
 
     display("Performing " + iterations + " iterations.\n");
 
@@ -245,14 +325,6 @@ public class PerceptronTrainer extends AbstractEventTrainer {
     for (int oi = 0; oi < numOutcomes; oi++)
       allOutcomesPattern[oi] = oi;
 
-    /* Stores the estimated parameter value of each predicate during iteration. */
-    MutableContext[] params = new MutableContext[numPreds];
-    for (int pi = 0; pi < numPreds; pi++) {
-      params[pi] = new MutableContext(allOutcomesPattern,new double[numOutcomes]);
-      for (int aoi = 0; aoi < numOutcomes; aoi++)
-        params[pi].setParameter(aoi, 0.0);
-    }
-
     EvalParameters evalParams = new EvalParameters(params, numOutcomes);
 
     /* Stores the sum of parameter values of each predicate over many iterations. */
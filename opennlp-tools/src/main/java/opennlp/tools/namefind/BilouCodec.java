@@ -23,6 +23,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 
+import opennlp.tools.util.IndexedSequenceDecoder;
 import opennlp.tools.util.SequenceCodec;
 import opennlp.tools.util.SequenceValidator;
 import opennlp.tools.util.Span;
@@ -175,4 +176,9 @@ public class BilouCodec implements SequenceCodec<String> {
 
     return true;
   }
+
+  @Override
+  public IndexedSequenceDecoder createIndexedDecoder(String[] outcomes) {
+    return IndexedNameDecoder.createBilouDecoder(outcomes);
+  }
 }
@@ -23,6 +23,7 @@ import java.util.List;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
+import opennlp.tools.util.IndexedSequenceDecoder;
 import opennlp.tools.util.SequenceCodec;
 import opennlp.tools.util.Span;
 
@@ -140,4 +141,9 @@ public class BioCodec implements SequenceCodec<String> {
 
     return true;
   }
+
+  @Override
+  public IndexedSequenceDecoder createIndexedDecoder(String[] outcomes) {
+    return IndexedNameDecoder.createBioDecoder(outcomes);
+  }
 }
@@ -0,0 +1,158 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package opennlp.tools.namefind;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import opennlp.tools.util.IndexedSequenceDecoder;
+import opennlp.tools.util.SpanBuffer;
+
+/**
+ * Decodes outcome ids of the {@link BioCodec} and the {@link BilouCodec}.
+ * <p>
+ * The suffix and the name type of every outcome are resolved once, the decoding
+ * follows {@link BioCodec#decode(List)} and {@link BilouCodec#decode(List)}
+ * and produces the same spans.
+ */
+final class IndexedNameDecoder implements IndexedSequenceDecoder {
+
+  private static final int UNKNOWN = -1;
+
+  private final boolean bilou;
+  private final int[] suffixes;
+  private final int[] typeIds;
+  private final String[] types;
+
+  /**
+   * @param outcomes the outcomes of the model
+   * @param suffixes the suffixes of the codec, an outcome gets the index of the
+   *     first suffix it ends with
+   * @param bilou true for the {@link BilouCodec}, false for the {@link BioCodec}
+   */
+  IndexedNameDecoder(String[] outcomes, String[] suffixes, boolean bilou) {
+    this.bilou = bilou;
+    this.suffixes = new int[outcomes.length];
+    typeIds = new int[outcomes.length];
+
+    List<String> typeList = new ArrayList<>();
+    for (int oi = 0; oi < outcomes.length; oi++) {
+      this.suffixes[oi] = UNKNOWN;
+      for (int si = 0; si < suffixes.length; si++) {
+        if (outcomes[oi].endsWith(suffixes[si])) {
+          this.suffixes[oi] = si;
+          break;
+        }
+      }
+
+      String type = BioCodec.extractNameType(outcomes[oi]);
+      if (type == null) {
+        typeIds[oi] = SpanBuffer.NO_TYPE;
+      }
+      else {
+        if (!typeList.contains(type)) {
+          typeList.add(type);
+        }
+        typeIds[oi] = typeList.indexOf(type);
+      }
+    }
+    types = typeList.toArray(new String[0]);
+  }
+
+  static IndexedNameDecoder createBioDecoder(String[] outcomes) {
+    return new IndexedNameDecoder(outcomes,
+        new String[] {BioCodec.START, BioCodec.CONTINUE, BioCodec.OTHER}, false);
+  }
+
+  static IndexedNameDecoder createBilouDecoder(String[] outcomes) {
+    return new IndexedNameDecoder(outcomes, new String[] {BilouCodec.START,
+        BilouCodec.CONTINUE, BilouCodec.LAST, BilouCodec.UNIT}, true);
+  }
+
+  @Override
+  public void decode(int[] outcomeIds, int length, SpanBuffer spans) {
+    spans.setTypes(types);
+
+    if (bilou) {
+      decodeBilou(outcomeIds, length, spans);
+    }
+    else {
+      decodeBio(outcomeIds, length, spans);
+    }
+  }
+
+  private void decodeBio(int[] outcomeIds, int length, SpanBuffer spans) {
+    int start = -1;
+    int end = -1;
+    for (int li = 0; li < length; li++) {
+      switch (suffixes[outcomeIds[li]]) {
+        case 0: // start
+          if (start != -1) {
+            spans.add(start, end, typeIds[outcomeIds[li - 1]]);
+          }
+          start = li;
+          end = li + 1;
+          break;
+        case 1: // cont
+          end = li + 1;
+          break;
+        case 2: // other
+          if (start != -1) {
+            spans.add(start, end, typeIds[outcomeIds[li - 1]]);
+            start = -1;
+            end = -1;
+          }
+          break;
+        default:
+          break;
+      }
+    }
+
+    if (start != -1) {
+      spans.add(start, end, typeIds[outcomeIds[length - 1]]);
+    }
+  }
+
+  private void decodeBilou(int[] outcomeIds, int length, SpanBuffer spans) {
+    int start = -1;
+    int end = -1;
+    for (int li = 0; li < length; li++) {
+      switch (suffixes[outcomeIds[li]]) {
+        case 0: // start
+          start = li;
+          end = li + 1;
+          break;
+        case 1: // cont
+          end = li + 1;
+          break;
+        case 2: // last
+          if (start != -1) {
+            spans.add(start, end + 1, typeIds[outcomeIds[li - 1]]);
+            start = -1;
+            end = -1;
+          }
+          break;
+        case 3: // unit
+          spans.add(li, li + 1, typeIds[outcomeIds[li]]);
+          break;
+        default:
+          break;
+      }
+    }
+  }
+}
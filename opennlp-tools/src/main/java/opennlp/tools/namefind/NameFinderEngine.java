@@ -0,0 +1,100 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package opennlp.tools.namefind;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import opennlp.tools.ml.model.SequenceClassificationModel;
+import opennlp.tools.namefind.TokenNameFinderModel.FeatureGeneratorCreationError;
+import opennlp.tools.util.IndexedSequenceDecoder;
+import opennlp.tools.util.InvalidFormatException;
+import opennlp.tools.util.SequenceCodec;
+import opennlp.tools.util.featuregen.FeatureGeneratorTemplate;
+import opennlp.tools.util.metrics.FeatureGenerationProfile;
+
+/**
+ * The state of a {@link TokenNameFinderModel} which is shared by all its {@link NameFinderME}s.
+ * <p>
+ * The feature generator descriptor is read once, the sequence codec, the decoder and
+ * the outcome ids are created once. Every name finder gets its own context
+ * generator and sequence model because they keep state between calls.
+ * <p>
+ * Instances are thread safe.
+ */
+final class NameFinderEngine {
+
+  private final TokenNameFinderModel model;
+  private final TokenNameFinderFactory factory;
+  private final FeatureGeneratorTemplate featureGeneratorTemplate;
+  private final SequenceCodec<String> seqCodec;
+  private final IndexedSequenceDecoder indexedDecoder;
+  private final Map<String, Integer> outcomeIndex;
+
+  NameFinderEngine(TokenNameFinderModel model) {
+    this.model = model;
+    factory = model.getFactory();
+
+    // Subclasses of the factory might create their context generators differently
+    featureGeneratorTemplate = factory.getClass() == TokenNameFinderFactory.class
+        ? factory.createFeatureGeneratorTemplate() : null;
+
+    seqCodec = factory.createSequenceCodec();
+
+    String[] outcomes = model.getNameFinderSequenceModel().getOutcomes();
+    Map<String, Integer> outcomeIndex = new HashMap<>();
+    for (int oi = 0; oi < outcomes.length; oi++) {
+      outcomeIndex.put(outcomes[oi], oi);
+    }
+    this.outcomeIndex = Collections.unmodifiableMap(outcomeIndex);
+    indexedDecoder = seqCodec.createIndexedDecoder(outcomes);
+  }
+
+  SequenceCodec<String> getSequenceCodec() {
+    return seqCodec;
+  }
+
+  IndexedSequenceDecoder getIndexedDecoder() {
+    return indexedDecoder;
+  }
+
+  Map<String, Integer> getOutcomeIndex() {
+    return outcomeIndex;
+  }
+
+  /**
+   * @param profile the profile of the feature generators or null, it is ignored if the
+   *     factory creates the context generator
+   */
+  NameContextGenerator createContextGenerator(FeatureGenerationProfile profile) {
+    if (featureGeneratorTemplate == null) {
+      return factory.createContextGenerator();
+    }
+
+    try {
+      return new DefaultNameContextGenerator(featureGeneratorTemplate.newInstance(profile));
+    } catch (InvalidFormatException e) {
+      throw new FeatureGeneratorCreationError(e);
+    }
+  }
+
+  SequenceClassificationModel<String> createSequenceModel() {
+    return model.getNameFinderSequenceModel();
+  }
+}
@@ -38,22 +38,29 @@ import opennlp.tools.ml.model.Event;
 import opennlp.tools.ml.model.MaxentModel;
 import opennlp.tools.ml.model.SequenceClassificationModel;
 import opennlp.tools.ml.perceptron.PerceptronTrainer;
+import opennlp.tools.util.IndexedSequenceDecoder;
 import opennlp.tools.util.ObjectStream;
+import opennlp.tools.util.ParallelEventStream;
 import opennlp.tools.util.Sequence;
 import opennlp.tools.util.SequenceCodec;
 import opennlp.tools.util.SequenceValidator;
 import opennlp.tools.util.Span;
+import opennlp.tools.util.SpanBuffer;
 import opennlp.tools.util.TrainingParameters;
 import opennlp.tools.util.featuregen.AdaptiveFeatureGenerator;
 import opennlp.tools.util.featuregen.AdditionalContextFeatureGenerator;
 import opennlp.tools.util.featuregen.GeneratorFactory;
 import opennlp.tools.util.featuregen.WindowFeatureGenerator;
+import opennlp.tools.util.metrics.FeatureGenerationProfile;
+import opennlp.tools.util.metrics.Metrics;
 
 /**
  * Class for creating a maximum-entropy-based name finder.
  */
 public class NameFinderME implements TokenNameFinder {
 
+  private static final String FIND_METRIC = "NameFinderME.find";
+
   private static String[][] EMPTY = new String[0][0];
   public static final int DEFAULT_BEAM_SIZE = 3;
   private static final Pattern typedOutcomePattern = Pattern.compile("(.+)-\\w+");
@@ -73,14 +80,31 @@ public class NameFinderME implements TokenNameFinder {
           = new AdditionalContextFeatureGenerator();
   private SequenceValidator<String> sequenceValidator;
 
+  private final IndexedSequenceDecoder indexedDecoder;
+  private final Map<String, Integer> outcomeIndex;
+  private int[] outcomeIds = new int[0];
+  private double[] outcomeProbs = new double[0];
+  private String[] outcomeNames = new String[0];
+
   public NameFinderME(TokenNameFinderModel model) {
+    this(new NameFinderEngine(model), null);
+  }
 
-    TokenNameFinderFactory factory = model.getFactory();
+  /**
+   * Initializes the name finder with the shared state of a model,
+   * see {@link TokenNameFinderModel#newEngine()}.
+   *
+   * @param profile the profile of the feature generators or null
+   */
+  NameFinderME(NameFinderEngine engine, FeatureGenerationProfile profile) {
 
-    seqCodec = factory.createSequenceCodec();
+    seqCodec = engine.getSequenceCodec();
     sequenceValidator = seqCodec.createSequenceValidator();
-    this.model = model.getNameFinderSequenceModel();
-    contextGenerator = factory.createContextGenerator();
+    this.model = engine.createSequenceModel();
+    contextGenerator = engine.createContextGenerator(profile);
+
+    outcomeIndex = engine.getOutcomeIndex();
+    indexedDecoder = engine.getIndexedDecoder();
 
     // TODO: We should deprecate this. And come up with a better solution!
     contextGenerator.addFeatureGenerator(
@@ -122,6 +146,15 @@ public class NameFinderME implements TokenNameFinder {
    * @return an array of spans for each of the names identified.
    */
   public Span[] find(String[] tokens, String[][] additionalContext) {
+    long start = Metrics.startTimer();
+    try {
+      return findNames(tokens, additionalContext);
+    } finally {
+      Metrics.stopTimer(FIND_METRIC, start);
+    }
+  }
+
+  private Span[] findNames(String[] tokens, String[][] additionalContext) {
 
     additionalContextFeatureGenerator.setCurrentContext(additionalContext);
 
@@ -135,6 +168,68 @@ public class NameFinderME implements TokenNameFinder {
     return spans;
   }
 
+  /**
+   * Generates name tags like {@link #find(String[], String[][])}, but the names are
+   * stored in the given buffer instead of new {@link Span} objects. The probabilities
+   * of the names are set like in {@link #find(String[], String[][])}.
+   *
+   * @param tokens an array of the tokens or words of the sequence, typically a sentence.
+   * @param additionalContext features which are based on context outside of the
+   *     sentence but which should also be used.
+   * @param names the buffer which receives the names, its previous spans are removed.
+   */
+  public void find(String[] tokens, String[][] additionalContext, SpanBuffer names) {
+    long start = Metrics.startTimer();
+    try {
+      findNames(tokens, additionalContext, names);
+    } finally {
+      Metrics.stopTimer(FIND_METRIC, start);
+    }
+  }
+
+  private void findNames(String[] tokens, String[][] additionalContext, SpanBuffer names) {
+
+    additionalContextFeatureGenerator.setCurrentContext(additionalContext);
+
+    bestSequence = model.bestSequence(tokens, additionalContext, contextGenerator, sequenceValidator);
+
+    List<String> c = bestSequence.getOutcomes();
+
+    // the adaptive data needs an array of exactly the sequence length,
+    // it is only reallocated when the length changes
+    if (outcomeNames.length != c.size()) {
+      outcomeNames = new String[c.size()];
+    }
+    contextGenerator.updateAdaptiveData(tokens, c.toArray(outcomeNames));
+
+    if (outcomeIds.length < c.size()) {
+      outcomeIds = new int[c.size()];
+      outcomeProbs = new double[c.size()];
+    }
+
+    // the beam search knows the outcome ids, other sequence models only the outcome names
+    if (!bestSequence.getOutcomeIds(outcomeIds)) {
+      for (int li = 0; li < c.size(); li++) {
+        outcomeIds[li] = outcomeIndex.get(c.get(li));
+      }
+    }
+
+    indexedDecoder.decode(outcomeIds, c.size(), names);
+
+    bestSequence.getProbs(outcomeProbs);
+    for (int si = 0; si < names.size(); si++) {
+      double p = 0;
+
+      for (int oi = names.getStart(si); oi < names.getEnd(si); oi++) {
+        p += outcomeProbs[oi];
+      }
+
+      p /= names.getEnd(si) - names.getStart(si);
+
+      names.setProb(si, p);
+    }
+  }
+
   /**
    * Forgets all adaptive data which was collected during previous calls to one
    * of the find methods.
@@ -237,8 +332,20 @@ public class NameFinderME implements TokenNameFinder {
     TrainerType trainerType = TrainerFactory.getTrainerType(trainParams);
 
     if (TrainerType.EVENT_MODEL_TRAINER.equals(trainerType)) {
-      ObjectStream<Event> eventStream = new NameFinderEventStream(samples, type,
-              factory.createContextGenerator(), factory.createSequenceCodec());
+      int eventThreads = trainParams.getIntParameter(ParallelEventStream.THREADS_PARAM,
+              ParallelEventStream.THREADS_DEFAULT);
+
+      ObjectStream<Event> eventStream;
+      if (eventThreads > 1) {
+        // batches start at a document boundary, otherwise the adaptive data differs, longer
+        // documents are handed out in several batches which share one context generator
+        eventStream = new ParallelEventStream<>(samples, eventThreads, ParallelEventStream.BATCH_SIZE_DEFAULT,
+            () -> new NameFinderEventStream(null, type, factory.createContextGenerator(),
+                factory.createSequenceCodec()), NameSample::isClearAdaptiveDataSet);
+      } else {
+        eventStream = new NameFinderEventStream(samples, type,
+            factory.createContextGenerator(), factory.createSequenceCodec());
+      }
 
       EventTrainer trainer = TrainerFactory.getEventTrainer(trainParams, manifestInfoEntries);
       nameFinderModel = trainer.train(eventStream);
@@ -17,9 +17,9 @@
 
 package opennlp.tools.namefind;
 
-import java.util.Collection;
-import java.util.HashMap;
-import java.util.LinkedList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.regex.Matcher;
@@ -29,6 +29,8 @@ import opennlp.tools.util.Span;
 
 /**
  * Name finder based on a series of regular expressions.
+ * <p>
+ * The spans are returned in the order of the types and patterns.
  */
 public final class RegexNameFinder implements TokenNameFinder {
 
@@ -36,8 +38,12 @@ public final class RegexNameFinder implements TokenNameFinder {
   private String sType;
   private Map<String, Pattern[]> regexMap;
 
+  private Pattern[] allPatterns;
+  private String[] patternTypes;
+
   public RegexNameFinder(Map<String, Pattern[]> regexMap) {
     this.regexMap = Objects.requireNonNull(regexMap, "regexMap must not be null");
+    compile();
   }
 
   public RegexNameFinder(Pattern[] patterns, String type) {
@@ -47,6 +53,7 @@ public final class RegexNameFinder implements TokenNameFinder {
 
     mPatterns = patterns;
     sType = type;
+    compile();
   }
 
   /**
@@ -62,70 +69,60 @@ public final class RegexNameFinder implements TokenNameFinder {
 
     mPatterns = patterns;
     sType = null;
+    compile();
+  }
+
+  /**
+   * Collects the patterns of all types, the matches are reported in the order
+   * of the types and patterns.
+   */
+  private void compile() {
+    List<Pattern> patterns = new ArrayList<>();
+    List<String> types = new ArrayList<>();
+
+    if (regexMap != null) {
+      for (Map.Entry<String, Pattern[]> entry : regexMap.entrySet()) {
+        for (Pattern pattern : entry.getValue()) {
+          patterns.add(pattern);
+          types.add(entry.getKey());
+        }
+      }
+    } else {
+      for (Pattern pattern : mPatterns) {
+        patterns.add(pattern);
+        types.add(sType);
+      }
+    }
+
+    allPatterns = patterns.toArray(new Pattern[patterns.size()]);
+    patternTypes = types.toArray(new String[types.size()]);
   }
 
   @Override
   public Span[] find(String[] tokens) {
-    Map<Integer, Integer> sentencePosTokenMap = new HashMap<>();
-
     StringBuilder sentenceString = new StringBuilder(tokens.length * 10);
 
     for (int i = 0; i < tokens.length; i++) {
-
-      int startIndex = sentenceString.length();
-      sentencePosTokenMap.put(startIndex, i);
-
       sentenceString.append(tokens[i]);
 
-      int endIndex = sentenceString.length();
-      sentencePosTokenMap.put(endIndex, i + 1);
-
       if (i < tokens.length - 1) {
         sentenceString.append(' ');
       }
     }
 
-    Collection<Span> annotations = new LinkedList<>();
+    // maps the char offsets of the token starts and ends to the token index
+    int[] sentencePosTokenMap = new int[sentenceString.length() + 1];
+    Arrays.fill(sentencePosTokenMap, -1);
 
-    if (regexMap != null) {
-      for (Map.Entry<String, Pattern[]> entry : regexMap.entrySet()) {
-        for (Pattern mPattern : entry.getValue()) {
-          Matcher matcher = mPattern.matcher(sentenceString);
-
-          while (matcher.find()) {
-            Integer tokenStartIndex =
-                sentencePosTokenMap.get(matcher.start());
-            Integer tokenEndIndex =
-                sentencePosTokenMap.get(matcher.end());
-
-            if (tokenStartIndex != null && tokenEndIndex != null) {
-              Span annotation = new Span(tokenStartIndex, tokenEndIndex, entry.getKey());
-              annotations.add(annotation);
-            }
-          }
-        }
-      }
-    } else {
-      for (Pattern mPattern : mPatterns) {
-        Matcher matcher = mPattern.matcher(sentenceString);
-
-        while (matcher.find()) {
-          Integer tokenStartIndex =
-              sentencePosTokenMap.get(matcher.start());
-          Integer tokenEndIndex =
-              sentencePosTokenMap.get(matcher.end());
-
-          if (tokenStartIndex != null && tokenEndIndex != null) {
-            Span annotation = new Span(tokenStartIndex, tokenEndIndex, sType);
-            annotations.add(annotation);
-          }
-        }
-      }
+    int offset = 0;
+    for (int i = 0; i < tokens.length; i++) {
+      sentencePosTokenMap[offset] = i;
+      offset += tokens[i].length();
+      sentencePosTokenMap[offset] = i + 1;
+      offset++;
     }
 
-
-    return annotations.toArray(
-        new Span[annotations.size()]);
+    return find(sentenceString, sentencePosTokenMap);
   }
 
   /**
@@ -136,41 +133,38 @@ public final class RegexNameFinder implements TokenNameFinder {
    * @return
    */
   public Span[] find(String text) {
-    return getAnnotations(text);
+    return find(text, null);
   }
 
-  private Span[] getAnnotations(String text) {
-    Collection<Span> annotations = new LinkedList<>();
-    if (regexMap != null) {
-      for (Map.Entry<String, Pattern[]> entry : regexMap.entrySet()) {
-        for (Pattern mPattern : entry.getValue()) {
-          Matcher matcher = mPattern.matcher(text);
+  /**
+   * Finds the matches of all patterns.
+   *
+   * @param text the text
+   * @param posTokenMap maps char offsets to token indexes, matches which do not start
+   *     and end at a mapped offset are dropped, {@code null} to report char offsets
+   */
+  private Span[] find(CharSequence text, int[] posTokenMap) {
+    List<Span> annotations = new ArrayList<>();
 
-          while (matcher.find()) {
-            Integer tokenStartIndex = matcher.start();
-            Integer tokenEndIndex = matcher.end();
-            Span annotation = new Span(tokenStartIndex, tokenEndIndex, entry.getKey());
-            annotations.add(annotation);
+    for (int i = 0; i < allPatterns.length; i++) {
+      Matcher matcher = allPatterns[i].matcher(text);
 
-          }
+      while (matcher.find()) {
+        if (posTokenMap == null) {
+          annotations.add(new Span(matcher.start(), matcher.end(), patternTypes[i]));
         }
-      }
-    } else {
-      for (Pattern mPattern : mPatterns) {
-        Matcher matcher = mPattern.matcher(text);
-
-        while (matcher.find()) {
-          Integer tokenStartIndex = matcher.start();
-          Integer tokenEndIndex = matcher.end();
-          Span annotation = new Span(tokenStartIndex, tokenEndIndex, sType);
-          annotations.add(annotation);
+        else {
+          int tokenStartIndex = posTokenMap[matcher.start()];
+          int tokenEndIndex = posTokenMap[matcher.end()];
 
+          if (tokenStartIndex != -1 && tokenEndIndex != -1) {
+            annotations.add(new Span(tokenStartIndex, tokenEndIndex, patternTypes[i]));
+          }
         }
       }
     }
 
-    return annotations.toArray(
-        new Span[annotations.size()]);
+    return annotations.toArray(new Span[annotations.size()]);
   }
 
   @Override
@@ -184,6 +178,7 @@ public final class RegexNameFinder implements TokenNameFinder {
 
   public void setmPatterns(Pattern[] mPatterns) {
     this.mPatterns = mPatterns;
+    compile();
   }
 
   public String getsType() {
@@ -192,5 +187,6 @@ public final class RegexNameFinder implements TokenNameFinder {
 
   public void setsType(String sType) {
     this.sType = sType;
+    compile();
   }
 }
@@ -32,6 +32,7 @@ import opennlp.tools.util.featuregen.AdaptiveFeatureGenerator;
 import opennlp.tools.util.featuregen.AggregatedFeatureGenerator;
 import opennlp.tools.util.featuregen.BigramNameFeatureGenerator;
 import opennlp.tools.util.featuregen.CachedFeatureGenerator;
+import opennlp.tools.util.featuregen.FeatureGeneratorTemplate;
 import opennlp.tools.util.featuregen.GeneratorFactory;
 import opennlp.tools.util.featuregen.OutcomePriorFeatureGenerator;
 import opennlp.tools.util.featuregen.PreviousMapFeatureGenerator;
@@ -214,6 +215,39 @@ public class TokenNameFinderFactory extends BaseToolFactory {
     return generator;
   }
 
+  /**
+   * Creates a template for the feature generators of {@link #createFeatureGenerators()},
+   * the descriptor is read once and every instance of the template is a new generator.
+   *
+   * @return the template of the feature generators
+   */
+  public FeatureGeneratorTemplate createFeatureGeneratorTemplate() {
+
+    if (featureGeneratorBytes == null && artifactProvider != null) {
+      featureGeneratorBytes = artifactProvider.getArtifact(
+          TokenNameFinderModel.GENERATOR_DESCRIPTOR_ENTRY_NAME);
+    }
+
+    if (featureGeneratorBytes == null) {
+      featureGeneratorBytes = loadDefaultFeatureGeneratorBytes();
+    }
+
+    try {
+      return GeneratorFactory.compile(new ByteArrayInputStream(featureGeneratorBytes), key -> {
+        if (artifactProvider != null) {
+          return artifactProvider.getArtifact(key);
+        }
+        else {
+          return resources.get(key);
+        }
+      });
+    } catch (InvalidFormatException e) {
+      throw new FeatureGeneratorCreationError(e);
+    } catch (IOException e) {
+      throw new IllegalStateException("Reading from mem cannot result in an I/O error", e);
+    }
+  }
+
   public static SequenceCodec<String> instantiateSequenceCodec(
       String sequenceCodecImplName) {
 
@@ -24,6 +24,7 @@ import java.io.InputStream;
 import java.net.URL;
 import java.nio.file.Path;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Properties;
 
 import opennlp.tools.ml.BeamSearch;
@@ -34,6 +35,7 @@ import opennlp.tools.util.InvalidFormatException;
 import opennlp.tools.util.SequenceCodec;
 import opennlp.tools.util.featuregen.BrownCluster;
 import opennlp.tools.util.featuregen.WordClusterDictionary;
+import opennlp.tools.util.metrics.FeatureGenerationProfile;
 import opennlp.tools.util.model.ArtifactSerializer;
 import opennlp.tools.util.model.BaseModel;
 import opennlp.tools.util.model.ByteArraySerializer;
@@ -58,6 +60,8 @@ public class TokenNameFinderModel extends BaseModel {
 
   static final String GENERATOR_DESCRIPTOR_ENTRY_NAME = "generator.featuregen";
 
+  private transient volatile NameFinderEngine engine;
+
   static final String SEQUENCE_CODEC_CLASS_NAME_PARAMETER = "sequenceCodecImplName";
 
   public TokenNameFinderModel(String languageCode, SequenceClassificationModel<String> nameFinderModel,
@@ -178,6 +182,48 @@ public class TokenNameFinderModel extends BaseModel {
     return (TokenNameFinderFactory) this.toolFactory;
   }
 
+  /**
+   * Creates a new {@link NameFinderME} for this model.
+   * <p>
+   * The feature generator descriptor is read and the sequence codec is created only once
+   * per model, all name finders created by this method share them. A name finder is
+   * cheap to create but is not thread safe, every thread should use its own name finder.
+   *
+   * @return a new name finder
+   */
+  public NameFinderME newEngine() {
+    return new NameFinderME(getEngine(), null);
+  }
+
+  /**
+   * Creates a new {@link NameFinderME} for this model which records the metrics of its
+   * feature generators in a profile, see {@link #newEngine()}.
+   * <p>
+   * Name finders which are created with the same profile aggregate their metrics. Only the
+   * generators of the feature generator descriptor are profiled, a factory subclass which
+   * creates its own context generator is not.
+   *
+   * @param profile the profile of the feature generators
+   * @return a new name finder
+   */
+  public NameFinderME newEngine(FeatureGenerationProfile profile) {
+    return new NameFinderME(getEngine(), Objects.requireNonNull(profile, "profile must not be null"));
+  }
+
+  private NameFinderEngine getEngine() {
+    NameFinderEngine engine = this.engine;
+    if (engine == null) {
+      synchronized (this) {
+        engine = this.engine;
+        if (engine == null) {
+          engine = new NameFinderEngine(this);
+          this.engine = engine;
+        }
+      }
+    }
+    return engine;
+  }
+
   @Override
   protected void createArtifactSerializers(Map<String, ArtifactSerializer> serializers) {
     super.createArtifactSerializers(serializers);
@@ -0,0 +1,348 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package opennlp.tools.ngram;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import opennlp.tools.dictionary.Dictionary;
+import opennlp.tools.util.StringList;
+
+/**
+ * A thread safe, streaming counter for token ngrams.
+ * <p>
+ * The tokens are mapped to integer ids and the ngrams are counted as id sequences in
+ * a number of independently locked shards, so many threads can add text concurrently.
+ * The counts can be exported into a {@link NGramModel} or a {@link Dictionary}.
+ * <p>
+ * In the approximate mode every ngram is first counted in a count-min sketch of fixed
+ * size and only ngrams whose estimated count reaches the admission count are retained
+ * in the shards. The memory used for counting is then proportional to the number of
+ * frequent ngrams instead of all distinct ngrams. Since the sketch never underestimates,
+ * every ngram which occurs at least admission count times is retained, but its count
+ * may be overestimated by the sketch error, and a few rare ngrams can be retained
+ * because of hash collisions.
+ */
+public class NGramCounter {
+
+  /** The number of shards is 2^SHARD_BITS, the shard is selected by the top bits of the hash. */
+  private static final int SHARD_BITS = 6;
+
+  private final int minLength;
+  private final int maxLength;
+
+  private final Map<String, Integer> tokenIds = new ConcurrentHashMap<>();
+  private final AtomicInteger nextTokenId = new AtomicInteger();
+
+  private final Shard[] shards;
+
+  private final AtomicIntegerArray sketch;
+  private final int sketchWidth;
+  private final int sketchDepth;
+  private final int admissionCount;
+
+  /**
+   * Initializes an exact counter.
+   *
+   * @param minLength the minimal length of the counted ngrams
+   * @param maxLength the maximal length of the counted ngrams
+   */
+  public NGramCounter(int minLength, int maxLength) {
+    this(minLength, maxLength, 0, 0, 1);
+  }
+
+  /**
+   * Initializes an approximate counter, backed by a count-min sketch with
+   * <code>sketchDepth</code> rows of <code>sketchWidth</code> counters.
+   *
+   * @param minLength the minimal length of the counted ngrams
+   * @param maxLength the maximal length of the counted ngrams
+   * @param sketchWidth the number of counters per sketch row, zero for an exact counter
+   * @param sketchDepth the number of sketch rows
+   * @param admissionCount the estimated count an ngram needs to be retained,
+   *     usually the cutoff which is later applied
+   */
+  public NGramCounter(int minLength, int maxLength, int sketchWidth, int sketchDepth,
+      int admissionCount) {
+
+    if (minLength < 1 || maxLength < 1)
+      throw new IllegalArgumentException("minLength and maxLength param must be at least 1. " +
+          "minLength=" + minLength + ", maxLength= " + maxLength);
+
+    if (minLength > maxLength)
+      throw new IllegalArgumentException("minLength param must not be larger than " +
+          "maxLength param. minLength=" + minLength + ", maxLength= " + maxLength);
+
+    if (sketchWidth < 0 || (sketchWidth > 0 && sketchDepth < 1))
+      throw new IllegalArgumentException("sketchWidth must not be negative and sketchDepth " +
+          "must be at least 1. sketchWidth=" + sketchWidth + ", sketchDepth=" + sketchDepth);
+
+    if (admissionCount < 1)
+      throw new IllegalArgumentException("admissionCount must be at least 1, but was " + admissionCount);
+
+    this.minLength = minLength;
+    this.maxLength = maxLength;
+
+    shards = new Shard[1 << SHARD_BITS];
+    for (int i = 0; i < shards.length; i++) {
+      shards[i] = new Shard();
+    }
+
+    this.sketchWidth = sketchWidth;
+    this.sketchDepth = sketchWidth > 0 ? sketchDepth : 0;
+    this.admissionCount = admissionCount;
+    sketch = sketchWidth > 0 ? new AtomicIntegerArray(sketchWidth * sketchDepth) : null;
+  }
+
+  /**
+   * Counts all ngrams of the configured lengths in the given tokens.
+   * This method can be called concurrently.
+   *
+   * @param tokens the tokens of a sentence
+   */
+  public void add(String... tokens) {
+    int[] ids = new int[tokens.length];
+    for (int i = 0; i < tokens.length; i++) {
+      ids[i] = tokenIds.computeIfAbsent(tokens[i], token -> nextTokenId.getAndIncrement());
+    }
+
+    for (int length = minLength; length <= maxLength; length++) {
+      for (int start = 0; start + length <= ids.length; start++) {
+        increment(Arrays.copyOfRange(ids, start, start + length));
+      }
+    }
+  }
+
+  /**
+   * Counts all ngrams of the configured lengths in the given tokens.
+   * This method can be called concurrently.
+   *
+   * @param tokens the tokens of a sentence
+   */
+  public void add(StringList tokens) {
+    String[] tokenArray = new String[tokens.size()];
+    for (int i = 0; i < tokenArray.length; i++) {
+      tokenArray[i] = tokens.getToken(i);
+    }
+    add(tokenArray);
+  }
+
+  private void increment(int[] ngram) {
+    NGram key = new NGram(ngram);
+    Shard shard = shard(key);
+
+    if (sketch == null) {
+      shard.increment(key, 1);
+    }
+    else if (!shard.incrementIfPresent(key)) {
+      int estimate = addToSketch(key.hash64);
+      if (estimate >= admissionCount) {
+        shard.increment(key, estimate);
+      }
+    }
+  }
+
+  private Shard shard(NGram key) {
+    return shards[(int) (key.hash64 >>> (64 - SHARD_BITS))];
+  }
+
+  /**
+   * Increments the count of the ngram in every sketch row.
+   *
+   * @return the estimated count of the ngram
+   */
+  private int addToSketch(long hash) {
+    int h1 = (int) hash;
+    int h2 = (int) (hash >>> 32);
+
+    int estimate = Integer.MAX_VALUE;
+    for (int row = 0; row < sketchDepth; row++) {
+      int column = ((h1 + row * h2) & 0x7fffffff) % sketchWidth;
+      estimate = Math.min(estimate, sketch.incrementAndGet(row * sketchWidth + column));
+    }
+    return estimate;
+  }
+
+  /**
+   * Retrieves the count of the given ngram.
+   *
+   * @param ngram the tokens of the ngram
+   * @return the count or 0 if the ngram is not retained
+   */
+  public int getCount(String... ngram) {
+    int[] ids = new int[ngram.length];
+    for (int i = 0; i < ngram.length; i++) {
+      Integer id = tokenIds.get(ngram[i]);
+      if (id == null) {
+        return 0;
+      }
+      ids[i] = id;
+    }
+
+    NGram key = new NGram(ids);
+    return shard(key).getCount(key);
+  }
+
+  /**
+   * Retrieves the number of retained ngrams.
+   *
+   * @return the number of retained ngrams
+   */
+  public int size() {
+    int size = 0;
+    for (Shard shard : shards) {
+      size += shard.size();
+    }
+    return size;
+  }
+
+  /**
+   * Adds all ngrams with a count between <code>cutoffUnder</code> and
+   * <code>cutoffOver</code> to the given model.
+   *
+   * @param model the model to add the ngrams to
+   * @param cutoffUnder ngrams which appear less often are dropped
+   * @param cutoffOver ngrams which appear more often are dropped
+   */
+  public void addTo(NGramModel model, int cutoffUnder, int cutoffOver) {
+    String[] tokens = new String[nextTokenId.get()];
+    tokenIds.forEach((token, id) -> tokens[id] = token);
+
+    for (Shard shard : shards) {
+      synchronized (shard) {
+        for (NGram ngram : shard.counts.values()) {
+          if (ngram.count >= cutoffUnder && ngram.count <= cutoffOver) {
+            String[] grams = new String[ngram.ids.length];
+            for (int i = 0; i < grams.length; i++) {
+              grams[i] = tokens[ngram.ids[i]];
+            }
+
+            StringList key = new StringList(grams);
+            model.add(key);
+            model.setCount(key, ngram.count);
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * Creates a {@link NGramModel} which contains all ngrams with a count between
+   * <code>cutoffUnder</code> and <code>cutoffOver</code>.
+   *
+   * @return the ngram model
+   */
+  public NGramModel toNGramModel(int cutoffUnder, int cutoffOver) {
+    NGramModel model = new NGramModel();
+    addTo(model, cutoffUnder, cutoffOver);
+    return model;
+  }
+
+  /**
+   * Creates a {@link Dictionary} which contains all ngrams which appear at least
+   * <code>cutoff</code> times.
+   *
+   * @param cutoff ngrams which appear less often are dropped
+   * @param caseSensitive Specifies whether case distinctions should be kept
+   *                      in the creation of the dictionary.
+   * @return a dictionary of the ngrams
+   */
+  public Dictionary toDictionary(int cutoff, boolean caseSensitive) {
+    return toNGramModel(cutoff, Integer.MAX_VALUE).toDictionary(caseSensitive);
+  }
+
+  private static class Shard {
+
+    private final Map<NGram, NGram> counts = new HashMap<>();
+
+    synchronized void increment(NGram key, int count) {
+      NGram ngram = counts.putIfAbsent(key, key);
+      if (ngram == null) {
+        key.count = count;
+      }
+      else {
+        ngram.count++;
+      }
+    }
+
+    synchronized boolean incrementIfPresent(NGram key) {
+      NGram ngram = counts.get(key);
+      if (ngram != null) {
+        ngram.count++;
+        return true;
+      }
+      return false;
+    }
+
+    synchronized int getCount(NGram key) {
+      NGram ngram = counts.get(key);
+      return ngram != null ? ngram.count : 0;
+    }
+
+    synchronized int size() {
+      return counts.size();
+    }
+  }
+
+  /**
+   * An ngram of token ids together with its count. The count is not part of
+   * the identity of the ngram.
+   */
+  private static class NGram {
+
+    private final int[] ids;
+    private final long hash64;
+    private final int hash;
+    private int count;
+
+    NGram(int[] ids) {
+      this.ids = ids;
+
+      long h = 0x9e3779b97f4a7c15L;
+      for (int id : ids) {
+        h = (h ^ id) * 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+      }
+      h *= 0xc4ceb9fe1a85ec53L;
+      h ^= h >>> 33;
+
+      hash64 = h;
+      hash = (int) h;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (obj instanceof NGram) {
+        return Arrays.equals(ids, ((NGram) obj).ids);
+      }
+      return false;
+    }
+
+    @Override
+    public int hashCode() {
+      return hash;
+    }
+  }
+}
@@ -107,10 +107,7 @@ public class NGramModel implements Iterable<StringList> {
    */
   public void setCount(StringList ngram, int count) {
 
-    Integer oldCount = mNGrams.put(ngram, count);
-
-    if (oldCount == null) {
-      mNGrams.remove(ngram);
+    if (mNGrams.replace(ngram, count) == null) {
       throw new NoSuchElementException();
     }
   }
@@ -121,11 +118,7 @@ public class NGramModel implements Iterable<StringList> {
    * @param ngram
    */
   public void add(StringList ngram) {
-    if (contains(ngram)) {
-      setCount(ngram, getCount(ngram) + 1);
-    } else {
-      mNGrams.put(ngram, 1);
-    }
+    mNGrams.merge(ngram, 1, Integer::sum);
   }
 
   /**
@@ -24,13 +24,18 @@ import java.util.List;
 import java.util.Set;
 import java.util.SortedSet;
 import java.util.TreeSet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.function.Function;
 
 import opennlp.tools.chunker.Chunker;
 import opennlp.tools.dictionary.Dictionary;
+import opennlp.tools.ml.model.Event;
 import opennlp.tools.ngram.NGramModel;
 import opennlp.tools.parser.chunking.ParserEventStream;
 import opennlp.tools.postag.POSTagger;
 import opennlp.tools.util.ObjectStream;
+import opennlp.tools.util.ParallelEventStream;
 import opennlp.tools.util.Sequence;
 import opennlp.tools.util.Span;
 import opennlp.tools.util.StringList;
@@ -146,6 +151,19 @@ public abstract class AbstractBottomUpParser implements Parser {
    */
   public static final String INCOMPLETE = "i";
 
+  /**
+   * The training parameter which defines the number of threads used to train
+   * the sub models of a parser concurrently.
+   */
+  public static final String SUB_MODEL_THREADS_PARAM = "SubModelThreads";
+  public static final int SUB_MODEL_THREADS_DEFAULT = 1;
+
+  /**
+   * The training parameter which defines whether the treebank which is shared by
+   * concurrently trained sub models is stored in a temporary file instead of memory.
+   */
+  public static final String SPILL_TREEBANK_PARAM = "SpillTreebank";
+
   /**
    * The pos-tagger that the parser uses.
    */
@@ -250,6 +268,55 @@ public abstract class AbstractBottomUpParser implements Parser {
 
 
 
+  /**
+   * Creates the events of a sub model. If the {@link ParallelEventStream#THREADS_PARAM}
+   * parameter of the sub model is greater than one, the events are created on multiple
+   * threads, every thread uses its own event stream.
+   *
+   * @param parseSamples the parse samples
+   * @param subModelParams the training parameters of the sub model
+   * @param eventStreamFactory creates an event stream for the given samples
+   * @return the events
+   */
+  protected static ObjectStream<Event> createEventStream(ObjectStream<Parse> parseSamples,
+      TrainingParameters subModelParams,
+      Function<ObjectStream<Parse>, ? extends AbstractParserEventStream> eventStreamFactory) {
+    int eventThreads = subModelParams.getIntParameter(ParallelEventStream.THREADS_PARAM,
+        ParallelEventStream.THREADS_DEFAULT);
+
+    if (eventThreads > 1) {
+      return new ParallelEventStream<>(parseSamples, eventThreads,
+          () -> eventStreamFactory.apply(null));
+    }
+    return eventStreamFactory.apply(parseSamples);
+  }
+
+  /**
+   * Waits for a sub model which is trained concurrently.
+   *
+   * @param future the result of the sub model training
+   * @return the sub model
+   * @throws IOException if the training failed with an {@link IOException}
+   *     or the thread was interrupted
+   */
+  protected static <T> T getSubModel(Future<T> future) throws IOException {
+    try {
+      return future.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException("Interrupted while training the sub models", e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof IOException) {
+        throw (IOException) e.getCause();
+      }
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw new IllegalStateException("Training a sub model failed: " + e.getCause().getMessage(),
+          e.getCause());
+    }
+  }
+
   /**
    * Advances the specified parse and returns the an array advanced parses whose
    * probability accounts for more than the specified amount of probability mass.
@@ -0,0 +1,259 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package opennlp.tools.parser;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import opennlp.tools.util.ObjectStream;
+import opennlp.tools.util.Span;
+
+/**
+ * A treebank which is read once from a stream of parses and can then be read
+ * by any number of independent streams, also concurrently.
+ * <p>
+ * The training of the parser sub models modifies the parses, therefore every stream
+ * returns new {@link Parse} objects. They are rebuilt from the constituents of
+ * the parses which were read, with their types, probabilities and head indexes.
+ * The constituents are kept in memory or, for large treebanks, spilled to a
+ * temporary file which is deleted when the treebank is closed.
+ */
+public class ParseTreebank implements Closeable {
+
+  private final List<ParseTemplate> templates;
+  private final Path spillFile;
+  private final int size;
+
+  /**
+   * Reads all parses of the given stream.
+   *
+   * @param parses the parses, the stream is read once but not closed
+   * @param spill true if the parses should be stored in a temporary file instead of memory
+   * @throws IOException if reading the parses or writing the temporary file fails
+   */
+  public ParseTreebank(ObjectStream<Parse> parses, boolean spill) throws IOException {
+    int count = 0;
+
+    if (spill) {
+      templates = null;
+      spillFile = Files.createTempFile("opennlp-treebank", ".bin");
+
+      try (DataOutputStream out = new DataOutputStream(
+          new BufferedOutputStream(Files.newOutputStream(spillFile)))) {
+        Parse parse;
+        while ((parse = parses.read()) != null) {
+          new ParseTemplate(parse).write(out);
+          count++;
+        }
+      } catch (IOException e) {
+        Files.deleteIfExists(spillFile);
+        throw e;
+      }
+    }
+    else {
+      templates = new ArrayList<>();
+      spillFile = null;
+
+      Parse parse;
+      while ((parse = parses.read()) != null) {
+        templates.add(new ParseTemplate(parse));
+        count++;
+      }
+    }
+
+    size = count;
+  }
+
+  /**
+   * @return the number of parses in this treebank
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Creates a new stream over the parses of this treebank. Every call
+   * to {@link ObjectStream#read()} returns a new parse object.
+   *
+   * @return the stream
+   */
+  public ObjectStream<Parse> parses() {
+    return templates != null ? new MemoryParseStream() : new SpilledParseStream();
+  }
+
+  /**
+   * Deletes the temporary file of a spilled treebank.
+   */
+  @Override
+  public void close() throws IOException {
+    if (spillFile != null) {
+      Files.deleteIfExists(spillFile);
+    }
+  }
+
+  private class MemoryParseStream implements ObjectStream<Parse> {
+
+    private int index;
+
+    @Override
+    public Parse read() {
+      return index < templates.size() ? templates.get(index++).toParse() : null;
+    }
+
+    @Override
+    public void reset() {
+      index = 0;
+    }
+  }
+
+  private class SpilledParseStream implements ObjectStream<Parse> {
+
+    private DataInputStream in;
+    private int index;
+
+    @Override
+    public Parse read() throws IOException {
+      if (index == size) {
+        return null;
+      }
+      if (in == null) {
+        in = new DataInputStream(new BufferedInputStream(Files.newInputStream(spillFile)));
+      }
+      index++;
+      return new ParseTemplate(in).toParse();
+    }
+
+    @Override
+    public void reset() throws IOException {
+      close();
+      index = 0;
+    }
+
+    @Override
+    public void close() throws IOException {
+      if (in != null) {
+        in.close();
+        in = null;
+      }
+    }
+  }
+
+  /**
+   * The constituents of a parse in the order in which {@link Parse#parseParse(String)}
+   * inserts them into the top node, the first constituent is the top node.
+   */
+  private static class ParseTemplate {
+
+    private final String text;
+    private final String[] types;
+    private final int[] starts;
+    private final int[] ends;
+    private final int[] headIndexes;
+    private final double[] probs;
+
+    ParseTemplate(Parse parse) {
+      List<Parse> nodes = new ArrayList<>();
+      nodes.add(parse);
+      addConstituents(parse, nodes);
+
+      text = parse.getText();
+      types = new String[nodes.size()];
+      starts = new int[nodes.size()];
+      ends = new int[nodes.size()];
+      headIndexes = new int[nodes.size()];
+      probs = new double[nodes.size()];
+
+      for (int i = 0; i < nodes.size(); i++) {
+        Parse node = nodes.get(i);
+        types[i] = node.getType();
+        starts[i] = node.getSpan().getStart();
+        ends[i] = node.getSpan().getEnd();
+        headIndexes[i] = node.getHeadIndex();
+        probs[i] = node.getProb();
+      }
+    }
+
+    ParseTemplate(DataInputStream in) throws IOException {
+      byte[] textBytes = new byte[in.readInt()];
+      in.readFully(textBytes);
+      text = new String(textBytes, StandardCharsets.UTF_8);
+
+      int length = in.readInt();
+      types = new String[length];
+      starts = new int[length];
+      ends = new int[length];
+      headIndexes = new int[length];
+      probs = new double[length];
+
+      for (int i = 0; i < length; i++) {
+        types[i] = in.readUTF();
+        starts[i] = in.readInt();
+        ends[i] = in.readInt();
+        headIndexes[i] = in.readInt();
+        probs[i] = in.readDouble();
+      }
+    }
+
+    /**
+     * Adds the tokens of a node when they are reached and the other
+     * constituents after their children.
+     */
+    private static void addConstituents(Parse node, List<Parse> nodes) {
+      for (Parse child : node.getChildren()) {
+        if (!AbstractBottomUpParser.TOK_NODE.equals(child.getType())) {
+          addConstituents(child, nodes);
+        }
+        nodes.add(child);
+      }
+    }
+
+    void write(DataOutputStream out) throws IOException {
+      byte[] textBytes = text.getBytes(StandardCharsets.UTF_8);
+      out.writeInt(textBytes.length);
+      out.write(textBytes);
+
+      out.writeInt(types.length);
+      for (int i = 0; i < types.length; i++) {
+        out.writeUTF(types[i]);
+        out.writeInt(starts[i]);
+        out.writeInt(ends[i]);
+        out.writeInt(headIndexes[i]);
+        out.writeDouble(probs[i]);
+      }
+    }
+
+    Parse toParse() {
+      Parse parse = new Parse(text, new Span(starts[0], ends[0]), types[0], probs[0],
+          headIndexes[0]);
+      for (int i = 1; i < types.length; i++) {
+        parse.insert(new Parse(text, new Span(starts[i], ends[i]), types[i], probs[i],
+            headIndexes[i]));
+      }
+      return parse;
+    }
+  }
+}
@@ -24,19 +24,21 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import opennlp.tools.chunker.Chunker;
 import opennlp.tools.chunker.ChunkerME;
 import opennlp.tools.chunker.ChunkerModel;
 import opennlp.tools.dictionary.Dictionary;
-import opennlp.tools.ml.EventTrainer;
 import opennlp.tools.ml.TrainerFactory;
-import opennlp.tools.ml.model.Event;
 import opennlp.tools.ml.model.MaxentModel;
 import opennlp.tools.parser.AbstractBottomUpParser;
 import opennlp.tools.parser.ChunkSampleStream;
 import opennlp.tools.parser.HeadRules;
 import opennlp.tools.parser.Parse;
+import opennlp.tools.parser.ParseTreebank;
 import opennlp.tools.parser.ParserChunkerFactory;
 import opennlp.tools.parser.ParserEventTypeEnum;
 import opennlp.tools.parser.ParserModel;
@@ -436,72 +438,127 @@ public class Parser extends AbstractBottomUpParser {
     p.setType(TOP_NODE);
   }
 
+  /**
+   * Trains a parser model. The sub models are trained by {@link #SUB_MODEL_THREADS_PARAM}
+   * threads, with the default of one thread they are trained one after the other,
+   * see {@link #train(String, ObjectStream, HeadRules, TrainingParameters, ExecutorService)}.
+   */
   public static ParserModel train(String languageCode,
       ObjectStream<Parse> parseSamples, HeadRules rules, TrainingParameters mlParams)
       throws IOException {
 
-    Map<String, String> manifestInfoEntries = new HashMap<>();
-
-    System.err.println("Building dictionary");
-    Dictionary mdict = buildDictionary(parseSamples, rules, mlParams);
-
-    parseSamples.reset();
-
-    // tag
-    POSModel posModel = POSTaggerME.train(languageCode, new PosSampleStream(
-        parseSamples), mlParams.getParameters("tagger"), new POSTaggerFactory());
-
-    parseSamples.reset();
+    int threads = mlParams.getIntParameter(SUB_MODEL_THREADS_PARAM, SUB_MODEL_THREADS_DEFAULT);
 
-    // chunk
-    ChunkerModel chunkModel = ChunkerME.train(languageCode, new ChunkSampleStream(
-        parseSamples), mlParams.getParameters("chunker"), new ParserChunkerFactory());
-
-    parseSamples.reset();
-
-    // build
-    System.err.println("Training builder");
-    ObjectStream<Event> bes = new ParserEventStream(parseSamples, rules,
-        ParserEventTypeEnum.BUILD, mdict);
-    Map<String, String> buildReportMap = new HashMap<>();
-
-    EventTrainer buildTrainer = TrainerFactory.getEventTrainer(
-        mlParams.getParameters("build"), buildReportMap);
-    MaxentModel buildModel = buildTrainer.train(bes);
-    opennlp.tools.parser.chunking.Parser.mergeReportIntoManifest(
-        manifestInfoEntries, buildReportMap, "build");
+    ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, threads));
+    try {
+      return train(languageCode, parseSamples, rules, mlParams, executor);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
 
-    parseSamples.reset();
+  /**
+   * Trains a parser model and trains its sub models concurrently on the given executor.
+   * The parse samples are read once into a {@link ParseTreebank}, which is kept in memory
+   * unless the {@link #SPILL_TREEBANK_PARAM} training parameter is set.
+   *
+   * @param languageCode the language of the parser
+   * @param parseSamples the parse samples, the stream is read once
+   * @param rules the head rules
+   * @param mlParams the training parameters
+   * @param executor the executor which trains the sub models
+   * @return the parser model
+   * @throws IOException if reading the samples or training a sub model fails
+   */
+  public static ParserModel train(String languageCode,
+      ObjectStream<Parse> parseSamples, HeadRules rules, TrainingParameters mlParams,
+      ExecutorService executor) throws IOException {
 
-    // check
-    System.err.println("Training checker");
-    ObjectStream<Event>  kes = new ParserEventStream(parseSamples, rules,
-        ParserEventTypeEnum.CHECK);
-    Map<String, String> checkReportMap = new HashMap<>();
+    try (ParseTreebank treebank = new ParseTreebank(parseSamples,
+        mlParams.getBooleanParameter(SPILL_TREEBANK_PARAM, false))) {
 
-    EventTrainer checkTrainer = TrainerFactory.getEventTrainer(
-        mlParams.getParameters("check"), checkReportMap);
-    MaxentModel checkModel = checkTrainer.train(kes);
-    opennlp.tools.parser.chunking.Parser.mergeReportIntoManifest(
-        manifestInfoEntries, checkReportMap, "check");
+      System.err.println("Building dictionary");
+      Dictionary mdict;
+      try (ObjectStream<Parse> parses = treebank.parses()) {
+        mdict = buildDictionary(parses, rules, mlParams);
+      }
 
-    parseSamples.reset();
+      Map<String, String> buildReportMap = new HashMap<>();
+      Map<String, String> checkReportMap = new HashMap<>();
+      Map<String, String> attachReportMap = new HashMap<>();
 
-    // attach
-    System.err.println("Training attacher");
-    ObjectStream<Event>  attachEvents = new ParserEventStream(parseSamples, rules,
-        ParserEventTypeEnum.ATTACH);
-    Map<String, String> attachReportMap = new HashMap<>();
-    EventTrainer attachTrainer = TrainerFactory.getEventTrainer(
-        mlParams.getParameters("attach"), attachReportMap);
-    MaxentModel attachModel = attachTrainer.train(attachEvents);
-    opennlp.tools.parser.chunking.Parser.mergeReportIntoManifest(
-        manifestInfoEntries, attachReportMap, "attach");
+      List<Future<?>> futures = new ArrayList<>();
+      try {
+        Future<POSModel> posFuture = executor.submit(() -> {
+          try (ObjectStream<Parse> parses = treebank.parses()) {
+            return POSTaggerME.train(languageCode, new PosSampleStream(parses),
+                mlParams.getParameters("tagger"), new POSTaggerFactory());
+          }
+        });
+        futures.add(posFuture);
 
-    // TODO: Remove cast for HeadRules
-    return new ParserModel(languageCode, buildModel, checkModel,
-        attachModel, posModel, chunkModel,
-        rules, ParserType.TREEINSERT, manifestInfoEntries);
+        Future<ChunkerModel> chunkFuture = executor.submit(() -> {
+          try (ObjectStream<Parse> parses = treebank.parses()) {
+            return ChunkerME.train(languageCode, new ChunkSampleStream(parses),
+                mlParams.getParameters("chunker"), new ParserChunkerFactory());
+          }
+        });
+        futures.add(chunkFuture);
+
+        Future<MaxentModel> buildFuture = executor.submit(() -> {
+          System.err.println("Training builder");
+          try (ObjectStream<Parse> parses = treebank.parses()) {
+            return TrainerFactory.getEventTrainer(mlParams.getParameters("build"), buildReportMap)
+                .train(createEventStream(parses, mlParams.getParameters("build"),
+                    s -> new ParserEventStream(s, rules, ParserEventTypeEnum.BUILD, mdict)));
+          }
+        });
+        futures.add(buildFuture);
+
+        Future<MaxentModel> checkFuture = executor.submit(() -> {
+          System.err.println("Training checker");
+          try (ObjectStream<Parse> parses = treebank.parses()) {
+            return TrainerFactory.getEventTrainer(mlParams.getParameters("check"), checkReportMap)
+                .train(createEventStream(parses, mlParams.getParameters("check"),
+                    s -> new ParserEventStream(s, rules, ParserEventTypeEnum.CHECK)));
+          }
+        });
+        futures.add(checkFuture);
+
+        Future<MaxentModel> attachFuture = executor.submit(() -> {
+          System.err.println("Training attacher");
+          try (ObjectStream<Parse> parses = treebank.parses()) {
+            return TrainerFactory.getEventTrainer(mlParams.getParameters("attach"), attachReportMap)
+                .train(createEventStream(parses, mlParams.getParameters("attach"),
+                    s -> new ParserEventStream(s, rules, ParserEventTypeEnum.ATTACH)));
+          }
+        });
+        futures.add(attachFuture);
+
+        POSModel posModel = getSubModel(posFuture);
+        ChunkerModel chunkModel = getSubModel(chunkFuture);
+        MaxentModel buildModel = getSubModel(buildFuture);
+        MaxentModel checkModel = getSubModel(checkFuture);
+        MaxentModel attachModel = getSubModel(attachFuture);
+
+        Map<String, String> manifestInfoEntries = new HashMap<>();
+        opennlp.tools.parser.chunking.Parser.mergeReportIntoManifest(
+            manifestInfoEntries, buildReportMap, "build");
+        opennlp.tools.parser.chunking.Parser.mergeReportIntoManifest(
+            manifestInfoEntries, checkReportMap, "check");
+        opennlp.tools.parser.chunking.Parser.mergeReportIntoManifest(
+            manifestInfoEntries, attachReportMap, "attach");
+
+        return new ParserModel(languageCode, buildModel, checkModel,
+            attachModel, posModel, chunkModel,
+            rules, ParserType.TREEINSERT, manifestInfoEntries);
+      } finally {
+        // stops the remaining sub models if one failed
+        for (Future<?> future : futures) {
+          future.cancel(true);
+        }
+      }
+    }
   }
 
   public static ParserModel train(String languageCode,
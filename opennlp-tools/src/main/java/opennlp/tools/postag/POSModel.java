@@ -32,6 +32,7 @@ import opennlp.tools.ml.model.MaxentModel;
 import opennlp.tools.ml.model.SequenceClassificationModel;
 import opennlp.tools.util.BaseToolFactory;
 import opennlp.tools.util.InvalidFormatException;
+import opennlp.tools.util.metrics.FeatureGenerationProfile;
 import opennlp.tools.util.model.ArtifactSerializer;
 import opennlp.tools.util.model.BaseModel;
 import opennlp.tools.util.model.ByteArraySerializer;
@@ -50,6 +51,8 @@ public final class POSModel extends BaseModel implements SerializableArtifact {
   static final String POS_MODEL_ENTRY_NAME = "pos.model";
   static final String GENERATOR_DESCRIPTOR_ENTRY_NAME = "generator.featuregen";
 
+  private transient volatile POSTaggerEngine engine;
+
   public POSModel(String languageCode, SequenceClassificationModel<String> posModel,
       Map<String, String> manifestInfoEntries, POSTaggerFactory posFactory) {
 
@@ -163,6 +166,48 @@ public final class POSModel extends BaseModel implements SerializableArtifact {
     return (POSTaggerFactory) this.toolFactory;
   }
 
+  /**
+   * Creates a new {@link POSTaggerME} for this model.
+   * <p>
+   * The feature generator descriptor is read only once per model, all taggers
+   * created by this method share it. A tagger is cheap to create but is not
+   * thread safe, every thread should use its own tagger.
+   *
+   * @return a new tagger
+   */
+  public POSTaggerME newEngine() {
+    return new POSTaggerME(getEngine(), null);
+  }
+
+  /**
+   * Creates a new {@link POSTaggerME} for this model which records the metrics of its
+   * feature generators in a profile, see {@link #newEngine()}.
+   * <p>
+   * Taggers which are created with the same profile aggregate their metrics. Only the
+   * generators of the feature generator descriptor are profiled, a factory subclass which
+   * creates its own context generator is not.
+   *
+   * @param profile the profile of the feature generators
+   * @return a new tagger
+   */
+  public POSTaggerME newEngine(FeatureGenerationProfile profile) {
+    return new POSTaggerME(getEngine(), Objects.requireNonNull(profile, "profile must not be null"));
+  }
+
+  private POSTaggerEngine getEngine() {
+    POSTaggerEngine engine = this.engine;
+    if (engine == null) {
+      synchronized (this) {
+        engine = this.engine;
+        if (engine == null) {
+          engine = new POSTaggerEngine(this);
+          this.engine = engine;
+        }
+      }
+    }
+    return engine;
+  }
+
   @Override
   protected void createArtifactSerializers(Map<String, ArtifactSerializer> serializers) {
     super.createArtifactSerializers(serializers);
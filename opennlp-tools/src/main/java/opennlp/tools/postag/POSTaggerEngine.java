@@ -0,0 +1,87 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package opennlp.tools.postag;
+
+import opennlp.tools.ml.BeamSearch;
+import opennlp.tools.ml.model.SequenceClassificationModel;
+import opennlp.tools.util.InvalidFormatException;
+import opennlp.tools.util.featuregen.FeatureGeneratorTemplate;
+import opennlp.tools.util.metrics.FeatureGenerationProfile;
+
+/**
+ * The state of a {@link POSModel} which is shared by all its {@link POSTaggerME}s.
+ * <p>
+ * The feature generator descriptor and the beam size are read once. Every tagger gets
+ * its own context generator and sequence model because they keep state between calls.
+ * <p>
+ * Instances are thread safe.
+ */
+final class POSTaggerEngine {
+
+  private final POSModel model;
+  private final POSTaggerFactory factory;
+  private final FeatureGeneratorTemplate featureGeneratorTemplate;
+  private final int beamSize;
+
+  POSTaggerEngine(POSModel model) {
+    this.model = model;
+    factory = model.getFactory();
+
+    String beamSizeString = model.getManifestProperty(BeamSearch.BEAM_SIZE_PARAMETER);
+    beamSize = beamSizeString != null
+        ? Integer.parseInt(beamSizeString) : POSTaggerME.DEFAULT_BEAM_SIZE;
+
+    // Subclasses of the factory might create their context generators differently
+    featureGeneratorTemplate = factory.getClass() == POSTaggerFactory.class && !factory.isPre18Model()
+        ? factory.createFeatureGeneratorTemplate() : null;
+  }
+
+  POSModel getModel() {
+    return model;
+  }
+
+  POSTaggerFactory getFactory() {
+    return factory;
+  }
+
+  int getBeamSize() {
+    return beamSize;
+  }
+
+  /**
+   * @param profile the profile of the feature generators or null, it is ignored if the
+   *     factory creates the context generator
+   */
+  POSContextGenerator createContextGenerator(FeatureGenerationProfile profile) {
+    if (featureGeneratorTemplate == null) {
+      return factory.getPOSContextGenerator(beamSize);
+    }
+
+    try {
+      return new ConfigurablePOSContextGenerator(beamSize,
+          featureGeneratorTemplate.newInstance(profile));
+    } catch (InvalidFormatException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  SequenceClassificationModel<String> createSequenceModel() {
+    // a maxent model is wrapped in a new beam search with the beam size of the manifest
+    return model.getPosSequenceModel();
+  }
+}
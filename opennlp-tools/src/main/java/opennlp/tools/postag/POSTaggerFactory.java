@@ -40,6 +40,7 @@ import opennlp.tools.util.Version;
 import opennlp.tools.util.ext.ExtensionLoader;
 import opennlp.tools.util.featuregen.AdaptiveFeatureGenerator;
 import opennlp.tools.util.featuregen.AggregatedFeatureGenerator;
+import opennlp.tools.util.featuregen.FeatureGeneratorTemplate;
 import opennlp.tools.util.featuregen.GeneratorFactory;
 import opennlp.tools.util.model.ArtifactSerializer;
 import opennlp.tools.util.model.UncloseableInputStream;
@@ -182,6 +183,39 @@ public class POSTaggerFactory extends BaseToolFactory {
     return generator;
   }
 
+  /**
+   * Creates a template for the feature generators of {@link #createFeatureGenerators()},
+   * the descriptor is read once and every instance of the template is a new generator.
+   *
+   * @return the template of the feature generators
+   */
+  public FeatureGeneratorTemplate createFeatureGeneratorTemplate() {
+
+    if (featureGeneratorBytes == null && artifactProvider != null) {
+      featureGeneratorBytes = artifactProvider.getArtifact(
+          POSModel.GENERATOR_DESCRIPTOR_ENTRY_NAME);
+    }
+
+    if (featureGeneratorBytes == null) {
+      featureGeneratorBytes = loadDefaultFeatureGeneratorBytes();
+    }
+
+    try {
+      return GeneratorFactory.compile(new ByteArrayInputStream(featureGeneratorBytes), key -> {
+        if (artifactProvider != null) {
+          return artifactProvider.getArtifact(key);
+        }
+        else {
+          return resources.get(key);
+        }
+      });
+    } catch (InvalidFormatException e) {
+      throw new IllegalStateException(e);
+    } catch (IOException e) {
+      throw new IllegalStateException("Reading from mem cannot result in an I/O error", e);
+    }
+  }
+
   @Override
   @SuppressWarnings("rawtypes")
   public Map<String, ArtifactSerializer> createArtifactSerializersMap() {
@@ -270,19 +304,29 @@ public class POSTaggerFactory extends BaseToolFactory {
 
   public POSContextGenerator getPOSContextGenerator(int cacheSize) {
 
+    if (isPre18Model()) {
+      return new DefaultPOSContextGenerator(cacheSize, getDictionary());
+    }
+
+    return new ConfigurablePOSContextGenerator(cacheSize, createFeatureGenerators());
+
+  }
+
+  /**
+   * @return true if the model was trained with a version before 1.8 and
+   *     does not have a feature generator descriptor
+   */
+  boolean isPre18Model() {
     if (artifactProvider != null) {
       Properties manifest = (Properties) artifactProvider.getArtifact("manifest.properties");
 
       String version = manifest.getProperty("OpenNLP-Version");
       Version v = Version.parse(version);
 
-      if (v.getMajor() == 1 && v.getMinor() < 8) {
-        return new DefaultPOSContextGenerator(cacheSize, getDictionary());
-      }
+      return v.getMajor() == 1 && v.getMinor() < 8;
     }
-    
-    return new ConfigurablePOSContextGenerator(cacheSize, createFeatureGenerators());
 
+    return false;
   }
 
   public SequenceValidator<String> getSequenceValidator() {
@@ -35,15 +35,17 @@ import opennlp.tools.ml.TrainerFactory.TrainerType;
 import opennlp.tools.ml.model.Event;
 import opennlp.tools.ml.model.MaxentModel;
 import opennlp.tools.ml.model.SequenceClassificationModel;
-import opennlp.tools.ngram.NGramModel;
+import opennlp.tools.ngram.NGramCounter;
 import opennlp.tools.util.DownloadUtil;
 import opennlp.tools.util.ObjectStream;
+import opennlp.tools.util.ParallelEventStream;
 import opennlp.tools.util.Sequence;
 import opennlp.tools.util.SequenceValidator;
-import opennlp.tools.util.StringList;
 import opennlp.tools.util.StringUtil;
 import opennlp.tools.util.TrainingParameters;
 import opennlp.tools.util.featuregen.StringPattern;
+import opennlp.tools.util.metrics.FeatureGenerationProfile;
+import opennlp.tools.util.metrics.Metrics;
 
 /**
  * A part-of-speech tagger that uses maximum entropy.  Tries to predict whether
@@ -53,6 +55,8 @@ import opennlp.tools.util.featuregen.StringPattern;
  */
 public class POSTaggerME implements POSTagger {
 
+  private static final String TAG_METRIC = "POSTaggerME.tag";
+
   public static final int DEFAULT_BEAM_SIZE = 3;
 
   private POSModel modelPackage;
@@ -102,32 +106,27 @@ public class POSTaggerME implements POSTagger {
    * @param model
    */
   public POSTaggerME(POSModel model) {
-    POSTaggerFactory factory = model.getFactory();
-
-    int beamSize = POSTaggerME.DEFAULT_BEAM_SIZE;
-
-    String beamSizeString = model.getManifestProperty(BeamSearch.BEAM_SIZE_PARAMETER);
+    this(new POSTaggerEngine(model), null);
+  }
 
-    if (beamSizeString != null) {
-      beamSize = Integer.parseInt(beamSizeString);
-    }
+  /**
+   * Initializes the tagger with the shared state of a model,
+   * see {@link POSModel#newEngine()}.
+   *
+   * @param profile the profile of the feature generators or null
+   */
+  POSTaggerME(POSTaggerEngine engine, FeatureGenerationProfile profile) {
+    POSTaggerFactory factory = engine.getFactory();
 
-    modelPackage = model;
+    modelPackage = engine.getModel();
 
-    contextGen = factory.getPOSContextGenerator(beamSize);
+    contextGen = engine.createContextGenerator(profile);
     tagDictionary = factory.getTagDictionary();
-    size = beamSize;
+    size = engine.getBeamSize();
 
     sequenceValidator = factory.getSequenceValidator();
 
-    if (model.getPosSequenceModel() != null) {
-      this.model = model.getPosSequenceModel();
-    }
-    else {
-      this.model = new opennlp.tools.ml.BeamSearch<>(beamSize,
-          model.getPosModel(), 0);
-    }
-
+    this.model = engine.createSequenceModel();
   }
 
   /**
@@ -145,9 +144,14 @@ public class POSTaggerME implements POSTagger {
   }
 
   public String[] tag(String[] sentence, Object[] additionaContext) {
-    bestSequence = model.bestSequence(sentence, additionaContext, contextGen, sequenceValidator);
-    List<String> t = bestSequence.getOutcomes();
-    return t.toArray(new String[t.size()]);
+    long start = Metrics.startTimer();
+    try {
+      bestSequence = model.bestSequence(sentence, additionaContext, contextGen, sequenceValidator);
+      List<String> t = bestSequence.getOutcomes();
+      return t.toArray(new String[t.size()]);
+    } finally {
+      Metrics.stopTimer(TAG_METRIC, start);
+    }
   }
 
   /**
@@ -159,14 +163,19 @@ public class POSTaggerME implements POSTagger {
    * @return At most the specified number of taggings for the specified sentence.
    */
   public String[][] tag(int numTaggings, String[] sentence) {
-    Sequence[] bestSequences = model.bestSequences(numTaggings, sentence, null,
-        contextGen, sequenceValidator);
-    String[][] tags = new String[bestSequences.length][];
-    for (int si = 0; si < tags.length; si++) {
-      List<String> t = bestSequences[si].getOutcomes();
-      tags[si] = t.toArray(new String[t.size()]);
+    long start = Metrics.startTimer();
+    try {
+      Sequence[] bestSequences = model.bestSequences(numTaggings, sentence, null,
+          contextGen, sequenceValidator);
+      String[][] tags = new String[bestSequences.length][];
+      for (int si = 0; si < tags.length; si++) {
+        List<String> t = bestSequences[si].getOutcomes();
+        tags[si] = t.toArray(new String[t.size()]);
+      }
+      return tags;
+    } finally {
+      Metrics.stopTimer(TAG_METRIC, start);
     }
-    return tags;
   }
 
   public Sequence[] topKSequences(String[] sentence) {
@@ -246,7 +255,16 @@ public class POSTaggerME implements POSTagger {
     MaxentModel posModel = null;
     SequenceClassificationModel<String> seqPosModel = null;
     if (TrainerType.EVENT_MODEL_TRAINER.equals(trainerType)) {
-      ObjectStream<Event> es = new POSSampleEventStream(samples, contextGenerator);
+      int eventThreads = trainParams.getIntParameter(ParallelEventStream.THREADS_PARAM,
+          ParallelEventStream.THREADS_DEFAULT);
+
+      ObjectStream<Event> es;
+      if (eventThreads > 1) {
+        es = new ParallelEventStream<>(samples, eventThreads,
+            () -> new POSSampleEventStream(null, posFactory.getPOSContextGenerator()));
+      } else {
+        es = new POSSampleEventStream(samples, contextGenerator);
+      }
 
       EventTrainer trainer = TrainerFactory.getEventTrainer(trainParams,
           manifestInfoEntries);
@@ -282,19 +300,14 @@ public class POSTaggerME implements POSTagger {
   public static Dictionary buildNGramDictionary(ObjectStream<POSSample> samples, int cutoff)
       throws IOException {
 
-    NGramModel ngramModel = new NGramModel();
+    NGramCounter ngramCounter = new NGramCounter(1, 1);
 
     POSSample sample;
     while ((sample = samples.read()) != null) {
-      String[] words = sample.getSentence();
-
-      if (words.length > 0)
-        ngramModel.add(new StringList(words), 1, 1);
+      ngramCounter.add(sample.getSentence());
     }
 
-    ngramModel.cutoff(cutoff, Integer.MAX_VALUE);
-
-    return ngramModel.toDictionary(true);
+    return ngramCounter.toDictionary(cutoff, true);
   }
 
   public static void populatePOSDictionary(ObjectStream<POSSample> samples,
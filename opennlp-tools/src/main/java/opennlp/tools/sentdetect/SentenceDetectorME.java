@@ -34,9 +34,12 @@ import opennlp.tools.ml.model.MaxentModel;
 import opennlp.tools.sentdetect.lang.Factory;
 import opennlp.tools.util.DownloadUtil;
 import opennlp.tools.util.ObjectStream;
+import opennlp.tools.util.ParallelEventStream;
 import opennlp.tools.util.Span;
 import opennlp.tools.util.StringUtil;
 import opennlp.tools.util.TrainingParameters;
+import opennlp.tools.util.metrics.FeatureGenerationProfile;
+import opennlp.tools.util.metrics.Metrics;
 import opennlp.tools.util.model.ModelUtil;
 
 /**
@@ -47,6 +50,8 @@ import opennlp.tools.util.model.ModelUtil;
  */
 public class SentenceDetectorME implements SentenceDetector {
 
+  private static final String SENT_POS_DETECT_METRIC = "SentenceDetectorME.sentPosDetect";
+
   /**
    * Constant indicates a sentence split.
    */
@@ -95,9 +100,17 @@ public class SentenceDetectorME implements SentenceDetector {
    * @param model the {@link SentenceModel}
    */
   public SentenceDetectorME(SentenceModel model) {
+    this(model, model.getFactory().getSDContextGenerator());
+  }
+
+  /**
+   * Initializes the current instance with a context generator of the model,
+   * e.g. a profiled one, see {@link SentenceModel#newEngine(FeatureGenerationProfile)}.
+   */
+  SentenceDetectorME(SentenceModel model, SDContextGenerator cgen) {
     SentenceDetectorFactory sdFactory = model.getFactory();
     this.model = model.getMaxentModel();
-    cgen = sdFactory.getSDContextGenerator();
+    this.cgen = cgen;
     scanner = sdFactory.getEndOfSentenceScanner();
     useTokenEnd = sdFactory.isUseTokenEnd();
   }
@@ -173,6 +186,15 @@ public class SentenceDetectorME implements SentenceDetector {
    *
    */
   public Span[] sentPosDetect(String s) {
+    long start = Metrics.startTimer();
+    try {
+      return detectSentences(s);
+    } finally {
+      Metrics.stopTimer(SENT_POS_DETECT_METRIC, start);
+    }
+  }
+
+  private Span[] detectSentences(String s) {
     sentProbs.clear();
     StringBuffer sb = new StringBuffer(s);
     List<Integer> enders = scanner.getPositions(s);
@@ -328,8 +350,18 @@ public class SentenceDetectorME implements SentenceDetector {
     Map<String, String> manifestInfoEntries = new HashMap<>();
 
     // TODO: Fix the EventStream to throw exceptions when training goes wrong
-    ObjectStream<Event> eventStream = new SDEventStream(samples,
-        sdFactory.getSDContextGenerator(), sdFactory.getEndOfSentenceScanner());
+    int eventThreads = mlParams.getIntParameter(ParallelEventStream.THREADS_PARAM,
+        ParallelEventStream.THREADS_DEFAULT);
+
+    ObjectStream<Event> eventStream;
+    if (eventThreads > 1) {
+      eventStream = new ParallelEventStream<>(samples, eventThreads,
+          () -> new SDEventStream(null, sdFactory.getSDContextGenerator(),
+              sdFactory.getEndOfSentenceScanner()));
+    } else {
+      eventStream = new SDEventStream(samples,
+          sdFactory.getSDContextGenerator(), sdFactory.getEndOfSentenceScanner());
+    }
 
     EventTrainer trainer = TrainerFactory.getEventTrainer(mlParams, manifestInfoEntries);
 
@@ -29,6 +29,7 @@ import opennlp.tools.dictionary.Dictionary;
 import opennlp.tools.ml.model.MaxentModel;
 import opennlp.tools.util.BaseToolFactory;
 import opennlp.tools.util.InvalidFormatException;
+import opennlp.tools.util.metrics.FeatureGenerationProfile;
 import opennlp.tools.util.model.BaseModel;
 import opennlp.tools.util.model.ModelUtil;
 
@@ -124,6 +125,30 @@ public class SentenceModel extends BaseModel {
     return (SentenceDetectorFactory) this.toolFactory;
   }
 
+  /**
+   * Creates a new {@link SentenceDetectorME} for this model. A sentence detector is cheap to create
+   * but is not thread safe, every thread should use its own sentence detector.
+   *
+   * @return a new sentence detector
+   */
+  public SentenceDetectorME newEngine() {
+    return new SentenceDetectorME(this);
+  }
+
+  /**
+   * Creates a new {@link SentenceDetectorME} for this model which records the metrics of its
+   * context generator in a profile, see {@link #newEngine()}.
+   *
+   * @param profile the profile, sentence detectors created with the same profile
+   *     aggregate their metrics
+   * @return a new sentence detector
+   */
+  public SentenceDetectorME newEngine(FeatureGenerationProfile profile) {
+    SDContextGenerator cgen = getFactory().getSDContextGenerator();
+    return new SentenceDetectorME(this, new ProfilingSDContextGenerator(cgen,
+        profile.getMetrics(cgen.getClass().getSimpleName())));
+  }
+
   @Override
   protected Class<? extends BaseToolFactory> getDefaultFactory() {
     return SentenceDetectorFactory.class;
@@ -377,8 +377,8 @@ public class PorterStemmer implements Stemmer {
       if (ends("ent")) break;
       return;
     case 'o':
-      if (ends("ion") && j >= 0 && (b[j] == 's' || b[j] == 't')) break;
-      /* j >= 0 fixes Bug 2 */
+      if (ends("ion") && j >= k0 && (b[j] == 's' || b[j] == 't')) break;
+      /* j >= k0 fixes Bug 2 */
       if (ends("ou")) break;
       return;
       /* takes care of -ous */
@@ -423,7 +423,13 @@ public class PorterStemmer implements Stemmer {
    * Stem a word provided as a String.  Returns the result as a String.
    */
   public String stem(String s) {
-    if (stem(s.toCharArray(), s.length()))
+    reset();
+    if (b.length < s.length()) {
+      b = new char[s.length()];
+    }
+    s.getChars(0, s.length(), b, 0);
+    i = s.length();
+    if (stem(0))
       return toString();
     else
       return s;
@@ -453,13 +459,51 @@ public class PorterStemmer implements Stemmer {
   public boolean stem(char[] wordBuffer, int offset, int wordLen) {
     reset();
     if (b.length < wordLen) {
-      b = new char[wordLen - offset];
+      b = new char[wordLen];
     }
     System.arraycopy(wordBuffer, offset, b, 0, wordLen);
     i = wordLen;
     return stem(0);
   }
 
+  /**
+   * Stems a word contained in a portion of a char[] array without copying it,
+   * the stem is written to the array starting at the offset. A stem is never
+   * longer than the word.
+   */
+  @Override
+  public int stemInPlace(char[] buffer, int offset, int length) {
+    char[] ownBuffer = b;
+    b = buffer;
+    i = offset + length;
+    dirty = false;
+    try {
+      stem(offset);
+      return i - offset;
+    } finally {
+      b = ownBuffer;
+      reset();
+    }
+  }
+
+  /**
+   * Stems the word in the builder, the content of the builder is replaced by the stem.
+   */
+  @Override
+  public void stemInPlace(StringBuilder word) {
+    reset();
+    if (b.length < word.length()) {
+      b = new char[word.length()];
+    }
+    word.getChars(0, word.length(), b, 0);
+    i = word.length();
+    stem(0);
+    word.setLength(i);
+    for (int n = 0; n < i; n++) {
+      word.setCharAt(n, b[n]);
+    }
+  }
+
   /** Stem a word contained in a leading portion of a char[] array.
    * Returns true if the stemming process resulted in a word different
    * from the input.  You can retrieve the result with
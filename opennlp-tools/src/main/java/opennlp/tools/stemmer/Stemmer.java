@@ -23,4 +23,43 @@ package opennlp.tools.stemmer;
 public interface Stemmer {
 
   CharSequence stem(CharSequence word);
+
+  /**
+   * Stems the word in the builder, the content of the builder is replaced by the stem.
+   *
+   * @param word the word
+   */
+  default void stemInPlace(StringBuilder word) {
+    CharSequence stem = stem(word.toString());
+    word.setLength(0);
+    word.append(stem);
+  }
+
+  /**
+   * Stems the word in a slice of the buffer, the stem is written to the buffer
+   * starting at the offset.
+   * <p>
+   * A stem can be longer than the word, e.g. with some snowball algorithms,
+   * in this case the buffer must have room for the stem after the word.
+   *
+   * @param buffer the buffer
+   * @param offset the start of the word
+   * @param length the length of the word
+   * @return the length of the stem
+   *
+   * @throws IllegalArgumentException if the stem does not fit into the buffer
+   */
+  default int stemInPlace(char[] buffer, int offset, int length) {
+    CharSequence stem = stem(new String(buffer, offset, length));
+
+    if (offset + stem.length() > buffer.length) {
+      throw new IllegalArgumentException("The stem of length " + stem.length()
+          + " does not fit into the buffer at offset " + offset);
+    }
+
+    for (int i = 0; i < stem.length(); i++) {
+      buffer[offset + i] = stem.charAt(i);
+    }
+    return stem.length();
+  }
 }
@@ -0,0 +1,132 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package opennlp.tools.stemmer;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * A thread safe {@link Stemmer} which delegates to one stemmer instance per thread,
+ * e.g. a {@link PorterStemmer} or a {@link opennlp.tools.stemmer.snowball.SnowballStemmer}.
+ * <p>
+ * The stems can optionally be memoized in a cache which is shared by all threads.
+ * The cache is filled until it reaches its capacity and is not evicted afterwards,
+ * because of the skewed distribution of words the frequent words are usually
+ * cached early.
+ */
+public class ThreadSafeStemmer implements Stemmer {
+
+  private final ThreadLocal<Stemmer> stemmers;
+
+  private final Map<String, String> cache;
+  private final int cacheCapacity;
+
+  /**
+   * Initializes the current instance.
+   *
+   * @param stemmerFactory creates the stemmer of a thread
+   * @param cacheCapacity the maximum number of memoized stems, 0 to disable memoization
+   */
+  public ThreadSafeStemmer(Supplier<? extends Stemmer> stemmerFactory, int cacheCapacity) {
+    Objects.requireNonNull(stemmerFactory, "stemmerFactory must not be null");
+
+    if (cacheCapacity < 0) {
+      throw new IllegalArgumentException("cacheCapacity must not be negative, but was "
+          + cacheCapacity);
+    }
+
+    this.stemmers = ThreadLocal.withInitial(stemmerFactory);
+    this.cacheCapacity = cacheCapacity;
+    this.cache = cacheCapacity > 0 ? new ConcurrentHashMap<>() : null;
+  }
+
+  /**
+   * Initializes the current instance without memoization.
+   *
+   * @param stemmerFactory creates the stemmer of a thread
+   */
+  public ThreadSafeStemmer(Supplier<? extends Stemmer> stemmerFactory) {
+    this(stemmerFactory, 0);
+  }
+
+  @Override
+  public CharSequence stem(CharSequence word) {
+    return stemWord(word.toString());
+  }
+
+  private String stemWord(String word) {
+    if (cache == null) {
+      return stemmers.get().stem(word).toString();
+    }
+
+    String stem = cache.get(word);
+    if (stem == null) {
+      stem = stemmers.get().stem(word).toString();
+
+      if (cache.size() < cacheCapacity) {
+        cache.put(word, stem);
+      }
+    }
+    return stem;
+  }
+
+  @Override
+  public void stemInPlace(StringBuilder word) {
+    if (cache == null) {
+      stemmers.get().stemInPlace(word);
+    }
+    else {
+      String stem = stemWord(word.toString());
+      word.setLength(0);
+      word.append(stem);
+    }
+  }
+
+  @Override
+  public int stemInPlace(char[] buffer, int offset, int length) {
+    if (cache == null) {
+      return stemmers.get().stemInPlace(buffer, offset, length);
+    }
+    return Stemmer.super.stemInPlace(buffer, offset, length);
+  }
+
+  /**
+   * Stems all tokens.
+   *
+   * @param tokens the tokens
+   * @return the stems, in the order of the tokens
+   */
+  public String[] stem(String[] tokens) {
+    String[] stems = new String[tokens.length];
+    for (int i = 0; i < tokens.length; i++) {
+      stems[i] = stemWord(tokens[i]);
+    }
+    return stems;
+  }
+
+  /**
+   * Removes all memoized stems.
+   */
+  public void clearCache() {
+    if (cache != null) {
+      cache.clear();
+    }
+  }
+}
@@ -35,18 +35,39 @@ package opennlp.tools.stemmer.snowball;
 import java.lang.reflect.InvocationTargetException;
 
 class SnowballProgram {
+    /**
+     * The capacity up to which the buffer is reused by {@link #getCurrent()}.
+     */
+    private static final int MAX_REUSED_CAPACITY = 1024;
+
     protected SnowballProgram()
     {
-	current = new StringBuffer();
+	current = new StringBuilder();
 	setCurrent("");
     }
 
     /**
      * Set the current string.
      */
-    public void setCurrent(String value)
+    public void setCurrent(CharSequence value)
+    {
+	current.setLength(0);
+	current.append(value);
+	resetCursors();
+    }
+
+    /**
+     * Set the current string to a slice of the buffer.
+     */
+    public void setCurrent(char[] buffer, int offset, int length)
+    {
+	current.setLength(0);
+	current.append(buffer, offset, length);
+	resetCursors();
+    }
+
+    private void resetCursors()
     {
-	current.replace(0, current.length(), value);
 	cursor = 0;
 	limit = current.length();
 	limit_backward = 0;
@@ -60,18 +81,42 @@ class SnowballProgram {
     public String getCurrent()
     {
         String result = current.toString();
-        // Make a new StringBuffer.  If we reuse the old one, and a user of
-        // the library keeps a reference to the buffer returned (for example,
-        // by converting it to a String in a way which doesn't force a copy),
-        // the buffer size will not decrease, and we will risk wasting a large
-        // amount of memory.
+        // Make a new buffer after a long word, otherwise the buffer size
+        // will not decrease, and we will risk wasting a large amount of memory.
         // Thanks to Wolfram Esser for spotting this problem.
-        current = new StringBuffer();
+        if (current.capacity() > MAX_REUSED_CAPACITY) {
+            current = new StringBuilder();
+        }
         return result;
     }
 
+    /**
+     * Get the length of the current string.
+     */
+    public int getCurrentLength()
+    {
+        return current.length();
+    }
+
+    /**
+     * Copy the current string into the buffer.
+     */
+    public void getCurrent(char[] buffer, int offset)
+    {
+        current.getChars(0, current.length(), buffer, offset);
+    }
+
+    /**
+     * Replace the content of the builder by the current string.
+     */
+    public void getCurrent(StringBuilder builder)
+    {
+        builder.setLength(0);
+        builder.append(current);
+    }
+
     // current string
-    protected StringBuffer current;
+    protected StringBuilder current;
 
     protected int cursor;
     protected int limit;
@@ -274,9 +319,10 @@ class SnowballProgram {
 		if (w.method == null) return w.result;
 		boolean res;
 		try {
-		    Object resobj = w.method.invoke(w.methodobject,
-						    new Object[0]);
-		    res = resobj.toString().equals("true");
+		    // the routine must see the state of this stemmer, not the
+		    // state of the shared method object
+		    Object resobj = w.method.invoke(this);
+		    res = Boolean.TRUE.equals(resobj);
 		} catch (InvocationTargetException e) {
 		    res = false;
 		    // FIXME - debug message
@@ -347,9 +393,10 @@ class SnowballProgram {
 
 		boolean res;
 		try {
-		    Object resobj = w.method.invoke(w.methodobject,
-						    new Object[0]);
-		    res = resobj.toString().equals("true");
+		    // the routine must see the state of this stemmer, not the
+		    // state of the shared method object
+		    Object resobj = w.method.invoke(this);
+		    res = Boolean.TRUE.equals(resobj);
 		} catch (InvocationTargetException e) {
 		    res = false;
 		    // FIXME - debug message
@@ -19,6 +19,13 @@ package opennlp.tools.stemmer.snowball;
 
 import opennlp.tools.stemmer.Stemmer;
 
+/**
+ * A {@link Stemmer} which uses the snowball stemming algorithms.
+ * <p>
+ * <b>Note:</b>
+ * An instance is not thread safe, use one instance per thread or a
+ * {@link opennlp.tools.stemmer.ThreadSafeStemmer}.
+ */
 public class SnowballStemmer implements Stemmer {
 
   public enum ALGORITHM {
@@ -125,7 +132,7 @@ public class SnowballStemmer implements Stemmer {
 
   public CharSequence stem(CharSequence word) {
 
-    stemmer.setCurrent(word.toString());
+    stemmer.setCurrent(word);
 
     for (int i = 0; i < repeat; i++) {
       stemmer.stem();
@@ -133,4 +140,33 @@ public class SnowballStemmer implements Stemmer {
 
     return stemmer.getCurrent();
   }
+
+  @Override
+  public void stemInPlace(StringBuilder word) {
+    stemmer.setCurrent(word);
+
+    for (int i = 0; i < repeat; i++) {
+      stemmer.stem();
+    }
+
+    stemmer.getCurrent(word);
+  }
+
+  @Override
+  public int stemInPlace(char[] buffer, int offset, int length) {
+    stemmer.setCurrent(buffer, offset, length);
+
+    for (int i = 0; i < repeat; i++) {
+      stemmer.stem();
+    }
+
+    int stemLength = stemmer.getCurrentLength();
+    if (offset + stemLength > buffer.length) {
+      throw new IllegalArgumentException("The stem of length " + stemLength
+          + " does not fit into the buffer at offset " + offset);
+    }
+
+    stemmer.getCurrent(buffer, offset);
+    return stemLength;
+  }
 }
@@ -34,8 +34,11 @@ import opennlp.tools.ml.model.MaxentModel;
 import opennlp.tools.tokenize.lang.Factory;
 import opennlp.tools.util.DownloadUtil;
 import opennlp.tools.util.ObjectStream;
+import opennlp.tools.util.ParallelEventStream;
 import opennlp.tools.util.Span;
 import opennlp.tools.util.TrainingParameters;
+import opennlp.tools.util.metrics.FeatureGenerationProfile;
+import opennlp.tools.util.metrics.Metrics;
 
 /**
  * A Tokenizer for converting raw text into separated tokens.  It uses
@@ -76,6 +79,8 @@ import opennlp.tools.util.TrainingParameters;
  */
 public class TokenizerME extends AbstractTokenizer {
 
+  private static final String TOKENIZE_POS_METRIC = "TokenizerME.tokenizePos";
+
   /**
    * Constant indicates a token split.
    */
@@ -130,9 +135,17 @@ public class TokenizerME extends AbstractTokenizer {
   }
 
   public TokenizerME(TokenizerModel model) {
+    this(model, model.getFactory().getContextGenerator());
+  }
+
+  /**
+   * Initializes the current instance with a context generator of the model,
+   * e.g. a profiled one, see {@link TokenizerModel#newEngine(FeatureGenerationProfile)}.
+   */
+  TokenizerME(TokenizerModel model, TokenContextGenerator cg) {
     TokenizerFactory factory = model.getFactory();
     this.alphanumeric = factory.getAlphaNumericPattern();
-    this.cg = factory.getContextGenerator();
+    this.cg = cg;
     this.model = model.getMaxentModel();
     this.useAlphaNumericOptimization = factory.isUseAlphaNumericOptmization();
 
@@ -188,6 +201,15 @@ public class TokenizerME extends AbstractTokenizer {
    * @return   A span array containing individual tokens as elements.
    */
   public Span[] tokenizePos(String d) {
+    long start = Metrics.startTimer();
+    try {
+      return detectTokens(d);
+    } finally {
+      Metrics.stopTimer(TOKENIZE_POS_METRIC, start);
+    }
+  }
+
+  private Span[] detectTokens(String d) {
     WhitespaceTokenizer whitespaceTokenizer = WhitespaceTokenizer.INSTANCE;
     whitespaceTokenizer.setKeepNewLines(keepNewLines);
     Span[] tokens = whitespaceTokenizer.tokenizePos(d);
@@ -250,9 +272,19 @@ public class TokenizerME extends AbstractTokenizer {
 
     Map<String, String> manifestInfoEntries = new HashMap<>();
 
-    ObjectStream<Event> eventStream = new TokSpanEventStream(samples,
-        factory.isUseAlphaNumericOptmization(),
-        factory.getAlphaNumericPattern(), factory.getContextGenerator());
+    int eventThreads = mlParams.getIntParameter(ParallelEventStream.THREADS_PARAM,
+        ParallelEventStream.THREADS_DEFAULT);
+
+    ObjectStream<Event> eventStream;
+    if (eventThreads > 1) {
+      eventStream = new ParallelEventStream<>(samples, eventThreads,
+          () -> new TokSpanEventStream(null, factory.isUseAlphaNumericOptmization(),
+              factory.getAlphaNumericPattern(), factory.getContextGenerator()));
+    } else {
+      eventStream = new TokSpanEventStream(samples,
+          factory.isUseAlphaNumericOptmization(),
+          factory.getAlphaNumericPattern(), factory.getContextGenerator());
+    }
 
     EventTrainer trainer = TrainerFactory.getEventTrainer(
         mlParams, manifestInfoEntries);
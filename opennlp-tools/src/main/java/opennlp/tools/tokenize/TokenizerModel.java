@@ -30,6 +30,7 @@ import opennlp.tools.ml.model.AbstractModel;
 import opennlp.tools.ml.model.MaxentModel;
 import opennlp.tools.util.BaseToolFactory;
 import opennlp.tools.util.InvalidFormatException;
+import opennlp.tools.util.metrics.FeatureGenerationProfile;
 import opennlp.tools.util.model.BaseModel;
 import opennlp.tools.util.model.ModelUtil;
 
@@ -124,6 +125,29 @@ public final class TokenizerModel extends BaseModel {
     return (TokenizerFactory) this.toolFactory;
   }
 
+  /**
+   * Creates a new {@link TokenizerME} for this model. A tokenizer is cheap to create
+   * but is not thread safe, every thread should use its own tokenizer.
+   *
+   * @return a new tokenizer
+   */
+  public TokenizerME newEngine() {
+    return new TokenizerME(this);
+  }
+
+  /**
+   * Creates a new {@link TokenizerME} for this model which records the metrics of its
+   * context generator in a profile, see {@link #newEngine()}.
+   *
+   * @param profile the profile, tokenizers created with the same profile aggregate their metrics
+   * @return a new tokenizer
+   */
+  public TokenizerME newEngine(FeatureGenerationProfile profile) {
+    TokenContextGenerator cg = getFactory().getContextGenerator();
+    return new TokenizerME(this, new ProfilingTokenContextGenerator(cg,
+        profile.getMetrics(cg.getClass().getSimpleName())));
+  }
+
   @Override
   protected Class<? extends BaseToolFactory> getDefaultFactory() {
     return TokenizerFactory.class;
@@ -0,0 +1,35 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package opennlp.tools.util;
+
+/**
+ * Decodes a sequence of outcome ids into spans, it is created by
+ * {@link SequenceCodec#createIndexedDecoder(Object[])} for the outcomes of a model.
+ */
+public interface IndexedSequenceDecoder {
+
+  /**
+   * Decodes a sequence of outcome ids. The spans in the buffer are replaced
+   * by the decoded spans, the type table of the buffer may be replaced as well.
+   *
+   * @param outcomeIds the ids of the outcomes of the sequence
+   * @param length the length of the sequence
+   * @param spans the buffer which receives the spans
+   */
+  void decode(int[] outcomeIds, int length, SpanBuffer spans);
+}
@@ -0,0 +1,346 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package opennlp.tools.util;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import opennlp.tools.ml.model.Event;
+import opennlp.tools.ml.model.PredicateCountingEventStream;
+
+/**
+ * An event stream which creates the events of an {@link AbstractEventStream} on
+ * multiple worker threads. The samples are read on the calling thread and handed out
+ * in batches of consecutive samples, every batch is processed by an event stream
+ * instance, and therefore a context generator, which is not used by another worker at
+ * the same time. The events are returned in the same order as the wrapped event stream
+ * would return them.
+ * <p>
+ * Context generators which keep adaptive data between samples only produce the same
+ * events as in a single threaded run if a new batch is only started at a sample which
+ * clears the adaptive data, use the batch boundary {@link Predicate} for that.
+ * A document which is longer than the maximum batch size is handed out in several
+ * batches, these are processed one after another by the same event stream instance,
+ * the adaptive data is therefore never reset inside a document. The memory used for the
+ * batches is bounded even if the samples contain no boundaries.
+ * <p>
+ * The worker threads also count the predicates of the created events, the data indexers
+ * use these counts instead of counting the predicates again on the reading thread.
+ *
+ * @param <T> the type of the samples
+ */
+public class ParallelEventStream<T> implements PredicateCountingEventStream {
+
+  /**
+   * The training parameter which defines the number of threads used to create events.
+   */
+  public static final String THREADS_PARAM = "EventThreads";
+  public static final int THREADS_DEFAULT = 1;
+
+  public static final int BATCH_SIZE_DEFAULT = 64;
+
+  public static final int MAX_BATCH_SIZE_DEFAULT = 4096;
+
+  /**
+   * The events of a batch and the event stream which created them.
+   */
+  private static class EventBatch<T> {
+    private final AbstractEventStream<T> eventStream;
+    private final List<Event> events;
+
+    private EventBatch(AbstractEventStream<T> eventStream, List<Event> events) {
+      this.eventStream = eventStream;
+      this.events = events;
+    }
+  }
+
+  /**
+   * The state shared by the worker threads during one pass over the samples, a reset
+   * starts a new pass, batches of the previous pass which are still processed cannot
+   * change its state.
+   */
+  private static class Pass<T> {
+    private final Queue<AbstractEventStream<T>> idleEventStreams = new ConcurrentLinkedQueue<>();
+    private final Map<String, Integer> predicateCounts = new ConcurrentHashMap<>();
+  }
+
+  private final ObjectStream<T> samples;
+  private final int threads;
+  private final int batchSize;
+  private final int maxBatchSize;
+  private final Predicate<T> batchBoundary;
+  private final Supplier<? extends AbstractEventStream<T>> eventStreamFactory;
+
+  private final Deque<CompletableFuture<EventBatch<T>>> pending = new ArrayDeque<>();
+  private ExecutorService executor;
+  private Iterator<Event> events = Collections.emptyIterator();
+
+  private T nextSample;
+  private boolean samplesExhausted;
+  private boolean eventsExhausted;
+  private boolean documentContinues;
+  private Pass<T> pass = new Pass<>();
+
+  /**
+   * The last batch if it ended inside a document, the next batch continues
+   * the document with the same event stream.
+   */
+  private CompletableFuture<EventBatch<T>> unfinishedDocument;
+
+  /**
+   * Initializes the current instance.
+   *
+   * @param samples the samples to create events for
+   * @param threads the number of worker threads
+   * @param batchSize the minimum number of samples in a batch
+   * @param maxBatchSize the number of samples after which a document without a batch
+   *     boundary is handed out in another batch
+   * @param eventStreamFactory creates the event streams used by the worker threads, the
+   *     samples of the created event streams are never read and may be {@code null}
+   * @param batchBoundary returns {@code true} if a new batch may start at a sample
+   */
+  public ParallelEventStream(ObjectStream<T> samples, int threads, int batchSize, int maxBatchSize,
+      Supplier<? extends AbstractEventStream<T>> eventStreamFactory, Predicate<T> batchBoundary) {
+    if (threads < 1) {
+      throw new IllegalArgumentException("threads must be at least 1, but was " + threads);
+    }
+    if (batchSize < 1) {
+      throw new IllegalArgumentException("batchSize must be at least 1, but was " + batchSize);
+    }
+    if (maxBatchSize < batchSize) {
+      throw new IllegalArgumentException("maxBatchSize must be at least batchSize, but was "
+          + maxBatchSize);
+    }
+
+    this.samples = Objects.requireNonNull(samples, "samples must not be null");
+    this.threads = threads;
+    this.batchSize = batchSize;
+    this.maxBatchSize = maxBatchSize;
+    this.batchBoundary = Objects.requireNonNull(batchBoundary, "batchBoundary must not be null");
+    this.eventStreamFactory = Objects.requireNonNull(eventStreamFactory,
+        "eventStreamFactory must not be null");
+  }
+
+  /**
+   * Initializes the current instance with the default maximum batch size.
+   *
+   * @param samples the samples to create events for
+   * @param threads the number of worker threads
+   * @param batchSize the minimum number of samples in a batch
+   * @param eventStreamFactory creates the event streams used by the worker threads, the
+   *     samples of the created event streams are never read and may be {@code null}
+   * @param batchBoundary returns {@code true} if a new batch may start at a sample
+   */
+  public ParallelEventStream(ObjectStream<T> samples, int threads, int batchSize,
+      Supplier<? extends AbstractEventStream<T>> eventStreamFactory, Predicate<T> batchBoundary) {
+    this(samples, threads, batchSize, Math.max(batchSize, MAX_BATCH_SIZE_DEFAULT),
+        eventStreamFactory, batchBoundary);
+  }
+
+  /**
+   * Initializes the current instance with the default batch size and a batch
+   * boundary at every sample.
+   */
+  public ParallelEventStream(ObjectStream<T> samples, int threads,
+      Supplier<? extends AbstractEventStream<T>> eventStreamFactory) {
+    this(samples, threads, BATCH_SIZE_DEFAULT, eventStreamFactory, sample -> true);
+  }
+
+  /**
+   * Reads the next batch of samples.
+   *
+   * @return the batch or {@code null} if all samples were read
+   */
+  private List<T> readBatch() throws IOException {
+    if (samplesExhausted) {
+      return null;
+    }
+
+    List<T> batch = new ArrayList<>(batchSize);
+    documentContinues = false;
+
+    if (nextSample == null) {
+      nextSample = samples.read();
+    }
+
+    while (nextSample != null) {
+      batch.add(nextSample);
+      nextSample = samples.read();
+
+      if (nextSample != null) {
+        if (batch.size() >= batchSize && batchBoundary.test(nextSample)) {
+          break;
+        }
+        if (batch.size() >= maxBatchSize) {
+          documentContinues = true;
+          break;
+        }
+      }
+    }
+
+    if (nextSample == null) {
+      samplesExhausted = true;
+    }
+
+    return batch.isEmpty() ? null : batch;
+  }
+
+  private EventBatch<T> createEvents(Pass<T> pass, AbstractEventStream<T> eventStream,
+      List<T> batch, boolean endOfDocument) {
+    List<Event> batchEvents = new ArrayList<>();
+    for (T sample : batch) {
+      eventStream.createEvents(sample).forEachRemaining(batchEvents::add);
+    }
+
+    Map<String, Integer> batchCounts = new HashMap<>();
+    for (Event event : batchEvents) {
+      for (String predicate : event.getContext()) {
+        batchCounts.merge(predicate, 1, Integer::sum);
+      }
+    }
+    batchCounts.forEach((predicate, count) -> pass.predicateCounts.merge(predicate, count, Integer::sum));
+
+    if (endOfDocument) {
+      pass.idleEventStreams.add(eventStream);
+    }
+    return new EventBatch<>(eventStream, batchEvents);
+  }
+
+  private AbstractEventStream<T> acquireEventStream(Pass<T> pass) {
+    AbstractEventStream<T> eventStream = pass.idleEventStreams.poll();
+    return eventStream != null ? eventStream : eventStreamFactory.get();
+  }
+
+  private void fillPipeline() throws IOException {
+    if (executor == null) {
+      executor = Executors.newFixedThreadPool(threads, runnable -> {
+        Thread thread = new Thread(runnable, "opennlp-event-stream");
+        thread.setDaemon(true);
+        return thread;
+      });
+    }
+
+    List<T> batch;
+    while (pending.size() < threads * 2 && (batch = readBatch()) != null) {
+      List<T> work = batch;
+      boolean endOfDocument = !documentContinues;
+      Pass<T> current = pass;
+
+      CompletableFuture<EventBatch<T>> task;
+      if (unfinishedDocument != null) {
+        task = unfinishedDocument.thenApplyAsync(
+            previous -> createEvents(current, previous.eventStream, work, endOfDocument), executor);
+      }
+      else {
+        task = CompletableFuture.supplyAsync(
+            () -> createEvents(current, acquireEventStream(current), work, endOfDocument), executor);
+      }
+
+      pending.add(task);
+      unfinishedDocument = endOfDocument ? null : task;
+    }
+  }
+
+  /**
+   * Retrieves the predicate counts of all events. The counts are only complete after
+   * all events were read.
+   *
+   * @return the number of occurrences of every predicate
+   * @throws IllegalStateException if not all events were read yet
+   */
+  @Override
+  public Map<String, Integer> getPredicateCounts() {
+    if (!eventsExhausted) {
+      throw new IllegalStateException("The predicates are only counted after all events were read");
+    }
+    return Collections.unmodifiableMap(pass.predicateCounts);
+  }
+
+  @Override
+  public Event read() throws IOException {
+    while (!events.hasNext()) {
+      fillPipeline();
+
+      CompletableFuture<EventBatch<T>> next = pending.poll();
+      if (next == null) {
+        shutdown();
+        eventsExhausted = true;
+        return null;
+      }
+
+      try {
+        events = next.get().events.iterator();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new IOException("Interrupted while creating events", e);
+      } catch (ExecutionException e) {
+        // Only runtime exception can be thrown by the context generators
+        throw new RuntimeException("Exception during event creation: " + e.getMessage(), e.getCause());
+      }
+    }
+
+    return events.next();
+  }
+
+  private void shutdown() {
+    for (CompletableFuture<EventBatch<T>> future : pending) {
+      future.cancel(true);
+    }
+    pending.clear();
+    unfinishedDocument = null;
+
+    if (executor != null) {
+      executor.shutdownNow();
+      executor = null;
+    }
+  }
+
+  @Override
+  public void reset() throws IOException, UnsupportedOperationException {
+    shutdown();
+    events = Collections.emptyIterator();
+    nextSample = null;
+    samplesExhausted = false;
+    eventsExhausted = false;
+    pass = new Pass<>();
+    samples.reset();
+  }
+
+  @Override
+  public void close() throws IOException {
+    shutdown();
+    samples.close();
+  }
+}
@@ -18,6 +18,7 @@
 package opennlp.tools.util;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
@@ -27,12 +28,15 @@ public class Sequence implements Comparable<Sequence> {
   private double score;
   private List<String> outcomes;
   private List<Double> probs;
+  // the ids of the outcomes, null if an outcome was added without its id
+  private int[] outcomeIds;
   private static final Double ONE = 1.0d;
 
   /** Creates a new sequence of outcomes. */
   public Sequence() {
     outcomes = new ArrayList<>(1);
     probs = new ArrayList<>(1);
+    outcomeIds = new int[0];
     score = 0d;
   }
 
@@ -41,6 +45,7 @@ public class Sequence implements Comparable<Sequence> {
     outcomes.addAll(s.outcomes);
     probs = new ArrayList<>(s.probs.size() + 1);
     probs.addAll(s.probs);
+    outcomeIds = s.outcomeIds;
     score = s.score;
   }
 
@@ -54,6 +59,23 @@ public class Sequence implements Comparable<Sequence> {
     score = s.score + StrictMath.log(p);
   }
 
+  /**
+   * Creates a sequence which extends the given sequence by one outcome.
+   *
+   * @param s the sequence to extend
+   * @param outcome the outcome to be added
+   * @param outcomeId the id of the outcome in the model which predicted it
+   * @param p the probability associated with this outcome
+   */
+  public Sequence(Sequence s, String outcome, int outcomeId, double p) {
+    this(s, outcome, p);
+
+    if (s.outcomeIds != null) {
+      outcomeIds = Arrays.copyOf(s.outcomeIds, s.outcomeIds.length + 1);
+      outcomeIds[s.outcomeIds.length] = outcomeId;
+    }
+  }
+
   public Sequence(List<String> outcomes) {
     this.outcomes = outcomes;
     this.probs = Collections.nCopies(outcomes.size(),ONE);
@@ -91,6 +113,7 @@ public class Sequence implements Comparable<Sequence> {
   public void add(String outcome, double p) {
     outcomes.add(outcome);
     probs.add(p);
+    outcomeIds = null;
     score += StrictMath.log(p);
   }
 
@@ -101,6 +124,22 @@ public class Sequence implements Comparable<Sequence> {
     return outcomes;
   }
 
+  /**
+   * Populates an array with the ids of the outcomes of this sequence, the ids are
+   * only known if every outcome was added together with its id.
+   *
+   * @param ids a pre-allocated array to hold the ids of the outcomes of this sequence
+   * @return true if the ids are known and were copied into the array, otherwise false
+   */
+  public boolean getOutcomeIds(int[] ids) {
+    if (outcomeIds == null) {
+      return false;
+    }
+
+    System.arraycopy(outcomeIds, 0, ids, 0, outcomeIds.length);
+    return true;
+  }
+
   /** Returns an array of probabilities associated with the outcomes of this sequence.
    * @return an array of probabilities.
    */
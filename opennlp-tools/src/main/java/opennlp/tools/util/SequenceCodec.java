@@ -17,6 +17,7 @@
 
 package opennlp.tools.util;
 
+import java.util.ArrayList;
 import java.util.List;
 
 public interface SequenceCodec<T> {
@@ -55,4 +56,24 @@ public interface SequenceCodec<T> {
    * @return
    */
   boolean areOutcomesCompatible(String[] outcomes);
+
+  /**
+   * Creates a decoder for sequences of outcome indexes. The default decoder maps the
+   * indexes to the outcomes and calls {@link #decode(List)}, codecs should override
+   * this method to decode the indexes directly.
+   *
+   * @param outcomes all possible model outcomes, the index of an outcome is its id
+   *
+   * @return the decoder
+   */
+  default IndexedSequenceDecoder createIndexedDecoder(T[] outcomes) {
+    return (outcomeIds, length, spans) -> {
+      List<T> sequence = new ArrayList<>(length);
+      for (int i = 0; i < length; i++) {
+        sequence.add(outcomes[outcomeIds[i]]);
+      }
+      spans.clear();
+      spans.addAll(decode(sequence));
+    };
+  }
 }
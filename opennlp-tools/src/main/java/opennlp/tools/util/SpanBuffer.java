@@ -0,0 +1,246 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package opennlp.tools.util;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A reusable list of spans which stores the starts, ends, type ids and probabilities
+ * of its spans in primitive arrays instead of {@link Span} objects.
+ * <p>
+ * The type of a span is an index into a table of types, the id {@link #NO_TYPE}
+ * stands for a span without a type. The buffer is cleared and filled again for
+ * every decoded sequence, its arrays only grow and are never released.
+ * <p>
+ * Instances are not thread safe.
+ */
+public class SpanBuffer {
+
+  /**
+   * The type id of spans without a type.
+   */
+  public static final int NO_TYPE = -1;
+
+  private static final int DEFAULT_CAPACITY = 16;
+
+  private int[] starts;
+  private int[] ends;
+  private int[] typeIds;
+  private double[] probs;
+  private int size;
+
+  private String[] types = new String[0];
+  private Map<String, Integer> typeIndex = new HashMap<>();
+
+  /**
+   * Initializes an empty buffer.
+   */
+  public SpanBuffer() {
+    this(DEFAULT_CAPACITY);
+  }
+
+  /**
+   * Initializes an empty buffer.
+   *
+   * @param capacity the number of spans the buffer can hold before it grows
+   */
+  public SpanBuffer(int capacity) {
+    if (capacity < 0) {
+      throw new IllegalArgumentException("capacity must not be negative: " + capacity);
+    }
+
+    starts = new int[capacity];
+    ends = new int[capacity];
+    typeIds = new int[capacity];
+    probs = new double[capacity];
+  }
+
+  /**
+   * Replaces the type table, the buffer is cleared. Setting the
+   * same types again only clears the buffer.
+   *
+   * @param types the types, the index of a type is its type id
+   */
+  public void setTypes(String[] types) {
+    if (!Arrays.equals(this.types, types)) {
+      this.types = types.clone();
+      typeIndex = new HashMap<>();
+      for (int ti = 0; ti < types.length; ti++) {
+        typeIndex.putIfAbsent(types[ti], ti);
+      }
+    }
+    clear();
+  }
+
+  /**
+   * @return the type table of this buffer
+   */
+  public String[] getTypes() {
+    return types.clone();
+  }
+
+  /**
+   * Retrieves the id of a type, types which are not in the
+   * type table are appended to it.
+   *
+   * @param type the type or null
+   * @return the type id, {@link #NO_TYPE} for null
+   */
+  public int getTypeId(String type) {
+    if (type == null) {
+      return NO_TYPE;
+    }
+
+    Integer typeId = typeIndex.get(type);
+    if (typeId == null) {
+      typeId = types.length;
+      types = Arrays.copyOf(types, types.length + 1);
+      types[typeId] = type;
+      typeIndex.put(type, typeId);
+    }
+    return typeId;
+  }
+
+  /**
+   * Removes all spans, the type table is kept.
+   */
+  public void clear() {
+    size = 0;
+  }
+
+  /**
+   * @return the number of spans
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Adds a span with the probability zero.
+   *
+   * @param start the start of the span
+   * @param end the end of the span
+   * @param typeId the id of the type of the span or {@link #NO_TYPE}
+   */
+  public void add(int start, int end, int typeId) {
+    add(start, end, typeId, 0);
+  }
+
+  /**
+   * Adds a span.
+   *
+   * @param start the start of the span
+   * @param end the end of the span
+   * @param typeId the id of the type of the span or {@link #NO_TYPE}
+   * @param prob the probability of the span
+   */
+  public void add(int start, int end, int typeId, double prob) {
+    if (start < 0 || end < start) {
+      throw new IllegalArgumentException("Invalid span: " + start + ", " + end);
+    }
+    if (typeId < NO_TYPE || typeId >= types.length) {
+      throw new IllegalArgumentException("Unknown type id: " + typeId);
+    }
+
+    if (size == starts.length) {
+      int capacity = Math.max(DEFAULT_CAPACITY, size * 2);
+      starts = Arrays.copyOf(starts, capacity);
+      ends = Arrays.copyOf(ends, capacity);
+      typeIds = Arrays.copyOf(typeIds, capacity);
+      probs = Arrays.copyOf(probs, capacity);
+    }
+
+    starts[size] = start;
+    ends[size] = end;
+    typeIds[size] = typeId;
+    probs[size] = prob;
+    size++;
+  }
+
+  /**
+   * Adds spans, their types are added to the type table if necessary.
+   *
+   * @param spans the spans to add
+   */
+  public void addAll(Span[] spans) {
+    for (Span span : spans) {
+      add(span.getStart(), span.getEnd(), getTypeId(span.getType()), span.getProb());
+    }
+  }
+
+  public int getStart(int index) {
+    checkIndex(index);
+    return starts[index];
+  }
+
+  public int getEnd(int index) {
+    checkIndex(index);
+    return ends[index];
+  }
+
+  public int getTypeId(int index) {
+    checkIndex(index);
+    return typeIds[index];
+  }
+
+  /**
+   * @param index the index of the span
+   * @return the type of the span or null
+   */
+  public String getType(int index) {
+    int typeId = getTypeId(index);
+    return typeId == NO_TYPE ? null : types[typeId];
+  }
+
+  public double getProb(int index) {
+    checkIndex(index);
+    return probs[index];
+  }
+
+  public void setProb(int index, double prob) {
+    checkIndex(index);
+    probs[index] = prob;
+  }
+
+  private void checkIndex(int index) {
+    if (index < 0 || index >= size) {
+      throw new IndexOutOfBoundsException("Index: " + index + ", size: " + size);
+    }
+  }
+
+  /**
+   * @param index the index of the span
+   * @return a new {@link Span} with the values of the span at the index
+   */
+  public Span getSpan(int index) {
+    return new Span(getStart(index), getEnd(index), getType(index), getProb(index));
+  }
+
+  /**
+   * @return new {@link Span} objects for all spans of this buffer
+   */
+  public Span[] toSpans() {
+    Span[] spans = new Span[size];
+    for (int i = 0; i < size; i++) {
+      spans[i] = getSpan(i);
+    }
+    return spans;
+  }
+}
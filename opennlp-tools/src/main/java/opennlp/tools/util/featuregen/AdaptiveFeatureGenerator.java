@@ -30,6 +30,12 @@ import java.util.List;
  * must only be called from one thread. The resources used by a feature
  * generator are typically shared between man instances of features generators
  * which are called from many threads and have to be thread safe.
+ * <p>
+ * A generator may keep data of the current sentence between calls, e.g. the
+ * features or token classes of all its tokens. Such data must be keyed on the
+ * content of the tokens array and not on its identity, since a caller may refill
+ * one array for every sentence. The {@link CachedFeatureGenerator} is an exception
+ * and caches by the identity of the array.
  */
 public interface AdaptiveFeatureGenerator {
 
@@ -58,4 +64,16 @@ public interface AdaptiveFeatureGenerator {
    * is no longer valid.
    */
   default void clearAdaptiveData() {};
+
+  /**
+   * Indicates whether the features of a token only depend on the tokens of the sentence and
+   * the adaptive data, but not on the previous outcomes. The features of such a generator
+   * can be computed once per sentence and be shared by all neighbours in a window and
+   * all hypotheses of a beam search, see {@link FeatureTable}.
+   *
+   * @return {@code true} if the previous outcomes are ignored, the default is {@code false}
+   */
+  default boolean isOutcomeIndependent() {
+    return false;
+  }
 }
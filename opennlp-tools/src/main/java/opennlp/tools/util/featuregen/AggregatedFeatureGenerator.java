@@ -34,6 +34,12 @@ public class AggregatedFeatureGenerator implements AdaptiveFeatureGenerator {
    */
   private Collection<AdaptiveFeatureGenerator> generators;
 
+  /**
+   * The generators which are called, nested {@link AggregatedFeatureGenerator}s
+   * are replaced by their generators.
+   */
+  private final AdaptiveFeatureGenerator[] flattenedGenerators;
+
   /**
    * Initializes the current instance.
    *
@@ -50,6 +56,19 @@ public class AggregatedFeatureGenerator implements AdaptiveFeatureGenerator {
     Collections.addAll(this.generators, generators);
 
     this.generators = Collections.unmodifiableCollection(this.generators);
+
+    List<AdaptiveFeatureGenerator> flattenedGenerators = new ArrayList<>(generators.length);
+    for (AdaptiveFeatureGenerator generator : generators) {
+      // Subclasses might change how the generators are called
+      if (generator.getClass() == AggregatedFeatureGenerator.class) {
+        Collections.addAll(flattenedGenerators,
+            ((AggregatedFeatureGenerator) generator).flattenedGenerators);
+      }
+      else {
+        flattenedGenerators.add(generator);
+      }
+    }
+    this.flattenedGenerators = flattenedGenerators.toArray(new AdaptiveFeatureGenerator[0]);
   }
 
   public AggregatedFeatureGenerator(Collection<AdaptiveFeatureGenerator> generators) {
@@ -62,7 +81,7 @@ public class AggregatedFeatureGenerator implements AdaptiveFeatureGenerator {
    */
   public void clearAdaptiveData() {
 
-    for (AdaptiveFeatureGenerator generator : generators) {
+    for (AdaptiveFeatureGenerator generator : flattenedGenerators) {
       generator.clearAdaptiveData();
     }
   }
@@ -74,7 +93,7 @@ public class AggregatedFeatureGenerator implements AdaptiveFeatureGenerator {
   public void createFeatures(List<String> features, String[] tokens, int index,
       String[] previousOutcomes) {
 
-    for (AdaptiveFeatureGenerator generator : generators) {
+    for (AdaptiveFeatureGenerator generator : flattenedGenerators) {
       generator.createFeatures(features, tokens, index, previousOutcomes);
     }
   }
@@ -85,11 +104,27 @@ public class AggregatedFeatureGenerator implements AdaptiveFeatureGenerator {
    */
   public void updateAdaptiveData(String[] tokens, String[] outcomes) {
 
-    for (AdaptiveFeatureGenerator generator : generators) {
+    for (AdaptiveFeatureGenerator generator : flattenedGenerators) {
       generator.updateAdaptiveData(tokens, outcomes);
     }
   }
 
+  /**
+   * Returns {@code true} if all aggregated {@link AdaptiveFeatureGenerator}s
+   * are outcome independent.
+   */
+  @Override
+  public boolean isOutcomeIndependent() {
+
+    for (AdaptiveFeatureGenerator generator : flattenedGenerators) {
+      if (!generator.isOutcomeIndependent()) {
+        return false;
+      }
+    }
+
+    return true;
+  }
+
   /**
    * Retrieves a {@link Collections} of all aggregated
    * {@link AdaptiveFeatureGenerator}s.
@@ -21,19 +21,27 @@ import java.util.List;
 
 public class BigramNameFeatureGenerator implements AdaptiveFeatureGenerator {
 
+  private final TokenClassTable tokenClasses = new TokenClassTable();
+
   public void createFeatures(List<String> features, String[] tokens, int index,
                              String[] previousOutcomes) {
-    String wc = FeatureGeneratorUtil.tokenFeature(tokens[index]);
+    tokenClasses.update(tokens, index);
+    String wc = tokenClasses.tokenClass(index);
     //bi-gram features
     if (index > 0) {
       features.add("pw,w=" + tokens[index - 1] + "," + tokens[index]);
-      String pwc = FeatureGeneratorUtil.tokenFeature(tokens[index - 1]);
+      String pwc = tokenClasses.tokenClass(index - 1);
       features.add("pwc,wc=" + pwc + "," + wc);
     }
     if (index + 1 < tokens.length) {
       features.add("w,nw=" + tokens[index] + "," + tokens[index + 1]);
-      String nwc = FeatureGeneratorUtil.tokenFeature(tokens[index + 1]);
+      String nwc = tokenClasses.tokenClass(index + 1);
       features.add("wc,nc=" + wc + "," + nwc);
     }
   }
+
+  @Override
+  public boolean isOutcomeIndependent() {
+    return true;
+  }
 }
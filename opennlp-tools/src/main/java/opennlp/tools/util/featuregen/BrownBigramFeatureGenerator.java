@@ -55,4 +55,8 @@ public class BrownBigramFeatureGenerator implements AdaptiveFeatureGenerator {
     }
   }
 
+  @Override
+  public boolean isOutcomeIndependent() {
+    return true;
+  }
 }
@@ -17,16 +17,19 @@
 
 package opennlp.tools.util.featuregen;
 
+import java.io.BufferedInputStream;
 import java.io.BufferedReader;
-import java.io.BufferedWriter;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.OutputStream;
-import java.io.OutputStreamWriter;
-import java.io.Writer;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.regex.Pattern;
 
@@ -40,12 +43,25 @@ import opennlp.tools.util.model.SerializableArtifact;
  *
  * The file containing the clustering lexicon has to be passed as the
  * value of the dict attribute of each BrownCluster feature generator.
- *
+ * <p>
+ * The tokens are stored in a compact table, the bit string paths of the clusters
+ * are packed into longs and the path prefixes of the {@link BrownTokenClasses} are
+ * computed once per cluster. The lexicon is serialized in a compact binary format,
+ * both the binary and the text format can be read.
  */
 public class BrownCluster implements SerializableArtifact {
 
   private static final Pattern tabPattern = Pattern.compile("\t");
 
+  private static final int MAGIC = 0x0042434c;
+
+  private static final int PATH_LENGTH_SHIFT = 58;
+
+  /**
+   * The maximum length of a path which can be packed into a long.
+   */
+  public static final int MAX_PACKED_PATH_LENGTH = PATH_LENGTH_SHIFT;
+
   public static class BrownClusterSerializer implements ArtifactSerializer<BrownCluster> {
 
     public BrownCluster create(InputStream in) throws IOException {
@@ -58,7 +74,10 @@ public class BrownCluster implements SerializableArtifact {
     }
   }
 
-  private Map<String, String> tokenToClusterMap = new HashMap<>();
+  private final ClusterTable table = new ClusterTable();
+
+  private long[] clusterPaths;
+  private List<String>[] clusterWordClasses;
 
   /**
    * Generates the token to cluster map from Brown cluster input file.
@@ -68,21 +87,126 @@ public class BrownCluster implements SerializableArtifact {
    */
   public BrownCluster(InputStream in) throws IOException {
 
-    BufferedReader breader =
-        new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
-    String line;
-    while ((line = breader.readLine()) != null) {
-      String[] lineArray = tabPattern.split(line);
-      if (lineArray.length == 3) {
-        int freq = Integer.parseInt(lineArray[2]);
-        if (freq > 5 ) {
-          tokenToClusterMap.put(lineArray[1], lineArray[0]);
+    BufferedInputStream bin = new BufferedInputStream(in);
+
+    if (ClusterTable.isCompactFormat(bin, MAGIC)) {
+      DataInputStream din = new DataInputStream(bin);
+      din.readInt();
+
+      int clusterCount = din.readInt();
+      for (int i = 0; i < clusterCount; i++) {
+        int length = din.readByte();
+        if (length >= 0) {
+          table.addCluster(toPathString(din.readLong(), length));
+        }
+        else {
+          table.addCluster(din.readUTF());
+        }
+      }
+      table.readTokens(din);
+    }
+    else {
+      BufferedReader breader =
+          new BufferedReader(new InputStreamReader(bin, StandardCharsets.UTF_8));
+      String line;
+      while ((line = breader.readLine()) != null) {
+        String[] lineArray = tabPattern.split(line);
+        if (lineArray.length == 3) {
+          int freq = Integer.parseInt(lineArray[2]);
+          if (freq > 5 ) {
+            table.put(lineArray[1], lineArray[0]);
+          }
+        }
+        else if (lineArray.length == 2) {
+          table.put(lineArray[0], lineArray[1]);
+        }
+      }
+    }
+
+    table.trim();
+    initClusters();
+  }
+
+  @SuppressWarnings("unchecked")
+  private void initClusters() {
+    clusterPaths = new long[table.clusterCount()];
+    clusterWordClasses = new List[table.clusterCount()];
+
+    Map<Object, String> prefixes = new HashMap<>();
+    for (int i = 0; i < clusterPaths.length; i++) {
+      String cluster = table.cluster(i);
+      clusterPaths[i] = packPath(cluster);
+
+      List<String> wordClasses = new ArrayList<>(BrownTokenClasses.pathLengths.length);
+      int length = cluster.length();
+      for (int j = 0; j < BrownTokenClasses.pathLengths.length; j++) {
+        if (j == 0 || BrownTokenClasses.pathLengths[j - 1] < length) {
+          int prefixLength = StrictMath.min(length, BrownTokenClasses.pathLengths[j]);
+
+          Object key;
+          if (clusterPaths[i] != -1) {
+            key = pathPrefix(clusterPaths[i], prefixLength);
+          }
+          else {
+            key = cluster.substring(0, prefixLength);
+          }
+          wordClasses.add(prefixes.computeIfAbsent(key, k -> cluster.substring(0, prefixLength)));
         }
       }
-      else if (lineArray.length == 2) {
-        tokenToClusterMap.put(lineArray[0], lineArray[1]);
+      clusterWordClasses[i] = Collections.unmodifiableList(wordClasses);
+    }
+  }
+
+  /**
+   * Packs a bit string path into a long, the length is stored in the upper bits.
+   *
+   * @param path the path, a string of 0 and 1 characters
+   * @return the packed path or -1 if the path is not a bit string or is longer than
+   *     {@link #MAX_PACKED_PATH_LENGTH}
+   */
+  public static long packPath(String path) {
+    if (path.length() > MAX_PACKED_PATH_LENGTH) {
+      return -1;
+    }
+
+    long bits = 0;
+    for (int i = 0; i < path.length(); i++) {
+      char c = path.charAt(i);
+      if (c != '0' && c != '1') {
+        return -1;
       }
+      bits = bits << 1 | (c - '0');
+    }
+    return (long) path.length() << PATH_LENGTH_SHIFT | bits;
+  }
+
+  /**
+   * @param path the packed path
+   * @return the length of the packed path
+   */
+  public static int pathLength(long path) {
+    return (int) (path >>> PATH_LENGTH_SHIFT);
+  }
+
+  /**
+   * Retrieves a prefix of a packed path.
+   *
+   * @param path the packed path
+   * @param length the length of the prefix, it must not be longer than the path
+   * @return the packed prefix
+   */
+  public static long pathPrefix(long path, int length) {
+    long bits = path & ((1L << PATH_LENGTH_SHIFT) - 1);
+    return (long) length << PATH_LENGTH_SHIFT | bits >>> (pathLength(path) - length);
+  }
+
+  private static String toPathString(long bits, int length) {
+    char[] path = new char[length];
+    for (int i = length - 1; i >= 0; i--) {
+      path[i] = (char) ('0' + (bits & 1));
+      bits >>>= 1;
     }
+    return new String(path);
   }
 
   /**
@@ -91,16 +215,50 @@ public class BrownCluster implements SerializableArtifact {
    * @return the brown class if such token is in the brown cluster map
    */
   public String lookupToken(String string) {
-    return tokenToClusterMap.get(string);
+    return table.lookup(string);
+  }
+
+  /**
+   * Retrieves the packed bit string path of a token, see {@link #packPath(String)}.
+   *
+   * @param token the token to look-up
+   * @return the packed path or -1 if the token is not in the map or its path
+   *     cannot be packed
+   */
+  public long lookupPath(String token) {
+    int clusterIndex = table.clusterIndexOf(token);
+    return clusterIndex != -1 ? clusterPaths[clusterIndex] : -1;
+  }
+
+  /**
+   * Retrieves the path prefixes of a token, see {@link BrownTokenClasses#getWordClasses}.
+   *
+   * @param token the token to look-up
+   * @return the unmodifiable list of path prefixes, empty if the token is not in the map
+   */
+  List<String> getWordClasses(String token) {
+    int clusterIndex = table.clusterIndexOf(token);
+    return clusterIndex != -1 ? clusterWordClasses[clusterIndex] : Collections.emptyList();
   }
 
   public void serialize(OutputStream out) throws IOException {
-    Writer writer = new BufferedWriter(new OutputStreamWriter(out));
+    DataOutputStream dout = new DataOutputStream(out);
+    dout.writeInt(MAGIC);
 
-    for (Map.Entry<String, String> entry : tokenToClusterMap.entrySet()) {
-      writer.write(entry.getKey() + "\t" + entry.getValue() + "\n");
+    dout.writeInt(clusterPaths.length);
+    for (int i = 0; i < clusterPaths.length; i++) {
+      if (clusterPaths[i] != -1) {
+        dout.writeByte(pathLength(clusterPaths[i]));
+        dout.writeLong(clusterPaths[i] & ((1L << PATH_LENGTH_SHIFT) - 1));
+      }
+      else {
+        dout.writeByte(-1);
+        dout.writeUTF(table.cluster(i));
+      }
     }
-    writer.flush();
+
+    table.writeTokens(dout);
+    dout.flush();
   }
 
   public Class<?> getArtifactSerializerClass() {
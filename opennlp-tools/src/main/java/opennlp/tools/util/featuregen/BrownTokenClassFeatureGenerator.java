@@ -41,5 +41,8 @@ public class BrownTokenClassFeatureGenerator implements AdaptiveFeatureGenerator
     }
   }
 
+  @Override
+  public boolean isOutcomeIndependent() {
+    return true;
+  }
 }
-
@@ -17,7 +17,6 @@
 
 package opennlp.tools.util.featuregen;
 
-import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -33,25 +32,14 @@ public class BrownTokenClasses {
    * It provides a list containing the pathLengths for a token if found
    * in the Map:token,BrownClass.
    *
+   * The paths are computed once per cluster when the {@link BrownCluster} is loaded.
+   *
    * @param token the token to be looked up in the brown clustering map
    * @param brownLexicon the Brown clustering map
-   * @return the list of the paths for a token
+   * @return the unmodifiable list of the paths for a token
    */
   public static List<String> getWordClasses(String token, BrownCluster brownLexicon) {
-    if (brownLexicon.lookupToken(token) == null) {
-      return new ArrayList<>(0);
-    } else {
-      String brownClass = brownLexicon.lookupToken(token);
-      List<String> pathLengthsList = new ArrayList<>();
-      pathLengthsList.add(brownClass.substring(0, StrictMath.min(brownClass.length(), pathLengths[0])));
-      for (int i = 1; i < pathLengths.length; i++) {
-        if (pathLengths[i - 1] < brownClass.length()) {
-          pathLengthsList.add(brownClass.substring(0,
-              StrictMath.min(brownClass.length(), pathLengths[i])));
-        }
-      }
-      return pathLengthsList;
-    }
+    return brownLexicon.getWordClasses(token);
   }
 
 }
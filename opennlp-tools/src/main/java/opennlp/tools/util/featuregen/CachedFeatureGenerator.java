@@ -21,10 +21,11 @@ package opennlp.tools.util.featuregen;
 import java.util.ArrayList;
 import java.util.List;
 
-import opennlp.tools.util.Cache;
-
 /**
  * Caches features of the aggregated {@link AdaptiveFeatureGenerator}s.
+ * <p>
+ * The features of every token of the current sentence are cached until
+ * a different tokens array is passed in.
  */
 public class CachedFeatureGenerator implements AdaptiveFeatureGenerator {
 
@@ -32,7 +33,7 @@ public class CachedFeatureGenerator implements AdaptiveFeatureGenerator {
 
   private String[] prevTokens;
 
-  private Cache<Integer, List<String>> contextsCache;
+  private List<String>[] contextsCache;
 
   private long numberOfCacheHits;
   private long numberOfCacheMisses;
@@ -40,30 +41,30 @@ public class CachedFeatureGenerator implements AdaptiveFeatureGenerator {
   @Deprecated
   public CachedFeatureGenerator(AdaptiveFeatureGenerator... generators) {
     this.generator = new AggregatedFeatureGenerator(generators);
-    contextsCache = new Cache<>(100);
   }
 
   public CachedFeatureGenerator(AdaptiveFeatureGenerator generator) {
     this.generator = generator;
-    contextsCache = new Cache<>(100);
   }
 
+  @SuppressWarnings("unchecked")
   public void createFeatures(List<String> features, String[] tokens, int index,
       String[] previousOutcomes) {
 
     List<String> cacheFeatures;
 
     if (tokens == prevTokens) {
-      cacheFeatures = contextsCache.get(index);
+      cacheFeatures = contextsCache[index];
 
       if (cacheFeatures != null) {
         numberOfCacheHits++;
         features.addAll(cacheFeatures);
+        ProfilingFeatureGenerator.reused(cacheFeatures, 0, cacheFeatures.size());
         return;
       }
 
     } else {
-      contextsCache.clear();
+      contextsCache = new List[tokens.length];
       prevTokens = tokens;
     }
 
@@ -73,7 +74,7 @@ public class CachedFeatureGenerator implements AdaptiveFeatureGenerator {
 
     generator.createFeatures(cacheFeatures, tokens, index, previousOutcomes);
 
-    contextsCache.put(index, cacheFeatures);
+    contextsCache[index] = cacheFeatures;
     features.addAll(cacheFeatures);
   }
 
@@ -85,6 +86,11 @@ public class CachedFeatureGenerator implements AdaptiveFeatureGenerator {
     generator.clearAdaptiveData();
   }
 
+  @Override
+  public boolean isOutcomeIndependent() {
+    return generator.isOutcomeIndependent();
+  }
+
   /**
    * Retrieves the number of times a cache hit occurred.
    *
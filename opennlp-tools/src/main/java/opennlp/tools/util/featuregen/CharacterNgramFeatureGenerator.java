@@ -55,4 +55,9 @@ public class CharacterNgramFeatureGenerator implements AdaptiveFeatureGenerator
       }
     }
   }
+
+  @Override
+  public boolean isOutcomeIndependent() {
+    return true;
+  }
 }
@@ -0,0 +1,270 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package opennlp.tools.util.featuregen;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import opennlp.tools.util.InvalidFormatException;
+
+/**
+ * A compact map from tokens to cluster ids which is shared by the {@link BrownCluster}
+ * and the {@link WordClusterDictionary}.
+ * <p>
+ * The characters of all tokens are stored in one array, the tokens are found with an
+ * open addressing table of token indexes. The distinct clusters are stored only once
+ * and are referenced by their index.
+ */
+final class ClusterTable {
+
+  private char[] tokenChars = new char[1024];
+  private int charCount;
+
+  private int[] tokenOffsets = new int[65];
+  private int[] tokenClusters = new int[64];
+  private int size;
+
+  private int[] slots = new int[128];
+
+  private final List<String> clusters = new ArrayList<>();
+  private final Map<String, Integer> clusterIndexes = new HashMap<>();
+
+  private static int hash(CharSequence token) {
+    int h = 0;
+    for (int i = 0; i < token.length(); i++) {
+      h = 31 * h + token.charAt(i);
+    }
+    return h ^ (h >>> 16);
+  }
+
+  private int hash(int tokenIndex) {
+    int h = 0;
+    for (int i = tokenOffsets[tokenIndex]; i < tokenOffsets[tokenIndex + 1]; i++) {
+      h = 31 * h + tokenChars[i];
+    }
+    return h ^ (h >>> 16);
+  }
+
+  private boolean matches(int tokenIndex, CharSequence token) {
+    int offset = tokenOffsets[tokenIndex];
+    if (tokenOffsets[tokenIndex + 1] - offset != token.length()) {
+      return false;
+    }
+    for (int i = 0; i < token.length(); i++) {
+      if (tokenChars[offset + i] != token.charAt(i)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private int slotOf(CharSequence token) {
+    int mask = slots.length - 1;
+    int slot = hash(token) & mask;
+    while (slots[slot] != 0 && !matches(slots[slot] - 1, token)) {
+      slot = (slot + 1) & mask;
+    }
+    return slot;
+  }
+
+  /**
+   * Retrieves the index of a cluster, the cluster is added if it is not known yet.
+   *
+   * @param cluster the cluster
+   * @return the index of the cluster
+   */
+  int addCluster(String cluster) {
+    Integer index = clusterIndexes.get(cluster);
+    if (index == null) {
+      index = clusters.size();
+      clusters.add(cluster);
+      clusterIndexes.put(cluster, index);
+    }
+    return index;
+  }
+
+  /**
+   * Maps a token to a cluster, a previous mapping of the token is replaced.
+   *
+   * @param token the token
+   * @param cluster the cluster
+   */
+  void put(String token, String cluster) {
+    put(token, addCluster(cluster));
+  }
+
+  private void put(String token, int clusterIndex) {
+    int slot = slotOf(token);
+    if (slots[slot] != 0) {
+      tokenClusters[slots[slot] - 1] = clusterIndex;
+      return;
+    }
+
+    if (size == tokenClusters.length) {
+      int capacity = Math.max(64, size * 2);
+      int[] offsets = new int[capacity + 1];
+      System.arraycopy(tokenOffsets, 0, offsets, 0, size + 1);
+      tokenOffsets = offsets;
+      int[] tokenClustersCopy = new int[capacity];
+      System.arraycopy(tokenClusters, 0, tokenClustersCopy, 0, size);
+      tokenClusters = tokenClustersCopy;
+    }
+
+    if (charCount + token.length() > tokenChars.length) {
+      char[] chars = new char[Math.max(tokenChars.length * 2, charCount + token.length())];
+      System.arraycopy(tokenChars, 0, chars, 0, charCount);
+      tokenChars = chars;
+    }
+
+    token.getChars(0, token.length(), tokenChars, charCount);
+    charCount += token.length();
+    tokenClusters[size] = clusterIndex;
+    tokenOffsets[++size] = charCount;
+    slots[slot] = size;
+
+    if (size * 2 > slots.length) {
+      rehash(slots.length * 2);
+    }
+  }
+
+  private void rehash(int slotCount) {
+    slots = new int[slotCount];
+    int mask = slotCount - 1;
+    for (int i = 0; i < size; i++) {
+      int slot = hash(i) & mask;
+      while (slots[slot] != 0) {
+        slot = (slot + 1) & mask;
+      }
+      slots[slot] = i + 1;
+    }
+  }
+
+  /**
+   * Retrieves the cluster index of a token.
+   *
+   * @param token the token
+   * @return the cluster index or -1 if the token is not known
+   */
+  int clusterIndexOf(CharSequence token) {
+    int tokenIndex = slots[slotOf(token)];
+    return tokenIndex != 0 ? tokenClusters[tokenIndex - 1] : -1;
+  }
+
+  /**
+   * Retrieves the cluster of a token.
+   *
+   * @param token the token
+   * @return the cluster or null if the token is not known
+   */
+  String lookup(CharSequence token) {
+    int clusterIndex = clusterIndexOf(token);
+    return clusterIndex != -1 ? clusters.get(clusterIndex) : null;
+  }
+
+  int clusterCount() {
+    return clusters.size();
+  }
+
+  String cluster(int index) {
+    return clusters.get(index);
+  }
+
+  private String token(int index) {
+    int offset = tokenOffsets[index];
+    return new String(tokenChars, offset, tokenOffsets[index + 1] - offset);
+  }
+
+  /**
+   * Tests if the stream starts with the magic number of a compact format,
+   * the stream is reset to its start.
+   * <p>
+   * The magic numbers start with a zero byte, a text lexicon cannot start with it.
+   *
+   * @param in the stream
+   * @param magic the magic number of the format
+   * @return true if the stream is in the compact format
+   */
+  static boolean isCompactFormat(BufferedInputStream in, int magic) throws IOException {
+    in.mark(4);
+    int value = 0;
+    for (int i = 0; i < 4; i++) {
+      int b = in.read();
+      if (b == -1) {
+        in.reset();
+        return false;
+      }
+      value = value << 8 | b;
+    }
+    in.reset();
+    return value == magic;
+  }
+
+  /**
+   * Writes the tokens and their cluster indexes in the compact format, the clusters
+   * must have been written by the caller before.
+   */
+  void writeTokens(DataOutputStream out) throws IOException {
+    out.writeInt(size);
+    for (int i = 0; i < size; i++) {
+      out.writeUTF(token(i));
+      out.writeInt(tokenClusters[i]);
+    }
+  }
+
+  /**
+   * Reads the tokens which were written by {@link #writeTokens(DataOutputStream)},
+   * the clusters must have been added before.
+   */
+  void readTokens(DataInputStream in) throws IOException {
+    int tokenCount = in.readInt();
+    for (int i = 0; i < tokenCount; i++) {
+      String token = in.readUTF();
+      int clusterIndex = in.readInt();
+      if (clusterIndex < 0 || clusterIndex >= clusters.size()) {
+        throw new InvalidFormatException("Invalid cluster index " + clusterIndex
+            + " for token " + token);
+      }
+      put(token, clusterIndex);
+    }
+  }
+
+  /**
+   * Releases the unused capacity after loading.
+   */
+  void trim() {
+    if (tokenChars.length > charCount) {
+      char[] chars = new char[charCount];
+      System.arraycopy(tokenChars, 0, chars, 0, charCount);
+      tokenChars = chars;
+    }
+    if (tokenClusters.length > size) {
+      int[] offsets = new int[size + 1];
+      System.arraycopy(tokenOffsets, 0, offsets, 0, size + 1);
+      tokenOffsets = offsets;
+      int[] tokenClustersCopy = new int[size];
+      System.arraycopy(tokenClusters, 0, tokenClustersCopy, 0, size);
+      tokenClusters = tokenClustersCopy;
+    }
+  }
+}
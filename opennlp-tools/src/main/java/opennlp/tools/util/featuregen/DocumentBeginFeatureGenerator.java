@@ -39,4 +39,9 @@ public class DocumentBeginFeatureGenerator implements AdaptiveFeatureGenerator {
   public void clearAdaptiveData() {
     firstSentence = null;
   }
+
+  @Override
+  public boolean isOutcomeIndependent() {
+    return true;
+  }
 }
@@ -0,0 +1,145 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package opennlp.tools.util.featuregen;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.w3c.dom.Element;
+
+import opennlp.tools.util.InvalidFormatException;
+import opennlp.tools.util.metrics.FeatureGenerationProfile;
+
+/**
+ * A feature generator descriptor which was compiled once and can create any number
+ * of feature generators, it is created by
+ * {@link GeneratorFactory#compile(java.io.InputStream, FeatureGeneratorResourceProvider)}.
+ * <p>
+ * The descriptor is read into a tree of generator descriptions with resolved factory
+ * classes and parsed parameters, creating generators neither parses XML nor looks up
+ * classes. The created generators are flattened: nested aggregated generators are
+ * iterated as one array and outcome independent windows over equal generators
+ * compute the features of a sentence only once.
+ * <p>
+ * Feature generators can keep state between calls, therefore every component
+ * needs its own instance. Instances of the template are thread safe.
+ */
+public final class FeatureGeneratorTemplate {
+
+  private static final String ROOT_NAME = "featureGenerators";
+
+  private final List<GeneratorDescriptor> generators;
+  private final boolean cache;
+  private final boolean domFree;
+
+  /**
+   * The root element of a descriptor in the classic format, null otherwise.
+   */
+  private final Element classicElement;
+
+  private final FeatureGeneratorResourceProvider resourceManager;
+
+  FeatureGeneratorTemplate(List<GeneratorDescriptor> generators, boolean cache,
+      FeatureGeneratorResourceProvider resourceManager) {
+    this.generators = Collections.unmodifiableList(new ArrayList<>(generators));
+    this.cache = cache;
+    this.classicElement = null;
+    this.resourceManager = resourceManager;
+
+    boolean domFree = true;
+    for (GeneratorDescriptor generator : generators) {
+      domFree &= generator.isDomFree();
+    }
+    this.domFree = domFree;
+  }
+
+  @Deprecated // TODO: (OPENNLP-1174) just remove when back-compat is no longer needed
+  FeatureGeneratorTemplate(Element classicElement, FeatureGeneratorResourceProvider resourceManager) {
+    this.generators = Collections.emptyList();
+    this.cache = false;
+    this.domFree = false;
+    this.classicElement = classicElement;
+    this.resourceManager = resourceManager;
+  }
+
+  /**
+   * Creates new feature generators as described by the descriptor.
+   *
+   * @return the feature generators
+   * @throws InvalidFormatException if the descriptor does not describe valid feature generators
+   */
+  public AdaptiveFeatureGenerator newInstance() throws InvalidFormatException {
+    return newInstance(null);
+  }
+
+  /**
+   * Creates new feature generators as described by the descriptor which record
+   * their metrics in a profile.
+   * <p>
+   * Every generator of the descriptor is wrapped in a {@link ProfilingFeatureGenerator},
+   * it is named after its position in the descriptor, e.g. the second generator in the first
+   * top level generator is {@code 0:WindowFeatureGenerator/1:TokenFeatureGenerator}. All
+   * generators together are named {@code featureGenerators}. Generators which are created
+   * with the same profile record into the same metrics.
+   *
+   * @param profile the profile or null to create generators without profiling
+   * @return the feature generators
+   * @throws InvalidFormatException if the descriptor does not describe valid feature generators
+   */
+  public AdaptiveFeatureGenerator newInstance(FeatureGenerationProfile profile)
+      throws InvalidFormatException {
+    if (domFree) {
+      return createGenerators(profile);
+    }
+
+    // The DOM is not thread safe, even for reading
+    Element element = classicElement != null ? classicElement : generators.get(0).getElement();
+    synchronized (element.getOwnerDocument()) {
+      if (classicElement != null) {
+        return createClassicGenerators(profile);
+      }
+      return createGenerators(profile);
+    }
+  }
+
+  // The classic format can only be read with the deprecated factory methods,
+  // TODO: (OPENNLP-1174) just remove when back-compat is no longer needed
+  @SuppressWarnings("deprecation")
+  private AdaptiveFeatureGenerator createClassicGenerators(FeatureGenerationProfile profile)
+      throws InvalidFormatException {
+    AdaptiveFeatureGenerator generator =
+        GeneratorFactory.createGenerator(classicElement, resourceManager);
+    return profile != null ? new ProfilingFeatureGenerator(generator,
+        profile.getMetrics(ROOT_NAME)) : generator;
+  }
+
+  private AdaptiveFeatureGenerator createGenerators(FeatureGenerationProfile profile)
+      throws InvalidFormatException {
+    GeneratorDescriptor.Instantiation instantiation = new GeneratorDescriptor.Instantiation(profile);
+
+    List<AdaptiveFeatureGenerator> featureGenerators = new ArrayList<>(generators.size());
+    for (int i = 0; i < generators.size(); i++) {
+      GeneratorDescriptor generator = generators.get(i);
+      featureGenerators.add(generator.newGenerator(resourceManager, instantiation,
+          i + ":" + generator.getName()));
+    }
+
+    return instantiation.profile(GeneratorFactory.aggregate(featureGenerators, cache), ROOT_NAME);
+  }
+}
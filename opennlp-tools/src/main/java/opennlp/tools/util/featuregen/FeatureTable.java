@@ -0,0 +1,130 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package opennlp.tools.util.featuregen;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A flat table which holds the features of an outcome independent
+ * {@link AdaptiveFeatureGenerator} for all tokens of a sentence.
+ * <p>
+ * The features of all tokens are generated once when a new sentence is seen, the
+ * sentence is identified by the content of the tokens array, so a caller can refill one
+ * array for every sentence if it starts every sentence at the first token. The features
+ * of every token are then retrieved from the table, e.g. by the neighbours in a window
+ * or by every hypothesis of a beam search.
+ * <p>
+ * The table must be cleared whenever the adaptive data of the wrapped generator changes.
+ * Like the generators it is not thread safe.
+ *
+ * @see AdaptiveFeatureGenerator#isOutcomeIndependent()
+ */
+public class FeatureTable {
+
+  private final AdaptiveFeatureGenerator generator;
+
+  private final SentenceTokens sentence = new SentenceTokens();
+
+  private final List<String> features = new ArrayList<>();
+
+  /**
+   * The features of token i are stored in the range offsets[i] to offsets[i + 1].
+   */
+  private int[] offsets;
+
+  /**
+   * Initializes the current instance.
+   *
+   * @param generator an outcome independent generator
+   */
+  public FeatureTable(AdaptiveFeatureGenerator generator) {
+    this.generator = Objects.requireNonNull(generator, "generator must not be null");
+  }
+
+  /**
+   * Generates the features of all tokens, unless the table already contains
+   * the features of the given tokens.
+   *
+   * @param tokens the tokens of the sentence
+   * @param index the index of the token the caller creates features for
+   * @param previousOutcomes the previous outcomes, ignored by outcome independent generators
+   * @return {@code true} if the features were generated
+   */
+  public boolean precompute(String[] tokens, int index, String[] previousOutcomes) {
+    if (!sentence.update(tokens, index)) {
+      return false;
+    }
+
+    features.clear();
+
+    if (offsets == null || offsets.length < tokens.length + 1) {
+      offsets = new int[tokens.length + 1];
+    }
+
+    for (int i = 0; i < tokens.length; i++) {
+      offsets[i] = features.size();
+      generator.createFeatures(features, tokens, i, previousOutcomes);
+    }
+    offsets[tokens.length] = features.size();
+
+    return true;
+  }
+
+  /**
+   * Adds the precomputed features of a token to the given list.
+   *
+   * @param features the list to add the features to
+   * @param index the index of the token
+   */
+  public void addFeatures(List<String> features, int index) {
+    features.addAll(this.features.subList(offsets[index], offsets[index + 1]));
+    ProfilingFeatureGenerator.reused(this.features, offsets[index], offsets[index + 1]);
+  }
+
+  /**
+   * Adds the precomputed features of a token with the given prefix to the given list.
+   *
+   * @param features the list to add the features to
+   * @param prefix the prefix of every feature
+   * @param index the index of the token
+   */
+  public void addFeatures(List<String> features, String prefix, int index) {
+    for (int i = offsets[index]; i < offsets[index + 1]; i++) {
+      features.add(prefix + this.features.get(i));
+    }
+  }
+
+  /**
+   * Retrieves the number of tokens in the table.
+   *
+   * @return the number of tokens
+   */
+  public int size() {
+    return sentence.length();
+  }
+
+  /**
+   * Removes all features from the table.
+   */
+  public void clear() {
+    sentence.clear();
+    features.clear();
+  }
+}
@@ -0,0 +1,320 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package opennlp.tools.util.featuregen;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+import org.w3c.dom.Text;
+
+import opennlp.tools.util.InvalidFormatException;
+import opennlp.tools.util.metrics.FeatureGenerationProfile;
+
+/**
+ * A {@code generator} element of a feature generator descriptor which was read into
+ * an immutable tree: the factory class is resolved, the parameters are parsed and
+ * the nested generators are descriptors as well.
+ * <p>
+ * Creating generators from a descriptor does not access the DOM, unless a factory
+ * outside of this package is used, see {@link #isDomFree()}.
+ * Descriptors are equal if they describe the same generators.
+ */
+final class GeneratorDescriptor {
+
+  /**
+   * A parameter or a nested generator in the order of the descriptor.
+   */
+  static final class Argument {
+
+    private final String name;
+    private final Object value;
+    private final GeneratorDescriptor generator;
+
+    private Argument(String name, Object value, GeneratorDescriptor generator) {
+      this.name = name;
+      this.value = value;
+      this.generator = generator;
+    }
+
+    String getName() {
+      return name;
+    }
+
+    Object getValue() {
+      return value;
+    }
+
+    /**
+     * @return the nested generator or null if this is a parameter
+     */
+    GeneratorDescriptor getGenerator() {
+      return generator;
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(name, value, generator);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (this == obj) {
+        return true;
+      }
+
+      if (obj instanceof Argument) {
+        Argument other = (Argument) obj;
+        return Objects.equals(name, other.name) && Objects.equals(value, other.value)
+            && Objects.equals(generator, other.generator);
+      }
+
+      return false;
+    }
+  }
+
+  private final Element element;
+  private final Constructor<?> factoryConstructor;
+  private final List<Argument> arguments;
+  private final List<GeneratorDescriptor> generators;
+  private final boolean domFree;
+  private final int hash;
+
+  private GeneratorDescriptor(Element element, Constructor<?> factoryConstructor,
+      List<Argument> arguments) {
+    this.element = element;
+    this.factoryConstructor = factoryConstructor;
+    this.arguments = Collections.unmodifiableList(arguments);
+
+    List<GeneratorDescriptor> generators = new ArrayList<>();
+    boolean domFree = GeneratorFactory.class.getPackageName().equals(
+        factoryConstructor.getDeclaringClass().getPackageName());
+    for (Argument argument : arguments) {
+      if (argument.getGenerator() != null) {
+        generators.add(argument.getGenerator());
+        domFree &= argument.getGenerator().isDomFree();
+      }
+    }
+    this.generators = Collections.unmodifiableList(generators);
+    this.domFree = domFree;
+
+    hash = Objects.hash(factoryConstructor.getDeclaringClass(), arguments);
+  }
+
+  /**
+   * Reads a {@code generator} element and all its nested generators.
+   *
+   * @param generatorElement the element
+   * @return the descriptor
+   * @throws InvalidFormatException if the element is not a valid generator
+   */
+  static GeneratorDescriptor parse(Element generatorElement) throws InvalidFormatException {
+    String className = generatorElement.getAttribute("class");
+    if (className == null) {
+      throw new InvalidFormatException("generator must have class attribute");
+    }
+
+    Constructor<?> factoryConstructor;
+    try {
+      factoryConstructor = Class.forName(className).getConstructor();
+    } catch (ClassNotFoundException | NoSuchMethodException e) {
+      throw new RuntimeException(e);
+    }
+
+    List<Argument> arguments = new ArrayList<>();
+    NodeList childNodes = generatorElement.getChildNodes();
+    for (int i = 0; i < childNodes.getLength(); i++) {
+      Node childNode = childNodes.item(i);
+      if (childNode instanceof Element) {
+        Element elem = (Element) childNode;
+        String type = elem.getTagName();
+        if (type.equals("generator")) {
+          arguments.add(new Argument(null, null, parse(elem)));
+        }
+        else {
+          String name = elem.getAttribute("name");
+          Node cn = elem.getFirstChild();
+          Text text = (Text) cn;
+
+          switch (type) {
+            case "int" :
+              arguments.add(new Argument(name, Integer.parseInt(text.getWholeText()), null));
+              break;
+            case "long" :
+              arguments.add(new Argument(name, Long.parseLong(text.getWholeText()), null));
+              break;
+            case "float" :
+              arguments.add(new Argument(name, Float.parseFloat(text.getWholeText()), null));
+              break;
+            case "double" :
+              arguments.add(new Argument(name, Double.parseDouble(text.getWholeText()), null));
+              break;
+            case "str" :
+              arguments.add(new Argument(name, text.getWholeText(), null));
+              break;
+            case "bool" :
+              arguments.add(new Argument(name, Boolean.parseBoolean(text.getWholeText()), null));
+              break;
+            default:
+              throw new InvalidFormatException(
+                  "child element must be one of generator, int, long, float, double," +
+                      " str or bool");
+          }
+        }
+      }
+    }
+
+    return new GeneratorDescriptor(generatorElement, factoryConstructor, arguments);
+  }
+
+  Element getElement() {
+    return element;
+  }
+
+  /**
+   * @return the parameters and nested generators in the order of the descriptor
+   */
+  List<Argument> getArguments() {
+    return arguments;
+  }
+
+  /**
+   * @return the nested generators
+   */
+  List<GeneratorDescriptor> getGenerators() {
+    return generators;
+  }
+
+  /**
+   * Indicates whether all factories of this tree are part of this package. These
+   * factories do not read the element in {@code create()}, therefore the generators can
+   * be created concurrently. Other factories might read the element which is not thread safe.
+   *
+   * @return true if the generators can be created without accessing the DOM
+   */
+  boolean isDomFree() {
+    return domFree;
+  }
+
+  /**
+   * The name of the generator for profiling, the name of the factory without its suffix.
+   *
+   * @return the name of the generator
+   */
+  String getName() {
+    String name = factoryConstructor.getDeclaringClass().getSimpleName();
+    return name.endsWith("Factory") ? name.substring(0, name.length() - "Factory".length()) : name;
+  }
+
+  /**
+   * Creates the generator of this descriptor.
+   *
+   * @param resourceManager the resource manager, might be null
+   * @param instantiation the state of the creation of one generator instance
+   * @param path the name of the generator in the profile of the instantiation
+   * @return the generator or null if the factory did not create one
+   * @throws InvalidFormatException if the parameters are not valid for the factory
+   */
+  AdaptiveFeatureGenerator newGenerator(FeatureGeneratorResourceProvider resourceManager,
+      Instantiation instantiation, String path) throws InvalidFormatException {
+
+    GeneratorFactory.AbstractXmlFeatureGeneratorFactory factory;
+    try {
+      factory = (GeneratorFactory.AbstractXmlFeatureGeneratorFactory) factoryConstructor.newInstance();
+    } catch (InvocationTargetException | InstantiationException | IllegalAccessException e) {
+      throw new RuntimeException(e);
+    }
+
+    factory.init(this, resourceManager, instantiation, path);
+    AdaptiveFeatureGenerator generator = factory.create();
+
+    if (generator instanceof WindowFeatureGenerator
+        && factoryConstructor.getDeclaringClass() == WindowFeatureGeneratorFactory.class) {
+      WindowFeatureGenerator window = (WindowFeatureGenerator) generator;
+
+      if (window.getFeatureTable() != null) {
+        WindowFeatureGenerator sharedWindow = instantiation.windows.putIfAbsent(generators, window);
+        if (sharedWindow != null) {
+          generator = new WindowFeatureGenerator(sharedWindow, window.getPrevWindowSize(),
+              window.getNextWindowSize());
+        }
+      }
+    }
+
+    return instantiation.profile(generator, path);
+  }
+
+  /**
+   * The state of the creation of one generator instance from a tree of descriptors.
+   */
+  static final class Instantiation {
+
+    /**
+     * The windows which were created so far, outcome independent windows over
+     * equal descriptors share their {@link FeatureTable}.
+     */
+    private final Map<List<GeneratorDescriptor>, WindowFeatureGenerator> windows = new HashMap<>();
+
+    private final FeatureGenerationProfile profile;
+
+    /**
+     * @param profile the profile every generator is recorded in or null
+     */
+    Instantiation(FeatureGenerationProfile profile) {
+      this.profile = profile;
+    }
+
+    /**
+     * @return the generator, wrapped in a {@link ProfilingFeatureGenerator} if there is a profile
+     */
+    AdaptiveFeatureGenerator profile(AdaptiveFeatureGenerator generator, String name) {
+      if (profile == null || generator == null) {
+        return generator;
+      }
+      return new ProfilingFeatureGenerator(generator, profile.getMetrics(name));
+    }
+  }
+
+  @Override
+  public int hashCode() {
+    return hash;
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+
+    if (obj instanceof GeneratorDescriptor) {
+      GeneratorDescriptor other = (GeneratorDescriptor) obj;
+      return factoryConstructor.getDeclaringClass() == other.factoryConstructor.getDeclaringClass()
+          && arguments.equals(other.arguments);
+    }
+
+    return false;
+  }
+}
@@ -38,7 +38,6 @@ import org.w3c.dom.Element;
 import org.w3c.dom.NamedNodeMap;
 import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
-import org.w3c.dom.Text;
 import org.xml.sax.SAXException;
 
 import opennlp.tools.util.InvalidFormatException;
@@ -136,52 +135,26 @@ public class GeneratorFactory {
 
     final void init(Element element, FeatureGeneratorResourceProvider resourceManager)
         throws InvalidFormatException {
-      this.generatorElement = element;
+      GeneratorDescriptor descriptor = GeneratorDescriptor.parse(element);
+      init(descriptor, resourceManager, new GeneratorDescriptor.Instantiation(null), descriptor.getName());
+    }
+
+    final void init(GeneratorDescriptor descriptor, FeatureGeneratorResourceProvider resourceManager,
+        GeneratorDescriptor.Instantiation instantiation, String path) throws InvalidFormatException {
+      this.generatorElement = descriptor.getElement();
       this.resourceManager = resourceManager;
       List<AdaptiveFeatureGenerator> generators = new ArrayList<>();
-      NodeList childNodes = generatorElement.getChildNodes();
-      for (int i = 0; i < childNodes.getLength(); i++) {
-        Node childNode = childNodes.item(i);
-        if (childNode instanceof Element) {
-          Element elem = (Element)childNode;
-          String type = elem.getTagName();
-          if (type.equals("generator")) {
-            String key = "generator#" + Integer.toString(generators.size());
-            AdaptiveFeatureGenerator afg = buildGenerator(elem, resourceManager);
-            generators.add(afg);
-            if (afg != null)
-              args.put(key, afg);
-          }
-          else {
-            String name = elem.getAttribute("name");
-            Node cn = elem.getFirstChild();
-            Text text = (Text)cn;
-
-            switch (type) {
-              case "int" :
-                args.put(name, Integer.parseInt(text.getWholeText()));
-                break;
-              case "long" :
-                args.put(name, Long.parseLong(text.getWholeText()));
-                break;
-              case "float" :
-                args.put(name, Float.parseFloat(text.getWholeText()));
-                break;
-              case "double" :
-                args.put(name, Double.parseDouble(text.getWholeText()));
-                break;
-              case "str" :
-                args.put(name, text.getWholeText());
-                break;
-              case "bool" :
-                args.put(name, Boolean.parseBoolean(text.getWholeText()));
-                break;
-              default:
-                throw new InvalidFormatException(
-                    "child element must be one of generator, int, long, float, double," +
-                        " str or bool");
-            }
-          }
+      for (GeneratorDescriptor.Argument argument : descriptor.getArguments()) {
+        if (argument.getGenerator() != null) {
+          String key = "generator#" + Integer.toString(generators.size());
+          AdaptiveFeatureGenerator afg = argument.getGenerator().newGenerator(resourceManager,
+              instantiation, path + "/" + generators.size() + ":" + argument.getGenerator().getName());
+          generators.add(afg);
+          if (afg != null)
+            args.put(key, afg);
+        }
+        else {
+          args.put(argument.getName(), argument.getValue());
         }
       }
 
@@ -453,41 +426,7 @@ public class GeneratorFactory {
 
     // check it is new format?
     if (elementName.equals("featureGenerators")) {
-
-      List<AdaptiveFeatureGenerator> generators = new ArrayList<>();
-      NodeList childNodes = generatorElement.getChildNodes();
-      for (int i = 0; i < childNodes.getLength(); i++) {
-        Node childNode = childNodes.item(i);
-        if (childNode instanceof Element) {
-          Element elem = (Element)childNode;
-          String type = elem.getTagName();
-          if (type.equals("generator")) {
-            generators.add(buildGenerator(elem, resourceManager));
-          }
-          else
-            throw new InvalidFormatException("Unexpected element: " + elementName);
-        }
-      }
-
-      AdaptiveFeatureGenerator featureGenerator = null;
-      if (generators.size() == 1)
-        featureGenerator = generators.get(0);
-      else if (generators.size() > 1)
-        featureGenerator = new AggregatedFeatureGenerator(generators.toArray(
-            new AdaptiveFeatureGenerator[generators.size()]));
-      else
-        throw new InvalidFormatException("featureGenerators must have one or more generators");
-
-      // disallow manually specifying CachedFeatureGenerator
-      if (featureGenerator instanceof CachedFeatureGenerator)
-        throw new InvalidFormatException("CachedFeatureGeneratorFactory cannot be specified manually." +
-          "Use cache=\"true\" attribute in featureGenerators element instead.");
-
-      // check cache usage
-      if (Boolean.parseBoolean(generatorElement.getAttribute("cache")))
-        return new CachedFeatureGenerator(featureGenerator);
-      else
-        return featureGenerator;
+      return compileFeatureGenerators(generatorElement, resourceManager).newInstance();
     }
     else {
       // support classic format
@@ -500,6 +439,62 @@ public class GeneratorFactory {
     }
   }
 
+  /**
+   * Reads the generators of a {@code featureGenerators} element.
+   */
+  private static FeatureGeneratorTemplate compileFeatureGenerators(Element generatorElement,
+      FeatureGeneratorResourceProvider resourceManager) throws InvalidFormatException {
+
+    List<GeneratorDescriptor> generators = new ArrayList<>();
+    NodeList childNodes = generatorElement.getChildNodes();
+    for (int i = 0; i < childNodes.getLength(); i++) {
+      Node childNode = childNodes.item(i);
+      if (childNode instanceof Element) {
+        Element elem = (Element)childNode;
+        String type = elem.getTagName();
+        if (type.equals("generator")) {
+          generators.add(GeneratorDescriptor.parse(elem));
+        }
+        else
+          throw new InvalidFormatException("Unexpected element: " + generatorElement.getTagName());
+      }
+    }
+
+    if (generators.isEmpty())
+      throw new InvalidFormatException("featureGenerators must have one or more generators");
+
+    return new FeatureGeneratorTemplate(generators,
+        Boolean.parseBoolean(generatorElement.getAttribute("cache")), resourceManager);
+  }
+
+  /**
+   * Creates the feature generator of a {@code featureGenerators} element
+   * from its generators.
+   */
+  static AdaptiveFeatureGenerator aggregate(List<AdaptiveFeatureGenerator> generators, boolean cache)
+      throws InvalidFormatException {
+
+    AdaptiveFeatureGenerator featureGenerator;
+    if (generators.size() == 1)
+      featureGenerator = generators.get(0);
+    else
+      featureGenerator = new AggregatedFeatureGenerator(generators.toArray(
+          new AdaptiveFeatureGenerator[generators.size()]));
+
+    // disallow manually specifying CachedFeatureGenerator
+    if (featureGenerator instanceof ProfilingFeatureGenerator
+        ? ((ProfilingFeatureGenerator) featureGenerator).getGenerator() instanceof CachedFeatureGenerator
+        : featureGenerator instanceof CachedFeatureGenerator)
+      throw new InvalidFormatException("CachedFeatureGeneratorFactory cannot be specified manually." +
+        "Use cache=\"true\" attribute in featureGenerators element instead.");
+
+    // check cache usage
+    if (cache)
+      return new CachedFeatureGenerator(featureGenerator);
+    else
+      return featureGenerator;
+  }
+
   static Element getFirstChild(Element elem) {
     NodeList nodes = elem.getChildNodes();
     for (int i = 0; i < nodes.getLength(); i++) {
@@ -523,27 +518,9 @@ public class GeneratorFactory {
    */
   static AdaptiveFeatureGenerator buildGenerator(Element generatorElement,
              FeatureGeneratorResourceProvider resourceManager) throws InvalidFormatException {
-    String className = generatorElement.getAttribute("class");
-    if (className == null) {
-      throw new InvalidFormatException("generator must have class attribute");
-    }
-    else {
-      try {
-        Class factoryClass = Class.forName(className);
-        try {
-          Constructor constructor = factoryClass.getConstructor();
-          AbstractXmlFeatureGeneratorFactory factory =
-              (AbstractXmlFeatureGeneratorFactory)constructor.newInstance();
-          factory.init(generatorElement, resourceManager);
-          return factory.create();
-        } catch (NoSuchMethodException | InvocationTargetException | InstantiationException
-            | IllegalAccessException e) {
-          throw new RuntimeException(e);
-        }
-      } catch (ClassNotFoundException e) {
-        throw new RuntimeException(e);
-      }
-    }
+    GeneratorDescriptor descriptor = GeneratorDescriptor.parse(generatorElement);
+    return descriptor.newGenerator(resourceManager, new GeneratorDescriptor.Instantiation(null),
+        descriptor.getName());
   }
 
   private static org.w3c.dom.Document createDOM(InputStream xmlDescriptorIn)
@@ -590,6 +567,41 @@ public class GeneratorFactory {
     return createGenerator(generatorElement, resourceManager);
   }
 
+  /**
+   * Reads an XML descriptor into a {@link FeatureGeneratorTemplate} which creates the
+   * feature generators of the descriptor without reading it again.
+   *
+   * @param xmlDescriptorIn the {@link InputStream} from which the descriptor
+   *     is read, the stream remains open and must be closed by the caller.
+   *
+   * @param resourceManager the resource manager which is used to resolve resources
+   *     referenced by a key in the descriptor
+   *
+   * @return the template for the feature generators
+   *
+   * @throws IOException if an error occurs during reading from the descriptor
+   *     {@link InputStream}
+   */
+  public static FeatureGeneratorTemplate compile(InputStream xmlDescriptorIn,
+      FeatureGeneratorResourceProvider resourceManager) throws IOException {
+
+    org.w3c.dom.Document xmlDescriptorDOM = createDOM(xmlDescriptorIn);
+
+    Element generatorElement = xmlDescriptorDOM.getDocumentElement();
+
+    if (generatorElement.getTagName().equals("featureGenerators")) {
+      return compileFeatureGenerators(generatorElement, resourceManager);
+    }
+    else {
+      // The classic format is still supported, but only through the deprecated factories
+      // TODO: (OPENNLP-1174) just remove when back-compat is no longer needed
+      @SuppressWarnings("deprecation")
+      FeatureGeneratorTemplate template = new FeatureGeneratorTemplate(generatorElement,
+          resourceManager);
+      return template;
+    }
+  }
+
   public static Map<String, ArtifactSerializer<?>> extractArtifactSerializerMappings(
       InputStream xmlDescriptorIn) throws IOException {
 
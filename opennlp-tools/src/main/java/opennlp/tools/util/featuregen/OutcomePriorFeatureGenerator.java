@@ -30,4 +30,9 @@ public class OutcomePriorFeatureGenerator implements AdaptiveFeatureGenerator {
                              String[] previousOutcomes) {
     features.add(OUTCOME_PRIOR_FEATURE);
   }
+
+  @Override
+  public boolean isOutcomeIndependent() {
+    return true;
+  }
 }
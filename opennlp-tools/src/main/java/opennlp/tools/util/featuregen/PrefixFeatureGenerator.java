@@ -52,4 +52,9 @@ public class PrefixFeatureGenerator implements AdaptiveFeatureGenerator {
     }
     return prefs;
   }
+
+  @Override
+  public boolean isOutcomeIndependent() {
+    return true;
+  }
 }
@@ -0,0 +1,168 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package opennlp.tools.util.featuregen;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+import opennlp.tools.util.metrics.FeatureMetrics;
+
+/**
+ * Records the calls, the emitted features, the time and the estimated allocations
+ * of a wrapped {@link AdaptiveFeatureGenerator} in its {@link FeatureMetrics}.
+ * <p>
+ * The allocations only include the features the generator created itself. Features which
+ * were emitted by a nested profiled generator during the call are not counted, and neither
+ * are features which a cache like the {@link CachedFeatureGenerator} or the
+ * {@link FeatureTable} added again.
+ * <p>
+ * The overhead is two calls of {@link System#nanoTime()}, a few counter updates and
+ * an identity lookup per emitted feature per call of
+ * {@link #createFeatures(List, String[], int, String[])}.
+ */
+public class ProfilingFeatureGenerator implements AdaptiveFeatureGenerator {
+
+  /**
+   * Set once a generator is profiled, until then caches do not report reused features.
+   */
+  private static volatile boolean profiling;
+
+  private static final ThreadLocal<CallStack> CALLS = ThreadLocal.withInitial(CallStack::new);
+
+  private final AdaptiveFeatureGenerator generator;
+  private final FeatureMetrics metrics;
+
+  /**
+   * Initializes the current instance.
+   *
+   * @param generator the generator to profile
+   * @param metrics the metrics the generator is recorded in
+   */
+  public ProfilingFeatureGenerator(AdaptiveFeatureGenerator generator, FeatureMetrics metrics) {
+    this.generator = Objects.requireNonNull(generator, "generator must not be null");
+    this.metrics = Objects.requireNonNull(metrics, "metrics must not be null");
+    profiling = true;
+  }
+
+  @Override
+  public void createFeatures(List<String> features, String[] tokens, int index,
+      String[] previousOutcomes) {
+    CallStack calls = CALLS.get();
+    Set<String> notCreated = calls.push();
+
+    int start = features.size();
+
+    long startTime = System.nanoTime();
+    try {
+      generator.createFeatures(features, tokens, index, previousOutcomes);
+    } finally {
+      calls.pop();
+    }
+    long nanos = System.nanoTime() - startTime;
+
+    // the features of this call were not created by the calling profiled generator
+    Set<String> callerNotCreated = calls.top();
+
+    int end = features.size();
+    long allocatedBytes = 0;
+    for (int i = start; i < end; i++) {
+      String feature = features.get(i);
+      if (!notCreated.contains(feature)) {
+        allocatedBytes += FeatureMetrics.estimateAllocatedBytes(feature);
+      }
+      if (callerNotCreated != null) {
+        callerNotCreated.add(feature);
+      }
+    }
+
+    metrics.record(nanos, end - start, allocatedBytes);
+  }
+
+  /**
+   * Informs the running profiled call that features were added again instead of being
+   * created, e.g. by a cache. Without profiling only a volatile field is read.
+   *
+   * @param features the list which contains the reused features
+   * @param from the index of the first reused feature
+   * @param to the index after the last reused feature
+   */
+  static void reused(List<String> features, int from, int to) {
+    if (profiling) {
+      Set<String> notCreated = CALLS.get().top();
+      if (notCreated != null) {
+        for (int i = from; i < to; i++) {
+          notCreated.add(features.get(i));
+        }
+      }
+    }
+  }
+
+  @Override
+  public void updateAdaptiveData(String[] tokens, String[] outcomes) {
+    generator.updateAdaptiveData(tokens, outcomes);
+  }
+
+  @Override
+  public void clearAdaptiveData() {
+    generator.clearAdaptiveData();
+  }
+
+  @Override
+  public boolean isOutcomeIndependent() {
+    return generator.isOutcomeIndependent();
+  }
+
+  public AdaptiveFeatureGenerator getGenerator() {
+    return generator;
+  }
+
+  public FeatureMetrics getMetrics() {
+    return metrics;
+  }
+
+  /**
+   * The running profiled calls of a thread, every call has the identity set of the emitted
+   * features which it did not create. The sets are reused between calls.
+   */
+  private static final class CallStack {
+
+    private final List<Set<String>> levels = new ArrayList<>();
+    private int depth;
+
+    Set<String> push() {
+      if (depth == levels.size()) {
+        levels.add(Collections.newSetFromMap(new IdentityHashMap<>()));
+      }
+      Set<String> level = levels.get(depth++);
+      level.clear();
+      return level;
+    }
+
+    void pop() {
+      depth--;
+    }
+
+    Set<String> top() {
+      return depth > 0 ? levels.get(depth - 1) : null;
+    }
+  }
+}
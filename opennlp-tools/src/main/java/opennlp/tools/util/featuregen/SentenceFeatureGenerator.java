@@ -45,4 +45,8 @@ public class SentenceFeatureGenerator implements AdaptiveFeatureGenerator {
     }
   }
 
+  @Override
+  public boolean isOutcomeIndependent() {
+    return true;
+  }
 }
@@ -0,0 +1,83 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package opennlp.tools.util.featuregen;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Remembers the tokens of the sentence a feature generator currently holds per sentence
+ * data for. The generators are called for every token of a sentence, comparing all
+ * tokens on every call would be quadratic in the sentence length. If the array of the
+ * current sentence is passed again only the token at the given index is compared, all
+ * tokens are compared for the first token of a sentence and for other arrays. Callers
+ * may therefore refill one array for every sentence, as long as they start every
+ * sentence at the first token.
+ */
+class SentenceTokens {
+
+  private String[] array;
+  private String[] tokens = new String[0];
+  private int length = -1;
+
+  /**
+   * Remembers the given tokens if they differ from the current sentence.
+   *
+   * @param tokens the tokens of a sentence
+   * @param index the index of the token the caller creates features for
+   * @return {@code true} if the tokens are a new sentence
+   */
+  boolean update(String[] tokens, int index) {
+    if (tokens == array && tokens.length == length && index > 0
+        && Objects.equals(tokens[index], this.tokens[index])) {
+      return false;
+    }
+
+    array = tokens;
+
+    if (tokens.length == length
+        && Arrays.equals(this.tokens, 0, length, tokens, 0, tokens.length)) {
+      return false;
+    }
+
+    if (this.tokens.length < tokens.length) {
+      this.tokens = new String[tokens.length];
+    }
+    System.arraycopy(tokens, 0, this.tokens, 0, tokens.length);
+    length = tokens.length;
+    return true;
+  }
+
+  /**
+   * Retrieves the number of tokens of the current sentence.
+   *
+   * @return the number of tokens, or zero if there is no current sentence
+   */
+  int length() {
+    return Math.max(length, 0);
+  }
+
+  /**
+   * Forgets the current sentence.
+   */
+  void clear() {
+    Arrays.fill(tokens, null);
+    array = null;
+    length = -1;
+  }
+}
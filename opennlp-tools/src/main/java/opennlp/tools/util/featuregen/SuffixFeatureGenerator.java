@@ -52,5 +52,9 @@ public class SuffixFeatureGenerator implements AdaptiveFeatureGenerator {
     }
     return suffs;
   }
-  
+
+  @Override
+  public boolean isOutcomeIndependent() {
+    return true;
+  }
 }
@@ -49,4 +49,9 @@ public class TokenClassFeatureGenerator implements AdaptiveFeatureGenerator {
           "," + wordClass);
     }
   }
+
+  @Override
+  public boolean isOutcomeIndependent() {
+    return true;
+  }
 }
@@ -0,0 +1,62 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package opennlp.tools.util.featuregen;
+
+import java.util.Arrays;
+
+/**
+ * Holds the {@link FeatureGeneratorUtil#tokenFeature(String)} classes of the tokens
+ * of the current sentence, so generators which look at neighbour tokens
+ * classify every token only once per sentence.
+ * <p>
+ * The table belongs to one generator instance and is not thread safe.
+ */
+class TokenClassTable {
+
+  private final SentenceTokens sentence = new SentenceTokens();
+  private String[] tokens;
+  private String[] classes = new String[0];
+
+  /**
+   * Starts a new sentence if the given tokens differ from the current sentence.
+   * Must be called before the classes of the tokens are retrieved.
+   *
+   * @param tokens the tokens of the sentence
+   * @param index the index of the current token
+   */
+  void update(String[] tokens, int index) {
+    this.tokens = tokens;
+
+    if (sentence.update(tokens, index)) {
+      if (classes.length < tokens.length) {
+        classes = new String[tokens.length];
+      }
+      else {
+        Arrays.fill(classes, 0, tokens.length, null);
+      }
+    }
+  }
+
+  String tokenClass(int index) {
+    if (classes[index] == null) {
+      classes[index] = FeatureGeneratorUtil.tokenFeature(tokens[index]);
+    }
+
+    return classes[index];
+  }
+}
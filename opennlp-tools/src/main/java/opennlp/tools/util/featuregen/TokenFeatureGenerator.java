@@ -46,4 +46,9 @@ public class TokenFeatureGenerator implements AdaptiveFeatureGenerator {
       features.add(WORD_PREFIX + "=" + tokens[index]);
     }
   }
+
+  @Override
+  public boolean isOutcomeIndependent() {
+    return true;
+  }
 }
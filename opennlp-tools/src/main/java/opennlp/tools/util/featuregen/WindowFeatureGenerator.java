@@ -20,6 +20,7 @@ package opennlp.tools.util.featuregen;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 
 /**
  * Generates previous and next features for a given {@link AdaptiveFeatureGenerator}.
@@ -29,6 +30,9 @@ import java.util.List;
  * Current token is always included unchanged
  * Previous tokens are prefixed with p distance
  * Next tokens are prefix with n distance
+ *
+ * If the wrapped generator is outcome independent its features are computed once per
+ * sentence into a {@link FeatureTable} and are shared by all windows of the sentence.
  */
 public class WindowFeatureGenerator implements AdaptiveFeatureGenerator {
 
@@ -40,6 +44,14 @@ public class WindowFeatureGenerator implements AdaptiveFeatureGenerator {
   private final int prevWindowSize;
   private final int nextWindowSize;
 
+  private final FeatureTable featureTable;
+
+  /**
+   * Only the window which created the generator forwards the adaptive data to it,
+   * windows which share its feature table must not update the generator again.
+   */
+  private final boolean ownsGenerator;
+
   /**
    * Initializes the current instance with the given parameters.
    *
@@ -51,6 +63,26 @@ public class WindowFeatureGenerator implements AdaptiveFeatureGenerator {
     this.generator = generator;
     this.prevWindowSize = prevWindowSize;
     this.nextWindowSize = nextWindowSize;
+    this.featureTable = generator.isOutcomeIndependent() ? new FeatureTable(generator) : null;
+    this.ownsGenerator = true;
+  }
+
+  /**
+   * Initializes the current instance with the generator and the feature table of another
+   * window, both windows then compute the features of a sentence only once. The adaptive
+   * data is only forwarded to the generator by the other window.
+   *
+   * @param window an outcome independent window
+   * @param prevWindowSize Size of the window to the left of the current token.
+   * @param nextWindowSize Size of the window to the right of the current token.
+   */
+  WindowFeatureGenerator(WindowFeatureGenerator window, int prevWindowSize, int nextWindowSize) {
+    this.generator = window.generator;
+    this.prevWindowSize = prevWindowSize;
+    this.nextWindowSize = nextWindowSize;
+    this.featureTable = Objects.requireNonNull(window.featureTable,
+        "window must be outcome independent");
+    this.ownsGenerator = false;
   }
 
   /**
@@ -84,6 +116,11 @@ public class WindowFeatureGenerator implements AdaptiveFeatureGenerator {
   }
 
   public void createFeatures(List<String> features, String[] tokens, int index, String[] preds) {
+    if (featureTable != null) {
+      createFeaturesFromTable(features, tokens, index, preds);
+      return;
+    }
+
     // current features
     generator.createFeatures(features, tokens, index, preds);
 
@@ -110,12 +147,56 @@ public class WindowFeatureGenerator implements AdaptiveFeatureGenerator {
     }
   }
 
+  private void createFeaturesFromTable(List<String> features, String[] tokens, int index,
+      String[] preds) {
+    featureTable.precompute(tokens, index, preds);
+
+    featureTable.addFeatures(features, index);
+
+    for (int i = 1; i < prevWindowSize + 1 && index - i >= 0; i++) {
+      featureTable.addFeatures(features, PREV_PREFIX + i, index - i);
+    }
+
+    for (int i = 1; i < nextWindowSize + 1 && index + i < tokens.length; i++) {
+      featureTable.addFeatures(features, NEXT_PREFIX + i, index + i);
+    }
+  }
+
   public void updateAdaptiveData(String[] tokens, String[] outcomes) {
-    generator.updateAdaptiveData(tokens, outcomes);
+    if (ownsGenerator) {
+      generator.updateAdaptiveData(tokens, outcomes);
+    }
+
+    if (featureTable != null) {
+      featureTable.clear();
+    }
   }
 
   public void clearAdaptiveData() {
-    generator.clearAdaptiveData();
+    if (ownsGenerator) {
+      generator.clearAdaptiveData();
+    }
+
+    if (featureTable != null) {
+      featureTable.clear();
+    }
+  }
+
+  @Override
+  public boolean isOutcomeIndependent() {
+    return generator.isOutcomeIndependent();
+  }
+
+  FeatureTable getFeatureTable() {
+    return featureTable;
+  }
+
+  int getPrevWindowSize() {
+    return prevWindowSize;
+  }
+
+  int getNextWindowSize() {
+    return nextWindowSize;
   }
 
   @Override
@@ -17,23 +17,30 @@
 
 package opennlp.tools.util.featuregen;
 
+import java.io.BufferedInputStream;
 import java.io.BufferedReader;
-import java.io.BufferedWriter;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.OutputStream;
-import java.io.OutputStreamWriter;
-import java.io.Writer;
 import java.nio.charset.StandardCharsets;
-import java.util.HashMap;
-import java.util.Map;
 
 import opennlp.tools.util.model.ArtifactSerializer;
 import opennlp.tools.util.model.SerializableArtifact;
 
+/**
+ * A word cluster lexicon, e.g. word2vec or clark clusters.
+ * <p>
+ * The tokens are stored in a compact table which references each distinct cluster
+ * id only once. The lexicon is serialized in a compact binary format, both the
+ * binary and the text format can be read.
+ */
 public class WordClusterDictionary implements SerializableArtifact {
 
+  private static final int MAGIC = 0x0057434c;
+
   public static class WordClusterDictionarySerializer implements ArtifactSerializer<WordClusterDictionary> {
 
     public WordClusterDictionary create(InputStream in) throws IOException {
@@ -45,7 +52,7 @@ public class WordClusterDictionary implements SerializableArtifact {
     }
   }
 
-  private Map<String, String> tokenToClusterMap = new HashMap<>();
+  private final ClusterTable table = new ClusterTable();
 
   /**
    * Read word2vec and clark clustering style lexicons.
@@ -53,30 +60,49 @@ public class WordClusterDictionary implements SerializableArtifact {
    * @throws IOException the io exception
    */
   public WordClusterDictionary(InputStream in) throws IOException {
-    BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
-    String line;
-    while ((line = reader.readLine()) != null) {
-      String[] parts = line.split(" ");
-      if (parts.length == 3) {
-        tokenToClusterMap.put(parts[0], parts[1].intern());
-      } else if (parts.length == 2) {
-        tokenToClusterMap.put(parts[0], parts[1].intern());
+    BufferedInputStream bin = new BufferedInputStream(in);
+
+    if (ClusterTable.isCompactFormat(bin, MAGIC)) {
+      DataInputStream din = new DataInputStream(bin);
+      din.readInt();
+
+      int clusterCount = din.readInt();
+      for (int i = 0; i < clusterCount; i++) {
+        table.addCluster(din.readUTF());
       }
+      table.readTokens(din);
     }
+    else {
+      BufferedReader reader = new BufferedReader(new InputStreamReader(bin, StandardCharsets.UTF_8));
+      String line;
+      while ((line = reader.readLine()) != null) {
+        String[] parts = line.split(" ");
+        if (parts.length == 3) {
+          table.put(parts[0], parts[1]);
+        } else if (parts.length == 2) {
+          table.put(parts[0], parts[1]);
+        }
+      }
+    }
+
+    table.trim();
   }
 
   public String lookupToken(String string) {
-    return tokenToClusterMap.get(string);
+    return table.lookup(string);
   }
 
   public void serialize(OutputStream out) throws IOException {
-    Writer writer = new BufferedWriter(new OutputStreamWriter(out));
+    DataOutputStream dout = new DataOutputStream(out);
+    dout.writeInt(MAGIC);
 
-    for (Map.Entry<String, String> entry : tokenToClusterMap.entrySet()) {
-      writer.write(entry.getKey() + " " + entry.getValue() + "\n");
+    dout.writeInt(table.clusterCount());
+    for (int i = 0; i < table.clusterCount(); i++) {
+      dout.writeUTF(table.cluster(i));
     }
 
-    writer.flush();
+    table.writeTokens(dout);
+    dout.flush();
   }
 
   public Class<?> getArtifactSerializerClass() {
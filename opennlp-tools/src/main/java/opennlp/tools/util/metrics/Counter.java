@@ -0,0 +1,60 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package opennlp.tools.util.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A monotonic counter, e.g. of cache hits or of processed items.
+ * <p>
+ * Instances are thread safe, concurrent increments do not contend.
+ */
+public final class Counter {
+
+  private final LongAdder count = new LongAdder();
+
+  public void increment() {
+    count.increment();
+  }
+
+  /**
+   * @param n the amount to add, must not be negative
+   */
+  public void add(long n) {
+    if (n < 0) {
+      throw new IllegalArgumentException("n must not be negative: " + n);
+    }
+    count.add(n);
+  }
+
+  public long getCount() {
+    return count.sum();
+  }
+
+  /**
+   * Sets the counter to zero.
+   */
+  public void reset() {
+    count.reset();
+  }
+
+  @Override
+  public String toString() {
+    return Long.toString(getCount());
+  }
+}
@@ -0,0 +1,121 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package opennlp.tools.util.metrics;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * The {@link FeatureMetrics} of all feature generators of a model.
+ * <p>
+ * The generators are identified by a name, e.g. their position in the feature generator
+ * descriptor. All components which are created with the same profile record into it,
+ * therefore the metrics are aggregated over all threads which use the model.
+ * A profile can be published with {@link #export()}, every generator then has
+ * the metrics {@code <generator>.calls}, {@code .features}, {@code .nanos} and
+ * {@code .allocatedBytes}.
+ * <p>
+ * The time and the features of a generator include those of its nested generators,
+ * the allocations only the features it created itself.
+ * Instances are thread safe.
+ */
+public class FeatureGenerationProfile implements MetricSet, AutoCloseable {
+
+  private final String name;
+
+  private final Map<String, FeatureMetrics> generators = new LinkedHashMap<>();
+
+  /**
+   * Initializes an empty profile.
+   *
+   * @param name the name of the profile, e.g. the name of the model,
+   *     it is used as the name of the exported metric set
+   */
+  public FeatureGenerationProfile(String name) {
+    this.name = Objects.requireNonNull(name, "name must not be null");
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  /**
+   * Retrieves the metrics of a generator, they are created on the first call.
+   *
+   * @param generator the name of the generator
+   * @return the metrics of the generator
+   */
+  public synchronized FeatureMetrics getMetrics(String generator) {
+    return generators.computeIfAbsent(generator, key -> new FeatureMetrics());
+  }
+
+  /**
+   * @return the metrics by generator name, in the order in which the generators were added
+   */
+  public synchronized Map<String, FeatureMetrics> getGenerators() {
+    return Collections.unmodifiableMap(new LinkedHashMap<>(generators));
+  }
+
+  @Override
+  public Map<String, Number> getValues() {
+    Map<String, Number> values = new LinkedHashMap<>();
+    for (Map.Entry<String, FeatureMetrics> generator : getGenerators().entrySet()) {
+      FeatureMetrics metrics = generator.getValue();
+      values.put(generator.getKey() + ".calls", metrics.getCalls());
+      values.put(generator.getKey() + ".features", metrics.getFeatures());
+      values.put(generator.getKey() + ".nanos", metrics.getNanos());
+      values.put(generator.getKey() + ".allocatedBytes", metrics.getAllocatedBytes());
+    }
+    return values;
+  }
+
+  /**
+   * Sets the counters of all generators to zero.
+   */
+  public synchronized void reset() {
+    for (FeatureMetrics metrics : generators.values()) {
+      metrics.reset();
+    }
+  }
+
+  /**
+   * Publishes this profile with the default {@link MetricsExporter}.
+   */
+  public void export() {
+    MetricsExporters.getDefault().register(name, this);
+  }
+
+  /**
+   * Removes this profile from the default {@link MetricsExporter}.
+   */
+  @Override
+  public void close() {
+    MetricsExporters.getDefault().unregister(name);
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder string = new StringBuilder(name);
+    for (Map.Entry<String, FeatureMetrics> generator : getGenerators().entrySet()) {
+      string.append('\n').append(generator.getKey()).append(": ").append(generator.getValue());
+    }
+    return string.toString();
+  }
+}
@@ -0,0 +1,132 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package opennlp.tools.util.metrics;
+
+import java.util.Collection;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The counters of one feature generator: the number of calls, the number of emitted
+ * features, the time spent in the generator and an estimate of the allocated bytes.
+ * <p>
+ * The counters are {@link LongAdder}s, all threads which use generators of
+ * the same model can record into the same instance without contention.
+ */
+public final class FeatureMetrics {
+
+  /**
+   * The estimated size of a string without its characters, the string object
+   * and its byte array.
+   */
+  private static final int STRING_OVERHEAD = 40;
+
+  /**
+   * The estimated size of an array without its elements.
+   */
+  private static final int ARRAY_OVERHEAD = 16;
+
+  private final LongAdder calls = new LongAdder();
+  private final LongAdder features = new LongAdder();
+  private final LongAdder nanos = new LongAdder();
+  private final LongAdder allocatedBytes = new LongAdder();
+
+  /**
+   * Records one call of the generator.
+   *
+   * @param nanos the time spent in the generator
+   * @param features the number of emitted features
+   * @param allocatedBytes the estimated number of allocated bytes
+   */
+  public void record(long nanos, int features, long allocatedBytes) {
+    calls.increment();
+    this.features.add(features);
+    this.nanos.add(nanos);
+    this.allocatedBytes.add(allocatedBytes);
+  }
+
+  public long getCalls() {
+    return calls.sum();
+  }
+
+  public long getFeatures() {
+    return features.sum();
+  }
+
+  public long getNanos() {
+    return nanos.sum();
+  }
+
+  public long getAllocatedBytes() {
+    return allocatedBytes.sum();
+  }
+
+  /**
+   * Sets all counters to zero.
+   */
+  public void reset() {
+    calls.reset();
+    features.reset();
+    nanos.reset();
+    allocatedBytes.reset();
+  }
+
+  /**
+   * Estimates the bytes which were allocated for a feature, assuming the feature
+   * string was created by the generator and contains only Latin-1 characters.
+   *
+   * @param feature the feature
+   * @return the estimated size of the feature
+   */
+  public static long estimateAllocatedBytes(String feature) {
+    return STRING_OVERHEAD + feature.length();
+  }
+
+  /**
+   * Estimates the bytes which were allocated for the features and the array.
+   *
+   * @param features the features
+   * @return the estimated size of the features and the array
+   */
+  public static long estimateAllocatedBytes(String[] features) {
+    long bytes = ARRAY_OVERHEAD + (long) Integer.BYTES * features.length;
+    for (String feature : features) {
+      bytes += estimateAllocatedBytes(feature);
+    }
+    return bytes;
+  }
+
+  /**
+   * Estimates the bytes which were allocated for the features.
+   *
+   * @param features the features
+   * @return the estimated size of the features
+   */
+  public static long estimateAllocatedBytes(Collection<String> features) {
+    long bytes = 0;
+    for (String feature : features) {
+      bytes += estimateAllocatedBytes(feature);
+    }
+    return bytes;
+  }
+
+  @Override
+  public String toString() {
+    return "calls=" + getCalls() + ", features=" + getFeatures() + ", nanos=" + getNanos()
+        + ", allocatedBytes=" + getAllocatedBytes();
+  }
+}
@@ -0,0 +1,215 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package opennlp.tools.util.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A histogram of non-negative long values, e.g. latencies in nanoseconds, with a
+ * fixed relative precision in the style of an HDR histogram.
+ * <p>
+ * Values below {@code 128} are counted exactly. Larger values are counted in
+ * logarithmic buckets which are divided into {@code 64} linear sub buckets, the value at
+ * a percentile is therefore reported with a relative error of less than {@code 1/64}.
+ * The histogram covers the whole long range in a fixed number of buckets, recording
+ * a value does not allocate.
+ * <p>
+ * Instances are thread safe. The buckets are striped by thread, threads which record
+ * into different stripes neither contend nor share cache lines, the stripes are created
+ * when a thread first records into them and are merged when the histogram is read.
+ * Values which are recorded while the histogram is read might only be partially
+ * reflected in the returned statistics.
+ */
+public final class Histogram {
+
+  /**
+   * The number of bits of the sub bucket index.
+   */
+  private static final int SUB_BUCKET_BITS = 6;
+
+  private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+
+  /**
+   * Values below this limit are counted in a bucket of their own.
+   */
+  private static final int LINEAR_LIMIT = 2 * SUB_BUCKET_COUNT;
+
+  private static final int BUCKET_COUNT =
+      LINEAR_LIMIT + (Long.SIZE - 1 - SUB_BUCKET_BITS - 1) * SUB_BUCKET_COUNT;
+
+  /**
+   * The number of stripes, a power of two.
+   */
+  private static final int STRIPE_COUNT = Math.min(16,
+      Integer.highestOneBit(Runtime.getRuntime().availableProcessors() * 2 - 1));
+
+  private final AtomicReferenceArray<AtomicLongArray> stripes =
+      new AtomicReferenceArray<>(STRIPE_COUNT);
+  private final LongAdder count = new LongAdder();
+  private final LongAdder sum = new LongAdder();
+  private final LongAccumulator min = new LongAccumulator(Math::min, Long.MAX_VALUE);
+  private final LongAccumulator max = new LongAccumulator(Math::max, Long.MIN_VALUE);
+
+  static int bucketIndex(long value) {
+    if (value < LINEAR_LIMIT) {
+      return (int) value;
+    }
+
+    // keep the highest SUB_BUCKET_BITS + 1 bits, the highest bit is always set
+    int shift = Long.SIZE - 1 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+    int subBucket = (int) (value >>> shift) - SUB_BUCKET_COUNT;
+    return LINEAR_LIMIT + (shift - 1) * SUB_BUCKET_COUNT + subBucket;
+  }
+
+  /**
+   * @return the largest value which is counted in the bucket
+   */
+  static long highestValue(int bucketIndex) {
+    if (bucketIndex < LINEAR_LIMIT) {
+      return bucketIndex;
+    }
+
+    int shift = (bucketIndex - LINEAR_LIMIT) / SUB_BUCKET_COUNT + 1;
+    long subBucket = (bucketIndex - LINEAR_LIMIT) % SUB_BUCKET_COUNT + SUB_BUCKET_COUNT;
+    return ((subBucket + 1) << shift) - 1;
+  }
+
+  /**
+   * Records a value.
+   *
+   * @param value the value, must not be negative
+   */
+  public void record(long value) {
+    if (value < 0) {
+      throw new IllegalArgumentException("value must not be negative: " + value);
+    }
+
+    stripe().incrementAndGet(bucketIndex(value));
+    count.increment();
+    sum.add(value);
+    min.accumulate(value);
+    max.accumulate(value);
+  }
+
+  private AtomicLongArray stripe() {
+    int index = (int) Thread.currentThread().getId() & (STRIPE_COUNT - 1);
+
+    AtomicLongArray stripe = stripes.get(index);
+    if (stripe == null) {
+      stripes.compareAndSet(index, null, new AtomicLongArray(BUCKET_COUNT));
+      stripe = stripes.get(index);
+    }
+    return stripe;
+  }
+
+  public long getCount() {
+    return count.sum();
+  }
+
+  /**
+   * @return the smallest recorded value or zero if no value was recorded
+   */
+  public long getMin() {
+    long value = min.get();
+    return value == Long.MAX_VALUE ? 0 : value;
+  }
+
+  /**
+   * @return the largest recorded value or zero if no value was recorded
+   */
+  public long getMax() {
+    long value = max.get();
+    return value == Long.MIN_VALUE ? 0 : value;
+  }
+
+  /**
+   * @return the mean of the recorded values or zero if no value was recorded
+   */
+  public double getMean() {
+    long n = count.sum();
+    return n == 0 ? 0 : (double) sum.sum() / n;
+  }
+
+  /**
+   * Retrieves the value at a percentile, the largest value which is counted in the same
+   * bucket as the value at the percentile, but not more than the largest recorded value.
+   *
+   * @param percentile the percentile, between {@code 0} and {@code 100}
+   * @return the value at the percentile or zero if no value was recorded
+   */
+  public long getValueAtPercentile(double percentile) {
+    if (percentile < 0 || percentile > 100) {
+      throw new IllegalArgumentException("percentile must be between 0 and 100: " + percentile);
+    }
+
+    long[] counts = new long[BUCKET_COUNT];
+    long total = 0;
+    for (int si = 0; si < STRIPE_COUNT; si++) {
+      AtomicLongArray stripe = stripes.get(si);
+      if (stripe != null) {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+          long bucketCount = stripe.get(i);
+          counts[i] += bucketCount;
+          total += bucketCount;
+        }
+      }
+    }
+
+    if (total == 0) {
+      return 0;
+    }
+
+    long rank = Math.max(1, (long) Math.ceil(percentile / 100 * total));
+    long seen = 0;
+    for (int i = 0; i < BUCKET_COUNT; i++) {
+      seen += counts[i];
+      if (seen >= rank) {
+        return Math.min(highestValue(i), getMax());
+      }
+    }
+
+    return getMax();
+  }
+
+  /**
+   * Removes all recorded values.
+   */
+  public void reset() {
+    for (int si = 0; si < STRIPE_COUNT; si++) {
+      AtomicLongArray stripe = stripes.get(si);
+      if (stripe != null) {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+          stripe.set(i, 0);
+        }
+      }
+    }
+    count.reset();
+    sum.reset();
+    min.reset();
+    max.reset();
+  }
+
+  @Override
+  public String toString() {
+    return "count=" + getCount() + ", mean=" + getMean() + ", p50=" + getValueAtPercentile(50)
+        + ", p99=" + getValueAtPercentile(99) + ", max=" + getMax();
+  }
+}
@@ -0,0 +1,156 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package opennlp.tools.util.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import javax.management.Attribute;
+import javax.management.AttributeList;
+import javax.management.AttributeNotFoundException;
+import javax.management.DynamicMBean;
+import javax.management.InstanceNotFoundException;
+import javax.management.JMException;
+import javax.management.MBeanAttributeInfo;
+import javax.management.MBeanInfo;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.ReflectionException;
+
+/**
+ * A {@link MetricsExporter} which registers every {@link MetricSet} as a read only MBean
+ * with the platform MBean server, the default exporter.
+ * <p>
+ * The MBeans are named {@code opennlp:type=Metrics,name="<name>"} and have one attribute
+ * per metric. The values are read from the set whenever an attribute is read.
+ */
+public class JmxMetricsExporter implements MetricsExporter {
+
+  public static final String DOMAIN = "opennlp";
+
+  private final MBeanServer server;
+
+  /**
+   * Initializes the exporter with the platform MBean server.
+   */
+  public JmxMetricsExporter() {
+    this(ManagementFactory.getPlatformMBeanServer());
+  }
+
+  public JmxMetricsExporter(MBeanServer server) {
+    this.server = server;
+  }
+
+  /**
+   * @param name the name of a metric set
+   * @return the name of the MBean of the metric set
+   */
+  public static ObjectName getObjectName(String name) {
+    try {
+      return new ObjectName(DOMAIN + ":type=Metrics,name=" + ObjectName.quote(name));
+    } catch (JMException e) {
+      throw new IllegalArgumentException("Invalid metric set name: " + name, e);
+    }
+  }
+
+  @Override
+  public synchronized void register(String name, MetricSet metrics) {
+    ObjectName objectName = getObjectName(name);
+    try {
+      if (server.isRegistered(objectName)) {
+        server.unregisterMBean(objectName);
+      }
+      server.registerMBean(new MetricSetMBean(metrics), objectName);
+    } catch (JMException e) {
+      throw new IllegalStateException("Failed to register the metric set " + name, e);
+    }
+  }
+
+  @Override
+  public synchronized void unregister(String name) {
+    try {
+      server.unregisterMBean(getObjectName(name));
+    } catch (InstanceNotFoundException e) {
+      // the set was not registered
+    } catch (JMException e) {
+      throw new IllegalStateException("Failed to unregister the metric set " + name, e);
+    }
+  }
+
+  private static class MetricSetMBean implements DynamicMBean {
+
+    private final MetricSet metrics;
+
+    MetricSetMBean(MetricSet metrics) {
+      this.metrics = metrics;
+    }
+
+    @Override
+    public Object getAttribute(String attribute) throws AttributeNotFoundException {
+      Number value = metrics.getValues().get(attribute);
+      if (value == null) {
+        throw new AttributeNotFoundException(attribute);
+      }
+      return value;
+    }
+
+    @Override
+    public void setAttribute(Attribute attribute) throws AttributeNotFoundException {
+      throw new AttributeNotFoundException("Metrics are read only: " + attribute.getName());
+    }
+
+    @Override
+    public AttributeList getAttributes(String[] attributes) {
+      Map<String, Number> values = metrics.getValues();
+      AttributeList list = new AttributeList();
+      for (String attribute : attributes) {
+        Number value = values.get(attribute);
+        if (value != null) {
+          list.add(new Attribute(attribute, value));
+        }
+      }
+      return list;
+    }
+
+    @Override
+    public AttributeList setAttributes(AttributeList attributes) {
+      return new AttributeList();
+    }
+
+    @Override
+    public Object invoke(String actionName, Object[] params, String[] signature)
+        throws ReflectionException {
+      // metrics do not have operations
+      throw new ReflectionException(new NoSuchMethodException(actionName));
+    }
+
+    @Override
+    public MBeanInfo getMBeanInfo() {
+      // The metrics of a set can grow, e.g. when a new generator is profiled
+      List<MBeanAttributeInfo> attributes = new ArrayList<>();
+      for (Map.Entry<String, Number> value : metrics.getValues().entrySet()) {
+        attributes.add(new MBeanAttributeInfo(value.getKey(), value.getValue().getClass().getName(),
+            value.getKey(), true, false, false));
+      }
+
+      return new MBeanInfo(getClass().getName(), "OpenNLP metrics",
+          attributes.toArray(new MBeanAttributeInfo[0]), null, null, null);
+    }
+  }
+}
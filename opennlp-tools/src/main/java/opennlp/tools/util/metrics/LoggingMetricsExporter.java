@@ -0,0 +1,120 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package opennlp.tools.util.metrics;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A {@link MetricsExporter} which periodically writes the values of every registered
+ * {@link MetricSet} to a {@link Logger}, one record per set.
+ * <p>
+ * The exporter can be selected as default exporter with the system property
+ * {@link MetricsExporters#EXPORTER_PROPERTY}, then it reports every minute to the logger
+ * {@code opennlp.tools.util.metrics}.
+ */
+public class LoggingMetricsExporter implements MetricsExporter, AutoCloseable {
+
+  public static final String LOGGER_NAME = "opennlp.tools.util.metrics";
+
+  private final Logger logger;
+  private final Level level;
+  private final ConcurrentMap<String, MetricSet> metricSets = new ConcurrentHashMap<>();
+  private final ScheduledExecutorService scheduler;
+
+  /**
+   * Initializes the exporter, it reports every minute at level {@link Level#INFO}.
+   */
+  public LoggingMetricsExporter() {
+    this(Logger.getLogger(LOGGER_NAME), Level.INFO, 1, TimeUnit.MINUTES);
+  }
+
+  /**
+   * Initializes the exporter.
+   *
+   * @param logger the logger which receives the values
+   * @param level the level of the records
+   * @param period the period between two reports, if it is zero the values are
+   *     only written when {@link #report()} is called
+   * @param unit the unit of the period
+   */
+  public LoggingMetricsExporter(Logger logger, Level level, long period, TimeUnit unit) {
+    if (period < 0) {
+      throw new IllegalArgumentException("period must not be negative: " + period);
+    }
+
+    this.logger = logger;
+    this.level = level;
+
+    if (period > 0) {
+      scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable);
+        thread.setName("opennlp.tools.util.metrics.LoggingMetricsExporter");
+        thread.setDaemon(true);
+        return thread;
+      });
+      scheduler.scheduleAtFixedRate(this::report, period, period, unit);
+    }
+    else {
+      scheduler = null;
+    }
+  }
+
+  @Override
+  public void register(String name, MetricSet metrics) {
+    metricSets.put(name, metrics);
+  }
+
+  @Override
+  public void unregister(String name) {
+    metricSets.remove(name);
+  }
+
+  /**
+   * Writes the current values of all registered sets.
+   */
+  public void report() {
+    if (!logger.isLoggable(level)) {
+      return;
+    }
+
+    for (Map.Entry<String, MetricSet> metricSet : metricSets.entrySet()) {
+      StringBuilder message = new StringBuilder(metricSet.getKey()).append(':');
+      for (Map.Entry<String, Number> value : metricSet.getValue().getValues().entrySet()) {
+        message.append(' ').append(value.getKey()).append('=').append(value.getValue());
+      }
+      logger.log(level, message.toString());
+    }
+  }
+
+  /**
+   * Stops the periodic reports.
+   */
+  @Override
+  public void close() {
+    if (scheduler != null) {
+      scheduler.shutdownNow();
+    }
+  }
+}
@@ -0,0 +1,138 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package opennlp.tools.util.metrics;
+
+/**
+ * The entry point of the pipeline instrumentation: the components record the latency of
+ * their stages and count events in the {@link MetricsRegistry} returned by
+ * {@link #getRegistry()}.
+ * <p>
+ * The instrumentation is disabled by default, then a stage only reads the enabled flag
+ * and does not read the clock or touch the registry. It is enabled with the system property
+ * {@link #ENABLED_PROPERTY} or with {@link #setEnabled(boolean)}.
+ * <p>
+ * A stage is timed like this, the latencies are recorded in nanoseconds:
+ * <pre>
+ * long start = Metrics.startTimer();
+ * try {
+ *   // the work of the stage
+ * } finally {
+ *   Metrics.stopTimer("POSTaggerME.tag", start);
+ * }
+ * </pre>
+ * The names of the metrics are {@code <class>.<stage>}, e.g. {@code BeamSearch.eval}.
+ * The registry can be exported with {@link #export()}, e.g. to JMX or to a log,
+ * see {@link MetricsExporters}.
+ */
+public final class Metrics {
+
+  /**
+   * The system property which enables the instrumentation when it is {@code true}.
+   */
+  public static final String ENABLED_PROPERTY = "opennlp.metrics.enabled";
+
+  /**
+   * The name under which the registry is exported.
+   */
+  public static final String REGISTRY_NAME = "pipeline";
+
+  /**
+   * The start time returned by {@link #startTimer()} when the instrumentation is disabled.
+   */
+  public static final long NOT_STARTED = Long.MIN_VALUE;
+
+  private static final MetricsRegistry registry = new MetricsRegistry();
+
+  private static volatile boolean enabled = Boolean.getBoolean(ENABLED_PROPERTY);
+
+  private Metrics() {
+  }
+
+  public static boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * Enables or disables the instrumentation, the recorded metrics are kept.
+   *
+   * @param enabled true to enable the instrumentation
+   */
+  public static void setEnabled(boolean enabled) {
+    Metrics.enabled = enabled;
+  }
+
+  /**
+   * @return the registry all components record in
+   */
+  public static MetricsRegistry getRegistry() {
+    return registry;
+  }
+
+  /**
+   * Starts timing a stage.
+   *
+   * @return the current time in nanoseconds or {@link #NOT_STARTED} if the
+   *     instrumentation is disabled
+   */
+  public static long startTimer() {
+    return enabled ? System.nanoTime() : NOT_STARTED;
+  }
+
+  /**
+   * Records the latency of a stage in the histogram with the given name.
+   *
+   * @param name the name of the histogram
+   * @param start the value returned by {@link #startTimer()}, nothing is recorded
+   *     if it is {@link #NOT_STARTED}
+   */
+  public static void stopTimer(String name, long start) {
+    if (start != NOT_STARTED) {
+      registry.histogram(name).record(Math.max(0, System.nanoTime() - start));
+    }
+  }
+
+  /**
+   * Increments the counter with the given name if the instrumentation is enabled.
+   *
+   * @param name the name of the counter
+   */
+  public static void increment(String name) {
+    if (enabled) {
+      registry.counter(name).increment();
+    }
+  }
+
+  /**
+   * Adds to the counter with the given name if the instrumentation is enabled.
+   *
+   * @param name the name of the counter
+   * @param n the amount to add
+   */
+  public static void add(String name, long n) {
+    if (enabled) {
+      registry.counter(name).add(n);
+    }
+  }
+
+  /**
+   * Registers the registry under {@link #REGISTRY_NAME} with the default exporter.
+   */
+  public static void export() {
+    MetricsExporters.getDefault().register(REGISTRY_NAME, registry);
+  }
+}
@@ -0,0 +1,43 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package opennlp.tools.util.metrics;
+
+/**
+ * Publishes {@link MetricSet}s to a monitoring system.
+ * <p>
+ * The exporter which is used by default is configured with the system property
+ * {@link MetricsExporters#EXPORTER_PROPERTY}, see {@link MetricsExporters#getDefault()}.
+ * Implementations must be thread safe.
+ */
+public interface MetricsExporter {
+
+  /**
+   * Publishes a metric set, a set which was registered under the same name before is replaced.
+   *
+   * @param name the name of the set
+   * @param metrics the metrics
+   */
+  void register(String name, MetricSet metrics);
+
+  /**
+   * Removes a metric set, unknown names are ignored.
+   *
+   * @param name the name of the set
+   */
+  void unregister(String name);
+}
@@ -0,0 +1,76 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package opennlp.tools.util.metrics;
+
+import java.util.Objects;
+
+import opennlp.tools.util.ext.ExtensionLoader;
+
+/**
+ * Provides the default {@link MetricsExporter}.
+ */
+public final class MetricsExporters {
+
+  /**
+   * The system property which contains the class name of the default exporter.
+   */
+  public static final String EXPORTER_PROPERTY = "opennlp.metrics.exporter";
+
+  private static volatile MetricsExporter defaultExporter;
+
+  private MetricsExporters() {
+  }
+
+  /**
+   * Retrieves the default exporter, it is created on the first call. If the system property
+   * {@link #EXPORTER_PROPERTY} is set, the exporter is loaded with the {@link ExtensionLoader},
+   * otherwise a {@link JmxMetricsExporter} is used.
+   *
+   * @return the default exporter
+   */
+  public static MetricsExporter getDefault() {
+    MetricsExporter exporter = defaultExporter;
+    if (exporter == null) {
+      synchronized (MetricsExporters.class) {
+        exporter = defaultExporter;
+        if (exporter == null) {
+          String exporterClassName = System.getProperty(EXPORTER_PROPERTY);
+          if (exporterClassName != null) {
+            exporter = ExtensionLoader.instantiateExtension(MetricsExporter.class, exporterClassName);
+          }
+          else {
+            exporter = new JmxMetricsExporter();
+          }
+          defaultExporter = exporter;
+        }
+      }
+    }
+    return exporter;
+  }
+
+  /**
+   * Replaces the default exporter.
+   *
+   * @param exporter the new default exporter
+   */
+  public static void setDefault(MetricsExporter exporter) {
+    synchronized (MetricsExporters.class) {
+      defaultExporter = Objects.requireNonNull(exporter, "exporter must not be null");
+    }
+  }
+}
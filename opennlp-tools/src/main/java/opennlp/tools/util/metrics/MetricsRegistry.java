@@ -0,0 +1,117 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package opennlp.tools.util.metrics;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * A set of named {@link Counter}s and {@link Histogram}s, a metric is created when it
+ * is retrieved the first time.
+ * <p>
+ * The values of a counter are exported as {@code <name>}, the values of a histogram as
+ * {@code <name>.count}, {@code <name>.mean}, {@code <name>.max}, {@code <name>.p50},
+ * {@code <name>.p90}, {@code <name>.p99} and {@code <name>.p999}.
+ * <p>
+ * Instances are thread safe.
+ */
+public class MetricsRegistry implements MetricSet {
+
+  private final ConcurrentMap<String, Counter> counters = new ConcurrentHashMap<>();
+  private final ConcurrentMap<String, Histogram> histograms = new ConcurrentHashMap<>();
+
+  /**
+   * Retrieves a counter, it is created if it does not exist.
+   *
+   * @param name the name of the counter
+   * @return the counter
+   */
+  public Counter counter(String name) {
+    Counter counter = counters.get(name);
+    if (counter == null) {
+      counter = counters.computeIfAbsent(name, n -> new Counter());
+    }
+    return counter;
+  }
+
+  /**
+   * Retrieves a histogram, it is created if it does not exist.
+   *
+   * @param name the name of the histogram
+   * @return the histogram
+   */
+  public Histogram histogram(String name) {
+    Histogram histogram = histograms.get(name);
+    if (histogram == null) {
+      histogram = histograms.computeIfAbsent(name, n -> new Histogram());
+    }
+    return histogram;
+  }
+
+  /**
+   * @return a snapshot of the counters, sorted by name
+   */
+  public SortedMap<String, Counter> getCounters() {
+    return Collections.unmodifiableSortedMap(new TreeMap<>(counters));
+  }
+
+  /**
+   * @return a snapshot of the histograms, sorted by name
+   */
+  public SortedMap<String, Histogram> getHistograms() {
+    return Collections.unmodifiableSortedMap(new TreeMap<>(histograms));
+  }
+
+  @Override
+  public Map<String, Number> getValues() {
+    Map<String, Number> values = new LinkedHashMap<>();
+    for (Map.Entry<String, Counter> counter : getCounters().entrySet()) {
+      values.put(counter.getKey(), counter.getValue().getCount());
+    }
+    for (Map.Entry<String, Histogram> entry : getHistograms().entrySet()) {
+      String name = entry.getKey();
+      Histogram histogram = entry.getValue();
+      values.put(name + ".count", histogram.getCount());
+      values.put(name + ".mean", histogram.getMean());
+      values.put(name + ".max", histogram.getMax());
+      values.put(name + ".p50", histogram.getValueAtPercentile(50));
+      values.put(name + ".p90", histogram.getValueAtPercentile(90));
+      values.put(name + ".p99", histogram.getValueAtPercentile(99));
+      values.put(name + ".p999", histogram.getValueAtPercentile(99.9));
+    }
+    return values;
+  }
+
+  /**
+   * Resets all metrics, the metrics stay registered.
+   */
+  public void reset() {
+    counters.values().forEach(Counter::reset);
+    histograms.values().forEach(Histogram::reset);
+  }
+
+  @Override
+  public String toString() {
+    return getValues().toString();
+  }
+}
@@ -43,6 +43,7 @@ import opennlp.tools.util.BaseToolFactory;
 import opennlp.tools.util.InvalidFormatException;
 import opennlp.tools.util.Version;
 import opennlp.tools.util.ext.ExtensionLoader;
+import opennlp.tools.util.metrics.Metrics;
 
 /**
  * This model is a common based which can be used by the components
@@ -66,6 +67,12 @@ public abstract class BaseModel implements ArtifactProvider, Serializable {
   public static final String TRAINING_ITERATIONS_PROPERTY = "Training-Iterations";
   public static final String TRAINING_EVENTHASH_PROPERTY = "Training-Eventhash";
 
+  /**
+   * The format the machine learning models of the package are written in,
+   * {@link GenericModelSerializer#BULK_FORMAT} or absent for the default format.
+   */
+  public static final String MODEL_FORMAT_PROPERTY = "Model-Format";
+
   private static String SERIALIZER_CLASS_NAME_PREFIX = "serializer-class-";
 
   private Map<String, ArtifactSerializer> artifactSerializers = new HashMap<>();
@@ -193,6 +200,18 @@ public abstract class BaseModel implements ArtifactProvider, Serializable {
   }
 
   private void loadModel(InputStream in) throws IOException {
+    long start = Metrics.startTimer();
+    try {
+      readModel(in);
+    } finally {
+      // the metric name is only built when the metrics are enabled
+      if (start != Metrics.NOT_STARTED) {
+        Metrics.stopTimer(getClass().getSimpleName() + ".load", start);
+      }
+    }
+  }
+
+  private void readModel(InputStream in) throws IOException {
 
     Objects.requireNonNull(in, "in must not be null");
 
@@ -515,6 +534,34 @@ public abstract class BaseModel implements ArtifactProvider, Serializable {
     manifest.setProperty(key, value);
   }
 
+  /**
+   * Sets the format the machine learning models are written in when this model
+   * is serialized. The format is stored in the manifest, and it is also set on
+   * the models which are contained in this model, like the tagger of a parser.
+   *
+   * @param modelFormat {@link GenericModelSerializer#BULK_FORMAT} or null for the default format
+   * @throws IllegalArgumentException if the format is unknown
+   */
+  public final void setModelFormat(String modelFormat) {
+    if (modelFormat != null && !GenericModelSerializer.BULK_FORMAT.equals(modelFormat)) {
+      throw new IllegalArgumentException("Unknown model format: " + modelFormat);
+    }
+
+    Properties manifest = (Properties) artifactMap.get(MANIFEST_ENTRY);
+    if (modelFormat != null) {
+      manifest.setProperty(MODEL_FORMAT_PROPERTY, modelFormat);
+    }
+    else {
+      manifest.remove(MODEL_FORMAT_PROPERTY);
+    }
+
+    for (Object artifact : artifactMap.values()) {
+      if (artifact instanceof BaseModel) {
+        ((BaseModel) artifact).setModelFormat(modelFormat);
+      }
+    }
+  }
+
   /**
    * Retrieves the language code of the material which
    * was used to train the model or x-unspecified if
@@ -591,6 +638,11 @@ public abstract class BaseModel implements ArtifactProvider, Serializable {
         throw new IllegalStateException("Missing serializer for " + name);
       }
 
+      if (serializer instanceof GenericModelSerializer
+          && GenericModelSerializer.BULK_FORMAT.equals(getManifestProperty(MODEL_FORMAT_PROPERTY))) {
+        serializer = new GenericModelSerializer(true);
+      }
+
       serializer.serialize(artifactMap.get(name), zip);
 
       zip.closeEntry();
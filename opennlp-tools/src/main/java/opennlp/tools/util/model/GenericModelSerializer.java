@@ -17,23 +17,65 @@
 
 package opennlp.tools.util.model;
 
+import java.io.BufferedInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.channels.Channels;
 import java.util.Map;
 
 import opennlp.tools.ml.model.AbstractModel;
 import opennlp.tools.ml.model.BinaryFileDataReader;
+import opennlp.tools.ml.model.BulkModelWriter;
 import opennlp.tools.ml.model.GenericModelReader;
 
 public class GenericModelSerializer implements ArtifactSerializer<AbstractModel> {
 
+  /**
+   * The value of the {@link BaseModel#MODEL_FORMAT_PROPERTY} for models which are
+   * written with the {@link BulkModelWriter}.
+   */
+  public static final String BULK_FORMAT = "Bulk";
+
+  private static final int BUFFER_SIZE = 64 * 1024;
+
+  private final boolean bulk;
+
+  public GenericModelSerializer() {
+    this(false);
+  }
+
+  /**
+   * @param bulk true if models are written with the {@link BulkModelWriter}
+   */
+  public GenericModelSerializer(boolean bulk) {
+    this.bulk = bulk;
+  }
+
   public AbstractModel create(InputStream in) throws IOException {
-    return new GenericModelReader(new BinaryFileDataReader(in)).getModel();
+    // the model is the whole package entry, therefore the stream can be read ahead
+    return new GenericModelReader(new BinaryFileDataReader(
+        new BufferedInputStream(in, BUFFER_SIZE))).getModel();
   }
 
   public void serialize(AbstractModel artifact, OutputStream out) throws IOException {
-    ModelUtil.writeModel(artifact, out);
+    if (bulk) {
+      // the writer closes its channel, but the stream belongs to the caller
+      new BulkModelWriter(artifact, Channels.newChannel(new OutputStream() {
+        @Override
+        public void write(int b) throws IOException {
+          out.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+          out.write(b, off, len);
+        }
+      })).persist();
+    }
+    else {
+      ModelUtil.writeModel(artifact, out);
+    }
   }
 
   public static void register(Map<String, ArtifactSerializer> factories) {
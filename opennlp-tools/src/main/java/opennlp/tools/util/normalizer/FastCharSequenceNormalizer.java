@@ -0,0 +1,506 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package opennlp.tools.util.normalizer;
+
+/**
+ * A normalizer which produces the same output as an {@link AggregateCharSequenceNormalizer}
+ * of the {@link EmojiCharSequenceNormalizer}, {@link UrlCharSequenceNormalizer},
+ * {@link TwitterCharSequenceNormalizer}, {@link NumberCharSequenceNormalizer} and
+ * {@link ShrinkCharSequenceNormalizer}, in this order.
+ * <p>
+ * Instead of regular expressions every normalization is a hand-written scan which
+ * copies the text between two reusable per thread char buffers, only the final result
+ * is converted to a {@link String}. The normalizations stay separate scans, since
+ * every regular expression of the chain matches on the output of the previous one.
+ */
+public class FastCharSequenceNormalizer implements CharSequenceNormalizer {
+
+  private static final long serialVersionUID = 1L;
+
+  private static final FastCharSequenceNormalizer INSTANCE = new FastCharSequenceNormalizer();
+
+  private static final ThreadLocal<char[][]> BUFFERS =
+      ThreadLocal.withInitial(() -> new char[][] {new char[256], new char[256]});
+
+  public static FastCharSequenceNormalizer getInstance() {
+    return INSTANCE;
+  }
+
+  public CharSequence normalize(CharSequence text) {
+    int length = text.length();
+
+    char[][] buffers = BUFFERS.get();
+    if (buffers[0].length < length) {
+      buffers[0] = new char[length];
+      buffers[1] = new char[length];
+    }
+
+    char[] a = buffers[0];
+    char[] b = buffers[1];
+
+    for (int i = 0; i < length; i++) {
+      a[i] = text.charAt(i);
+    }
+
+    // every pass copies the text to the other buffer, no pass makes the text longer
+    length = replaceEmojis(a, length, b);
+    length = replaceUrls(b, length, a);
+    length = replaceMails(a, length, b);
+    length = replaceHashTagsAndUsers(b, length, a);
+    length = replaceRetweets(a, length, b);
+    length = replaceFaces(b, length, a);
+    length = shrinkLaughs(a, length, b);
+    length = replaceNumbers(b, length, a);
+    length = shrinkSpaces(a, length, b);
+    length = shrinkRepeatedChars(b, length, a);
+    length = trim(a, length, b);
+
+    return new String(b, 0, length);
+  }
+
+  /**
+   * The code points matched by the emoji regex of the {@link EmojiCharSequenceNormalizer}.
+   * In the regex the escaped surrogates DBFF and DC00 form one supplementary code point,
+   * so the class covers all code points from U+D83C to U+10FC00, and the hyphen.
+   */
+  private static boolean isEmoji(int cp) {
+    return cp == '-' || (cp >= 0xD83C && cp <= 0x10FC00);
+  }
+
+  private static boolean isLetterOrDigit(char c) {
+    return (c >= '0' && c <= '9') || (c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z');
+  }
+
+  /**
+   * Whitespace as defined by \s in a regex.
+   */
+  private static boolean isSpace(char c) {
+    return c == ' ' || c == '\t' || c == '\n' || c == 0x0B || c == '\f' || c == '\r';
+  }
+
+  private static char toLower(char c) {
+    return c >= 'A' && c <= 'Z' ? (char) (c + 0x20) : c;
+  }
+
+  /**
+   * Replaces runs of emoji code points with a space.
+   */
+  private static int replaceEmojis(char[] in, int length, char[] out) {
+    int o = 0;
+    int i = 0;
+    while (i < length) {
+      int cp = Character.codePointAt(in, i, length);
+      if (isEmoji(cp)) {
+        do {
+          i += Character.charCount(cp);
+        } while (i < length && isEmoji(cp = Character.codePointAt(in, i, length)));
+        out[o++] = ' ';
+      }
+      else {
+        // a start is never inside a surrogate pair
+        int count = Character.charCount(cp);
+        System.arraycopy(in, i, out, o, count);
+        o += count;
+        i += count;
+      }
+    }
+    return o;
+  }
+
+  private static boolean isUrlChar(char c) {
+    return isLetterOrDigit(c) || "-_.?&~;+=/#".indexOf(c) != -1;
+  }
+
+  /**
+   * Replaces https?://[-_.?&~;+=/#0-9A-Za-z]+ with a space.
+   */
+  private static int replaceUrls(char[] in, int length, char[] out) {
+    int o = 0;
+    int i = 0;
+    while (i < length) {
+      int end = -1;
+      if (i + 4 < length && in[i] == 'h' && in[i + 1] == 't' && in[i + 2] == 't' && in[i + 3] == 'p') {
+        int j = i + 4;
+        if (in[j] == 's') {
+          j++;
+        }
+        if (j + 3 < length && in[j] == ':' && in[j + 1] == '/' && in[j + 2] == '/'
+            && isUrlChar(in[j + 3])) {
+          end = j + 4;
+          while (end < length && isUrlChar(in[end])) {
+            end++;
+          }
+        }
+      }
+
+      if (end != -1) {
+        out[o++] = ' ';
+        i = end;
+      }
+      else {
+        out[o++] = in[i++];
+      }
+    }
+    return o;
+  }
+
+  private static boolean isMailLocalChar(char c) {
+    return isLetterOrDigit(c) || c == '-' || c == '+' || c == '_' || c == '.';
+  }
+
+  private static boolean isMailDomainChar(char c) {
+    return isLetterOrDigit(c) || c == '-';
+  }
+
+  /**
+   * Replaces (?&lt;![-+_.0-9A-Za-z])[-+_.0-9A-Za-z]+@[-0-9A-Za-z]+[-.0-9A-Za-z]+ with a space.
+   * <p>
+   * The local part must be a maximal run, since the @ can't be matched by the local part,
+   * and the domain part is the maximal run of domain chars and dots, if it starts
+   * with a domain char and has at least two chars.
+   */
+  private static int replaceMails(char[] in, int length, char[] out) {
+    int o = 0;
+    int i = 0;
+    while (i < length) {
+      int end = -1;
+      if (isMailLocalChar(in[i]) && (i == 0 || !isMailLocalChar(in[i - 1]))) {
+        int at = i + 1;
+        while (at < length && isMailLocalChar(in[at])) {
+          at++;
+        }
+
+        if (at + 2 < length && in[at] == '@' && isMailDomainChar(in[at + 1])) {
+          int j = at + 1;
+          while (j < length && (isMailDomainChar(in[j]) || in[j] == '.')) {
+            j++;
+          }
+          if (j - (at + 1) >= 2) {
+            end = j;
+          }
+        }
+      }
+
+      if (end != -1) {
+        out[o++] = ' ';
+        i = end;
+      }
+      else {
+        out[o++] = in[i++];
+      }
+    }
+    return o;
+  }
+
+  /**
+   * Replaces [#@]\S+ with a space.
+   */
+  private static int replaceHashTagsAndUsers(char[] in, int length, char[] out) {
+    int o = 0;
+    int i = 0;
+    while (i < length) {
+      if ((in[i] == '#' || in[i] == '@') && i + 1 < length && !isSpace(in[i + 1])) {
+        i += 2;
+        while (i < length && !isSpace(in[i])) {
+          i++;
+        }
+        out[o++] = ' ';
+      }
+      else {
+        out[o++] = in[i++];
+      }
+    }
+    return o;
+  }
+
+  /**
+   * A word char as defined by \b in a regex.
+   */
+  private static boolean isWordChar(int cp) {
+    return cp == '_' || Character.isLetterOrDigit(cp);
+  }
+
+  /**
+   * Checks if the position is preceded by a word char, like the left side of \b.
+   */
+  private static boolean isWordBefore(char[] in, int i) {
+    if (i == 0) {
+      return false;
+    }
+
+    int cp = Character.codePointBefore(in, i);
+    if (isWordChar(cp)) {
+      return true;
+    }
+
+    if (Character.getType(cp) == Character.NON_SPACING_MARK) {
+      // a non spacing mark counts as word char if it has a base character
+      for (int x = i - 1; x >= 0; x--) {
+        int base = Character.codePointAt(in, x);
+        if (Character.isLetterOrDigit(base)) {
+          return true;
+        }
+        if (Character.getType(base) != Character.NON_SPACING_MARK) {
+          return false;
+        }
+      }
+    }
+
+    return false;
+  }
+
+  /**
+   * Replaces \b(rt[ :])+ with a space, case insensitive.
+   */
+  private static int replaceRetweets(char[] in, int length, char[] out) {
+    int o = 0;
+    int i = 0;
+    while (i < length) {
+      int end = i;
+      while (end + 2 < length && toLower(in[end]) == 'r' && toLower(in[end + 1]) == 't'
+          && (in[end + 2] == ' ' || in[end + 2] == ':')) {
+        end += 3;
+      }
+
+      if (end > i && !isWordBefore(in, i)) {
+        out[o++] = ' ';
+        i = end;
+      }
+      else {
+        out[o++] = in[i++];
+      }
+    }
+    return o;
+  }
+
+  /**
+   * Replaces [:;x]-?[()dop] with a space, case insensitive.
+   */
+  private static int replaceFaces(char[] in, int length, char[] out) {
+    int o = 0;
+    int i = 0;
+    while (i < length) {
+      int end = -1;
+      char c = in[i];
+      if (c == ':' || c == ';' || c == 'x' || c == 'X') {
+        int j = i + 1;
+        if (j < length && in[j] == '-') {
+          j++;
+        }
+        if (j < length && "()dop".indexOf(toLower(in[j])) != -1) {
+          end = j + 1;
+        }
+      }
+
+      if (end != -1) {
+        out[o++] = ' ';
+        i = end;
+      }
+      else {
+        out[o++] = in[i++];
+      }
+    }
+    return o;
+  }
+
+  private static boolean isLaughConsonant(char c) {
+    c = toLower(c);
+    return c == 'h' || c == 'j';
+  }
+
+  private static boolean isLaughVowel(char c) {
+    return "aeiou".indexOf(toLower(c)) != -1;
+  }
+
+  /**
+   * Replaces ([hj])+([aieou])+(\1+\2+)+ with $1$2$1$2, case insensitive.
+   * <p>
+   * The groups can't give back chars, so the first group is the last char of a run
+   * of consonants, the second group the last char of the following run of vowels,
+   * and the repetition consumes as many runs of the two chars as possible.
+   */
+  private static int shrinkLaughs(char[] in, int length, char[] out) {
+    int o = 0;
+    int i = 0;
+    while (i < length) {
+      if (!isLaughConsonant(in[i])) {
+        out[o++] = in[i++];
+        continue;
+      }
+
+      int consonantsEnd = i + 1;
+      while (consonantsEnd < length && isLaughConsonant(in[consonantsEnd])) {
+        consonantsEnd++;
+      }
+
+      int vowelsEnd = consonantsEnd;
+      while (vowelsEnd < length && isLaughVowel(in[vowelsEnd])) {
+        vowelsEnd++;
+      }
+
+      int end = -1;
+      if (vowelsEnd > consonantsEnd) {
+        char consonant = in[consonantsEnd - 1];
+        char vowel = in[vowelsEnd - 1];
+
+        int j = vowelsEnd;
+        while (true) {
+          int k = j;
+          while (k < length && toLower(in[k]) == toLower(consonant)) {
+            k++;
+          }
+          if (k == j) {
+            break;
+          }
+
+          int l = k;
+          while (l < length && toLower(in[l]) == toLower(vowel)) {
+            l++;
+          }
+          if (l == k) {
+            break;
+          }
+
+          j = l;
+          end = l;
+        }
+
+        if (end != -1) {
+          out[o++] = consonant;
+          out[o++] = vowel;
+          out[o++] = consonant;
+          out[o++] = vowel;
+          i = end;
+          continue;
+        }
+      }
+
+      // every start within the run of consonants fails in the same way
+      while (i < consonantsEnd) {
+        out[o++] = in[i++];
+      }
+    }
+    return o;
+  }
+
+  /**
+   * Replaces \d+ with a space.
+   */
+  private static int replaceNumbers(char[] in, int length, char[] out) {
+    int o = 0;
+    int i = 0;
+    while (i < length) {
+      if (in[i] >= '0' && in[i] <= '9') {
+        do {
+          i++;
+        } while (i < length && in[i] >= '0' && in[i] <= '9');
+        out[o++] = ' ';
+      }
+      else {
+        out[o++] = in[i++];
+      }
+    }
+    return o;
+  }
+
+  /**
+   * Replaces \s{2,} with a space.
+   */
+  private static int shrinkSpaces(char[] in, int length, char[] out) {
+    int o = 0;
+    int i = 0;
+    while (i < length) {
+      if (i + 1 < length && isSpace(in[i]) && isSpace(in[i + 1])) {
+        i += 2;
+        while (i < length && isSpace(in[i])) {
+          i++;
+        }
+        out[o++] = ' ';
+      }
+      else {
+        out[o++] = in[i++];
+      }
+    }
+    return o;
+  }
+
+  /**
+   * A char matched by . in a regex, all chars except the line terminators.
+   */
+  private static boolean isDotChar(int cp) {
+    return cp != '\n' && cp != '\r' && cp != 0x85 && cp != 0x2028 && cp != 0x2029;
+  }
+
+  private static boolean equalsIgnoreCase(char[] in, int i, int cp, int length) {
+    int other = Character.codePointAt(in, i, length);
+    return other == cp
+        || (other < 0x80 && cp < 0x80 && toLower((char) other) == toLower((char) cp));
+  }
+
+  /**
+   * Replaces (.)\1{2,} with $1$1, case insensitive.
+   */
+  private static int shrinkRepeatedChars(char[] in, int length, char[] out) {
+    int o = 0;
+    int i = 0;
+    while (i < length) {
+      int cp = Character.codePointAt(in, i, length);
+      int count = Character.charCount(cp);
+
+      int end = i + count;
+      int repeats = 0;
+      if (isDotChar(cp)) {
+        while (end + count <= length && equalsIgnoreCase(in, end, cp, length)) {
+          end += count;
+          repeats++;
+        }
+      }
+
+      if (repeats >= 2) {
+        System.arraycopy(in, i, out, o, count);
+        o += count;
+        System.arraycopy(in, i, out, o, count);
+        o += count;
+        i = end;
+      }
+      else {
+        // like the regex the next match is tried at the next char, even in a surrogate pair
+        out[o++] = in[i++];
+      }
+    }
+    return o;
+  }
+
+  /**
+   * Removes the leading and trailing chars which {@link String#trim()} removes.
+   */
+  private static int trim(char[] in, int length, char[] out) {
+    int start = 0;
+    while (start < length && in[start] <= ' ') {
+      start++;
+    }
+
+    int end = length;
+    while (end > start && in[end - 1] <= ' ') {
+      end--;
+    }
+
+    System.arraycopy(in, start, out, 0, end - start);
+    return end - start;
+  }
+}
@@ -22,6 +22,8 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
@@ -79,4 +81,70 @@ public class Glove {
 
     return new MapWordVectorTable(Collections.unmodifiableMap(vectors));
   }
+
+  /**
+   * Converts a glove vector plain text file into a word vector table file which
+   * can be opened with {@link MappedWordVectorTable#open(Path)}. If the conversion
+   * fails the partially written file is deleted.
+   * <p>
+   * Warning: Experimental new feature, see OPENNLP-1144 for details, the API might be changed anytime.
+   *
+   * @param in the input stream for Glove vectors
+   * @param file the word vector table file to write
+   * @param encoding the encoding of the vector components
+   * @throws IOException if any error occurs during parsing or writing
+   */
+  @Experimental
+  public static void convert(InputStream in, Path file, MappedWordVectorTable.Encoding encoding)
+      throws IOException {
+    BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8),
+        1024 * 1024);
+
+    MappedWordVectorTable.Writer writer = null;
+    try {
+      String line;
+      while ((line = reader.readLine()) != null) {
+        String[] parts = line.split(" ");
+
+        if (writer == null) {
+          writer = new MappedWordVectorTable.Writer(file, encoding, parts.length - 1);
+        }
+
+        float[] vector = new float[parts.length - 1];
+
+        for (int i = 0; i < vector.length; i++) {
+          vector[i] = Float.parseFloat(parts[i + 1]);
+        }
+
+        writer.add(parts[0], vector);
+      }
+
+      if (writer == null) {
+        writer = new MappedWordVectorTable.Writer(file, encoding, 0);
+      }
+
+      writer.finish();
+    }
+    catch (IOException | RuntimeException e) {
+      // do not leave an incomplete table behind
+      if (writer != null) {
+        try {
+          writer.close();
+        }
+        catch (IOException closeException) {
+          e.addSuppressed(closeException);
+        }
+
+        try {
+          Files.deleteIfExists(file);
+        }
+        catch (IOException deleteException) {
+          e.addSuppressed(deleteException);
+        }
+      }
+      throw e;
+    }
+
+    writer.close();
+  }
 }
@@ -0,0 +1,562 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package opennlp.tools.util.wordvector;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import opennlp.tools.util.java.Experimental;
+
+/**
+ * A {@link WordVectorTable} which is backed by a memory mapped binary file.
+ * <p>
+ * The vectors are stored as one contiguous matrix, either as floats or quantized
+ * to one signed byte per component with a scale per vector. The tokens are stored
+ * as UTF-8 bytes and are found with an open addressing table of row indexes. Only the
+ * {@link WordVector}s returned by {@link #get(String)} are objects on the heap,
+ * nearest neighbour queries scan the mapped matrix directly.
+ * <p>
+ * The file is created once from a GloVe text file with
+ * {@link Glove#convert(java.io.InputStream, Path, Encoding)} and opened
+ * with {@link #open(Path)}. Instances are thread safe.
+ * <p>
+ * Warning: Experimental new feature, see OPENNLP-1144 for details, the API might be changed anytime.
+ */
+@Experimental
+public class MappedWordVectorTable implements WordVectorTable {
+
+  /**
+   * The encoding of the vector components.
+   */
+  public enum Encoding {
+    /** Four byte floats. */
+    FLOAT,
+    /** One signed byte per component and one float scale per vector. */
+    INT8
+  }
+
+  private static final int MAGIC = 0x4F4E5756;
+  private static final int VERSION = 1;
+  private static final int HEADER_SIZE = 32;
+
+  private final Encoding encoding;
+  private final int dimension;
+  private final int size;
+  private final int rowsPerChunk;
+
+  private final ByteBuffer[] byteChunks;
+  private final FloatBuffer[] floatChunks;
+
+  private final FloatBuffer norms;
+  private final FloatBuffer scales;
+  private final IntBuffer slots;
+  private final IntBuffer tokenOffsets;
+  private final ByteBuffer tokenBytes;
+
+  private MappedWordVectorTable(FileChannel channel) throws IOException {
+    ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_SIZE)
+        .order(ByteOrder.LITTLE_ENDIAN);
+
+    if (header.getInt(0) != MAGIC) {
+      throw new IOException("Not a word vector table file!");
+    }
+    if (header.getInt(4) != VERSION) {
+      throw new IOException("Unsupported word vector table version: " + header.getInt(4));
+    }
+
+    encoding = Encoding.values()[header.getInt(8)];
+    dimension = header.getInt(12);
+    size = header.getInt(16);
+    int capacity = header.getInt(20);
+    long indexOffset = header.getLong(24);
+
+    int rowBytes = rowBytes(encoding, dimension);
+    rowsPerChunk = Integer.MAX_VALUE / Math.max(1, rowBytes);
+
+    int chunkCount = (size + rowsPerChunk - 1) / rowsPerChunk;
+    byteChunks = new ByteBuffer[chunkCount];
+    floatChunks = new FloatBuffer[chunkCount];
+    for (int i = 0; i < chunkCount; i++) {
+      int rows = Math.min(rowsPerChunk, size - i * rowsPerChunk);
+      byteChunks[i] = channel.map(FileChannel.MapMode.READ_ONLY,
+          HEADER_SIZE + (long) i * rowsPerChunk * rowBytes, (long) rows * rowBytes)
+          .order(ByteOrder.LITTLE_ENDIAN);
+      if (encoding == Encoding.FLOAT) {
+        floatChunks[i] = byteChunks[i].asFloatBuffer();
+      }
+    }
+
+    long indexLength = channel.size() - indexOffset;
+    if (indexLength > Integer.MAX_VALUE) {
+      throw new IOException("The token index is too large: " + indexLength);
+    }
+
+    ByteBuffer index = channel.map(FileChannel.MapMode.READ_ONLY, indexOffset, indexLength)
+        .order(ByteOrder.LITTLE_ENDIAN);
+
+    int position = 0;
+    norms = slice(index, position, size * 4).asFloatBuffer();
+    position += size * 4;
+    if (encoding == Encoding.INT8) {
+      scales = slice(index, position, size * 4).asFloatBuffer();
+      position += size * 4;
+    }
+    else {
+      scales = null;
+    }
+    slots = slice(index, position, capacity * 4).asIntBuffer();
+    position += capacity * 4;
+    tokenOffsets = slice(index, position, (size + 1) * 4).asIntBuffer();
+    position += (size + 1) * 4;
+    tokenBytes = slice(index, position, tokenOffsets.get(size));
+  }
+
+  /**
+   * Opens a word vector table file created by
+   * {@link Glove#convert(java.io.InputStream, Path, Encoding)}.
+   *
+   * @param file the word vector table file
+   * @return the table which is backed by the mapped file
+   * @throws IOException if the file cannot be read or is not a word vector table file
+   */
+  public static MappedWordVectorTable open(Path file) throws IOException {
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      return new MappedWordVectorTable(channel);
+    }
+  }
+
+  private static ByteBuffer slice(ByteBuffer buffer, int position, int length) {
+    ByteBuffer duplicate = buffer.duplicate();
+    duplicate.position(position);
+    duplicate.limit(position + length);
+    return duplicate.slice().order(ByteOrder.LITTLE_ENDIAN);
+  }
+
+  private static int rowBytes(Encoding encoding, int dimension) {
+    return encoding == Encoding.FLOAT ? dimension * 4 : dimension;
+  }
+
+  private static int hash(int hashCode) {
+    int h = hashCode * 0x9E3779B9;
+    return h ^ (h >>> 16);
+  }
+
+  /**
+   * @return the encoding of the vector components
+   */
+  public Encoding getEncoding() {
+    return encoding;
+  }
+
+  @Override
+  public WordVector get(String token) {
+    int row = row(token);
+    return row != -1 ? new MappedWordVector(row) : null;
+  }
+
+  private int row(String token) {
+    byte[] bytes = token.getBytes(StandardCharsets.UTF_8);
+    int mask = slots.limit() - 1;
+
+    for (int slot = hash(token.hashCode()) & mask; ; slot = (slot + 1) & mask) {
+      int row = slots.get(slot) - 1;
+      if (row == -1) {
+        return -1;
+      }
+      if (tokenEquals(row, bytes)) {
+        return row;
+      }
+    }
+  }
+
+  private boolean tokenEquals(int row, byte[] bytes) {
+    int start = tokenOffsets.get(row);
+    if (tokenOffsets.get(row + 1) - start != bytes.length) {
+      return false;
+    }
+    for (int i = 0; i < bytes.length; i++) {
+      if (tokenBytes.get(start + i) != bytes[i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private String token(int row) {
+    int start = tokenOffsets.get(row);
+    byte[] bytes = new byte[tokenOffsets.get(row + 1) - start];
+    for (int i = 0; i < bytes.length; i++) {
+      bytes[i] = tokenBytes.get(start + i);
+    }
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  private float component(int row, int index) {
+    int chunk = row / rowsPerChunk;
+    int offset = (row % rowsPerChunk) * dimension + index;
+    if (encoding == Encoding.FLOAT) {
+      return floatChunks[chunk].get(offset);
+    }
+    return byteChunks[chunk].get(offset) * scales.get(row);
+  }
+
+  private float dot(int row, float[] vector) {
+    int chunk = row / rowsPerChunk;
+    int offset = (row % rowsPerChunk) * dimension;
+    if (encoding == Encoding.FLOAT) {
+      return WordVectorMath.dot(floatChunks[chunk], offset, vector);
+    }
+    return WordVectorMath.dot(byteChunks[chunk], offset, vector) * scales.get(row);
+  }
+
+  /**
+   * Finds the tokens whose vectors have the highest cosine similarity to the given vector.
+   *
+   * @param vector the query vector, it must have the dimension of the table
+   * @param k the maximum number of tokens to return
+   * @return the tokens, the most similar first
+   */
+  public String[] nearest(float[] vector, int k) {
+    return nearest(vector, k, -1);
+  }
+
+  /**
+   * Finds the tokens whose vectors have the highest cosine similarity to the
+   * vector of the given token. The token itself is not included.
+   *
+   * @param token the query token
+   * @param k the maximum number of tokens to return
+   * @return the tokens, the most similar first, or an empty array if the token is unknown
+   */
+  public String[] nearest(String token, int k) {
+    int row = row(token);
+    if (row == -1) {
+      return new String[0];
+    }
+
+    float[] vector = new float[dimension];
+    for (int i = 0; i < dimension; i++) {
+      vector[i] = component(row, i);
+    }
+    return nearest(vector, k, row);
+  }
+
+  private String[] nearest(float[] vector, int k, int excludedRow) {
+    if (vector.length != dimension) {
+      throw new IllegalArgumentException("The vector must have dimension " + dimension
+          + ", but had " + vector.length);
+    }
+    if (k < 1) {
+      throw new IllegalArgumentException("k must be positive, but was " + k);
+    }
+
+    float queryNorm = WordVectorMath.norm(vector);
+
+    int[] bestRows = new int[k];
+    float[] bestScores = new float[k];
+    int found = 0;
+
+    for (int row = 0; row < size; row++) {
+      if (row == excludedRow) {
+        continue;
+      }
+
+      float norms = this.norms.get(row) * queryNorm;
+      float score = norms != 0 ? dot(row, vector) / norms : 0;
+
+      if (found < k || score > bestScores[found - 1]) {
+        int i = found < k ? found++ : found - 1;
+        for (; i > 0 && bestScores[i - 1] < score; i--) {
+          bestScores[i] = bestScores[i - 1];
+          bestRows[i] = bestRows[i - 1];
+        }
+        bestScores[i] = score;
+        bestRows[i] = row;
+      }
+    }
+
+    String[] tokens = new String[found];
+    for (int i = 0; i < found; i++) {
+      tokens[i] = token(bestRows[i]);
+    }
+    return tokens;
+  }
+
+  @Override
+  public Iterator<String> tokens() {
+    return new Iterator<String>() {
+
+      private int row;
+
+      @Override
+      public boolean hasNext() {
+        return row < size;
+      }
+
+      @Override
+      public String next() {
+        if (!hasNext()) {
+          throw new NoSuchElementException();
+        }
+        return token(row++);
+      }
+    };
+  }
+
+  @Override
+  public int size() {
+    return size;
+  }
+
+  @Override
+  public int dimension() {
+    return size > 0 ? dimension : -1;
+  }
+
+  private class MappedWordVector implements WordVector {
+
+    private final int row;
+
+    private MappedWordVector(int row) {
+      this.row = row;
+    }
+
+    @Override
+    public WordVectorType getDataType() {
+      return WordVectorType.FLOAT;
+    }
+
+    @Override
+    public float getAsFloat(int index) {
+      if (index < 0 || index >= dimension) {
+        throw new IndexOutOfBoundsException("Index " + index + " is out of bounds for dimension "
+            + dimension);
+      }
+      return component(row, index);
+    }
+
+    @Override
+    public double getAsDouble(int index) {
+      return getAsFloat(index);
+    }
+
+    @Override
+    public FloatBuffer toFloatBuffer() {
+      if (encoding == Encoding.FLOAT) {
+        FloatBuffer chunk = floatChunks[row / rowsPerChunk].duplicate();
+        int offset = (row % rowsPerChunk) * dimension;
+        chunk.position(offset);
+        chunk.limit(offset + dimension);
+        return chunk.slice().asReadOnlyBuffer();
+      }
+
+      float[] vector = new float[dimension];
+      for (int i = 0; i < dimension; i++) {
+        vector[i] = component(row, i);
+      }
+      return FloatBuffer.wrap(vector).asReadOnlyBuffer();
+    }
+
+    @Override
+    public DoubleBuffer toDoubleBuffer() {
+      double[] vector = new double[dimension];
+      for (int i = 0; i < dimension; i++) {
+        vector[i] = component(row, i);
+      }
+      return DoubleBuffer.wrap(vector).asReadOnlyBuffer();
+    }
+
+    @Override
+    public int dimension() {
+      return dimension;
+    }
+  }
+
+  /**
+   * Writes the vectors to a word vector table file. The vectors are streamed to the
+   * matrix section of the file, only the tokens, norms and scales are kept in memory
+   * until the index and the header are written by {@link #finish()}. A file which is
+   * closed without being finished is incomplete and cannot be opened. A vector of a
+   * token which was already added replaces the previous vector.
+   */
+  static class Writer implements Closeable {
+
+    private final FileChannel channel;
+    private final Encoding encoding;
+    private final int dimension;
+    private final ByteBuffer row;
+
+    private final List<String> tokens = new ArrayList<>();
+    private final Map<String, Integer> rows = new HashMap<>();
+    private float[] norms = new float[1024];
+    private float[] scales = new float[1024];
+
+    Writer(Path file, Encoding encoding, int dimension) throws IOException {
+      this.encoding = encoding;
+      this.dimension = dimension;
+      row = ByteBuffer.allocate(rowBytes(encoding, dimension)).order(ByteOrder.LITTLE_ENDIAN);
+      channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+          StandardOpenOption.TRUNCATE_EXISTING);
+      channel.position(HEADER_SIZE);
+    }
+
+    void add(String token, float[] vector) throws IOException {
+      if (vector.length != dimension) {
+        throw new IOException("Vector dimension must be constant!");
+      }
+
+      // Duplicate tokens are resolved to the last vector, as in Glove.parse
+      Integer existing = rows.get(token);
+      int index = existing != null ? existing : tokens.size();
+      if (index == norms.length) {
+        norms = Arrays.copyOf(norms, index * 2);
+        scales = Arrays.copyOf(scales, index * 2);
+      }
+
+      row.clear();
+      if (encoding == Encoding.FLOAT) {
+        for (float value : vector) {
+          row.putFloat(value);
+        }
+        norms[index] = WordVectorMath.norm(vector);
+      }
+      else {
+        float max = 0;
+        for (float value : vector) {
+          max = Math.max(max, Math.abs(value));
+        }
+        float scale = max / 127;
+
+        double sum = 0;
+        for (float value : vector) {
+          byte quantized = scale != 0 ? (byte) Math.round(value / scale) : 0;
+          row.put(quantized);
+          sum += (quantized * scale) * (quantized * scale);
+        }
+        norms[index] = (float) Math.sqrt(sum);
+        scales[index] = scale;
+      }
+      row.flip();
+
+      if (existing != null) {
+        long position = HEADER_SIZE + (long) index * row.limit();
+        while (row.hasRemaining()) {
+          position += channel.write(row, position);
+        }
+      }
+      else {
+        writeFully(row);
+        rows.put(token, index);
+        tokens.add(token);
+      }
+    }
+
+    private void writeFully(ByteBuffer buffer) throws IOException {
+      while (buffer.hasRemaining()) {
+        channel.write(buffer);
+      }
+    }
+
+    /**
+     * Writes the index and the header, afterwards the file is complete.
+     */
+    void finish() throws IOException {
+      int size = tokens.size();
+
+      int capacity = Integer.highestOneBit(Math.max(2, size * 2 - 1)) << 1;
+      int mask = capacity - 1;
+      int[] slots = new int[capacity];
+      for (int i = 0; i < size; i++) {
+        String token = tokens.get(i);
+        int slot = hash(token.hashCode()) & mask;
+        while (slots[slot] != 0) {
+          slot = (slot + 1) & mask;
+        }
+        slots[slot] = i + 1;
+      }
+
+      byte[][] tokenBytes = new byte[size][];
+      int totalTokenBytes = 0;
+      for (int i = 0; i < size; i++) {
+        tokenBytes[i] = tokens.get(i).getBytes(StandardCharsets.UTF_8);
+        totalTokenBytes += tokenBytes[i].length;
+      }
+
+      long indexOffset = channel.position();
+      int indexLength = (encoding == Encoding.INT8 ? 8 : 4) * size + 4 * capacity
+          + 4 * (size + 1) + totalTokenBytes;
+      ByteBuffer index = ByteBuffer.allocate(indexLength).order(ByteOrder.LITTLE_ENDIAN);
+
+      for (int i = 0; i < size; i++) {
+        index.putFloat(norms[i]);
+      }
+      if (encoding == Encoding.INT8) {
+        for (int i = 0; i < size; i++) {
+          index.putFloat(scales[i]);
+        }
+      }
+      for (int slot : slots) {
+        index.putInt(slot);
+      }
+      int offset = 0;
+      for (byte[] bytes : tokenBytes) {
+        index.putInt(offset);
+        offset += bytes.length;
+      }
+      index.putInt(offset);
+      for (byte[] bytes : tokenBytes) {
+        index.put(bytes);
+      }
+      index.flip();
+      writeFully(index);
+
+      ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+      header.putInt(MAGIC);
+      header.putInt(VERSION);
+      header.putInt(encoding.ordinal());
+      header.putInt(dimension);
+      header.putInt(size);
+      header.putInt(capacity);
+      header.putLong(indexOffset);
+      header.flip();
+      channel.position(0);
+      writeFully(header);
+    }
+
+    @Override
+    public void close() throws IOException {
+      channel.close();
+    }
+  }
+}
@@ -0,0 +1,149 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package opennlp.tools.util.wordvector;
+
+import java.nio.ByteBuffer;
+import java.nio.FloatBuffer;
+
+import opennlp.tools.util.java.Experimental;
+
+/**
+ * Dot product and cosine similarity of float vectors.
+ * <p>
+ * The loops keep four independent sums, this allows the JIT compiler to use
+ * SIMD instructions for them.
+ * <p>
+ * Warning: Experimental new feature, see OPENNLP-1144 for details, the API might be changed anytime.
+ */
+@Experimental
+public final class WordVectorMath {
+
+  private WordVectorMath() {
+  }
+
+  /**
+   * Computes the dot product of two vectors.
+   *
+   * @param a the first vector
+   * @param b the second vector, it must not be shorter than the first vector
+   * @return the dot product
+   */
+  public static float dot(float[] a, float[] b) {
+    float s0 = 0;
+    float s1 = 0;
+    float s2 = 0;
+    float s3 = 0;
+
+    int length = a.length;
+    int i = 0;
+    for (; i + 3 < length; i += 4) {
+      s0 += a[i] * b[i];
+      s1 += a[i + 1] * b[i + 1];
+      s2 += a[i + 2] * b[i + 2];
+      s3 += a[i + 3] * b[i + 3];
+    }
+    for (; i < length; i++) {
+      s0 += a[i] * b[i];
+    }
+    return (s0 + s1) + (s2 + s3);
+  }
+
+  /**
+   * Computes the dot product of a vector stored in a buffer and an array.
+   *
+   * @param a the buffer which contains the first vector
+   * @param offset the index of the first element of the vector in the buffer
+   * @param b the second vector, its length is the dimension of the vectors
+   * @return the dot product
+   */
+  static float dot(FloatBuffer a, int offset, float[] b) {
+    float s0 = 0;
+    float s1 = 0;
+    float s2 = 0;
+    float s3 = 0;
+
+    int length = b.length;
+    int i = 0;
+    for (; i + 3 < length; i += 4) {
+      s0 += a.get(offset + i) * b[i];
+      s1 += a.get(offset + i + 1) * b[i + 1];
+      s2 += a.get(offset + i + 2) * b[i + 2];
+      s3 += a.get(offset + i + 3) * b[i + 3];
+    }
+    for (; i < length; i++) {
+      s0 += a.get(offset + i) * b[i];
+    }
+    return (s0 + s1) + (s2 + s3);
+  }
+
+  /**
+   * Computes the dot product of an int8 quantized vector stored in a buffer and an array.
+   * The result must be multiplied with the scale of the quantized vector.
+   *
+   * @param a the buffer which contains the first vector
+   * @param offset the index of the first element of the vector in the buffer
+   * @param b the second vector, its length is the dimension of the vectors
+   * @return the unscaled dot product
+   */
+  static float dot(ByteBuffer a, int offset, float[] b) {
+    float s0 = 0;
+    float s1 = 0;
+    float s2 = 0;
+    float s3 = 0;
+
+    int length = b.length;
+    int i = 0;
+    for (; i + 3 < length; i += 4) {
+      s0 += a.get(offset + i) * b[i];
+      s1 += a.get(offset + i + 1) * b[i + 1];
+      s2 += a.get(offset + i + 2) * b[i + 2];
+      s3 += a.get(offset + i + 3) * b[i + 3];
+    }
+    for (; i < length; i++) {
+      s0 += a.get(offset + i) * b[i];
+    }
+    return (s0 + s1) + (s2 + s3);
+  }
+
+  /**
+   * Computes the euclidean norm of a vector.
+   *
+   * @param a the vector
+   * @return the norm
+   */
+  public static float norm(float[] a) {
+    return (float) Math.sqrt(dot(a, a));
+  }
+
+  /**
+   * Computes the cosine similarity of two vectors.
+   *
+   * @param a the first vector
+   * @param b the second vector, it must have the length of the first vector
+   * @return the cosine similarity, 0 if one of the vectors is zero
+   */
+  public static float cosine(float[] a, float[] b) {
+    if (a.length != b.length) {
+      throw new IllegalArgumentException("The vectors must have the same dimension, but had "
+          + a.length + " and " + b.length);
+    }
+
+    float norms = norm(a) * norm(b);
+    return norms != 0 ? dot(a, b) / norms : 0;
+  }
+}
@@ -0,0 +1,132 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package opennlp.tools.cmdline;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import opennlp.tools.util.ObjectStreamUtils;
+
+public class ParallelTextProcessorTest {
+
+  /**
+   * Numbers every input within its document, a document starts at an empty input.
+   */
+  private static ParallelTextProcessor.Processor<String> createProcessor() {
+    int[] position = new int[1];
+    return (input, output) -> {
+      if (input.isEmpty()) {
+        position[0] = 0;
+      }
+      output.append(input).append(':').append(position[0]++).append('\n');
+      return 1;
+    };
+  }
+
+  private static String process(List<String> inputs, int threads) throws IOException {
+    return process(inputs, threads, 3, 8);
+  }
+
+  private static String process(List<String> inputs, int threads, int chunkSize,
+      int maxChunkSize) throws IOException {
+    ParallelTextProcessor<String> processor = new ParallelTextProcessor<>(threads, chunkSize,
+        maxChunkSize, ParallelTextProcessorTest::createProcessor, String::isEmpty);
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    PerformanceMonitor perfMon = new PerformanceMonitor(new PrintStream(new ByteArrayOutputStream()), "sent");
+    perfMon.start();
+
+    processor.process(ObjectStreamUtils.createObjectStream(inputs),
+        new PrintStream(out, true, StandardCharsets.UTF_8.name()), perfMon);
+
+    perfMon.stopAndPrintFinalResult();
+
+    return new String(out.toByteArray(), StandardCharsets.UTF_8);
+  }
+
+  @Test
+  void testOutputOrderAndDocumentBoundaries() throws IOException {
+    List<String> inputs = new ArrayList<>();
+    inputs.add("first");
+    for (int i = 0; i < 1000; i++) {
+      if (i % 7 == 0) {
+        inputs.add("");
+      }
+      inputs.add("line" + i);
+    }
+
+    String expected = process(inputs, 1);
+
+    Assertions.assertTrue(expected.startsWith("first:0\n:0\nline0:1\n"));
+    Assertions.assertEquals(expected, process(inputs, 4));
+  }
+
+  @Test
+  void testInputWithoutDocumentBoundaries() throws IOException {
+    List<String> inputs = new ArrayList<>();
+    for (int i = 0; i < 1000; i++) {
+      inputs.add("line" + i);
+    }
+
+    String expected = process(inputs, 1);
+
+    Assertions.assertTrue(expected.endsWith("line999:999\n"));
+    Assertions.assertEquals(expected, process(inputs, 4, 3, 8));
+    Assertions.assertEquals(expected, process(inputs, 4, 1, 1));
+  }
+
+  @Test
+  void testLongDocuments() throws IOException {
+    List<String> inputs = new ArrayList<>();
+    for (int i = 0; i < 1000; i++) {
+      if (i % 100 == 0) {
+        inputs.add("");
+      }
+      inputs.add("line" + i);
+    }
+
+    Assertions.assertEquals(process(inputs, 1), process(inputs, 4, 3, 8));
+  }
+
+  @Test
+  void testInvalidMaxChunkSize() {
+    Assertions.assertThrows(IllegalArgumentException.class, () -> new ParallelTextProcessor<String>(2,
+        8, 4, ParallelTextProcessorTest::createProcessor, String::isEmpty));
+  }
+
+  @Test
+  void testThreadsParameter() {
+    String[] args = new String[] {"-threads", "3", "model"};
+
+    Assertions.assertEquals(3, ParallelTextProcessor.getThreads(args));
+    Assertions.assertArrayEquals(new String[] {"model"},
+        ParallelTextProcessor.removeThreadsParameter(args));
+
+    Assertions.assertEquals(1, ParallelTextProcessor.getThreads(new String[] {"model"}));
+
+    Assertions.assertThrows(TerminateToolException.class,
+        () -> ParallelTextProcessor.getThreads(new String[] {"-threads", "0", "model"}));
+  }
+}
@@ -68,6 +68,35 @@ public class TokenNameFinderToolTest {
     model1.delete();
   }
 
+  @Test
+  void runWithThreads() throws IOException {
+
+    File model1 = trainModel();
+
+    StringBuilder in = new StringBuilder();
+    for (int i = 0; i < 500; i++) {
+      in.append("It is Stefanie Schmidt.\nNothing in this sentence number ").append(i).append(".\n\n");
+    }
+
+    String expected = runTool(in.toString(), model1.getAbsolutePath());
+    String actual = runTool(in.toString(), "-threads", "4", model1.getAbsolutePath());
+
+    Assertions.assertEquals(expected, actual);
+
+    model1.delete();
+  }
+
+  private static String runTool(String in, String... args) {
+    System.setIn(new ByteArrayInputStream(in.getBytes(StandardCharsets.UTF_8)));
+
+    ByteArrayOutputStream baos = new ByteArrayOutputStream();
+    System.setOut(new PrintStream(baos));
+
+    new TokenNameFinderTool().run(args);
+
+    return new String(baos.toByteArray(), StandardCharsets.UTF_8);
+  }
+
   @Test
   void invalidModel() {
 
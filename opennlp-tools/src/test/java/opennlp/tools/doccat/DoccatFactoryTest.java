@@ -21,6 +21,9 @@ import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
 
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
@@ -106,4 +109,24 @@ public class DoccatFactoryTest {
     Assertions.assertEquals(NGramFeatureGenerator.class, factory.getFeatureGenerators()[2].getClass());
   }
 
+  @Test
+  void testCreateFeatureGenerators() {
+    FeatureGenerator custom = new FeatureGenerator() {
+      @Override
+      public Collection<String> extractFeatures(String[] text,
+          Map<String, Object> extraInformation) {
+        return Collections.emptyList();
+      }
+    };
+    FeatureGenerator bow = new BagOfWordsFeatureGenerator();
+
+    DoccatFactory factory = new DoccatFactory(new FeatureGenerator[] {bow});
+    FeatureGenerator[] created = factory.createFeatureGenerators();
+    Assertions.assertEquals(1, created.length);
+    Assertions.assertSame(bow, created[0]);
+
+    factory = new DoccatFactory(new FeatureGenerator[] {bow, custom});
+    Assertions.assertNull(factory.createFeatureGenerators());
+  }
+
 }
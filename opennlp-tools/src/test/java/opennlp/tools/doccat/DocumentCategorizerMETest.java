@@ -17,17 +17,26 @@
 
 package opennlp.tools.doccat;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
 import java.io.IOException;
 import java.util.Set;
 import java.util.SortedMap;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
 
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
+import opennlp.tools.ml.AbstractTrainer;
+import opennlp.tools.ml.perceptron.PerceptronTrainer;
 import opennlp.tools.util.InsufficientTrainingDataException;
 import opennlp.tools.util.ObjectStream;
 import opennlp.tools.util.ObjectStreamUtils;
 import opennlp.tools.util.TrainingParameters;
+import opennlp.tools.util.model.BaseModel;
+import opennlp.tools.util.model.GenericModelSerializer;
 
 public class DocumentCategorizerMETest {
 
@@ -63,6 +72,107 @@ public class DocumentCategorizerMETest {
     Assertions.assertEquals(1, cat.size());
   }
 
+  @Test
+  void testIncrementalPerceptronTraining() throws IOException {
+
+    TrainingParameters params = new TrainingParameters();
+    params.put(TrainingParameters.ITERATIONS_PARAM, 100);
+    params.put(TrainingParameters.CUTOFF_PARAM, 0);
+    params.put(AbstractTrainer.ALGORITHM_PARAM, PerceptronTrainer.PERCEPTRON_VALUE);
+
+    DoccatModel model = DocumentCategorizerME.train("x-unspecified",
+        ObjectStreamUtils.createObjectStream(
+            new DocumentSample("1", new String[] {"a", "b", "c"}),
+            new DocumentSample("1", new String[] {"a", "b", "c", "1", "2"}),
+            new DocumentSample("0", new String[] {"x", "y", "z"}),
+            new DocumentSample("0", new String[] {"x", "y", "z", "5", "6"})),
+        params, new DoccatFactory());
+
+    DoccatModel updatedModel = DocumentCategorizerME.update(model,
+        ObjectStreamUtils.createObjectStream(
+            new DocumentSample("2", new String[] {"k", "l", "m"}),
+            new DocumentSample("2", new String[] {"k", "l", "m", "9"}),
+            new DocumentSample("1", new String[] {"a", "b", "3"}),
+            new DocumentSample("0", new String[] {"x", "y", "7"})),
+        params);
+
+    DocumentCategorizer doccat = new DocumentCategorizerME(updatedModel);
+
+    Assertions.assertEquals(3, doccat.getNumberOfCategories());
+    Assertions.assertEquals("1", doccat.getBestCategory(doccat.categorize(new String[] {"a"})));
+    Assertions.assertEquals("0", doccat.getBestCategory(doccat.categorize(new String[] {"x"})));
+    Assertions.assertEquals("2", doccat.getBestCategory(doccat.categorize(new String[] {"k"})));
+  }
+
+  @Test
+  void testIncrementalTrainingRequiresSupportedModel() throws IOException {
+
+    TrainingParameters params = new TrainingParameters();
+    params.put(TrainingParameters.ITERATIONS_PARAM, 10);
+    params.put(TrainingParameters.CUTOFF_PARAM, 0);
+
+    DoccatModel model = DocumentCategorizerME.train("x-unspecified",
+        ObjectStreamUtils.createObjectStream(
+            new DocumentSample("1", new String[] {"a", "b", "c"}),
+            new DocumentSample("0", new String[] {"x", "y", "z"})),
+        params, new DoccatFactory());
+
+    Assertions.assertThrows(IllegalArgumentException.class, () -> DocumentCategorizerME.update(
+        model, ObjectStreamUtils.createObjectStream(
+            new DocumentSample("1", new String[] {"a"})), params));
+  }
+
+  @Test
+  void testBulkModelFormat() throws IOException {
+    ObjectStream<DocumentSample> samples = ObjectStreamUtils.createObjectStream(
+        new DocumentSample("1", new String[] {"a", "b", "c"}),
+        new DocumentSample("0", new String[] {"x", "y", "z"}));
+
+    TrainingParameters params = new TrainingParameters();
+    params.put(TrainingParameters.ITERATIONS_PARAM, 100);
+    params.put(TrainingParameters.CUTOFF_PARAM, 0);
+
+    DoccatModel model = DocumentCategorizerME.train("x-unspecified", samples,
+        params, new DoccatFactory());
+    model.setModelFormat(GenericModelSerializer.BULK_FORMAT);
+    Assertions.assertEquals(GenericModelSerializer.BULK_FORMAT,
+        model.getManifestProperty(BaseModel.MODEL_FORMAT_PROPERTY));
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    model.serialize(out);
+
+    String modelType = null;
+    try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+      ZipEntry entry;
+      while ((entry = zip.getNextEntry()) != null) {
+        if (entry.getName().endsWith(".model")) {
+          modelType = new DataInputStream(zip).readUTF();
+        }
+      }
+    }
+    Assertions.assertEquals(GenericModelSerializer.BULK_FORMAT, modelType);
+
+    DoccatModel read = new DoccatModel(new ByteArrayInputStream(out.toByteArray()));
+    Assertions.assertEquals(model.getMaxentModel(), read.getMaxentModel());
+    Assertions.assertEquals(GenericModelSerializer.BULK_FORMAT,
+        read.getManifestProperty(BaseModel.MODEL_FORMAT_PROPERTY));
+  }
+
+  @Test
+  void testUnknownModelFormat() throws IOException {
+    TrainingParameters params = new TrainingParameters();
+    params.put(TrainingParameters.ITERATIONS_PARAM, 100);
+    params.put(TrainingParameters.CUTOFF_PARAM, 0);
+
+    DoccatModel model = DocumentCategorizerME.train("x-unspecified",
+        ObjectStreamUtils.createObjectStream(
+            new DocumentSample("1", new String[] {"a", "b", "c"}),
+            new DocumentSample("0", new String[] {"x", "y", "z"})),
+        params, new DoccatFactory());
+
+    Assertions.assertThrows(IllegalArgumentException.class, () -> model.setModelFormat("Unknown"));
+  }
+
   @Test
   void insufficientTestData() {
 
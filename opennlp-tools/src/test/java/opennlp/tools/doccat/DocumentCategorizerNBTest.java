@@ -65,4 +65,55 @@ public class DocumentCategorizerNBTest {
     Assertions.assertEquals(1, cat.size());
 
   }
+
+  @Test
+  void testIncrementalTraining() throws IOException {
+
+    DocumentSample[] oldSamples = {
+        new DocumentSample("1", new String[] {"a", "b", "c"}),
+        new DocumentSample("1", new String[] {"a", "b", "c", "1", "2"}),
+        new DocumentSample("0", new String[] {"x", "y", "z"}),
+        new DocumentSample("0", new String[] {"x", "y", "z", "5", "6"})};
+
+    DocumentSample[] newSamples = {
+        new DocumentSample("1", new String[] {"a", "b", "c", "3", "4"}),
+        new DocumentSample("0", new String[] {"x", "y", "z", "7", "8"}),
+        new DocumentSample("2", new String[] {"k", "l", "m"}),
+        new DocumentSample("2", new String[] {"k", "l", "m", "9"})};
+
+    TrainingParameters params = new TrainingParameters();
+    params.put(TrainingParameters.CUTOFF_PARAM, 0);
+    params.put(AbstractTrainer.ALGORITHM_PARAM, NaiveBayesTrainer.NAIVE_BAYES_VALUE);
+
+    DoccatModel model = DocumentCategorizerME.train("x-unspecified",
+        ObjectStreamUtils.createObjectStream(oldSamples), params, new DoccatFactory());
+
+    DoccatModel updatedModel = DocumentCategorizerME.update(model,
+        ObjectStreamUtils.createObjectStream(newSamples), params);
+
+    DocumentSample[] allSamples = new DocumentSample[oldSamples.length + newSamples.length];
+    System.arraycopy(oldSamples, 0, allSamples, 0, oldSamples.length);
+    System.arraycopy(newSamples, 0, allSamples, oldSamples.length, newSamples.length);
+
+    DoccatModel retrainedModel = DocumentCategorizerME.train("x-unspecified",
+        ObjectStreamUtils.createObjectStream(allSamples), params, new DoccatFactory());
+
+    DocumentCategorizer updated = new DocumentCategorizerME(updatedModel);
+    DocumentCategorizer retrained = new DocumentCategorizerME(retrainedModel);
+
+    Assertions.assertEquals(2, new DocumentCategorizerME(model).getNumberOfCategories());
+    Assertions.assertEquals(3, updated.getNumberOfCategories());
+    Assertions.assertEquals("2", updated.getBestCategory(updated.categorize(new String[] {"k"})));
+
+    // Counting the new samples gives the model trained on all samples
+    String[][] texts = {{"a"}, {"x", "8"}, {"k", "9", "b"}, {"unknown"}};
+    for (String[] text : texts) {
+      double[] updatedProbs = updated.categorize(text);
+      double[] retrainedProbs = retrained.categorize(text);
+      for (int i = 0; i < updatedProbs.length; i++) {
+        Assertions.assertEquals(retrainedProbs[retrained.getIndex(updated.getCategory(i))],
+            updatedProbs[i], 0.000001);
+      }
+    }
+  }
 }
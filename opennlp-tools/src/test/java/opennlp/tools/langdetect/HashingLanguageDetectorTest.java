@@ -0,0 +1,148 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package opennlp.tools.langdetect;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import opennlp.tools.ml.model.MaxentModel;
+import opennlp.tools.ngram.NGramCharModel;
+
+public class HashingLanguageDetectorTest {
+
+  private static final String[] TEXTS = {
+      "estava em uma marcenaria na Rua Bruno",
+      "Dove è meglio che giochi",
+      "Le gouvernement a annoncé de nouvelles mesures",
+      "El perro corre por la calle ESTA MAÑANA",
+      "a",
+      ""
+  };
+
+  private static LanguageDetectorModel model;
+
+  @BeforeAll
+  static void init() throws Exception {
+    model = LanguageDetectorMETest.trainModel();
+  }
+
+  private static void assertSameLanguages(Language[] expected, Language[] languages,
+      String message) {
+    Assertions.assertEquals(expected.length, languages.length);
+    for (int i = 0; i < languages.length; i++) {
+      Assertions.assertEquals(expected[i].getLang(), languages[i].getLang(), message);
+      Assertions.assertEquals(expected[i].getConfidence(), languages[i].getConfidence(), 1e-6,
+          message);
+    }
+  }
+
+  @Test
+  void testSamePredictionsAsLanguageDetectorME() throws Exception {
+    for (String algorithm : new String[] {"NAIVEBAYES", "MAXENT", "PERCEPTRON", "MAXENT_QN"}) {
+      LanguageDetectorModel algorithmModel = LanguageDetectorMETest.trainModel(
+          new LanguageDetectorFactory(), algorithm);
+
+      LanguageDetector expected = new LanguageDetectorME(algorithmModel);
+      LanguageDetector detector = new HashingLanguageDetector(algorithmModel);
+
+      for (String text : TEXTS) {
+        assertSameLanguages(expected.predictLanguages(text), detector.predictLanguages(text),
+            algorithm + ": " + text);
+      }
+    }
+  }
+
+  /**
+   * Tests that the count weighted scores are the same as evaluating every
+   * ngram as often as it occurs in the text.
+   */
+  @Test
+  void testCountWeightedScores() throws Exception {
+    String text = "estava em uma marcenaria estava em uma marcenaria na Rua Bruno";
+
+    for (String algorithm : new String[] {"NAIVEBAYES", "MAXENT", "PERCEPTRON"}) {
+      LanguageDetectorModel algorithmModel = LanguageDetectorMETest.trainModel(
+          new LanguageDetectorFactory(), algorithm);
+      MaxentModel maxentModel = algorithmModel.getMaxentModel();
+
+      DefaultLanguageDetectorContextGenerator generator =
+          (DefaultLanguageDetectorContextGenerator) algorithmModel.getFactory().getContextGenerator();
+      NGramCharModel ngrams = new NGramCharModel();
+      ngrams.add(generator.normalizer.normalize(text), generator.minLength, generator.maxLength);
+
+      List<String> context = new ArrayList<>();
+      for (String ngram : ngrams) {
+        for (int i = 0; i < ngrams.getCount(ngram); i++) {
+          context.add(ngram);
+        }
+      }
+
+      double[] probs = maxentModel.eval(context.toArray(new String[0]));
+      Language[] expected = new Language[probs.length];
+      for (int i = 0; i < probs.length; i++) {
+        expected[i] = new Language(maxentModel.getOutcome(i), probs[i]);
+      }
+      Arrays.sort(expected,
+          (o1, o2) -> Double.compare(o2.getConfidence(), o1.getConfidence()));
+
+      assertSameLanguages(expected,
+          new HashingLanguageDetector(algorithmModel, true).predictLanguages(text), algorithm);
+    }
+  }
+
+  @Test
+  void testPredictLanguage() {
+    LanguageDetector detector = new HashingLanguageDetector(model);
+    Assertions.assertEquals("ita", detector.predictLanguage("Dove è meglio che giochi").getLang());
+  }
+
+  @Test
+  void testCountWeighted() {
+    LanguageDetector detector = new HashingLanguageDetector(model, true);
+
+    Language[] languages = detector.predictLanguages("estava em uma marcenaria na Rua Bruno");
+    Assertions.assertEquals(4, languages.length);
+    Assertions.assertEquals("pob", languages[0].getLang());
+
+    // the repeated ngrams increase the confidence in the count weighted mode
+    String text = "estava em uma marcenaria";
+    String repeated = text + " " + text + " " + text;
+
+    Assertions.assertTrue(detector.predictLanguage(repeated).getConfidence()
+        > detector.predictLanguage(text).getConfidence());
+  }
+
+  @Test
+  void testSupportedLanguages() {
+    LanguageDetector detector = new HashingLanguageDetector(model);
+    Assertions.assertArrayEquals(new LanguageDetectorME(model).getSupportedLanguages(),
+        detector.getSupportedLanguages());
+  }
+
+  @Test
+  void testUnsupportedContextGenerator() throws Exception {
+    LanguageDetectorModel dummyModel = LanguageDetectorMETest.trainModel(new DummyFactory());
+    Assertions.assertThrows(IllegalArgumentException.class,
+        () -> new HashingLanguageDetector(dummyModel));
+  }
+}
@@ -72,6 +72,44 @@ public class LanguageDetectorMETest {
     }
   }
 
+  @Test
+  void testProbingPredictLanguagesLongDocument() {
+    LanguageDetectorME ld = new LanguageDetectorME(this.model);
+    StringBuilder sb = new StringBuilder();
+    while (sb.length() < 4_000_000) {
+      sb.append("estava em uma marcenaria na Rua Bruno ");
+    }
+
+    ProbingLanguageDetectionResult result = ld.probingPredictLanguages(sb);
+    Assertions.assertTrue(result.getLength() <= 600);
+    Assertions.assertEquals("pob", result.getLanguages()[0].getLang());
+  }
+
+  @Test
+  void testProbingPredictLanguagesSingleChunk() throws Exception {
+    String text = "Dove è meglio che giochi \uD801\uDC00";
+
+    LanguageDetectorConfig config = new LanguageDetectorConfig();
+    config.setChunkSize(1000);
+
+    for (String algorithm : new String[] {"NAIVEBAYES", "MAXENT", "PERCEPTRON", "MAXENT_QN"}) {
+      LanguageDetectorME ld = new LanguageDetectorME(
+          trainModel(new LanguageDetectorFactory(), algorithm));
+
+      ProbingLanguageDetectionResult result = ld.probingPredictLanguages(text, config);
+      Assertions.assertEquals(text.codePointCount(0, text.length()), result.getLength());
+
+      Language[] expected = ld.predictLanguages(text);
+      Language[] languages = result.getLanguages();
+      Assertions.assertEquals(expected.length, languages.length);
+      for (int i = 0; i < languages.length; i++) {
+        Assertions.assertEquals(expected[i].getLang(), languages[i].getLang(), algorithm);
+        Assertions.assertEquals(expected[i].getConfidence(), languages[i].getConfidence(), 1e-6,
+            algorithm);
+      }
+    }
+  }
+
   @Test
   void testPredictLanguage() {
     LanguageDetector ld = new LanguageDetectorME(this.model);
@@ -99,6 +137,17 @@ public class LanguageDetectorMETest {
 
   }
 
+  @Test
+  void testUpdateDoesNotModifyParameters() throws IOException {
+    TrainingParameters params = new TrainingParameters();
+    params.put(TrainingParameters.CUTOFF_PARAM, 1);
+
+    LanguageDetectorModel updated = LanguageDetectorME.update(model, createSampleStream(), params);
+
+    Assertions.assertEquals(4, new LanguageDetectorME(updated).getSupportedLanguages().length);
+    Assertions.assertNull(params.getStringParameter("DataIndexer", null));
+  }
+
   protected static byte[] serializeModel(LanguageDetectorModel model) throws IOException {
 
     ByteArrayOutputStream out = new ByteArrayOutputStream();
@@ -111,7 +160,11 @@ public class LanguageDetectorMETest {
   }
 
   public static LanguageDetectorModel trainModel(LanguageDetectorFactory factory) throws Exception {
+    return trainModel(factory, "NAIVEBAYES");
+  }
 
+  static LanguageDetectorModel trainModel(LanguageDetectorFactory factory, String algorithm)
+      throws Exception {
 
     LanguageDetectorSampleStream sampleStream = createSampleStream();
 
@@ -119,7 +172,7 @@ public class LanguageDetectorMETest {
     params.put(TrainingParameters.ITERATIONS_PARAM, 100);
     params.put(TrainingParameters.CUTOFF_PARAM, 5);
     params.put("DataIndexer", "TwoPass");
-    params.put(TrainingParameters.ALGORITHM_PARAM, "NAIVEBAYES");
+    params.put(TrainingParameters.ALGORITHM_PARAM, algorithm);
 
     return LanguageDetectorME.train(sampleStream, params, factory);
   }
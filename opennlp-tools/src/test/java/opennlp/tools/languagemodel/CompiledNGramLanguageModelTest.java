@@ -0,0 +1,170 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package opennlp.tools.languagemodel;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collection;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link CompiledNGramLanguageModel}
+ */
+public class CompiledNGramLanguageModelTest {
+
+  private static NGramLanguageModel createModel() {
+    NGramLanguageModel model = new NGramLanguageModel(3);
+    model.add("<s>", "I", "am", "Sam", "</s>");
+    model.add("<s>", "Sam", "I", "am", "</s>");
+    model.add("<s>", "I", "do", "not", "like", "green", "eggs", "and", "ham", "</s>");
+    model.add("<s>", "I", "am", "not", "Sam", "</s>");
+    return model;
+  }
+
+  @Test
+  void testSameProbabilitiesAsNGramLanguageModel() {
+    NGramLanguageModel model = createModel();
+    CompiledNGramLanguageModel compiled = model.compile();
+
+    String[][] sentences = {
+        {"<s>", "I"},
+        {"Sam", "</s>"},
+        {"<s>", "I", "am", "Sam", "</s>"},
+        {"<s>", "Sam", "do", "not", "like", "eggs", "</s>"},
+        {"I", "like", "unknown", "tokens"},
+        {"ham"},
+        {"unknown"}
+    };
+
+    for (String[] sentence : sentences) {
+      Assertions.assertEquals(model.calculateProbability(sentence),
+          compiled.calculateProbability(sentence), 0d);
+    }
+  }
+
+  @Test
+  void testRandomVocabularyProbabilities() {
+    NGramLanguageModel model = new NGramLanguageModel();
+    for (String[] sentence : LanguageModelTestUtils.generateRandomVocabulary(100)) {
+      model.add(sentence);
+    }
+    CompiledNGramLanguageModel compiled = model.compile();
+
+    Collection<String[]> sentences = LanguageModelTestUtils.generateRandomVocabulary(50);
+    for (String[] sentence : sentences) {
+      Assertions.assertEquals(model.calculateProbability(sentence),
+          compiled.calculateProbability(sentence), 0d);
+    }
+  }
+
+  @Test
+  void testTopNextTokens() {
+    CompiledNGramLanguageModel compiled = createModel().compile();
+
+    // "am" follows "<s> I" twice, "do" once, the other tokens are backed off unigrams
+    String[] top = compiled.topNextTokens(5, "<s>", "I");
+    Assertions.assertEquals(5, top.length);
+    Assertions.assertEquals("am", top[0]);
+    Assertions.assertEquals("do", top[1]);
+
+    // unknown context backs off to the unigram counts
+    String[] next = compiled.topNextTokens(2, "unknown");
+    Assertions.assertEquals(2, next.length);
+    Assertions.assertArrayEquals(new String[] {"</s>", "<s>"}, next);
+  }
+
+  @Test
+  void testTopNextTokensRanksBySmoothedProbability() {
+    NGramLanguageModel model = new NGramLanguageModel(2);
+    for (int i = 0; i < 3; i++) {
+      model.add("c", "A");
+    }
+    model.add("c", "B");
+    model.add("c", "B");
+    model.add("c", "X");
+
+    // "X" is a frequent unigram, but it was seen after "c" only once
+    String[] frequent = new String[100];
+    Arrays.fill(frequent, "X");
+    model.add(frequent);
+
+    CompiledNGramLanguageModel compiled = model.compile();
+
+    String[] top = compiled.topNextTokens(2, "c");
+    Assertions.assertArrayEquals(new String[] {"A", "B"}, top);
+
+    String[] vocabulary = {"A", "B", "X", "c"};
+    double[] expected = Arrays.stream(vocabulary)
+        .mapToDouble(token -> compiled.calculateProbability("c", token))
+        .map(probability -> -probability).sorted().map(probability -> -probability).toArray();
+
+    top = compiled.topNextTokens(vocabulary.length, "c");
+    Assertions.assertEquals(vocabulary.length, top.length);
+    for (int i = 0; i < top.length; i++) {
+      Assertions.assertEquals(expected[i], compiled.calculateProbability("c", top[i]), 0d);
+    }
+  }
+
+  @Test
+  void testPredictNextTokensLikeNGramLanguageModel() {
+    NGramLanguageModel model = createModel();
+    CompiledNGramLanguageModel compiled = model.compile();
+
+    String[][] contexts = {{"<s>", "I"}, {"I", "am"}, {"Sam"}, {"unknown"}};
+    for (String[] context : contexts) {
+      String[] expected = model.predictNextTokens(context);
+      String[] predicted = compiled.predictNextTokens(context);
+      Assertions.assertEquals(probability(model, context, expected),
+          probability(model, context, predicted), 0d);
+    }
+  }
+
+  private static double probability(NGramLanguageModel model, String[] context, String[] next) {
+    String[] sequence = new String[context.length + next.length];
+    System.arraycopy(context, 0, sequence, 0, context.length);
+    System.arraycopy(next, 0, sequence, context.length, next.length);
+    return model.calculateProbability(sequence);
+  }
+
+  @Test
+  void testEmptyModel() {
+    CompiledNGramLanguageModel compiled = new NGramLanguageModel().compile();
+    Assertions.assertEquals(0d, compiled.calculateProbability("1", "2", "3"), 0d);
+    Assertions.assertNull(compiled.predictNextTokens("1"));
+  }
+
+  @Test
+  void testSerialization() throws IOException {
+    NGramLanguageModel model = createModel();
+    CompiledNGramLanguageModel compiled = model.compile();
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    compiled.serialize(out);
+
+    CompiledNGramLanguageModel read =
+        CompiledNGramLanguageModel.create(new ByteArrayInputStream(out.toByteArray()));
+
+    String[] sentence = {"<s>", "I", "am", "not", "like", "Sam", "</s>"};
+    Assertions.assertEquals(model.calculateProbability(sentence), read.calculateProbability(sentence), 0d);
+    Assertions.assertArrayEquals(compiled.topNextTokens(3, "I"), read.topNextTokens(3, "I"));
+  }
+}
@@ -25,6 +25,7 @@ import org.apache.commons.io.IOUtils;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
+import opennlp.tools.ngram.NGramCounter;
 import opennlp.tools.ngram.NGramGenerator;
 
 /**
@@ -119,6 +120,27 @@ public class NgramLanguageModelTest {
     Assertions.assertArrayEquals(new String[] {"something"}, tokens);
   }
 
+  @Test
+  public void testTrigramFromCounter() {
+    String[][] sentences = {
+        {"I", "see", "the", "fox"},
+        {"the", "red", "house"},
+        {"I", "saw", "something", "nice"}};
+
+    NGramLanguageModel expected = new NGramLanguageModel(3);
+    NGramCounter counter = new NGramCounter(1, 3);
+    for (String[] sentence : sentences) {
+      expected.add(sentence);
+      counter.add(sentence);
+    }
+
+    NGramLanguageModel model = new NGramLanguageModel(counter, 3);
+    Assertions.assertEquals(expected.size(), model.size());
+    Assertions.assertEquals(expected.calculateProbability("I", "saw", "the", "red", "house"),
+        model.calculateProbability("I", "saw", "the", "red", "house"), 0d);
+    Assertions.assertArrayEquals(new String[] {"something"}, model.predictNextTokens("I", "saw"));
+  }
+
   @Test
   public void testSerializedNGramLanguageModel() throws Exception {
     NGramLanguageModel languageModel = new NGramLanguageModel(getClass().getResourceAsStream(
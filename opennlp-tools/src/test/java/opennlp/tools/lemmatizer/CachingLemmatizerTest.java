@@ -0,0 +1,173 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package opennlp.tools.lemmatizer;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import opennlp.tools.util.MockInputStreamFactory;
+import opennlp.tools.util.ObjectStream;
+import opennlp.tools.util.PlainTextByLineStream;
+import opennlp.tools.util.TrainingParameters;
+
+public class CachingLemmatizerTest {
+
+  private static final String[] SENTENCE = {"The", "dogs", "were", "running", "and", "barking",
+      "down", "the", "street"};
+  private static final String[] SENTENCE_POS = {"DT", "NNS", "VBD", "VBG", "CC", "VBG", "RP",
+      "DT", "NN"};
+
+  private static DictionaryLemmatizer dictionaryLemmatizer;
+
+  @BeforeAll
+  static void loadDictionary() throws Exception {
+    dictionaryLemmatizer = new DictionaryLemmatizer(CachingLemmatizerTest.class
+        .getResourceAsStream("/opennlp/tools/lemmatizer/smalldictionary.dict"));
+  }
+
+  @Test
+  void testSameLemmasAsDelegate() {
+    CachingLemmatizer lemmatizer = new CachingLemmatizer(() -> dictionaryLemmatizer, 100);
+
+    String[] expected = dictionaryLemmatizer.lemmatize(SENTENCE, SENTENCE_POS);
+    Assertions.assertArrayEquals(expected, lemmatizer.lemmatize(SENTENCE, SENTENCE_POS));
+    Assertions.assertArrayEquals(expected, lemmatizer.lemmatize(SENTENCE, SENTENCE_POS));
+    Assertions.assertEquals(SENTENCE.length, lemmatizer.getHits());
+  }
+
+  @Test
+  void testHitRate() {
+    CachingLemmatizer lemmatizer = new CachingLemmatizer(() -> dictionaryLemmatizer, 100);
+    Assertions.assertEquals(0, lemmatizer.getHitRate(), 0);
+
+    lemmatizer.lemmatize(SENTENCE, SENTENCE_POS);
+    Assertions.assertEquals(0, lemmatizer.getHits());
+    Assertions.assertEquals(SENTENCE.length, lemmatizer.getMisses());
+
+    lemmatizer.lemmatize(SENTENCE, SENTENCE_POS);
+    Assertions.assertEquals(SENTENCE.length, lemmatizer.getHits());
+    Assertions.assertEquals(0.5, lemmatizer.getHitRate(), 0);
+
+    lemmatizer.clearCache();
+    Assertions.assertEquals(0, lemmatizer.getHits());
+    lemmatizer.lemmatize(SENTENCE, SENTENCE_POS);
+    Assertions.assertEquals(SENTENCE.length, lemmatizer.getMisses());
+  }
+
+  @Test
+  void testPartialHitLemmatizesWholeSentence() {
+    int[] lengths = new int[2];
+    int[] calls = new int[1];
+    Lemmatizer delegate = new Lemmatizer() {
+      @Override
+      public String[] lemmatize(String[] toks, String[] tags) {
+        lengths[calls[0]++] = toks.length;
+        return dictionaryLemmatizer.lemmatize(toks, tags);
+      }
+
+      @Override
+      public List<List<String>> lemmatize(List<String> toks, List<String> tags) {
+        return dictionaryLemmatizer.lemmatize(toks, tags);
+      }
+    };
+
+    CachingLemmatizer lemmatizer = new CachingLemmatizer(() -> delegate, 100);
+    lemmatizer.lemmatize(new String[] {"dogs"}, new String[] {"NNS"});
+
+    String[] expected = dictionaryLemmatizer.lemmatize(SENTENCE, SENTENCE_POS);
+    Assertions.assertArrayEquals(expected, lemmatizer.lemmatize(SENTENCE, SENTENCE_POS));
+    Assertions.assertEquals(2, calls[0]);
+    Assertions.assertEquals(SENTENCE.length, lengths[1]);
+    Assertions.assertEquals(1, lemmatizer.getHits());
+
+    // a full hit does not call the delegate
+    lemmatizer.lemmatize(SENTENCE, SENTENCE_POS);
+    Assertions.assertEquals(2, calls[0]);
+  }
+
+  @Test
+  void testCacheCapacity() {
+    CachingLemmatizer lemmatizer = new CachingLemmatizer(() -> dictionaryLemmatizer, 2);
+
+    lemmatizer.lemmatize(SENTENCE, SENTENCE_POS);
+    lemmatizer.lemmatize(SENTENCE, SENTENCE_POS);
+    Assertions.assertEquals(2, lemmatizer.getHits());
+
+    Assertions.assertThrows(IllegalArgumentException.class,
+        () -> new CachingLemmatizer(() -> dictionaryLemmatizer, -1));
+  }
+
+  @Test
+  void testLemmaTable() {
+    LemmaTable table = new LemmaTable(new String[] {"dogs", "were"}, new String[] {"NNS", "VBD"},
+        new String[] {"hound", "be"});
+    Assertions.assertEquals(2, table.size());
+    Assertions.assertEquals("be", table.lookup("were", "VBD"));
+    Assertions.assertNull(table.lookup("were", "VBZ"));
+
+    CachingLemmatizer lemmatizer = new CachingLemmatizer(() -> dictionaryLemmatizer, table, 0);
+    String[] lemmas = lemmatizer.lemmatize(SENTENCE, SENTENCE_POS);
+
+    Assertions.assertEquals("hound", lemmas[1]);
+    Assertions.assertEquals("be", lemmas[2]);
+    Assertions.assertEquals("run", lemmas[3]);
+    Assertions.assertEquals(2, lemmatizer.getHits());
+  }
+
+  @Test
+  void testLemmaTableInModel() throws Exception {
+    ObjectStream<LemmaSample> sampleStream = new LemmaSampleStream(
+        new PlainTextByLineStream(new MockInputStreamFactory(
+            new File("opennlp/tools/lemmatizer/trial.old.tsv")), StandardCharsets.UTF_8));
+
+    TrainingParameters params = new TrainingParameters();
+    params.put(TrainingParameters.ITERATIONS_PARAM, 100);
+    params.put(TrainingParameters.CUTOFF_PARAM, 5);
+    params.put(LemmaTable.LEMMA_TABLE_SIZE_PARAM, 50);
+
+    LemmatizerModel model = LemmatizerME.train("eng", sampleStream, params,
+        new LemmatizerFactory());
+    Assertions.assertEquals(50, model.getLemmaTable().size());
+    Assertions.assertEquals("the", model.getLemmaTable().lookup("the", "DT"));
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    model.serialize(out);
+    LemmatizerModel loadedModel = new LemmatizerModel(new ByteArrayInputStream(out.toByteArray()));
+
+    LemmaTable table = loadedModel.getLemmaTable();
+    Assertions.assertEquals(50, table.size());
+    Assertions.assertEquals("the", table.lookup("the", "DT"));
+
+    String[] tokens = {"Rockwell", "said", "the", "agreement", "calls", "for", "it", "to",
+        "supply", "200", "additional", "so-called", "shipsets", "for", "the", "planes", "."};
+    String[] tags = {"NNP", "VBD", "DT", "NN", "VBZ", "IN", "PRP", "TO", "VB", "CD", "JJ", "JJ",
+        "NNS", "IN", "DT", "NNS", "."};
+
+    CachingLemmatizer lemmatizer = new CachingLemmatizer(loadedModel, 100);
+    Assertions.assertArrayEquals(new LemmatizerME(loadedModel).lemmatize(tokens, tags),
+        lemmatizer.lemmatize(tokens, tags));
+    Assertions.assertTrue(lemmatizer.getHits() > 0);
+  }
+}
@@ -26,6 +26,8 @@ import org.junit.jupiter.api.Test;
 import opennlp.tools.ml.model.MaxentModel;
 import opennlp.tools.util.BeamSearchContextGenerator;
 import opennlp.tools.util.Sequence;
+import opennlp.tools.util.metrics.Metrics;
+import opennlp.tools.util.metrics.MetricsRegistry;
 
 public class BeamSearchTest {
 
@@ -178,6 +180,10 @@ public class BeamSearchTest {
     Assertions.assertEquals("3", seq.getOutcomes().get(2));
     Assertions.assertEquals("2", seq.getOutcomes().get(3));
     Assertions.assertEquals("1", seq.getOutcomes().get(4));
+
+    int[] ids = new int[sequence.length];
+    Assertions.assertTrue(seq.getOutcomeIds(ids));
+    Assertions.assertArrayEquals(new int[] {0, 1, 2, 1, 0}, ids);
   }
 
   /**
@@ -204,4 +210,43 @@ public class BeamSearchTest {
     Assertions.assertNotSame("2", seq.getOutcomes().get(3));
     Assertions.assertEquals("1", seq.getOutcomes().get(4));
   }
+
+  /**
+   * Tests that the search records its metrics when the instrumentation is enabled.
+   */
+  @Test
+  void testBestSequenceMetrics() {
+    String[] sequence = {"1", "2", "3", "2", "1"};
+    String[][] contexts = new String[sequence.length][];
+    for (int i = 0; i < sequence.length; i++) {
+      contexts[i] = new String[] {sequence[i]};
+    }
+    BeamSearchContextGenerator<String> cg = (index, inputSequence, priorDecisions,
+        additionalContext) -> contexts[index];
+
+    MaxentModel model = new IdentityModel(new String[] {"1", "2", "3"});
+    BeamSearch<String> bs = new BeamSearch<>(2, model, 10);
+
+    MetricsRegistry registry = Metrics.getRegistry();
+    registry.reset();
+    Metrics.setEnabled(true);
+    try {
+      bs.bestSequence(sequence, null, cg,
+          (int i, String[] inputSequence, String[] outcomesSequence, String outcome) -> true);
+    } finally {
+      Metrics.setEnabled(false);
+    }
+
+    Assertions.assertEquals(1, registry.histogram("BeamSearch.bestSequences").getCount());
+    // the first position expands the empty sequence, the others both sequences of the beam
+    Assertions.assertEquals(9, registry.counter("BeamSearch.expansions").getCount());
+    Assertions.assertEquals(5, registry.counter("BeamSearch.cacheMisses").getCount());
+    Assertions.assertEquals(4, registry.counter("BeamSearch.cacheHits").getCount());
+    Assertions.assertEquals(5, registry.histogram("BeamSearch.eval").getCount());
+
+    // nothing is recorded when the instrumentation is disabled
+    bs.bestSequence(sequence, null, cg,
+        (int i, String[] inputSequence, String[] outcomesSequence, String outcome) -> true);
+    Assertions.assertEquals(1, registry.histogram("BeamSearch.bestSequences").getCount());
+  }
 }
@@ -60,6 +60,11 @@ public class PrepAttachDataUtil {
     return ObjectStreamUtils.createObjectStream(trainingEvents);
   }
 
+  public static ObjectStream<Event> createDevStream() throws IOException {
+    List<Event> devEvents = readPpaFile("devset");
+    return ObjectStreamUtils.createObjectStream(devEvents);
+  }
+
   public static void testModel(MaxentModel model, double expecedAccuracy) throws IOException {
 
     List<Event> devEvents = readPpaFile("devset");
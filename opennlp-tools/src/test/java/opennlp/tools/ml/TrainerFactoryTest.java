@@ -23,6 +23,9 @@ import org.junit.jupiter.api.Test;
 
 import opennlp.tools.ml.TrainerFactory.TrainerType;
 import opennlp.tools.ml.maxent.GISTrainer;
+import opennlp.tools.ml.model.Context;
+import opennlp.tools.ml.naivebayes.NaiveBayesModel;
+import opennlp.tools.ml.naivebayes.NaiveBayesTrainer;
 import opennlp.tools.ml.perceptron.SimplePerceptronSequenceTrainer;
 import opennlp.tools.util.TrainingParameters;
 
@@ -78,4 +81,19 @@ public class TrainerFactoryTest {
     Assertions.assertFalse(TrainerType.EVENT_MODEL_SEQUENCE_TRAINER.equals(trainerType));
   }
 
+  @Test
+  void testIncrementalEventTrainerWithDefaultParams() {
+    NaiveBayesModel model = new NaiveBayesModel(
+        new Context[] {new Context(new int[] {0, 1}, new double[] {1, 2})},
+        new String[] {"pred"}, new String[] {"a", "b"});
+
+    TrainingParameters params = TrainingParameters.defaultParams();
+
+    IncrementalEventTrainer trainer = TrainerFactory.getIncrementalEventTrainer(model, params,
+        null);
+
+    Assertions.assertTrue(trainer instanceof NaiveBayesTrainer);
+    Assertions.assertEquals(GISTrainer.MAXENT_VALUE,
+        params.getStringParameter(TrainingParameters.ALGORITHM_PARAM, null));
+  }
 }
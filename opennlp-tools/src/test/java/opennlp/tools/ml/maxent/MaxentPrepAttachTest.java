@@ -87,6 +87,21 @@ public class MaxentPrepAttachTest {
     PrepAttachDataUtil.testModel(model, 0.7997028967566229);
   }
 
+  @Test
+  void testMaxentOnPrepAttachDataWithSortMergeIndexer() throws IOException {
+
+    TrainingParameters trainParams = new TrainingParameters();
+    trainParams.put(AbstractTrainer.ALGORITHM_PARAM, GISTrainer.MAXENT_VALUE);
+    trainParams.put(AbstractEventTrainer.DATA_INDEXER_PARAM,
+        AbstractEventTrainer.DATA_INDEXER_SORT_MERGE_VALUE);
+    trainParams.put(AbstractTrainer.CUTOFF_PARAM, 1);
+
+    EventTrainer trainer = TrainerFactory.getEventTrainer(trainParams, null);
+    MaxentModel model = trainer.train(PrepAttachDataUtil.createTrainingStream());
+
+    PrepAttachDataUtil.testModel(model, 0.7997028967566229);
+  }
+
   @Test
   void testMaxentOnPrepAttachDataWithParamsDefault() throws IOException {
 
@@ -0,0 +1,129 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package opennlp.tools.ml.model;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import opennlp.tools.ml.AbstractTrainer;
+import opennlp.tools.ml.PrepAttachDataUtil;
+import opennlp.tools.ml.TrainerFactory;
+import opennlp.tools.ml.maxent.GISModel;
+import opennlp.tools.ml.maxent.GISTrainer;
+import opennlp.tools.ml.maxent.quasinewton.QNTrainer;
+import opennlp.tools.ml.naivebayes.NaiveBayesTrainer;
+import opennlp.tools.ml.perceptron.PerceptronTrainer;
+import opennlp.tools.util.TrainingParameters;
+
+public class BulkModelReadWriteTest {
+
+  @TempDir
+  Path tempDir;
+
+  private static AbstractModel train(String algorithm) throws IOException {
+    TrainingParameters trainParams = new TrainingParameters();
+    trainParams.put(AbstractTrainer.ALGORITHM_PARAM, algorithm);
+    trainParams.put(AbstractTrainer.CUTOFF_PARAM, 1);
+    trainParams.put(AbstractTrainer.ITERATIONS_PARAM, 20);
+
+    return (AbstractModel) TrainerFactory.getEventTrainer(trainParams, null)
+        .train(PrepAttachDataUtil.createTrainingStream());
+  }
+
+  private static byte[] write(AbstractModel model) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    new BulkModelWriter(model, Channels.newChannel(out)).persist();
+    return out.toByteArray();
+  }
+
+  @Test
+  void testAllModelTypes() throws IOException {
+    for (String algorithm : new String[] {GISTrainer.MAXENT_VALUE, QNTrainer.MAXENT_QN_VALUE,
+        PerceptronTrainer.PERCEPTRON_VALUE, NaiveBayesTrainer.NAIVE_BAYES_VALUE}) {
+      AbstractModel model = train(algorithm);
+
+      AbstractModel read = new BulkModelReader(Channels.newChannel(
+          new ByteArrayInputStream(write(model)))).getModel();
+
+      Assertions.assertEquals(model.getModelType(), read.getModelType());
+      Assertions.assertEquals(model, read);
+    }
+  }
+
+  @Test
+  void testGenericModelReader() throws IOException {
+    AbstractModel model = train(GISTrainer.MAXENT_VALUE);
+
+    // The model is followed by other data which must not be consumed
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    out.write(write(model));
+    out.write(new byte[] {1, 2, 3});
+
+    ByteArrayInputStream in = new ByteArrayInputStream(out.toByteArray());
+    AbstractModel read = new GenericModelReader(new BinaryFileDataReader(in)).getModel();
+
+    Assertions.assertEquals(model, read);
+    Assertions.assertEquals(3, in.available());
+  }
+
+  @Test
+  void testFile() throws IOException {
+    AbstractModel model = train(PerceptronTrainer.PERCEPTRON_VALUE);
+
+    File file = tempDir.resolve("model.bin").toFile();
+    new BulkModelWriter(model, file).persist();
+
+    Assertions.assertEquals(model, BulkModelReader.read(file));
+  }
+
+  @Test
+  void testLargeParameters() throws IOException {
+    // Longer than a string which can be written with writeUTF and than the buffers
+    char[] chars = new char[100_000];
+    Arrays.fill(chars, 'ä');
+    String longPredicate = new String(chars);
+
+    int numOutcomes = 20_000;
+    String[] outcomes = new String[numOutcomes];
+    int[] pattern = new int[numOutcomes];
+    double[] parameters = new double[numOutcomes];
+    for (int oi = 0; oi < numOutcomes; oi++) {
+      outcomes[oi] = "o" + oi;
+      pattern[oi] = oi;
+      parameters[oi] = oi * 0.5;
+    }
+
+    AbstractModel model = new GISModel(
+        new Context[] {new Context(pattern, parameters), new Context(pattern, parameters.clone())},
+        new String[] {longPredicate, "short"}, outcomes);
+
+    AbstractModel read = new BulkModelReader(Channels.newChannel(
+        new ByteArrayInputStream(write(model)))).getModel();
+
+    Assertions.assertEquals(model, read);
+  }
+}
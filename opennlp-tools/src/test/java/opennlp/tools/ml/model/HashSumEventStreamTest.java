@@ -0,0 +1,118 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package opennlp.tools.ml.model;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import opennlp.tools.ml.AbstractEventTrainer;
+import opennlp.tools.ml.AbstractTrainer;
+import opennlp.tools.ml.EventTrainer;
+import opennlp.tools.ml.PrepAttachDataUtil;
+import opennlp.tools.ml.TrainerFactory;
+import opennlp.tools.ml.maxent.GISTrainer;
+import opennlp.tools.util.ObjectStream;
+import opennlp.tools.util.TrainingParameters;
+
+public class HashSumEventStreamTest {
+
+  private static BigInteger hash(String algorithm, String... events) throws IOException {
+    SimpleEventStreamBuilder builder = new SimpleEventStreamBuilder();
+    for (String event : events) {
+      builder.add(event);
+    }
+
+    HashSumEventStream stream = new HashSumEventStream(builder.build(), algorithm);
+    while (stream.read() != null) {
+      // consume all events
+    }
+    return stream.calculateHashSum();
+  }
+
+  @Test
+  void testMurmur3IsDeterministic() throws IOException {
+    Assertions.assertEquals(
+        hash(HashSumEventStream.MURMUR3, "other/w=he n1w=belongs", "org/w=apache p1w=to"),
+        hash(HashSumEventStream.MURMUR3, "other/w=he n1w=belongs", "org/w=apache p1w=to"));
+  }
+
+  @Test
+  void testMurmur3DistinguishesEvents() throws IOException {
+    BigInteger hash = hash(HashSumEventStream.MURMUR3, "other/w=he n1w=belongs");
+
+    Assertions.assertNotEquals(hash, hash(HashSumEventStream.MURMUR3, "other/w=hen1w=belongs"));
+    Assertions.assertNotEquals(hash, hash(HashSumEventStream.MURMUR3, "other/n1w=belongs w=he"));
+    Assertions.assertNotEquals(hash, hash(HashSumEventStream.MURMUR3, "org/w=he n1w=belongs"));
+    Assertions.assertNotEquals(hash, hash(HashSumEventStream.MURMUR3, "other/w=he;1 n1w=belongs;1"));
+    Assertions.assertNotEquals(hash, hash(HashSumEventStream.MURMUR3));
+  }
+
+  @Test
+  void testMD5IsDefault() throws IOException {
+    ObjectStream<Event> events = new SimpleEventStreamBuilder().add("other/w=he n1w=belongs").build();
+    HashSumEventStream stream = new HashSumEventStream(events);
+    while (stream.read() != null) {
+      // consume all events
+    }
+
+    Assertions.assertEquals(hash(HashSumEventStream.MD5, "other/w=he n1w=belongs"),
+        stream.calculateHashSum());
+  }
+
+  @Test
+  void testUnknownAlgorithm() {
+    Assertions.assertThrows(IllegalArgumentException.class,
+        () -> new HashSumEventStream(new SimpleEventStreamBuilder().build(), "SHA-0"));
+  }
+
+  @Test
+  void testTrainerReport() throws IOException {
+    TrainingParameters trainParams = new TrainingParameters();
+    trainParams.put(AbstractTrainer.ALGORITHM_PARAM, GISTrainer.MAXENT_VALUE);
+    trainParams.put(AbstractTrainer.ITERATIONS_PARAM, 10);
+    trainParams.put(HashSumEventStream.HASH_PARAM, HashSumEventStream.MURMUR3);
+    trainParams.put(AbstractEventTrainer.DATA_INDEXER_PARAM,
+        AbstractEventTrainer.DATA_INDEXER_TWO_PASS_VALUE);
+
+    Map<String, String> reportMap = new HashMap<>();
+    EventTrainer trainer = TrainerFactory.getEventTrainer(trainParams, reportMap);
+    trainer.train(PrepAttachDataUtil.createTrainingStream());
+
+    Assertions.assertTrue(reportMap.containsKey("Training-Eventhash"));
+
+    // the report ends up in the model manifest, identical trainings must produce identical reports
+    Map<String, String> secondReportMap = new HashMap<>();
+    trainer = TrainerFactory.getEventTrainer(trainParams, secondReportMap);
+    trainer.train(PrepAttachDataUtil.createTrainingStream());
+
+    Assertions.assertEquals(reportMap, secondReportMap);
+
+    trainParams.put(HashSumEventStream.HASH_PARAM, HashSumEventStream.NONE);
+
+    reportMap = new HashMap<>();
+    trainer = TrainerFactory.getEventTrainer(trainParams, reportMap);
+    trainer.train(PrepAttachDataUtil.createTrainingStream());
+
+    Assertions.assertFalse(reportMap.containsKey("Training-Eventhash"));
+  }
+}
@@ -0,0 +1,170 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package opennlp.tools.ml.model;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import opennlp.tools.ml.AbstractTrainer;
+import opennlp.tools.ml.PrepAttachDataUtil;
+import opennlp.tools.ml.TrainerFactory;
+import opennlp.tools.ml.maxent.GISTrainer;
+import opennlp.tools.ml.naivebayes.NaiveBayesTrainer;
+import opennlp.tools.ml.perceptron.PerceptronTrainer;
+import opennlp.tools.util.TrainingParameters;
+import opennlp.tools.util.model.ModelUtil;
+
+public class ModelCompressorTest {
+
+  private static AbstractModel train(String algorithm) throws IOException {
+    TrainingParameters trainParams = new TrainingParameters();
+    trainParams.put(AbstractTrainer.ALGORITHM_PARAM, algorithm);
+    trainParams.put(AbstractTrainer.CUTOFF_PARAM, 1);
+    trainParams.put(AbstractTrainer.ITERATIONS_PARAM, 50);
+
+    return (AbstractModel) TrainerFactory.getEventTrainer(trainParams, null)
+        .train(PrepAttachDataUtil.createTrainingStream());
+  }
+
+  @SuppressWarnings("unchecked")
+  private static Map<String, Context> getParameters(AbstractModel model) {
+    return (Map<String, Context>) model.getDataStructures()[1];
+  }
+
+  @Test
+  void testUncompressedModelIsEquivalent() throws IOException {
+    AbstractModel model = train(GISTrainer.MAXENT_VALUE);
+    AbstractModel compressed = new ModelCompressor(ModelCompressor.Pruning.NONE, 0,
+        ModelCompressor.PackageRounding.NONE).compress(model);
+
+    Assertions.assertEquals(model.getModelType(), compressed.getModelType());
+
+    ModelCompressor.CompressionReport report = ModelCompressor.evaluate(model, compressed,
+        PrepAttachDataUtil.createDevStream());
+    Assertions.assertEquals(report.getOriginalParameters(), report.getCompressedParameters());
+    Assertions.assertEquals(0, report.getAccuracyDelta());
+
+    String[] context = {"verb=join", "noun=board", "prep=as", "prep_obj=director"};
+    Assertions.assertArrayEquals(model.eval(context), compressed.eval(context), 0d);
+  }
+
+  @Test
+  void testMagnitudePruning() throws IOException {
+    AbstractModel model = train(PerceptronTrainer.PERCEPTRON_VALUE);
+    double threshold = 0.5;
+    AbstractModel compressed = new ModelCompressor(ModelCompressor.Pruning.MAGNITUDE, threshold,
+        ModelCompressor.PackageRounding.NONE).compress(model);
+
+    Assertions.assertEquals(AbstractModel.ModelType.Perceptron, compressed.getModelType());
+
+    for (Context context : getParameters(compressed).values()) {
+      Assertions.assertTrue(context.getParameters().length > 0);
+      for (double weight : context.getParameters()) {
+        Assertions.assertTrue(Math.abs(weight) >= threshold);
+      }
+    }
+
+    ModelCompressor.CompressionReport report = ModelCompressor.evaluate(model, compressed,
+        PrepAttachDataUtil.createDevStream());
+    Assertions.assertTrue(report.getCompressedParameters() < report.getOriginalParameters());
+    Assertions.assertTrue(report.getCompressedPredicates() < report.getOriginalPredicates());
+    Assertions.assertEquals(report.getCompressedAccuracy() - report.getOriginalAccuracy(),
+        report.getAccuracyDelta());
+  }
+
+  @Test
+  void testL1Pruning() throws IOException {
+    AbstractModel model = train(GISTrainer.MAXENT_VALUE);
+    double threshold = 0.1;
+    AbstractModel compressed = new ModelCompressor(ModelCompressor.Pruning.L1, threshold,
+        ModelCompressor.PackageRounding.NONE).compress(model);
+
+    Map<String, Context> original = getParameters(model);
+    for (Map.Entry<String, Context> predicate : getParameters(compressed).entrySet()) {
+      Context context = original.get(predicate.getKey());
+      for (int ai = 0; ai < predicate.getValue().getOutcomes().length; ai++) {
+        double weight = predicate.getValue().getParameters()[ai];
+        int outcome = predicate.getValue().getOutcomes()[ai];
+
+        double originalWeight = Double.NaN;
+        for (int oi = 0; oi < context.getOutcomes().length; oi++) {
+          if (context.getOutcomes()[oi] == outcome) {
+            originalWeight = context.getParameters()[oi];
+          }
+        }
+
+        Assertions.assertEquals(Math.abs(originalWeight) - threshold, Math.abs(weight), 1e-12);
+        Assertions.assertEquals(Math.signum(originalWeight), Math.signum(weight));
+      }
+    }
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void testLevelRounding() throws IOException {
+    AbstractModel model = train(GISTrainer.MAXENT_VALUE);
+    AbstractModel compressed = new ModelCompressor(ModelCompressor.Pruning.NONE, 0,
+        ModelCompressor.PackageRounding.LEVELS_255).compress(model);
+
+    Set<Double>[] levels = new Set[compressed.getNumOutcomes()];
+    for (int oi = 0; oi < levels.length; oi++) {
+      levels[oi] = new HashSet<>();
+    }
+    for (Context context : getParameters(compressed).values()) {
+      for (int ai = 0; ai < context.getOutcomes().length; ai++) {
+        levels[context.getOutcomes()[ai]].add(context.getParameters()[ai]);
+      }
+    }
+    for (Set<Double> outcomeLevels : levels) {
+      Assertions.assertTrue(outcomeLevels.size() <= 254);
+    }
+
+    ModelCompressor.CompressionReport report = ModelCompressor.evaluate(model, compressed,
+        PrepAttachDataUtil.createDevStream());
+    Assertions.assertEquals(0, report.getAccuracyDelta(), 0.01);
+  }
+
+  @Test
+  void testCompressedModelSerialization() throws IOException {
+    AbstractModel compressed = new ModelCompressor(ModelCompressor.Pruning.MAGNITUDE, 0.1,
+        ModelCompressor.PackageRounding.FLOAT).compress(train(GISTrainer.MAXENT_VALUE));
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    ModelUtil.writeModel(compressed, out);
+    AbstractModel read = new GenericModelReader(new BinaryFileDataReader(
+        new ByteArrayInputStream(out.toByteArray()))).getModel();
+
+    Assertions.assertEquals(compressed, read);
+  }
+
+  @Test
+  void testNaiveBayesModelIsRejected() throws IOException {
+    AbstractModel model = train(NaiveBayesTrainer.NAIVE_BAYES_VALUE);
+    ModelCompressor compressor = new ModelCompressor(ModelCompressor.Pruning.NONE, 0,
+        ModelCompressor.PackageRounding.NONE);
+
+    Assertions.assertThrows(IllegalArgumentException.class, () -> compressor.compress(model));
+  }
+}
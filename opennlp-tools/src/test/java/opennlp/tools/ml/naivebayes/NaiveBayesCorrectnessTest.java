@@ -19,6 +19,7 @@ package opennlp.tools.ml.naivebayes;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 
@@ -116,6 +117,25 @@ public class NaiveBayesCorrectnessTest {
 
   }
 
+  @Test
+  void testCompiledEvaluationIsIdentical() throws IOException {
+
+    testDataIndexer.index(createTrainingStream());
+    NaiveBayesModel model =
+        (NaiveBayesModel) new NaiveBayesTrainer().trainModel(testDataIndexer);
+
+    String[][] contexts = {{"bow=united", "bow=nations"}, {"bow=manchester", "bow=united"},
+        {"bow=barca", "bow=unknown", "bow=barca"}, {"bow=unknown"}, {}};
+
+    for (String[] context : contexts) {
+      // Feature values force the uncompiled evaluation
+      float[] values = new float[context.length];
+      Arrays.fill(values, 1f);
+
+      Assertions.assertArrayEquals(model.eval(context, values), model.eval(context));
+    }
+  }
+
   private void testModel(MaxentModel model, Event event, double higher_probability) {
     double[] outcomes = model.eval(event.getContext());
     String outcome = model.getBestOutcome(outcomes);
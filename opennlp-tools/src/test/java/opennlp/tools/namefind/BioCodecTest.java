@@ -20,11 +20,14 @@ package opennlp.tools.namefind;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Random;
 
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
+import opennlp.tools.util.IndexedSequenceDecoder;
 import opennlp.tools.util.Span;
+import opennlp.tools.util.SpanBuffer;
 
 /**
  * This is the test class for {@link BioCodec}.
@@ -262,4 +265,26 @@ public class BioCodecTest {
         new String[] {A_START, A_START, A_CONTINUE, A_CONTINUE, B_START, B_START, OTHER, OTHER}));
   }
 
+  @Test
+  void testIndexedDecoder() {
+    String[] outcomes = {OTHER, A_START, A_CONTINUE, B_START, B_CONTINUE, C_START,
+        BioCodec.START};
+    IndexedSequenceDecoder decoder = codec.createIndexedDecoder(outcomes);
+    SpanBuffer spans = new SpanBuffer();
+
+    Random random = new Random(42);
+    for (int i = 0; i < 1000; i++) {
+      int[] outcomeIds = new int[random.nextInt(12)];
+      List<String> sequence = new ArrayList<>();
+      for (int li = 0; li < outcomeIds.length; li++) {
+        outcomeIds[li] = random.nextInt(outcomes.length);
+        sequence.add(outcomes[outcomeIds[li]]);
+      }
+
+      decoder.decode(outcomeIds, outcomeIds.length, spans);
+      Span[] expected = codec.decode(sequence);
+
+      Assertions.assertArrayEquals(expected, spans.toSpans());
+    }
+  }
 }
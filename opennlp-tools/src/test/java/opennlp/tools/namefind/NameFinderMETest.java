@@ -19,7 +19,12 @@ package opennlp.tools.namefind;
 
 import java.io.File;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
@@ -27,8 +32,10 @@ import org.junit.jupiter.api.Test;
 import opennlp.tools.ml.model.SequenceClassificationModel;
 import opennlp.tools.util.MockInputStreamFactory;
 import opennlp.tools.util.ObjectStream;
+import opennlp.tools.util.ParallelEventStream;
 import opennlp.tools.util.PlainTextByLineStream;
 import opennlp.tools.util.Span;
+import opennlp.tools.util.SpanBuffer;
 import opennlp.tools.util.TrainingParameters;
 
 /**
@@ -109,6 +116,33 @@ public class NameFinderMETest {
     Assertions.assertEquals(new Span(4, 6, DEFAULT), names[1]);
   }
 
+  @Test
+  void testNameFinderWithParallelEventStream() throws Exception {
+
+    ObjectStream<NameSample> sampleStream =
+        new NameSampleDataStream(
+            new PlainTextByLineStream(new MockInputStreamFactory(
+                new File("opennlp/tools/namefind/AnnotatedSentences.txt")), "ISO-8859-1"));
+
+    TrainingParameters params = new TrainingParameters();
+    params.put(TrainingParameters.ITERATIONS_PARAM, 70);
+    params.put(TrainingParameters.CUTOFF_PARAM, 1);
+    params.put(ParallelEventStream.THREADS_PARAM, 4);
+
+    TokenNameFinderModel nameFinderModel = NameFinderME.train("eng", null, sampleStream,
+        params, TokenNameFinderFactory.create(null, null, Collections.emptyMap(), new BioCodec()));
+
+    TokenNameFinder nameFinder = new NameFinderME(nameFinderModel);
+
+    String[] sentence = {"Hi", "Mike", ",", "it's", "Stefanie", "Schmidt", "."};
+
+    Span[] names = nameFinder.find(sentence);
+
+    Assertions.assertEquals(2, names.length);
+    Assertions.assertEquals(new Span(1, 2, DEFAULT), names[0]);
+    Assertions.assertEquals(new Span(4, 6, DEFAULT), names[1]);
+  }
+
   /**
    * Train NamefinderME using AnnotatedSentencesWithTypes.txt with "person"
    * nameType and try the model in a sample text.
@@ -360,4 +394,82 @@ public class NameFinderMETest {
     Assertions.assertEquals("organization", names2[1].getType());
   }
 
+  @Test
+  void testFindWithSpanBuffer() throws Exception {
+
+    ObjectStream<NameSample> sampleStream = new NameSampleDataStream(
+        new PlainTextByLineStream(new MockInputStreamFactory(
+            new File("opennlp/tools/namefind/voa1.train")), StandardCharsets.UTF_8));
+
+    TrainingParameters params = new TrainingParameters();
+    params.put(TrainingParameters.ITERATIONS_PARAM, 70);
+    params.put(TrainingParameters.CUTOFF_PARAM, 1);
+
+    TokenNameFinderModel nameFinderModel = NameFinderME.train("eng", null, sampleStream,
+        params, TokenNameFinderFactory.create(null, null, Collections.emptyMap(), new BioCodec()));
+
+    NameFinderME nameFinder = new NameFinderME(nameFinderModel);
+    SpanBuffer names = new SpanBuffer(1);
+
+    String[][] sentences = {{"U", ".", "S", ".", "President", "Barack", "Obama", "has",
+        "arrived", "in", "South", "Korea", "."}, {"Scott", "Snyder", "is", "the", "director",
+        "of", "the", "Center", "for", "U", ".", "S", ".", "Korea", "Policy", "."}};
+
+    for (String[] sentence : sentences) {
+      nameFinder.clearAdaptiveData();
+      Span[] expected = nameFinder.find(sentence);
+
+      nameFinder.clearAdaptiveData();
+      nameFinder.find(sentence, new String[0][0], names);
+
+      Assertions.assertTrue(expected.length > 0);
+      Assertions.assertArrayEquals(expected, names.toSpans());
+      for (int i = 0; i < expected.length; i++) {
+        Assertions.assertEquals(expected[i].getProb(), names.getProb(i));
+      }
+    }
+  }
+
+  @Test
+  void testNewEngine() throws Exception {
+
+    ObjectStream<NameSample> sampleStream = new NameSampleDataStream(
+        new PlainTextByLineStream(new MockInputStreamFactory(
+            new File("opennlp/tools/namefind/voa1.train")), StandardCharsets.UTF_8));
+
+    TrainingParameters params = new TrainingParameters();
+    params.put(TrainingParameters.ITERATIONS_PARAM, 70);
+    params.put(TrainingParameters.CUTOFF_PARAM, 1);
+
+    TokenNameFinderModel nameFinderModel = NameFinderME.train("eng", null, sampleStream,
+        params, TokenNameFinderFactory.create(null, null, Collections.emptyMap(), new BioCodec()));
+
+    String[] sentence = {"Scott", "Snyder", "is", "the", "director", "of", "the",
+        "Center", "for", "U", ".", "S", ".", "Korea", "Policy", "."};
+
+    Span[] expected = new NameFinderME(nameFinderModel).find(sentence);
+    Assertions.assertTrue(expected.length > 0);
+
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      List<Future<Span[]>> results = new ArrayList<>();
+      for (int i = 0; i < 8; i++) {
+        results.add(executor.submit(() -> {
+          NameFinderME nameFinder = nameFinderModel.newEngine();
+          Span[] names = null;
+          for (int n = 0; n < 10; n++) {
+            nameFinder.clearAdaptiveData();
+            names = nameFinder.find(sentence);
+          }
+          return names;
+        }));
+      }
+
+      for (Future<Span[]> result : results) {
+        Assertions.assertArrayEquals(expected, result.get());
+      }
+    } finally {
+      executor.shutdown();
+    }
+  }
 }
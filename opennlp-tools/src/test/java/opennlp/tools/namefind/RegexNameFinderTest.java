@@ -17,13 +17,18 @@
 
 package opennlp.tools.namefind;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
+import opennlp.tools.tokenize.WhitespaceTokenizer;
 import opennlp.tools.util.Span;
 
 /**
@@ -96,4 +101,50 @@ public class RegexNameFinderTest {
 
     Assertions.assertTrue(result.length == 0);
   }
+
+  @Test
+  void testFindMultiplePatterns() {
+    Pattern[] patterns = new Pattern[] {
+        Pattern.compile("[0-9]+"),
+        Pattern.compile("[0-9]+ year"),
+        Pattern.compile("YEAR", Pattern.CASE_INSENSITIVE),
+        Pattern.compile("(a)\\1"),
+        Pattern.compile("(?<letter>b)\\s+c"),
+        Pattern.compile("x*"),
+        Pattern.compile("\\bc # comment", Pattern.COMMENTS),
+        Pattern.compile("b.c", Pattern.LITERAL)
+    };
+
+    String text = "aa 80 year b c b.c 7 YEAR x";
+
+    RegexNameFinder finder = new RegexNameFinder(patterns, "match");
+    Span[] result = finder.find(text);
+
+    List<Span> expected = new ArrayList<>();
+    for (Pattern pattern : patterns) {
+      Matcher matcher = pattern.matcher(text);
+      while (matcher.find()) {
+        expected.add(new Span(matcher.start(), matcher.end(), "match"));
+      }
+    }
+
+    Assertions.assertArrayEquals(expected.toArray(new Span[expected.size()]), result);
+
+    Span[] tokenResult = finder.find(WhitespaceTokenizer.INSTANCE.tokenize(text));
+    Assertions.assertEquals(new Span(1, 2, "match"), tokenResult[0]);
+    Assertions.assertEquals(new Span(1, 3, "match"), tokenResult[2]);
+  }
+
+  @Test
+  void testFindTypesInMapOrder() {
+    Map<String, Pattern[]> regexMap = new LinkedHashMap<>();
+    regexMap.put("year", new Pattern[] {Pattern.compile("[0-9]+ year")});
+    regexMap.put("number", new Pattern[] {Pattern.compile("[0-9]+")});
+
+    RegexNameFinder finder = new RegexNameFinder(regexMap);
+    Span[] result = finder.find(new String[] {"a", "80", "year", "and", "7", "years"});
+
+    Assertions.assertArrayEquals(new Span[] {new Span(1, 3, "year"), new Span(1, 2, "number"),
+        new Span(4, 5, "number")}, result);
+  }
 }
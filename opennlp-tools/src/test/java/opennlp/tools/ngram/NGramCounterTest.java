@@ -0,0 +1,118 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package opennlp.tools.ngram;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import opennlp.tools.util.StringList;
+
+/**
+ * Tests for {@link NGramCounter}
+ */
+public class NGramCounterTest {
+
+  private static List<String[]> createSentences() {
+    Random random = new Random(42);
+    List<String[]> sentences = new ArrayList<>();
+    for (int i = 0; i < 500; i++) {
+      String[] sentence = new String[1 + random.nextInt(12)];
+      for (int j = 0; j < sentence.length; j++) {
+        // skewed token distribution, some tokens are frequent, most are rare
+        sentence[j] = "t" + (int) Math.pow(random.nextInt(40), 2);
+      }
+      sentences.add(sentence);
+    }
+    return sentences;
+  }
+
+  @Test
+  void testExactCountsMatchNGramModel() {
+    NGramModel expected = new NGramModel();
+    NGramCounter counter = new NGramCounter(1, 3);
+
+    for (String[] sentence : createSentences()) {
+      expected.add(new StringList(sentence), 1, 3);
+      counter.add(sentence);
+    }
+
+    Assertions.assertEquals(expected.size(), counter.size());
+    Assertions.assertEquals(expected, counter.toNGramModel(0, Integer.MAX_VALUE));
+
+    expected.cutoff(3, 20);
+    Assertions.assertEquals(expected, counter.toNGramModel(3, 20));
+    Assertions.assertEquals(expected.toDictionary(true), counter.toNGramModel(3, 20).toDictionary(true));
+  }
+
+  @Test
+  void testConcurrentAdd() throws InterruptedException {
+    List<String[]> sentences = createSentences();
+
+    NGramModel expected = new NGramModel();
+    for (String[] sentence : sentences) {
+      expected.add(new StringList(sentence), 1, 2);
+    }
+
+    NGramCounter counter = new NGramCounter(1, 2);
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    for (String[] sentence : sentences) {
+      executor.execute(() -> counter.add(sentence));
+    }
+    executor.shutdown();
+    Assertions.assertTrue(executor.awaitTermination(1, TimeUnit.MINUTES));
+
+    Assertions.assertEquals(expected, counter.toNGramModel(0, Integer.MAX_VALUE));
+  }
+
+  @Test
+  void testApproximateCountsRetainFrequentNGrams() {
+    int cutoff = 5;
+
+    NGramModel expected = new NGramModel();
+    NGramCounter counter = new NGramCounter(1, 2, 4096, 4, cutoff);
+
+    for (String[] sentence : createSentences()) {
+      expected.add(new StringList(sentence), 1, 2);
+      counter.add(sentence);
+    }
+    expected.cutoff(cutoff, Integer.MAX_VALUE);
+
+    NGramModel approximate = counter.toNGramModel(cutoff, Integer.MAX_VALUE);
+
+    // the sketch never underestimates, no frequent ngram may be missing
+    for (StringList ngram : expected) {
+      Assertions.assertTrue(approximate.getCount(ngram) >= expected.getCount(ngram));
+    }
+
+    // with a sketch which is large compared to the data there are hardly any collisions
+    Assertions.assertTrue(approximate.size() <= expected.size() * 1.05);
+  }
+
+  @Test
+  void testInvalidLength() {
+    Assertions.assertThrows(IllegalArgumentException.class, () -> new NGramCounter(2, 1));
+    Assertions.assertThrows(IllegalArgumentException.class, () -> new NGramCounter(0, 1));
+  }
+}
@@ -0,0 +1,78 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package opennlp.tools.parser;
+
+import java.io.IOException;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import opennlp.tools.util.ObjectStream;
+
+public class ParseTreebankTest {
+
+  private static void assertSameParses(boolean spill) throws IOException {
+    ObjectStream<Parse> samples = ParserTestUtil.openTestTrainingData();
+
+    try (ParseTreebank treebank = new ParseTreebank(samples, spill)) {
+      samples.reset();
+
+      ObjectStream<Parse> parses = treebank.parses();
+      ObjectStream<Parse> otherParses = treebank.parses();
+
+      int count = 0;
+      Parse expected;
+      while ((expected = samples.read()) != null) {
+        Parse parse = parses.read();
+        Assertions.assertEquals(expected.toString(), parse.toString());
+        Assertions.assertEquals(show(expected), show(parse));
+
+        // the other stream is independent and returns other parse objects
+        Parse otherParse = otherParses.read();
+        Assertions.assertNotSame(parse, otherParse);
+        Assertions.assertEquals(show(expected), show(otherParse));
+        count++;
+      }
+
+      Assertions.assertNull(parses.read());
+      Assertions.assertEquals(count, treebank.size());
+
+      parses.reset();
+      samples.reset();
+      Assertions.assertEquals(show(samples.read()), show(parses.read()));
+      parses.close();
+      otherParses.close();
+    }
+  }
+
+  private static String show(Parse parse) {
+    StringBuffer sb = new StringBuffer();
+    parse.show(sb);
+    return sb.toString();
+  }
+
+  @Test
+  void testInMemoryTreebank() throws IOException {
+    assertSameParses(false);
+  }
+
+  @Test
+  void testSpilledTreebank() throws IOException {
+    assertSameParses(true);
+  }
+}
@@ -20,8 +20,11 @@ package opennlp.tools.parser.chunking;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
+import opennlp.tools.ml.model.MaxentModel;
+import opennlp.tools.parser.AbstractBottomUpParser;
 import opennlp.tools.parser.HeadRules;
 import opennlp.tools.parser.Parse;
 import opennlp.tools.parser.ParserFactory;
@@ -29,6 +32,8 @@ import opennlp.tools.parser.ParserModel;
 import opennlp.tools.parser.ParserTestUtil;
 import opennlp.tools.util.ObjectStream;
 import opennlp.tools.util.TrainingParameters;
+import opennlp.tools.util.model.BaseModel;
+import opennlp.tools.util.model.GenericModelSerializer;
 
 /**
  * Tests for the {@link Parser} class.
@@ -65,4 +70,62 @@ public class ParserTest {
 
     // TODO: compare both models
   }
+
+  /**
+   * Verify that the concurrently trained sub models are
+   * identical to the sequentially trained sub models.
+   */
+  @Test
+  void testConcurrentSubModelTraining() throws Exception {
+
+    HeadRules headRules = ParserTestUtil.createTestHeadRules();
+
+    ParserModel model = Parser.train("eng", ParserTestUtil.openTestTrainingData(), headRules,
+        TrainingParameters.defaultParams());
+
+    TrainingParameters params = TrainingParameters.defaultParams();
+    params.put(AbstractBottomUpParser.SUB_MODEL_THREADS_PARAM, 4);
+    params.put(AbstractBottomUpParser.SPILL_TREEBANK_PARAM, true);
+
+    ParserModel concurrentModel = Parser.train("eng", ParserTestUtil.openTestTrainingData(),
+        headRules, params);
+
+    Assertions.assertEquals(model.getBuildModel(), concurrentModel.getBuildModel());
+    Assertions.assertEquals(model.getCheckModel(), concurrentModel.getCheckModel());
+
+    MaxentModel posModel = model.getParserTaggerModel().getArtifact("pos.model");
+    MaxentModel concurrentPosModel = concurrentModel.getParserTaggerModel().getArtifact("pos.model");
+    Assertions.assertEquals(posModel, concurrentPosModel);
+
+    MaxentModel chunkerModel = model.getParserChunkerModel().getArtifact("chunker.model");
+    MaxentModel concurrentChunkerModel =
+        concurrentModel.getParserChunkerModel().getArtifact("chunker.model");
+    Assertions.assertEquals(chunkerModel, concurrentChunkerModel);
+  }
+
+  /**
+   * Verify that the model format is also used for the
+   * tagger and chunker models which are contained in a parser model.
+   */
+  @Test
+  void testBulkModelFormatOfContainedModels() throws Exception {
+
+    ParserModel model = Parser.train("eng", ParserTestUtil.openTestTrainingData(),
+        ParserTestUtil.createTestHeadRules(), TrainingParameters.defaultParams());
+    model.setModelFormat(GenericModelSerializer.BULK_FORMAT);
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    model.serialize(out);
+
+    ParserModel read = new ParserModel(new ByteArrayInputStream(out.toByteArray()));
+
+    Assertions.assertEquals(GenericModelSerializer.BULK_FORMAT,
+        read.getParserTaggerModel().getManifestProperty(BaseModel.MODEL_FORMAT_PROPERTY));
+    Assertions.assertEquals(GenericModelSerializer.BULK_FORMAT,
+        read.getParserChunkerModel().getManifestProperty(BaseModel.MODEL_FORMAT_PROPERTY));
+
+    MaxentModel posModel = model.getParserTaggerModel().getArtifact("pos.model");
+    Assertions.assertEquals(posModel, read.getParserTaggerModel().getArtifact("pos.model"));
+    Assertions.assertEquals(model.getBuildModel(), read.getBuildModel());
+  }
 }
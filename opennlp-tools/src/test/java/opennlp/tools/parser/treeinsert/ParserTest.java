@@ -20,14 +20,20 @@ package opennlp.tools.parser.treeinsert;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
+import opennlp.tools.ml.model.MaxentModel;
 import opennlp.tools.parser.HeadRules;
 import opennlp.tools.parser.Parse;
 import opennlp.tools.parser.ParserFactory;
 import opennlp.tools.parser.ParserModel;
 import opennlp.tools.parser.ParserTestUtil;
 import opennlp.tools.util.ObjectStream;
+import opennlp.tools.util.TrainingParameters;
 
 /**
  * Tests for the {@link Parser} class.
@@ -62,4 +68,39 @@ public class ParserTest {
 
     // TODO: compare both models
   }
+
+  /**
+   * Verify that the sub models trained on an executor are
+   * identical to the sequentially trained sub models.
+   */
+  @Test
+  void testConcurrentSubModelTraining() throws Exception {
+
+    HeadRules headRules = ParserTestUtil.createTestHeadRules();
+
+    ParserModel model = Parser.train("eng", ParserTestUtil.openTestTrainingData(), headRules,
+        TrainingParameters.defaultParams());
+
+    ExecutorService executor = Executors.newFixedThreadPool(3);
+    ParserModel concurrentModel;
+    try {
+      concurrentModel = Parser.train("eng", ParserTestUtil.openTestTrainingData(), headRules,
+          TrainingParameters.defaultParams(), executor);
+    } finally {
+      executor.shutdown();
+    }
+
+    Assertions.assertEquals(model.getBuildModel(), concurrentModel.getBuildModel());
+    Assertions.assertEquals(model.getCheckModel(), concurrentModel.getCheckModel());
+    Assertions.assertEquals(model.getAttachModel(), concurrentModel.getAttachModel());
+
+    MaxentModel posModel = model.getParserTaggerModel().getArtifact("pos.model");
+    MaxentModel concurrentPosModel = concurrentModel.getParserTaggerModel().getArtifact("pos.model");
+    Assertions.assertEquals(posModel, concurrentPosModel);
+
+    MaxentModel chunkerModel = model.getParserChunkerModel().getArtifact("chunker.model");
+    MaxentModel concurrentChunkerModel =
+        concurrentModel.getParserChunkerModel().getArtifact("chunker.model");
+    Assertions.assertEquals(chunkerModel, concurrentChunkerModel);
+  }
 }
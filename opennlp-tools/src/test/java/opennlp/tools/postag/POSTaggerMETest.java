@@ -82,6 +82,21 @@ public class POSTaggerMETest {
     Assertions.assertEquals(".", tags[5]);
   }
 
+  @Test
+  void testNewEngine() throws IOException {
+    POSModel posModel = trainPOSModel(ModelType.MAXENT);
+
+    String[] sentence = {"The", "driver", "got", "badly", "injured", "."};
+    String[] expected = new POSTaggerME(posModel).tag(sentence);
+
+    POSTaggerME tagger1 = posModel.newEngine();
+    POSTaggerME tagger2 = posModel.newEngine();
+    Assertions.assertNotSame(tagger1, tagger2);
+    Assertions.assertArrayEquals(expected, tagger1.tag(sentence));
+    Assertions.assertArrayEquals(expected, tagger2.tag(sentence));
+    Assertions.assertArrayEquals(expected, tagger1.tag(sentence));
+  }
+
   @Test
   void testBuildNGramDictionary() throws IOException {
     ObjectStream<POSSample> samples = createSampleStream();
@@ -37,4 +37,23 @@ public class PorterStemmerTest {
     Assertions.assertEquals(stemmer.stem("divers"), "diver");
     Assertions.assertEquals(stemmer.stem("dental"), "dental");
   }
+
+  @Test
+  void testStemInPlace() {
+    String[] words = {"deny", "declining", "diversity", "divers", "dental", "ion", "agreed",
+        "hopping", "generalizations"};
+
+    char[] buffer = new char[64];
+    for (String word : words) {
+      // the char before the word must not be used
+      buffer[9] = 's';
+      word.getChars(0, word.length(), buffer, 10);
+      int length = stemmer.stemInPlace(buffer, 10, word.length());
+      Assertions.assertEquals(stemmer.stem(word), new String(buffer, 10, length));
+
+      StringBuilder builder = new StringBuilder(word);
+      stemmer.stemInPlace(builder);
+      Assertions.assertEquals(stemmer.stem(word), builder.toString());
+    }
+  }
 }
@@ -182,4 +182,27 @@ public class SnowballStemmerTest {
     Assertions.assertEquals(stemmer.stem("kaçmamaktadır"), "kaçmamak");
     Assertions.assertEquals(stemmer.stem("sarayı'nı"), "sarayı'nı");
   }
+
+  @Test
+  void testStemInPlace() {
+    String[] words = {"accompanying", "malediction", "softeners", "kaçmamaktadır",
+        "esiintymispaikasta", "a", ""};
+
+    for (ALGORITHM algorithm : ALGORITHM.values()) {
+      SnowballStemmer stemmer = new SnowballStemmer(algorithm);
+
+      for (String word : words) {
+        String stem = stemmer.stem(word).toString();
+
+        char[] buffer = new char[word.length() + 20];
+        word.getChars(0, word.length(), buffer, 5);
+        int length = stemmer.stemInPlace(buffer, 5, word.length());
+        Assertions.assertEquals(stem, new String(buffer, 5, length), algorithm.name());
+
+        StringBuilder builder = new StringBuilder(word);
+        stemmer.stemInPlace(builder);
+        Assertions.assertEquals(stem, builder.toString(), algorithm.name());
+      }
+    }
+  }
 }
@@ -0,0 +1,84 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package opennlp.tools.stemmer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import opennlp.tools.stemmer.snowball.SnowballStemmer;
+
+public class ThreadSafeStemmerTest {
+
+  private static final String[] TOKENS = {"accompanying", "malediction", "softeners",
+      "declining", "diversity", "softeners", "accompanying"};
+
+  @Test
+  void testStem() {
+    SnowballStemmer expected = new SnowballStemmer(SnowballStemmer.ALGORITHM.ENGLISH);
+
+    for (int capacity : new int[] {0, 2, 100}) {
+      ThreadSafeStemmer stemmer = new ThreadSafeStemmer(
+          () -> new SnowballStemmer(SnowballStemmer.ALGORITHM.ENGLISH), capacity);
+
+      String[] stems = stemmer.stem(TOKENS);
+      for (int i = 0; i < TOKENS.length; i++) {
+        Assertions.assertEquals(expected.stem(TOKENS[i]), stems[i]);
+        Assertions.assertEquals(expected.stem(TOKENS[i]), stemmer.stem(TOKENS[i]));
+
+        StringBuilder builder = new StringBuilder(TOKENS[i]);
+        stemmer.stemInPlace(builder);
+        Assertions.assertEquals(expected.stem(TOKENS[i]), builder.toString());
+      }
+    }
+  }
+
+  @Test
+  void testStemConcurrently() throws Exception {
+    ThreadSafeStemmer stemmer = new ThreadSafeStemmer(PorterStemmer::new, 1000);
+    PorterStemmer expected = new PorterStemmer();
+
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      List<Future<String[]>> results = new ArrayList<>();
+      for (int i = 0; i < 100; i++) {
+        results.add(executor.submit(() -> stemmer.stem(TOKENS)));
+      }
+
+      for (Future<String[]> result : results) {
+        String[] stems = result.get();
+        for (int i = 0; i < TOKENS.length; i++) {
+          Assertions.assertEquals(expected.stem(TOKENS[i]), stems[i]);
+        }
+      }
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  void testInvalidCacheCapacity() {
+    Assertions.assertThrows(IllegalArgumentException.class,
+        () -> new ThreadSafeStemmer(PorterStemmer::new, -1));
+  }
+}
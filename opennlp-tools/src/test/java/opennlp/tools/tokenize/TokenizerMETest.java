@@ -27,6 +27,7 @@ import opennlp.tools.formats.ResourceAsStreamFactory;
 import opennlp.tools.util.InputStreamFactory;
 import opennlp.tools.util.InsufficientTrainingDataException;
 import opennlp.tools.util.ObjectStream;
+import opennlp.tools.util.ParallelEventStream;
 import opennlp.tools.util.PlainTextByLineStream;
 import opennlp.tools.util.TrainingParameters;
 
@@ -74,6 +75,29 @@ public class TokenizerMETest {
     Assertions.assertEquals("!", tokens[8]);
   }
 
+  @Test
+  void testTokenizerWithParallelEventStream() throws IOException {
+    InputStreamFactory trainDataIn = new ResourceAsStreamFactory(
+        TokenizerModel.class, "/opennlp/tools/tokenize/token.train");
+
+    ObjectStream<TokenSample> samples = new TokenSampleStream(
+        new PlainTextByLineStream(trainDataIn, StandardCharsets.UTF_8));
+
+    TrainingParameters mlParams = new TrainingParameters();
+    mlParams.put(TrainingParameters.ITERATIONS_PARAM, 100);
+    mlParams.put(TrainingParameters.CUTOFF_PARAM, 0);
+    mlParams.put(ParallelEventStream.THREADS_PARAM, 4);
+
+    TokenizerModel model = TokenizerME.train(samples,
+        TokenizerFactory.create(null, "eng", null, true, null), mlParams);
+
+    TokenizerME tokenizer = new TokenizerME(model);
+    String[] tokens = tokenizer.tokenize("Sounds like it's not properly thought through!");
+
+    Assertions.assertArrayEquals(new String[] {"Sounds", "like", "it", "'s", "not", "properly",
+        "thought", "through", "!"}, tokens);
+  }
+
   @Test
   void testInsufficientData() {
 
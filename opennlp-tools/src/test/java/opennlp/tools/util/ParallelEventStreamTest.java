@@ -0,0 +1,145 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package opennlp.tools.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import opennlp.tools.ml.model.Event;
+import opennlp.tools.namefind.DefaultNameContextGenerator;
+import opennlp.tools.namefind.NameContextGenerator;
+import opennlp.tools.namefind.NameFinderEventStream;
+import opennlp.tools.namefind.NameSample;
+import opennlp.tools.namefind.NameSampleDataStream;
+import opennlp.tools.util.featuregen.PreviousMapFeatureGenerator;
+import opennlp.tools.util.featuregen.TokenFeatureGenerator;
+import opennlp.tools.util.featuregen.WindowFeatureGenerator;
+
+/**
+ * Tests for the {@link ParallelEventStream} class.
+ */
+public class ParallelEventStreamTest {
+
+  private static ObjectStream<NameSample> createSamples() throws IOException {
+    return new NameSampleDataStream(new PlainTextByLineStream(new MockInputStreamFactory(
+        new File("opennlp/tools/namefind/AnnotatedSentences.txt")), "ISO-8859-1"));
+  }
+
+  private static NameContextGenerator createContextGenerator() {
+    return new DefaultNameContextGenerator(
+        new WindowFeatureGenerator(new TokenFeatureGenerator(), 2, 2),
+        new PreviousMapFeatureGenerator());
+  }
+
+  private static List<String> readAll(ObjectStream<Event> events) throws IOException {
+    List<String> result = new ArrayList<>();
+    Event event;
+    while ((event = events.read()) != null) {
+      result.add(event.toString());
+    }
+    return result;
+  }
+
+  @Test
+  void testEventsInSameOrderAsSerialStream() throws IOException {
+    List<String> expected;
+    try (ObjectStream<Event> serial = new NameFinderEventStream(createSamples(), null,
+        createContextGenerator(), null)) {
+      expected = readAll(serial);
+    }
+
+    try (ObjectStream<Event> parallel = new ParallelEventStream<>(createSamples(), 4, 3,
+        () -> new NameFinderEventStream(null, null, createContextGenerator(), null),
+        NameSample::isClearAdaptiveDataSet)) {
+      Assertions.assertEquals(expected, readAll(parallel));
+
+      parallel.reset();
+      Assertions.assertEquals(expected, readAll(parallel));
+    }
+  }
+
+  @Test
+  void testLongDocumentsAreNotSplit() throws IOException {
+    // the adaptive data must be kept between the batches of a document without boundaries
+    List<String> expected;
+    try (ObjectStream<Event> serial = new NameFinderEventStream(createSamples(), null,
+        createContextGenerator(), null)) {
+      expected = readAll(serial);
+    }
+
+    try (ObjectStream<Event> parallel = new ParallelEventStream<>(createSamples(), 4, 2, 5,
+        () -> new NameFinderEventStream(null, null, createContextGenerator(), null),
+        sample -> false)) {
+      Assertions.assertEquals(expected, readAll(parallel));
+    }
+  }
+
+  @Test
+  void testPredicateCounts() throws IOException {
+    Map<String, Integer> expected = new HashMap<>();
+    try (ObjectStream<Event> serial = new NameFinderEventStream(createSamples(), null,
+        createContextGenerator(), null)) {
+      Event event;
+      while ((event = serial.read()) != null) {
+        for (String predicate : event.getContext()) {
+          expected.merge(predicate, 1, Integer::sum);
+        }
+      }
+    }
+
+    try (ParallelEventStream<NameSample> parallel = new ParallelEventStream<>(createSamples(), 4, 3,
+        () -> new NameFinderEventStream(null, null, createContextGenerator(), null),
+        NameSample::isClearAdaptiveDataSet)) {
+      parallel.read();
+      Assertions.assertThrows(IllegalStateException.class, parallel::getPredicateCounts);
+
+      readAll(parallel);
+      Assertions.assertEquals(expected, parallel.getPredicateCounts());
+    }
+  }
+
+  @Test
+  void testInvalidMaxBatchSize() {
+    Assertions.assertThrows(IllegalArgumentException.class, () -> new ParallelEventStream<>(
+        ObjectStreamUtils.createObjectStream(new NameSample[0]), 2, 8, 4,
+        () -> new NameFinderEventStream(null), sample -> true));
+  }
+
+  @Test
+  void testEmptySampleStream() throws IOException {
+    try (ObjectStream<Event> parallel = new ParallelEventStream<>(
+        ObjectStreamUtils.createObjectStream(new NameSample[0]), 2,
+        () -> new NameFinderEventStream(null))) {
+      Assertions.assertNull(parallel.read());
+    }
+  }
+
+  @Test
+  void testInvalidThreads() {
+    Assertions.assertThrows(IllegalArgumentException.class, () -> new ParallelEventStream<>(
+        ObjectStreamUtils.createObjectStream(new NameSample[0]), 0,
+        () -> new NameFinderEventStream(null)));
+  }
+}
@@ -55,6 +55,25 @@ public class SequenceTest {
     Assertions.assertEquals(10d, sequence.getProbs()[0]);
   }
 
+  /**
+   * Tests {@link Sequence#getOutcomeIds(int[])}.
+   */
+  @Test
+  void testOutcomeIds() {
+    Sequence sequence = new Sequence(new Sequence(new Sequence(), "a", 3, 0.5), "b", 1, 0.25);
+
+    int[] ids = new int[2];
+    Assertions.assertTrue(sequence.getOutcomeIds(ids));
+    Assertions.assertArrayEquals(new int[] {3, 1}, ids);
+    Assertions.assertEquals(new Sequence(new Sequence(new Sequence(), "a", 0.5), "b", 0.25),
+        sequence);
+
+    // the id of an added outcome is not known
+    sequence.add("c", 0.5);
+    Assertions.assertFalse(sequence.getOutcomeIds(new int[3]));
+    Assertions.assertFalse(new Sequence(sequence, "d", 0, 0.5).getOutcomeIds(new int[4]));
+  }
+
   /**
    * Tests {@link Sequence#compareTo(Sequence)}.
    */
@@ -0,0 +1,86 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package opennlp.tools.util;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class SpanBufferTest {
+
+  @Test
+  void testAddAndConvert() {
+    SpanBuffer spans = new SpanBuffer(1);
+    spans.setTypes(new String[] {"person", "location"});
+
+    spans.add(0, 2, 1, 0.5);
+    spans.add(3, 4, SpanBuffer.NO_TYPE);
+    spans.add(5, 8, 0, 0.25);
+
+    Assertions.assertEquals(3, spans.size());
+    Assertions.assertEquals("location", spans.getType(0));
+    Assertions.assertNull(spans.getType(1));
+    Assertions.assertEquals(0, spans.getTypeId(2));
+
+    Span[] expected = {new Span(0, 2, "location", 0.5), new Span(3, 4),
+        new Span(5, 8, "person", 0.25)};
+    Assertions.assertArrayEquals(expected, spans.toSpans());
+    Assertions.assertEquals(0.25, spans.getSpan(2).getProb());
+  }
+
+  @Test
+  void testReuse() {
+    SpanBuffer spans = new SpanBuffer();
+    spans.setTypes(new String[] {"person"});
+    spans.add(0, 1, 0);
+
+    spans.setTypes(new String[] {"person"});
+    Assertions.assertEquals(0, spans.size());
+
+    spans.add(2, 3, 0);
+    spans.setProb(0, 0.75);
+    Assertions.assertEquals(new Span(2, 3, "person", 0.75), spans.getSpan(0));
+    Assertions.assertEquals(0.75, spans.getProb(0));
+
+    spans.clear();
+    Assertions.assertEquals(0, spans.toSpans().length);
+    Assertions.assertArrayEquals(new String[] {"person"}, spans.getTypes());
+  }
+
+  @Test
+  void testAddAll() {
+    SpanBuffer spans = new SpanBuffer();
+    spans.setTypes(new String[] {"person"});
+
+    Span[] names = {new Span(0, 1, "organization", 0.1), new Span(1, 2, "person", 0.2),
+        new Span(2, 3, 0.3)};
+    spans.addAll(names);
+
+    Assertions.assertArrayEquals(names, spans.toSpans());
+    Assertions.assertArrayEquals(new String[] {"person", "organization"}, spans.getTypes());
+    Assertions.assertEquals(0, spans.getTypeId(1));
+  }
+
+  @Test
+  void testInvalidSpans() {
+    SpanBuffer spans = new SpanBuffer();
+
+    Assertions.assertThrows(IllegalArgumentException.class, () -> spans.add(2, 1, SpanBuffer.NO_TYPE));
+    Assertions.assertThrows(IllegalArgumentException.class, () -> spans.add(0, 1, 0));
+    Assertions.assertThrows(IndexOutOfBoundsException.class, () -> spans.getStart(0));
+  }
+}
@@ -91,4 +91,21 @@ public class BigramNameFeatureGeneratorTest {
 
     Assertions.assertEquals(0, features.size());
   }
+
+  @Test
+  void testRefilledTokensArray() {
+    String[] tokens = {"This", "is"};
+
+    AdaptiveFeatureGenerator generator = new BigramNameFeatureGenerator();
+    generator.createFeatures(features, tokens, 0, null);
+    Assertions.assertEquals("wc,nc=ic,lc", features.get(1));
+
+    // the next sentence is passed in the same array
+    tokens[0] = "THIS";
+    tokens[1] = "12";
+    features.clear();
+    generator.createFeatures(features, tokens, 0, null);
+    Assertions.assertEquals("w,nw=THIS,12", features.get(0));
+    Assertions.assertEquals("wc,nc=ac,2d", features.get(1));
+  }
 }
@@ -0,0 +1,104 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package opennlp.tools.util.featuregen;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import opennlp.tools.formats.ResourceAsStreamFactory;
+
+public class BrownClusterTest {
+
+  private BrownCluster brownCluster;
+
+  @BeforeEach
+  void setup() throws IOException {
+    ResourceAsStreamFactory stream = new ResourceAsStreamFactory(
+        getClass(), "/opennlp/tools/formats/brown-cluster.txt");
+
+    brownCluster = new BrownCluster(stream.createInputStream());
+  }
+
+  @Test
+  void testLookupToken() {
+    Assertions.assertEquals("0000", brownCluster.lookupToken("in"));
+    Assertions.assertEquals("00101", brownCluster.lookupToken("you"));
+    // the frequency of the token is not bigger than 5
+    Assertions.assertNull(brownCluster.lookupToken("wedding"));
+    Assertions.assertNull(brownCluster.lookupToken("unknown"));
+  }
+
+  @Test
+  void testLookupPath() {
+    long path = brownCluster.lookupPath("she");
+    Assertions.assertEquals(BrownCluster.packPath("001110"), path);
+    Assertions.assertEquals(6, BrownCluster.pathLength(path));
+    Assertions.assertEquals(BrownCluster.packPath("0011"), BrownCluster.pathPrefix(path, 4));
+    Assertions.assertEquals(-1, brownCluster.lookupPath("unknown"));
+
+    Assertions.assertEquals(-1, BrownCluster.packPath("01a"));
+    Assertions.assertEquals(0b101, BrownCluster.pathPrefix(BrownCluster.packPath("101"), 3)
+        & 0xff);
+  }
+
+  @Test
+  void testWordClasses() {
+    Assertions.assertEquals(Arrays.asList("0011", "001110"),
+        BrownTokenClasses.getWordClasses("she", brownCluster));
+    Assertions.assertEquals(Arrays.asList("0000"),
+        BrownTokenClasses.getWordClasses("in", brownCluster));
+    Assertions.assertTrue(BrownTokenClasses.getWordClasses("unknown", brownCluster).isEmpty());
+  }
+
+  @Test
+  void testSerialization() throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    brownCluster.serialize(out);
+
+    BrownCluster loaded = new BrownCluster(new ByteArrayInputStream(out.toByteArray()));
+    Assertions.assertEquals("001110", loaded.lookupToken("she"));
+    Assertions.assertEquals(brownCluster.lookupPath("her"), loaded.lookupPath("her"));
+    Assertions.assertNull(loaded.lookupToken("wedding"));
+  }
+
+  @Test
+  void testNonBinaryPaths() throws IOException {
+    BrownCluster cluster = new BrownCluster(new ByteArrayInputStream(
+        "apple\tC12\ndog\t0101101\n".getBytes(StandardCharsets.UTF_8)));
+
+    Assertions.assertEquals("C12", cluster.lookupToken("apple"));
+    Assertions.assertEquals(-1, cluster.lookupPath("apple"));
+    Assertions.assertEquals(Arrays.asList("C12"),
+        BrownTokenClasses.getWordClasses("apple", cluster));
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    cluster.serialize(out);
+
+    BrownCluster loaded = new BrownCluster(new ByteArrayInputStream(out.toByteArray()));
+    Assertions.assertEquals("C12", loaded.lookupToken("apple"));
+    Assertions.assertEquals(Arrays.asList("0101", "010110", "0101101"),
+        BrownTokenClasses.getWordClasses("dog", loaded));
+  }
+}
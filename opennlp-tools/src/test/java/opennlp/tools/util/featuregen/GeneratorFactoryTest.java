@@ -28,6 +28,8 @@ import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
 import opennlp.tools.util.InvalidFormatException;
+import opennlp.tools.util.metrics.FeatureGenerationProfile;
+import opennlp.tools.util.metrics.FeatureMetrics;
 import opennlp.tools.util.model.ArtifactSerializer;
 import opennlp.tools.util.model.DictionarySerializer;
 
@@ -269,4 +271,107 @@ public class GeneratorFactoryTest {
       Assertions.assertTrue(afg instanceof OutcomePriorFeatureGenerator);
     }
   }
+
+  @Test
+  void testCompile() throws Exception {
+    FeatureGeneratorTemplate template;
+    try (InputStream generatorDescriptorIn = getClass().getResourceAsStream(
+        "/opennlp/tools/util/featuregen/TestSharedWindowFeatureGeneratorConfig.xml")) {
+      template = GeneratorFactory.compile(generatorDescriptorIn, null);
+    }
+
+    AdaptiveFeatureGenerator generator1 = template.newInstance();
+    AdaptiveFeatureGenerator generator2 = template.newInstance();
+    Assertions.assertNotSame(generator1, generator2);
+
+    AdaptiveFeatureGenerator expectedGenerator = new AggregatedFeatureGenerator(
+        new WindowFeatureGenerator(new TokenClassFeatureGenerator(true), 2, 2),
+        new WindowFeatureGenerator(new TokenClassFeatureGenerator(true), 1, 0),
+        new WindowFeatureGenerator(new TokenFeatureGenerator(true), 1, 1));
+
+    String[] tokens = {"This", "is", "an", "Example", "with", "12", "tokens", "."};
+    for (int i = 0; i < tokens.length; i++) {
+      List<String> expected = new ArrayList<>();
+      expectedGenerator.createFeatures(expected, tokens, i, null);
+
+      List<String> features1 = new ArrayList<>();
+      generator1.createFeatures(features1, tokens, i, null);
+      List<String> features2 = new ArrayList<>();
+      generator2.createFeatures(features2, tokens, i, null);
+
+      Assertions.assertEquals(expected, features1);
+      Assertions.assertEquals(expected, features2);
+    }
+  }
+
+  @Test
+  void testCompileSharesWindowFeatureTables() throws Exception {
+    FeatureGeneratorTemplate template;
+    try (InputStream generatorDescriptorIn = getClass().getResourceAsStream(
+        "/opennlp/tools/util/featuregen/TestSharedWindowFeatureGeneratorConfig.xml")) {
+      template = GeneratorFactory.compile(generatorDescriptorIn, null);
+    }
+
+    AdaptiveFeatureGenerator generator = template.newInstance();
+    Assertions.assertTrue(generator instanceof AggregatedFeatureGenerator);
+
+    List<WindowFeatureGenerator> windows = new ArrayList<>();
+    for (AdaptiveFeatureGenerator window : ((AggregatedFeatureGenerator) generator).getGenerators()) {
+      windows.add((WindowFeatureGenerator) window);
+    }
+
+    Assertions.assertEquals(3, windows.size());
+    Assertions.assertSame(windows.get(0).getFeatureTable(), windows.get(1).getFeatureTable());
+    Assertions.assertNotSame(windows.get(0).getFeatureTable(), windows.get(2).getFeatureTable());
+    Assertions.assertEquals(1, windows.get(1).getPrevWindowSize());
+    Assertions.assertEquals(0, windows.get(1).getNextWindowSize());
+
+    // Every instance has its own tables
+    AggregatedFeatureGenerator other = (AggregatedFeatureGenerator) template.newInstance();
+    Assertions.assertNotSame(windows.get(0).getFeatureTable(),
+        ((WindowFeatureGenerator) other.getGenerators().iterator().next()).getFeatureTable());
+  }
+
+  @Test
+  void testCompileWithProfile() throws Exception {
+    FeatureGeneratorTemplate template;
+    try (InputStream generatorDescriptorIn = getClass().getResourceAsStream(
+        "/opennlp/tools/util/featuregen/TestSharedWindowFeatureGeneratorConfig.xml")) {
+      template = GeneratorFactory.compile(generatorDescriptorIn, null);
+    }
+
+    FeatureGenerationProfile profile = new FeatureGenerationProfile("test");
+    AdaptiveFeatureGenerator generator1 = template.newInstance(profile);
+    AdaptiveFeatureGenerator generator2 = template.newInstance(profile);
+
+    String[] tokens = {"This", "is", "an", "Example"};
+    List<String> features = new ArrayList<>();
+    for (int i = 0; i < tokens.length; i++) {
+      generator1.createFeatures(features, tokens, i, null);
+      generator2.createFeatures(new ArrayList<>(), tokens, i, null);
+    }
+
+    List<String> expected = new ArrayList<>();
+    AdaptiveFeatureGenerator expectedGenerator = template.newInstance();
+    for (int i = 0; i < tokens.length; i++) {
+      expectedGenerator.createFeatures(expected, tokens, i, null);
+    }
+    Assertions.assertEquals(expected, features);
+
+    Map<String, FeatureMetrics> generators = profile.getGenerators();
+    Assertions.assertTrue(generators.containsKey("0:WindowFeatureGenerator"));
+    Assertions.assertTrue(generators.containsKey(
+        "0:WindowFeatureGenerator/0:TokenClassFeatureGenerator"));
+    Assertions.assertTrue(generators.containsKey("2:WindowFeatureGenerator/0:TokenFeatureGenerator"));
+
+    FeatureMetrics root = generators.get("featureGenerators");
+    Assertions.assertEquals(2 * tokens.length, root.getCalls());
+    Assertions.assertEquals(2 * expected.size(), root.getFeatures());
+
+    // The token class features of a sentence are computed once for both windows
+    Assertions.assertEquals(2 * tokens.length,
+        generators.get("0:WindowFeatureGenerator/0:TokenClassFeatureGenerator").getCalls());
+    Assertions.assertEquals(0,
+        generators.get("1:WindowFeatureGenerator/0:TokenClassFeatureGenerator").getCalls());
+  }
 }
@@ -0,0 +1,130 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package opennlp.tools.util.featuregen;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import opennlp.tools.util.metrics.FeatureMetrics;
+
+public class ProfilingFeatureGeneratorTest {
+
+  @Test
+  void testCreateFeatures() {
+    FeatureMetrics metrics = new FeatureMetrics();
+    AdaptiveFeatureGenerator generator =
+        new ProfilingFeatureGenerator(new TokenFeatureGenerator(false), metrics);
+
+    String[] tokens = {"a", "test"};
+
+    List<String> features = new ArrayList<>();
+    features.add("existing");
+    generator.createFeatures(features, tokens, 0, null);
+    generator.createFeatures(features, tokens, 1, null);
+
+    List<String> expected = new ArrayList<>();
+    expected.add("existing");
+    new TokenFeatureGenerator(false).createFeatures(expected, tokens, 0, null);
+    new TokenFeatureGenerator(false).createFeatures(expected, tokens, 1, null);
+    Assertions.assertEquals(expected, features);
+
+    Assertions.assertEquals(2, metrics.getCalls());
+    Assertions.assertEquals(2, metrics.getFeatures());
+    Assertions.assertTrue(metrics.getNanos() >= 0);
+    Assertions.assertEquals(FeatureMetrics.estimateAllocatedBytes(features.get(1))
+        + FeatureMetrics.estimateAllocatedBytes(features.get(2)), metrics.getAllocatedBytes());
+    Assertions.assertTrue(generator.isOutcomeIndependent());
+  }
+
+  private static long estimateAllocatedBytes(List<String> features) {
+    long bytes = 0;
+    for (String feature : features) {
+      bytes += FeatureMetrics.estimateAllocatedBytes(feature);
+    }
+    return bytes;
+  }
+
+  @Test
+  void testNestedGeneratorsCountOnlyTheirOwnAllocations() {
+    FeatureMetrics aggregateMetrics = new FeatureMetrics();
+    FeatureMetrics tokenMetrics = new FeatureMetrics();
+    FeatureMetrics windowMetrics = new FeatureMetrics();
+    FeatureMetrics windowTokenMetrics = new FeatureMetrics();
+
+    AdaptiveFeatureGenerator generator = new ProfilingFeatureGenerator(
+        new AggregatedFeatureGenerator(
+            new ProfilingFeatureGenerator(new TokenFeatureGenerator(), tokenMetrics),
+            new ProfilingFeatureGenerator(new WindowFeatureGenerator(new ProfilingFeatureGenerator(
+                new TokenClassFeatureGenerator(), windowTokenMetrics), 1, 1), windowMetrics)),
+        aggregateMetrics);
+
+    String[] tokens = {"a", "test"};
+    List<String> features = new ArrayList<>();
+    generator.createFeatures(features, tokens, 0, null);
+
+    List<String> tokenFeatures = new ArrayList<>();
+    new TokenFeatureGenerator().createFeatures(tokenFeatures, tokens, 0, null);
+    List<String> classFeatures = new ArrayList<>();
+    new TokenClassFeatureGenerator().createFeatures(classFeatures, tokens, 0, null);
+    new TokenClassFeatureGenerator().createFeatures(classFeatures, tokens, 1, null);
+    List<String> windowFeatures = new ArrayList<>();
+    new WindowFeatureGenerator(new TokenClassFeatureGenerator(), 1, 1)
+        .createFeatures(windowFeatures, tokens, 0, null);
+
+    // the aggregate only passes on the features of its children
+    Assertions.assertEquals(features.size(), aggregateMetrics.getFeatures());
+    Assertions.assertEquals(0, aggregateMetrics.getAllocatedBytes());
+    Assertions.assertEquals(estimateAllocatedBytes(tokenFeatures), tokenMetrics.getAllocatedBytes());
+
+    // the window table computes the features of the sentence, the window only creates
+    // the features of the neighbours
+    Assertions.assertEquals(estimateAllocatedBytes(classFeatures),
+        windowTokenMetrics.getAllocatedBytes());
+    List<String> neighbourFeatures = windowFeatures.subList(classFeatures.size() / 2,
+        windowFeatures.size());
+    Assertions.assertEquals(estimateAllocatedBytes(neighbourFeatures),
+        windowMetrics.getAllocatedBytes());
+  }
+
+  @Test
+  void testCacheHitsAreNotCounted() {
+    FeatureMetrics cacheMetrics = new FeatureMetrics();
+    FeatureMetrics tokenMetrics = new FeatureMetrics();
+
+    AdaptiveFeatureGenerator generator = new ProfilingFeatureGenerator(
+        new CachedFeatureGenerator(
+            new ProfilingFeatureGenerator(new TokenFeatureGenerator(), tokenMetrics)),
+        cacheMetrics);
+
+    String[] tokens = {"a", "test"};
+    List<String> features = new ArrayList<>();
+    generator.createFeatures(features, tokens, 0, null);
+    generator.createFeatures(features, tokens, 0, null);
+
+    Assertions.assertEquals(2, cacheMetrics.getCalls());
+    Assertions.assertEquals(features.size(), cacheMetrics.getFeatures());
+    Assertions.assertEquals(0, cacheMetrics.getAllocatedBytes());
+
+    Assertions.assertEquals(1, tokenMetrics.getCalls());
+    Assertions.assertEquals(estimateAllocatedBytes(features.subList(0, features.size() / 2)),
+        tokenMetrics.getAllocatedBytes());
+  }
+}
@@ -114,4 +114,121 @@ public class WindowFeatureGeneratorTest {
     Assertions.assertEquals("n1e", features.get(3));
     Assertions.assertEquals("n2f", features.get(4));
   }
+
+  /**
+   * Tests that the features of an outcome independent generator are computed once
+   * per sentence and are equal to the features of the outcome dependent code path.
+   */
+  @Test
+  void testPrecomputedFeatures() {
+    AdaptiveFeatureGenerator tokenFeatures = new AggregatedFeatureGenerator(
+        new TokenFeatureGenerator(), new TokenClassFeatureGenerator(true), new BigramNameFeatureGenerator());
+
+    int[] calls = new int[1];
+    AdaptiveFeatureGenerator countingGenerator = new AdaptiveFeatureGenerator() {
+      @Override
+      public void createFeatures(List<String> features, String[] tokens, int index,
+          String[] previousOutcomes) {
+        calls[0]++;
+        tokenFeatures.createFeatures(features, tokens, index, previousOutcomes);
+      }
+
+      @Override
+      public boolean isOutcomeIndependent() {
+        return true;
+      }
+    };
+
+    AdaptiveFeatureGenerator precomputed = new WindowFeatureGenerator(countingGenerator, 2, 2);
+    AdaptiveFeatureGenerator direct = new WindowFeatureGenerator(new IdentityFeatureGenerator() {
+      @Override
+      public void createFeatures(List<String> features, String[] tokens, int index,
+          String[] previousOutcomes) {
+        tokenFeatures.createFeatures(features, tokens, index, previousOutcomes);
+      }
+    }, 2, 2);
+
+    Assertions.assertTrue(precomputed.isOutcomeIndependent());
+    Assertions.assertFalse(direct.isOutcomeIndependent());
+
+    // every index twice, like two hypotheses of a beam search
+    for (int round = 0; round < 2; round++) {
+      for (int i = 0; i < testSentence.length; i++) {
+        List<String> expected = new ArrayList<>();
+        direct.createFeatures(expected, testSentence, i, null);
+
+        List<String> actual = new ArrayList<>();
+        precomputed.createFeatures(actual, testSentence, i, null);
+
+        Assertions.assertEquals(expected, actual);
+      }
+    }
+
+    Assertions.assertEquals(testSentence.length, calls[0]);
+
+    precomputed.clearAdaptiveData();
+    precomputed.createFeatures(features, testSentence, 0, null);
+    Assertions.assertEquals(2 * testSentence.length, calls[0]);
+  }
+
+  /**
+   * Tests that the precomputed features are regenerated if the next sentence
+   * is passed in the same array.
+   */
+  @Test
+  void testPrecomputedFeaturesOfRefilledArray() {
+    AdaptiveFeatureGenerator generator = new WindowFeatureGenerator(new TokenFeatureGenerator(), 1, 1);
+
+    String[] tokens = {"a", "b"};
+    generator.createFeatures(features, tokens, 0, null);
+    Assertions.assertEquals(List.of("w=a", "n1w=b"), features);
+
+    tokens[1] = "c";
+    features.clear();
+    generator.createFeatures(features, tokens, 0, null);
+    Assertions.assertEquals(List.of("w=a", "n1w=c"), features);
+  }
+
+  /**
+   * Tests that windows which share a feature table forward the adaptive data
+   * only once to the shared generator.
+   */
+  @Test
+  void testSharedWindowsUpdateGeneratorOnce() {
+    int[] updates = new int[1];
+    int[] clears = new int[1];
+
+    AdaptiveFeatureGenerator counting = new AdaptiveFeatureGenerator() {
+      @Override
+      public void createFeatures(List<String> features, String[] tokens, int index,
+          String[] previousOutcomes) {
+        features.add(tokens[index]);
+      }
+
+      @Override
+      public void updateAdaptiveData(String[] tokens, String[] outcomes) {
+        updates[0]++;
+      }
+
+      @Override
+      public void clearAdaptiveData() {
+        clears[0]++;
+      }
+
+      @Override
+      public boolean isOutcomeIndependent() {
+        return true;
+      }
+    };
+
+    WindowFeatureGenerator window = new WindowFeatureGenerator(counting, 2, 2);
+    AdaptiveFeatureGenerator generator = new AggregatedFeatureGenerator(window,
+        new WindowFeatureGenerator(window, 1, 0));
+
+    generator.updateAdaptiveData(testSentence, new String[testSentence.length]);
+    generator.clearAdaptiveData();
+
+    Assertions.assertEquals(1, updates[0]);
+    Assertions.assertEquals(1, clears[0]);
+  }
 }
@@ -0,0 +1,82 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package opennlp.tools.util.featuregen;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class WordClusterDictionaryTest {
+
+  private static WordClusterDictionary createDictionary() throws IOException {
+    StringBuilder lexicon = new StringBuilder();
+    for (int i = 0; i < 1000; i++) {
+      lexicon.append("token").append(i).append(' ').append(i % 7).append('\n');
+    }
+    lexicon.append("café 12 0.5\n");
+    lexicon.append("invalid\n");
+
+    return new WordClusterDictionary(new ByteArrayInputStream(
+        lexicon.toString().getBytes(StandardCharsets.UTF_8)));
+  }
+
+  @Test
+  void testLookupToken() throws IOException {
+    WordClusterDictionary dictionary = createDictionary();
+
+    Assertions.assertEquals("0", dictionary.lookupToken("token0"));
+    Assertions.assertEquals("5", dictionary.lookupToken("token999"));
+    Assertions.assertEquals("12", dictionary.lookupToken("café"));
+    Assertions.assertNull(dictionary.lookupToken("invalid"));
+    Assertions.assertNull(dictionary.lookupToken("token1000"));
+  }
+
+  @Test
+  void testSerialization() throws IOException {
+    WordClusterDictionary dictionary = createDictionary();
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    dictionary.serialize(out);
+
+    WordClusterDictionary loaded = new WordClusterDictionary(
+        new ByteArrayInputStream(out.toByteArray()));
+    for (int i = 0; i < 1000; i++) {
+      Assertions.assertEquals(dictionary.lookupToken("token" + i), loaded.lookupToken("token" + i));
+    }
+    Assertions.assertEquals("12", loaded.lookupToken("café"));
+  }
+
+  @Test
+  void testFeatureGenerator() throws IOException {
+    AdaptiveFeatureGenerator generator =
+        new WordClusterFeatureGenerator(createDictionary(), "w2v", true);
+
+    List<String> features = new ArrayList<>();
+    generator.createFeatures(features, new String[] {"TOKEN3", "other"}, 0, null);
+    generator.createFeatures(features, new String[] {"TOKEN3", "other"}, 1, null);
+
+    Assertions.assertEquals(1, features.size());
+    Assertions.assertEquals("w2v3", features.get(0));
+  }
+}
@@ -0,0 +1,90 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package opennlp.tools.util.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.Map;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.ReflectionException;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class FeatureGenerationProfileTest {
+
+  @Test
+  void testValues() {
+    FeatureGenerationProfile profile = new FeatureGenerationProfile("test");
+
+    FeatureMetrics metrics = profile.getMetrics("b");
+    Assertions.assertSame(metrics, profile.getMetrics("b"));
+    profile.getMetrics("a").record(5, 1, 41);
+
+    metrics.record(10, 2, 100);
+    metrics.record(20, 3, 200);
+
+    Map<String, Number> values = profile.getValues();
+    Assertions.assertEquals(Arrays.asList("b.calls", "b.features", "b.nanos", "b.allocatedBytes",
+        "a.calls", "a.features", "a.nanos", "a.allocatedBytes"), Arrays.asList(
+        values.keySet().toArray(new String[0])));
+    Assertions.assertEquals(2L, values.get("b.calls"));
+    Assertions.assertEquals(5L, values.get("b.features"));
+    Assertions.assertEquals(30L, values.get("b.nanos"));
+    Assertions.assertEquals(300L, values.get("b.allocatedBytes"));
+    Assertions.assertEquals(1L, values.get("a.calls"));
+
+    profile.reset();
+    Assertions.assertEquals(0L, profile.getValues().get("b.calls"));
+    Assertions.assertEquals(0L, metrics.getNanos());
+  }
+
+  @Test
+  void testEstimateAllocatedBytes() {
+    Assertions.assertEquals(43, FeatureMetrics.estimateAllocatedBytes("w=a"));
+    Assertions.assertEquals(16 + 2 * 4 + 43 + 44,
+        FeatureMetrics.estimateAllocatedBytes(new String[] {"w=a", "w=ab"}));
+  }
+
+  @Test
+  void testJmxExport() throws Exception {
+    MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+    ObjectName objectName = JmxMetricsExporter.getObjectName("FeatureGenerationProfileTest");
+
+    try (FeatureGenerationProfile profile =
+             new FeatureGenerationProfile("FeatureGenerationProfileTest")) {
+      profile.getMetrics("0:TokenFeatureGenerator").record(10, 2, 100);
+      profile.export();
+
+      Assertions.assertTrue(server.isRegistered(objectName));
+      Assertions.assertEquals(1L, server.getAttribute(objectName, "0:TokenFeatureGenerator.calls"));
+
+      // The values are read on every access
+      profile.getMetrics("0:TokenFeatureGenerator").record(10, 2, 100);
+      Assertions.assertEquals(4L,
+          server.getAttribute(objectName, "0:TokenFeatureGenerator.features"));
+
+      ReflectionException e = Assertions.assertThrows(ReflectionException.class,
+          () -> server.invoke(objectName, "reset", new Object[0], new String[0]));
+      Assertions.assertTrue(e.getTargetException() instanceof NoSuchMethodException);
+    }
+
+    Assertions.assertFalse(server.isRegistered(objectName));
+  }
+}
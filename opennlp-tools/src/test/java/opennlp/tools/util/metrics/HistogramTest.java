@@ -0,0 +1,136 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package opennlp.tools.util.metrics;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class HistogramTest {
+
+  @Test
+  void testEmpty() {
+    Histogram histogram = new Histogram();
+    Assertions.assertEquals(0, histogram.getCount());
+    Assertions.assertEquals(0, histogram.getMin());
+    Assertions.assertEquals(0, histogram.getMax());
+    Assertions.assertEquals(0, histogram.getMean());
+    Assertions.assertEquals(0, histogram.getValueAtPercentile(99));
+  }
+
+  @Test
+  void testSmallValuesAreExact() {
+    Histogram histogram = new Histogram();
+    for (int i = 1; i <= 100; i++) {
+      histogram.record(i);
+    }
+
+    Assertions.assertEquals(100, histogram.getCount());
+    Assertions.assertEquals(1, histogram.getMin());
+    Assertions.assertEquals(100, histogram.getMax());
+    Assertions.assertEquals(50.5, histogram.getMean(), 0.0001);
+    Assertions.assertEquals(1, histogram.getValueAtPercentile(0));
+    Assertions.assertEquals(50, histogram.getValueAtPercentile(50));
+    Assertions.assertEquals(99, histogram.getValueAtPercentile(99));
+    Assertions.assertEquals(100, histogram.getValueAtPercentile(100));
+  }
+
+  @Test
+  void testRelativePrecision() {
+    Histogram histogram = new Histogram();
+    for (long value = 1000; value <= 1_000_000; value += 1000) {
+      histogram.record(value);
+    }
+
+    for (double percentile : new double[] {10, 50, 90, 99, 99.9}) {
+      long expected = (long) Math.ceil(percentile * 10) * 1000;
+      long actual = histogram.getValueAtPercentile(percentile);
+      Assertions.assertTrue(actual >= expected, percentile + ": " + actual);
+      Assertions.assertTrue(actual - expected <= expected / 64, percentile + ": " + actual);
+    }
+    Assertions.assertEquals(1_000_000, histogram.getValueAtPercentile(100));
+  }
+
+  @Test
+  void testBuckets() {
+    long previous = -1;
+    for (int i = 0; i < 3712; i++) {
+      long highest = Histogram.highestValue(i);
+      Assertions.assertTrue(highest > previous);
+      Assertions.assertEquals(i, Histogram.bucketIndex(previous + 1));
+      Assertions.assertEquals(i, Histogram.bucketIndex(highest));
+      previous = highest;
+    }
+    Assertions.assertEquals(Long.MAX_VALUE, previous);
+  }
+
+  @Test
+  void testLargeValues() {
+    Histogram histogram = new Histogram();
+    histogram.record(Long.MAX_VALUE);
+    Assertions.assertEquals(Long.MAX_VALUE, histogram.getValueAtPercentile(50));
+    Assertions.assertEquals(Long.MAX_VALUE, histogram.getMax());
+  }
+
+  @Test
+  void testReset() {
+    Histogram histogram = new Histogram();
+    histogram.record(10);
+    histogram.reset();
+    Assertions.assertEquals(0, histogram.getCount());
+    Assertions.assertEquals(0, histogram.getMax());
+    Assertions.assertEquals(0, histogram.getValueAtPercentile(50));
+  }
+
+  @Test
+  void testConcurrentRecording() throws InterruptedException {
+    Histogram histogram = new Histogram();
+
+    List<Thread> threads = new ArrayList<>();
+    for (int t = 0; t < 8; t++) {
+      long value = t * 10;
+      threads.add(new Thread(() -> {
+        for (int i = 0; i < 1000; i++) {
+          histogram.record(value);
+        }
+      }));
+    }
+    for (Thread thread : threads) {
+      thread.start();
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+
+    // the stripes of all threads are merged
+    Assertions.assertEquals(8000, histogram.getCount());
+    Assertions.assertEquals(0, histogram.getValueAtPercentile(12.5));
+    Assertions.assertEquals(30, histogram.getValueAtPercentile(50));
+    Assertions.assertEquals(70, histogram.getValueAtPercentile(100));
+
+    histogram.reset();
+    Assertions.assertEquals(0, histogram.getValueAtPercentile(100));
+  }
+
+  @Test
+  void testNegativeValue() {
+    Assertions.assertThrows(IllegalArgumentException.class, () -> new Histogram().record(-1));
+  }
+}
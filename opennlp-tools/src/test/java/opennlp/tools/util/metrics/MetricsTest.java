@@ -0,0 +1,115 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package opennlp.tools.util.metrics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class MetricsTest {
+
+  @Test
+  void testDisabled() {
+    Assertions.assertFalse(Metrics.isEnabled());
+    Assertions.assertEquals(Metrics.NOT_STARTED, Metrics.startTimer());
+
+    Metrics.stopTimer("MetricsTest.disabled", Metrics.NOT_STARTED);
+    Metrics.increment("MetricsTest.disabled");
+    Assertions.assertFalse(Metrics.getRegistry().getHistograms().containsKey("MetricsTest.disabled"));
+    Assertions.assertFalse(Metrics.getRegistry().getCounters().containsKey("MetricsTest.disabled"));
+  }
+
+  @Test
+  void testEnabled() {
+    Metrics.setEnabled(true);
+    try {
+      long start = Metrics.startTimer();
+      Assertions.assertNotEquals(Metrics.NOT_STARTED, start);
+      Metrics.stopTimer("MetricsTest.enabled", start);
+      Metrics.add("MetricsTest.enabled", 2);
+    } finally {
+      Metrics.setEnabled(false);
+    }
+
+    Assertions.assertEquals(1, Metrics.getRegistry().histogram("MetricsTest.enabled").getCount());
+    Assertions.assertEquals(2, Metrics.getRegistry().counter("MetricsTest.enabled").getCount());
+  }
+
+  @Test
+  void testRegistryValues() {
+    MetricsRegistry registry = new MetricsRegistry();
+    Assertions.assertSame(registry.counter("b"), registry.counter("b"));
+    registry.counter("b").add(3);
+    registry.histogram("a").record(10);
+    registry.histogram("a").record(20);
+
+    Map<String, Number> values = registry.getValues();
+    Assertions.assertEquals(3L, values.get("b"));
+    Assertions.assertEquals(2L, values.get("a.count"));
+    Assertions.assertEquals(15.0, values.get("a.mean"));
+    Assertions.assertEquals(20L, values.get("a.max"));
+    Assertions.assertEquals(10L, values.get("a.p50"));
+    Assertions.assertEquals(20L, values.get("a.p99"));
+
+    registry.reset();
+    Assertions.assertEquals(0L, registry.getValues().get("a.count"));
+  }
+
+  @Test
+  void testLoggingExporter() {
+    List<String> messages = new ArrayList<>();
+    Logger logger = Logger.getAnonymousLogger();
+    logger.setUseParentHandlers(false);
+    logger.addHandler(new Handler() {
+      @Override
+      public void publish(LogRecord record) {
+        messages.add(record.getMessage());
+      }
+
+      @Override
+      public void flush() {
+      }
+
+      @Override
+      public void close() {
+      }
+    });
+
+    MetricsRegistry registry = new MetricsRegistry();
+    registry.counter("TokenizerME.items").add(5);
+
+    try (LoggingMetricsExporter exporter =
+             new LoggingMetricsExporter(logger, Level.INFO, 0, TimeUnit.SECONDS)) {
+      exporter.register("test", registry);
+      exporter.report();
+      exporter.unregister("test");
+      exporter.report();
+    }
+
+    Assertions.assertEquals(1, messages.size());
+    Assertions.assertEquals("test: TokenizerME.items=5", messages.get(0));
+  }
+}
@@ -0,0 +1,91 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package opennlp.tools.util.normalizer;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class FastCharSequenceNormalizerTest {
+
+  private final CharSequenceNormalizer chain = new AggregateCharSequenceNormalizer(
+      EmojiCharSequenceNormalizer.getInstance(),
+      UrlCharSequenceNormalizer.getInstance(),
+      TwitterCharSequenceNormalizer.getInstance(),
+      NumberCharSequenceNormalizer.getInstance(),
+      ShrinkCharSequenceNormalizer.getInstance());
+
+  private final CharSequenceNormalizer normalizer = FastCharSequenceNormalizer.getInstance();
+
+  private static final String[] FRAGMENTS = {
+      "a", "A", "e", "o", "h", "H", "j", "J", "r", "R", "t", "T", "x", "X", "d", "p", "D", "P", "z",
+      " ", "  ", "\t", "\n", "\r", "\u000b", "\f", "\u0085", "\u2028", ":", ";", "-", "(", ")",
+      "#", "@", ".", "_", "+", "/", "?", "&", "~", "=", "0", "1", "42", "2017", "\u00e9", "\u0301",
+      "\u00df", "\u4e2d", "\ue000", "\uff21", "\ud83d\ude00", "\ud83c", "\ude00", "\ud800",
+      "\ud7ff", "http://", "https://", "http:/", "www.", ".com", "rt ", "RT:", "rt", ":)", ";-P",
+      "xD", "haha", "jajaja", "HAHA", "hehe", "ja", "aaa", "AaA", "!!!", "...", "a@b.c", "mail@",
+      "@user", "#tag", "Hello", "world"
+  };
+
+  @Test
+  void testExamples() {
+    String[] texts = {
+        "",
+        "   ",
+        "Hellllllooooo world!!!   how are you?",
+        "RT @user: check https://example.com/a?b=c and mail me@example.org #news :) hahaha 2017",
+        "x-D jajajaja RT: rt rt 12 34  \t  end",
+        "art rt: \u00e9rt rt \u0301rt",
+        "a\ud83d\ude00\ud83d\ude01b-c",
+        "AaAaA hhhaaahhhaaa HaHa"
+    };
+
+    for (String text : texts) {
+      Assertions.assertEquals(chain.normalize(text).toString(),
+          normalizer.normalize(text).toString(), text);
+    }
+  }
+
+  @Test
+  void testRandomTexts() {
+    Random random = new Random(42);
+
+    for (int i = 0; i < 20000; i++) {
+      StringBuilder text = new StringBuilder();
+      int fragments = random.nextInt(30);
+      for (int f = 0; f < fragments; f++) {
+        text.append(FRAGMENTS[random.nextInt(FRAGMENTS.length)]);
+      }
+
+      Assertions.assertEquals(chain.normalize(text).toString(),
+          normalizer.normalize(text).toString(), text.toString());
+    }
+  }
+
+  @Test
+  void testLongText() {
+    StringBuilder text = new StringBuilder();
+    for (int i = 0; i < 1000; i++) {
+      text.append("Hello World 123 :) ");
+    }
+
+    Assertions.assertEquals(chain.normalize(text).toString(),
+        normalizer.normalize(text).toString());
+  }
+}
@@ -0,0 +1,148 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package opennlp.tools.util.wordvector;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Set;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class MappedWordVectorTableTest {
+
+  private static final String GLOVE =
+      "king 0.5 0.7 0.1 -0.2 0.3\n" +
+      "queen 0.45 0.75 0.15 -0.1 0.3\n" +
+      "apple -0.6 0.1 0.8 0.2 -0.4\n" +
+      "pear -0.55 0.15 0.75 0.25 -0.35\n" +
+      "über 0.0 0.0 0.0 0.0 0.0\n";
+
+  @TempDir
+  Path tempDir;
+
+  private static InputStream glove(String text) {
+    return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+  }
+
+  private MappedWordVectorTable convert(MappedWordVectorTable.Encoding encoding)
+      throws IOException {
+    Path file = tempDir.resolve("vectors-" + encoding + ".bin");
+    Glove.convert(glove(GLOVE), file, encoding);
+    return MappedWordVectorTable.open(file);
+  }
+
+  @Test
+  void testSameVectorsAsGlove() throws IOException {
+    WordVectorTable expected = Glove.parse(glove(GLOVE));
+    MappedWordVectorTable table = convert(MappedWordVectorTable.Encoding.FLOAT);
+
+    Assertions.assertEquals(expected.size(), table.size());
+    Assertions.assertEquals(expected.dimension(), table.dimension());
+
+    Set<String> tokens = new HashSet<>();
+    for (Iterator<String> it = table.tokens(); it.hasNext(); ) {
+      tokens.add(it.next());
+    }
+    Assertions.assertEquals(5, tokens.size());
+
+    for (String token : tokens) {
+      WordVector expectedVector = expected.get(token);
+      WordVector vector = table.get(token);
+      for (int i = 0; i < vector.dimension(); i++) {
+        Assertions.assertEquals(expectedVector.getAsFloat(i), vector.getAsFloat(i));
+        Assertions.assertEquals(expectedVector.getAsFloat(i), vector.toFloatBuffer().get(i));
+      }
+    }
+
+    Assertions.assertNull(table.get("banana"));
+  }
+
+  @Test
+  void testQuantizedVectors() throws IOException {
+    WordVectorTable expected = Glove.parse(glove(GLOVE));
+    MappedWordVectorTable table = convert(MappedWordVectorTable.Encoding.INT8);
+
+    Assertions.assertEquals(MappedWordVectorTable.Encoding.INT8, table.getEncoding());
+
+    WordVector expectedVector = expected.get("queen");
+    WordVector vector = table.get("queen");
+    for (int i = 0; i < vector.dimension(); i++) {
+      Assertions.assertEquals(expectedVector.getAsFloat(i), vector.getAsFloat(i), 0.01f);
+    }
+
+    Assertions.assertEquals(0f, table.get("über").getAsFloat(0));
+  }
+
+  @Test
+  void testNearest() throws IOException {
+    for (MappedWordVectorTable.Encoding encoding : MappedWordVectorTable.Encoding.values()) {
+      MappedWordVectorTable table = convert(encoding);
+
+      Assertions.assertArrayEquals(new String[] {"queen"}, table.nearest("king", 1));
+      Assertions.assertEquals("apple", table.nearest("pear", 2)[0]);
+      Assertions.assertEquals(4, table.nearest("pear", 10).length);
+      Assertions.assertEquals(0, table.nearest("banana", 10).length);
+
+      float[] query = {0.5f, 0.7f, 0.1f, -0.2f, 0.3f};
+      Assertions.assertEquals("king", table.nearest(query, 2)[0]);
+    }
+  }
+
+  @Test
+  void testDuplicateTokenKeepsLastVector() throws IOException {
+    Path file = tempDir.resolve("duplicate.bin");
+    Glove.convert(glove("a 1 2\nb 3 4\na 5 6\n"), file, MappedWordVectorTable.Encoding.FLOAT);
+    MappedWordVectorTable table = MappedWordVectorTable.open(file);
+
+    Assertions.assertEquals(2, table.size());
+    Assertions.assertEquals(5f, table.get("a").getAsFloat(0));
+    Assertions.assertEquals(4f, table.get("b").getAsFloat(1));
+  }
+
+  @Test
+  void testDimensionMustBeConstant() {
+    Path file = tempDir.resolve("invalid.bin");
+    Assertions.assertThrows(IOException.class, () -> Glove.convert(glove("a 1 2\nb 3\n"),
+        file, MappedWordVectorTable.Encoding.FLOAT));
+    Assertions.assertFalse(Files.exists(file));
+  }
+
+  @Test
+  void testFailedConversionDeletesFile() {
+    Path file = tempDir.resolve("unparsable.bin");
+    Assertions.assertThrows(NumberFormatException.class, () -> Glove.convert(glove("a 1 2\nb 3 x\n"),
+        file, MappedWordVectorTable.Encoding.INT8));
+    Assertions.assertFalse(Files.exists(file));
+  }
+
+  @Test
+  void testCosine() {
+    Assertions.assertEquals(1f, WordVectorMath.cosine(new float[] {1, 2, 3, 4, 5},
+        new float[] {2, 4, 6, 8, 10}), 0.0001f);
+    Assertions.assertEquals(0f, WordVectorMath.cosine(new float[] {1, 0}, new float[] {0, 1}));
+    Assertions.assertEquals(0f, WordVectorMath.cosine(new float[] {0, 0}, new float[] {0, 1}));
+  }
+}